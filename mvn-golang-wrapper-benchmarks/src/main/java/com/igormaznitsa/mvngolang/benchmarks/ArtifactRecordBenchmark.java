@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks;
+
+import com.igormaznitsa.mvngolang.utils.MavenUtils;
+import com.igormaznitsa.mvngolang.utils.MvnGolangArtifactHandler;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of artifact records of mvn-golang dependency lists, records are
+ * parsed for every dependency of every module during dependency scanning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactRecordBenchmark {
+
+  private ArtifactHandler handler;
+  private String fullRecord;
+  private String shortRecord;
+  private Artifact artifact;
+
+  @Setup(Level.Trial)
+  public void setup() throws InvalidVersionSpecificationException {
+    this.handler = new MvnGolangArtifactHandler();
+    this.fullRecord = "com.igormaznitsa.example::mvn-golang-example-dependency::1.0.3-SNAPSHOT"
+        + "::compile::mvn-golang::linux-amd64";
+    this.shortRecord = "com.example::lib::1.0::::mvn-golang::";
+    this.artifact = MavenUtils.parseArtifactRecord(this.fullRecord, this.handler);
+  }
+
+  @Benchmark
+  public Artifact parseFullRecord() throws InvalidVersionSpecificationException {
+    return MavenUtils.parseArtifactRecord(this.fullRecord, this.handler);
+  }
+
+  @Benchmark
+  public Artifact parseShortRecord() throws InvalidVersionSpecificationException {
+    return MavenUtils.parseArtifactRecord(this.shortRecord, this.handler);
+  }
+
+  @Benchmark
+  public String makeRecord() {
+    return MavenUtils.makeArtifactRecord(this.artifact);
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Generators of benchmark fixtures, all fixtures are made from fixed random
+ * seed, so that benchmarks don't need network and results of different runs
+ * are comparable.
+ */
+final class Fixtures {
+
+  static final Log SILENT_LOG = new SilentLog();
+
+  private static final long SEED = 12345L;
+
+  private Fixtures() {
+  }
+
+  /**
+   * Make text of go.mod with requires, replaces and excludes.
+   *
+   * @param requires number of required modules
+   * @return text of go.mod
+   */
+  static String makeGoMod(final int requires) {
+    final StringBuilder result = new StringBuilder();
+    result.append("module github.com/raydac/benchmark\n\ngo 1.18\n\nrequire (\n");
+    for (int i = 0; i < requires; i++) {
+      result.append("\tgithub.com/vendor").append(i % 97).append("/module").append(i)
+          .append(" v1.").append(i % 13).append('.').append(i % 7)
+          .append(i % 5 == 0 ? " // indirect" : "").append('\n');
+    }
+    result.append(")\n\n");
+    for (int i = 0; i < requires / 10; i++) {
+      result.append("replace github.com/vendor").append(i % 97).append("/module").append(i)
+          .append(" => ../module").append(i).append('\n');
+    }
+    for (int i = 0; i < requires / 20; i++) {
+      result.append("exclude github.com/vendor").append(i % 97).append("/module").append(i)
+          .append(" v0.0.").append(i).append('\n');
+    }
+    return result.toString();
+  }
+
+  /**
+   * Make content of archive file tree: files of different sizes in nested
+   * folders under the root folder.
+   *
+   * @param root  root folder in archive
+   * @param files number of files
+   * @return paths and contents of files
+   */
+  static Entry[] makeArchiveEntries(final String root, final int files) {
+    final Random random = new Random(SEED);
+    final Entry[] result = new Entry[files];
+    for (int i = 0; i < files; i++) {
+      final int size = i % 10 == 0 ? 256 * 1024 : 512 + random.nextInt(16 * 1024);
+      final byte[] data = new byte[size];
+      // half random and half repeated bytes to get realistic compression
+      random.nextBytes(data);
+      for (int j = size / 2; j < size; j++) {
+        data[j] = (byte) (j % 31);
+      }
+      result[i] = new Entry(root + "/src/pkg" + (i % 16) + "/dir" + (i % 5) + "/file" + i
+          + ".go", data);
+    }
+    return result;
+  }
+
+  static void writeZip(final File file, final Entry[] entries) throws IOException {
+    try (final ZipOutputStream out =
+             new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      for (final Entry e : entries) {
+        out.putNextEntry(new ZipEntry(e.path));
+        out.write(e.data);
+        out.closeEntry();
+      }
+    }
+  }
+
+  static void writeTarGz(final File file, final Entry[] entries) throws IOException {
+    try (final OutputStream gzip =
+             new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file)), 65536);
+         final TarArchiveOutputStream out = new TarArchiveOutputStream(gzip,
+             StandardCharsets.UTF_8.name())) {
+      out.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+      for (final Entry e : entries) {
+        final TarArchiveEntry entry = new TarArchiveEntry(e.path);
+        entry.setSize(e.data.length);
+        entry.setMode(0644);
+        out.putArchiveEntry(entry);
+        out.write(e.data);
+        out.closeArchiveEntry();
+      }
+    }
+  }
+
+  static void deleteQuietly(final File file) {
+    final File[] children = file.listFiles();
+    if (children != null) {
+      for (final File c : children) {
+        deleteQuietly(c);
+      }
+    }
+    if (file.exists() && !file.delete()) {
+      file.deleteOnExit();
+    }
+  }
+
+  static final class Entry {
+
+    final String path;
+    final byte[] data;
+
+    Entry(final String path, final byte[] data) {
+      this.path = path;
+      this.data = data;
+    }
+  }
+
+  private static final class SilentLog implements Log {
+
+    @Override
+    public boolean isDebugEnabled() {
+      return false;
+    }
+
+    @Override
+    public void debug(final CharSequence content) {
+    }
+
+    @Override
+    public void debug(final CharSequence content, final Throwable error) {
+    }
+
+    @Override
+    public void debug(final Throwable error) {
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+      return false;
+    }
+
+    @Override
+    public void info(final CharSequence content) {
+    }
+
+    @Override
+    public void info(final CharSequence content, final Throwable error) {
+    }
+
+    @Override
+    public void info(final Throwable error) {
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+      return false;
+    }
+
+    @Override
+    public void warn(final CharSequence content) {
+    }
+
+    @Override
+    public void warn(final CharSequence content, final Throwable error) {
+    }
+
+    @Override
+    public void warn(final Throwable error) {
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+      return false;
+    }
+
+    @Override
+    public void error(final CharSequence content) {
+    }
+
+    @Override
+    public void error(final CharSequence content, final Throwable error) {
+    }
+
+    @Override
+    public void error(final Throwable error) {
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks;
+
+import com.igormaznitsa.mvngolang.utils.GoMod;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and rendering of go.mod files, they are processed for every module
+ * and every mvn-golang dependency during preprocessing of modules. The small
+ * file is typical for a project, the large one is typical for monorepos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GoModBenchmark {
+
+  @Param({"10", "5000"})
+  public int requires;
+
+  private String text;
+  private GoMod parsed;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    this.text = Fixtures.makeGoMod(this.requires);
+    this.parsed = GoMod.from(this.text);
+  }
+
+  @Benchmark
+  public GoMod parse() {
+    return GoMod.from(this.text);
+  }
+
+  @Benchmark
+  public String render() {
+    return this.parsed.toString();
+  }
+
+  @Benchmark
+  public String parseAndRender() {
+    return GoMod.from(this.text).toString();
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks;
+
+import com.igormaznitsa.mvngolang.utils.IOUtils;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Making of PATH and GOPATH values without duplications, it is made for every
+ * mojo execution from folders of SDK, project and dependencies. Every third
+ * element is a duplication and some elements are nulls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OsPathBenchmark {
+
+  @Param({"8", "256"})
+  public int elements;
+
+  private String[] paths;
+  private File[] files;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    this.paths = new String[this.elements];
+    this.files = new File[this.elements];
+    for (int i = 0; i < this.elements; i++) {
+      if (i % 17 == 16) {
+        continue;
+      }
+      final int index = i % 3 == 2 ? i / 3 : i;
+      this.paths[i] = "/home/user/.mvnGoLang/go1.18.linux-amd64/dependency" + index + "/bin";
+      this.files[i] = new File("/home/user/project/target/dependencies/module" + index);
+    }
+  }
+
+  @Benchmark
+  public String stringPaths() {
+    return IOUtils.makeOsFilePathWithoutDuplications(this.paths);
+  }
+
+  @Benchmark
+  public String filePaths() {
+    return IOUtils.makeOsFilePathWithoutDuplications(this.files);
+  }
+}
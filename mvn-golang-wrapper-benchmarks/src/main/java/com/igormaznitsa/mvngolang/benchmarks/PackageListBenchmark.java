@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks;
+
+import com.igormaznitsa.mvngolang.utils.PackageList;
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of package list files of the get mojo with nested includes.
+ * Included files are served from memory, so that only parsing is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackageListBenchmark {
+
+  private static final int PACKAGES_PER_FILE = 50;
+
+  @Param({"1", "32"})
+  public int includes;
+
+  private final Map<File, String> files = new HashMap<>();
+  private File rootFile;
+  private PackageList.ContentProvider provider;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    this.rootFile = new File("packages.lst");
+    final StringBuilder root = new StringBuilder("// root package list\n");
+    for (int i = 0; i < this.includes; i++) {
+      root.append("// included list ").append(i).append('\n');
+      root.append("#include \"inc").append(i).append(".lst\"\n");
+      final StringBuilder included = new StringBuilder();
+      for (int p = 0; p < PACKAGES_PER_FILE; p++) {
+        included.append("package: github.com/vendor").append(i).append("/pkg").append(p);
+        switch (p % 4) {
+          case 0:
+            included.append(", branch: master");
+            break;
+          case 1:
+            included.append(", tag: v1.").append(p);
+            break;
+          case 2:
+            included.append(", revision: ").append(Integer.toHexString(p * 7919 + i));
+            break;
+          default:
+            included.append(" // latest");
+            break;
+        }
+        included.append('\n');
+      }
+      this.files.put(new File(this.rootFile, "inc" + i + ".lst"), included.toString());
+    }
+    this.files.put(this.rootFile, root.toString());
+    this.provider = file -> {
+      final String text = this.files.get(file);
+      if (text == null) {
+        throw new IOException("Unknown file: " + file);
+      }
+      return text;
+    };
+  }
+
+  @Benchmark
+  public PackageList parse() throws IOException, ParseException {
+    return new PackageList(this.rootFile, this.files.get(this.rootFile), this.provider);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks;
+
+import com.igormaznitsa.mvngolang.utils.HashingInputStream;
+import com.igormaznitsa.mvngolang.utils.XGoogHashHeader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Checksum;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares verification of downloaded SDK archive: the legacy way (archive is
+ * written and then read again byte by byte for CRC32C and once more for MD5)
+ * and the single pass way where both hashes are calculated while bytes are
+ * passing from network into file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SdkHashBenchmark {
+
+  @Param({"16", "128"})
+  public int sizeMb;
+
+  private byte[] data;
+  private File file;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.data = new byte[this.sizeMb * 1024 * 1024];
+    new Random(12345L).nextBytes(this.data);
+    this.file = File.createTempFile("mvngolang-hash", ".bin");
+    Files.write(this.file.toPath(), this.data);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (!this.file.delete()) {
+      this.file.deleteOnExit();
+    }
+  }
+
+  @Benchmark
+  public void legacyRereadFile(final Blackhole blackhole) throws IOException {
+    final Checksum crc = XGoogHashHeader.makeTableCrc32c();
+    try (final InputStream in = new BufferedInputStream(new FileInputStream(this.file), 16384)) {
+      int next;
+      while ((next = in.read()) >= 0) {
+        crc.update(next);
+      }
+    }
+    blackhole.consume(crc.getValue());
+    try (final InputStream in = new FileInputStream(this.file)) {
+      blackhole.consume(DigestUtils.md5Hex(in));
+    }
+  }
+
+  @Benchmark
+  public void tableCrc32cBuffer(final Blackhole blackhole) {
+    final Checksum crc = XGoogHashHeader.makeTableCrc32c();
+    crc.update(this.data, 0, this.data.length);
+    blackhole.consume(crc.getValue());
+  }
+
+  @Benchmark
+  public void intrinsicCrc32cBuffer(final Blackhole blackhole) {
+    final Checksum crc = XGoogHashHeader.makeCrc32c();
+    crc.update(this.data, 0, this.data.length);
+    blackhole.consume(crc.getValue());
+  }
+
+  @Benchmark
+  public void singlePassFile(final Blackhole blackhole) throws IOException {
+    try (final HashingInputStream in = new HashingInputStream(new FileInputStream(this.file))) {
+      in.drain();
+      blackhole.consume(in.getMd5Hex());
+      blackhole.consume(in.getCrc32cHex());
+    }
+  }
+}
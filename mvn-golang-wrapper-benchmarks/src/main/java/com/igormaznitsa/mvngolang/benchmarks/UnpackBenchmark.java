@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks;
+
+import com.igormaznitsa.mvngolang.utils.UnpackUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Unpacking of SDK like archives (about 600 files in nested folders, 10% of
+ * them are big) in zip and tar.gz formats. Every invocation unpacks into a
+ * fresh folder which is deleted outside of measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnpackBenchmark {
+
+  private static final int FILES = 600;
+
+  @Param({"zip", "tar.gz"})
+  public String format;
+
+  private File workFolder;
+  private File archive;
+  private File target;
+  private int counter;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.workFolder = Files.createTempDirectory("mvngolang-unpack").toFile();
+    this.archive = new File(this.workFolder, "sdk." + this.format);
+    final Fixtures.Entry[] entries = Fixtures.makeArchiveEntries("go", FILES);
+    if ("zip".equals(this.format)) {
+      Fixtures.writeZip(this.archive, entries);
+    } else {
+      Fixtures.writeTarGz(this.archive, entries);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void makeTarget() {
+    this.target = new File(this.workFolder, "target" + this.counter++);
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteTarget() {
+    Fixtures.deleteQuietly(this.target);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    Fixtures.deleteQuietly(this.workFolder);
+  }
+
+  @Benchmark
+  public int unpack() throws IOException {
+    final int result =
+        UnpackUtils.unpackFileToFolder(Fixtures.SILENT_LOG, "go", this.archive, this.target,
+            true);
+    if (result != FILES) {
+      throw new IllegalStateException("Unexpected number of unpacked files: " + result);
+    }
+    return result;
+  }
+}
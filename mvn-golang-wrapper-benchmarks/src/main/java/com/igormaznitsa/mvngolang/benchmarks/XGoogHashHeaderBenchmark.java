@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks;
+
+import com.igormaznitsa.mvngolang.utils.XGoogHashHeader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Checksum;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Verification of downloaded file by x-goog-hash header: parsing of the
+ * header, check of a file by MD5 (used when the header has MD5) and by
+ * CRC32C (used when the header has only CRC32C, as for composite objects),
+ * and check of digests calculated during download.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XGoogHashHeaderBenchmark {
+
+  @Param({"1", "32"})
+  public int sizeMb;
+
+  private File file;
+  private Header[] md5AndCrcHeaders;
+  private Header[] crcOnlyHeaders;
+  private XGoogHashHeader md5AndCrc;
+  private XGoogHashHeader crcOnly;
+  private String md5Hex;
+  private String crc32cHex;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final byte[] data = new byte[this.sizeMb * 1024 * 1024];
+    new Random(12345L).nextBytes(data);
+    this.file = File.createTempFile("mvngolang-xgoog", ".bin");
+    Files.write(this.file.toPath(), data);
+
+    final byte[] md5 = DigestUtils.md5(data);
+    final Checksum crc = XGoogHashHeader.makeCrc32c();
+    crc.update(data, 0, data.length);
+    final byte[] crcBytes = ByteBuffer.allocate(4).putInt((int) crc.getValue()).array();
+
+    this.md5AndCrcHeaders = new Header[] {new BasicHeader("x-goog-hash",
+        "crc32c=" + Base64.encodeBase64String(crcBytes)),
+        new BasicHeader("x-goog-hash", "md5=" + Base64.encodeBase64String(md5))};
+    this.crcOnlyHeaders = new Header[] {new BasicHeader("x-goog-hash",
+        "crc32c=" + Base64.encodeBase64String(crcBytes))};
+    this.md5AndCrc = new XGoogHashHeader(this.md5AndCrcHeaders);
+    this.crcOnly = new XGoogHashHeader(this.crcOnlyHeaders);
+    this.md5Hex = DigestUtils.md5Hex(data);
+    this.crc32cHex = XGoogHashHeader.toCrc32cHex(crc.getValue());
+
+    if (!this.md5AndCrc.isFileOk(Fixtures.SILENT_LOG, this.file)
+        || !this.crcOnly.isFileOk(Fixtures.SILENT_LOG, this.file)) {
+      throw new IllegalStateException("Wrong fixture hashes");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    Fixtures.deleteQuietly(this.file);
+  }
+
+  @Benchmark
+  public XGoogHashHeader parseHeaders() {
+    return new XGoogHashHeader(this.md5AndCrcHeaders);
+  }
+
+  @Benchmark
+  public boolean verifyFileMd5() throws IOException {
+    return this.md5AndCrc.isFileOk(Fixtures.SILENT_LOG, this.file);
+  }
+
+  @Benchmark
+  public boolean verifyFileCrc32c() throws IOException {
+    return this.crcOnly.isFileOk(Fixtures.SILENT_LOG, this.file);
+  }
+
+  @Benchmark
+  public boolean verifyCalculatedDigests() throws IOException {
+    return this.md5AndCrc.isDigestOk(Fixtures.SILENT_LOG, this.md5Hex, this.crc32cHex);
+  }
+}
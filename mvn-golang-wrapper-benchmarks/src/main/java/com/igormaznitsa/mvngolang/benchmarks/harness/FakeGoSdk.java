@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks.harness;
+
+import com.igormaznitsa.mvngolang.utils.SysUtils;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.lang3.SystemUtils;
+
+/**
+ * Fake Go SDK archive with the same layout as the real one but with stub
+ * {@code go} script which returns immediately. The stub prints version for
+ * {@code go version} and creates empty file for {@code -o} argument, so that
+ * build mojo finds its result file. All other commands do nothing.
+ */
+final class FakeGoSdk {
+
+  private static final String STUB = "#!/bin/sh\n"
+      + "# stub go tool of mvn-golang overhead harness\n"
+      + "if [ \"$1\" = \"version\" ]; then\n"
+      + "  echo \"go version go%s %s/%s\"\n"
+      + "  exit 0\n"
+      + "fi\n"
+      + "out=\"\"\n"
+      + "while [ $# -gt 0 ]; do\n"
+      + "  if [ \"$1\" = \"-o\" ] && [ $# -gt 1 ]; then\n"
+      + "    out=\"$2\"\n"
+      + "  fi\n"
+      + "  shift\n"
+      + "done\n"
+      + "if [ -n \"$out\" ]; then\n"
+      + "  mkdir -p \"$(dirname \"$out\")\" && : > \"$out\"\n"
+      + "fi\n"
+      + "exit 0\n";
+
+  private FakeGoSdk() {
+  }
+
+  /**
+   * Make name of SDK archive for the current platform in the same way as the
+   * plugin makes it.
+   *
+   * @param goVersion version of go
+   * @return name of archive file
+   */
+  static String makeArchiveName(final String goVersion) {
+    return String.format("go%s.%s-%s.tar.gz", goVersion, SysUtils.findGoSdkOsType(),
+        SysUtils.decodeGoSdkArchType(SystemUtils.OS_ARCH));
+  }
+
+  /**
+   * Write fake SDK archive into folder.
+   *
+   * @param folder    folder to write archive
+   * @param goVersion version of go reported by the stub
+   * @return written archive file
+   * @throws IOException if archive can't be written
+   */
+  static File write(final File folder, final String goVersion) throws IOException {
+    if (SystemUtils.IS_OS_WINDOWS) {
+      throw new IOException("Stub go tool is shell script, Windows is not supported");
+    }
+    if (!folder.isDirectory() && !folder.mkdirs()) {
+      throw new IOException("Can't create folder : " + folder);
+    }
+    final File result = new File(folder, makeArchiveName(goVersion));
+    try (final OutputStream gzip =
+             new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(result)));
+         final TarArchiveOutputStream out = new TarArchiveOutputStream(gzip,
+             StandardCharsets.UTF_8.name())) {
+      out.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+      putFolder(out, "go/");
+      putFolder(out, "go/bin/");
+      putFolder(out, "go/pkg/");
+      putFolder(out, "go/src/");
+      putFile(out, "go/VERSION", ("go" + goVersion + '\n').getBytes(StandardCharsets.UTF_8),
+          0644);
+      putFile(out, "go/bin/go", String.format(STUB, goVersion, SysUtils.findGoSdkOsType(),
+          SysUtils.decodeGoSdkArchType(SystemUtils.OS_ARCH)).getBytes(StandardCharsets.UTF_8),
+          0755);
+      putFile(out, "go/src/README.md",
+          "fake SDK of mvn-golang overhead harness\n".getBytes(StandardCharsets.UTF_8), 0644);
+    }
+    return result;
+  }
+
+  private static void putFolder(final TarArchiveOutputStream out, final String path)
+      throws IOException {
+    final TarArchiveEntry entry = new TarArchiveEntry(path);
+    entry.setMode(040755);
+    out.putArchiveEntry(entry);
+    out.closeArchiveEntry();
+  }
+
+  private static void putFile(final TarArchiveOutputStream out, final String path,
+                              final byte[] data, final int mode) throws IOException {
+    final TarArchiveEntry entry = new TarArchiveEntry(path);
+    entry.setSize(data.length);
+    entry.setMode(0100000 | mode);
+    out.putArchiveEntry(entry);
+    out.write(data);
+    out.closeArchiveEntry();
+  }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks.harness;
+
+import com.igormaznitsa.mvngolang.utils.StoreServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.maven.monitor.logging.DefaultLog;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+
+/**
+ * End-to-end harness to measure overhead of the plugin itself without Go
+ * toolchain and network. For every size it generates synthetic reactor,
+ * serves fake SDK archive with stub go tool through local store server
+ * (used as SDK site) and runs external Maven for the package phase: the
+ * first (cold) run starts with empty store folder, so that SDK is downloaded
+ * and unpacked, next (warm) runs reuse the store. Maven is started without
+ * snapshot updates but not in offline mode, because the plugin doesn't load
+ * SDK in offline mode, so that local repository must already contain used
+ * Maven plugins. Every Maven run is recorded by JFR, wall time, allocations
+ * and peak heap per goal are extracted from the recording, results are
+ * printed and saved as JSON.
+ * <pre>
+ * java -cp benchmarks.jar com.igormaznitsa.mvngolang.benchmarks.harness.PluginOverheadHarness
+ *     [--modules 10,100,500] [--chain 10] [--warm-runs 1] [--work folder]
+ *     [--mvn executable] [--plugin-version version]
+ *     [--go-version version] [--result file] [--maven-arg arg]...
+ * </pre>
+ */
+public final class PluginOverheadHarness {
+
+  private static final String PLUGIN_POM_PROPERTIES =
+      "META-INF/maven/com.igormaznitsa/mvn-golang-wrapper/pom.properties";
+
+  private final List<Integer> sizes = new ArrayList<>();
+  private final List<String> mavenArgs = new ArrayList<>();
+  private int chainLength = 10;
+  private int warmRuns = 1;
+  private File workFolder = new File("overhead-harness");
+  private String mvn = SystemUtils.IS_OS_WINDOWS ? "mvn.cmd" : "mvn";
+  private String pluginVersion;
+  private String goVersion = "1.21.7";
+  private File resultFile;
+
+  private PluginOverheadHarness() {
+  }
+
+  public static void main(final String... args) throws Exception {
+    final PluginOverheadHarness harness = new PluginOverheadHarness();
+    harness.parseArgs(args);
+    System.exit(harness.run() ? 0 : 1);
+  }
+
+  private void parseArgs(final String[] args) throws IOException {
+    for (int i = 0; i < args.length; i++) {
+      final String arg = args[i];
+      if (i + 1 >= args.length) {
+        throw new IllegalArgumentException("Expected value for " + arg);
+      }
+      final String value = args[++i];
+      switch (arg) {
+        case "--modules":
+          for (final String s : value.split(",")) {
+            this.sizes.add(Integer.parseInt(s.trim()));
+          }
+          break;
+        case "--chain":
+          this.chainLength = Math.max(1, Integer.parseInt(value));
+          break;
+        case "--warm-runs":
+          this.warmRuns = Math.max(0, Integer.parseInt(value));
+          break;
+        case "--work":
+          this.workFolder = new File(value);
+          break;
+        case "--mvn":
+          this.mvn = value;
+          break;
+        case "--plugin-version":
+          this.pluginVersion = value;
+          break;
+        case "--go-version":
+          this.goVersion = value;
+          break;
+        case "--result":
+          this.resultFile = new File(value);
+          break;
+        case "--maven-arg":
+          this.mavenArgs.add(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown argument : " + arg);
+      }
+    }
+    if (this.sizes.isEmpty()) {
+      this.sizes.add(10);
+      this.sizes.add(100);
+      this.sizes.add(500);
+    }
+    if (this.pluginVersion == null) {
+      this.pluginVersion = findPluginVersion();
+    }
+    this.workFolder = this.workFolder.getAbsoluteFile();
+    if (this.resultFile == null) {
+      this.resultFile = new File(this.workFolder, "overhead-result.json");
+    }
+  }
+
+  private static String findPluginVersion() throws IOException {
+    try (final InputStream in = PluginOverheadHarness.class.getClassLoader()
+        .getResourceAsStream(PLUGIN_POM_PROPERTIES)) {
+      if (in == null) {
+        throw new IllegalArgumentException(
+            "Can't find version of mvn-golang-wrapper, use --plugin-version");
+      }
+      final Properties properties = new Properties();
+      properties.load(in);
+      return properties.getProperty("version");
+    }
+  }
+
+  private boolean run() throws IOException, InterruptedException {
+    final File sdkFolder = new File(this.workFolder, "sdk");
+    final File logFolder = new File(this.workFolder, "logs");
+    deleteRecursively(sdkFolder);
+    if (!logFolder.isDirectory() && !logFolder.mkdirs()) {
+      throw new IOException("Can't create folder : " + logFolder);
+    }
+    final File sdkArchive = FakeGoSdk.write(sdkFolder, this.goVersion);
+    System.out.println("Fake SDK : " + sdkArchive);
+
+    final List<RunResult> results = new ArrayList<>();
+    boolean ok = true;
+    try (final StoreServer server = StoreServer.start(
+        new DefaultLog(new ConsoleLogger(Logger.LEVEL_WARN, "sdk-site")), sdkFolder,
+        "127.0.0.1", 0, 4)) {
+      final String sdkSite = "http://127.0.0.1:" + server.getPort() + '/';
+      System.out.println("SDK site : " + sdkSite);
+      for (final int size : this.sizes) {
+        final File reactorFolder = new File(this.workFolder, "reactor-" + size);
+        final File storeFolder = new File(this.workFolder, "store-" + size);
+        deleteRecursively(reactorFolder);
+        deleteRecursively(storeFolder);
+        final File pom = SyntheticReactor.generate(reactorFolder, size, this.chainLength,
+            this.pluginVersion, this.goVersion);
+        System.out.printf(Locale.ENGLISH, "Generated reactor of %d modules : %s%n", size,
+            reactorFolder);
+        for (int index = 0; index <= this.warmRuns; index++) {
+          final String kind = index == 0 ? "cold" : "warm";
+          final RunResult result =
+              this.runMaven(pom, sdkSite, storeFolder, logFolder, size, kind, index);
+          results.add(result);
+          printResult(result);
+          if (result.exitCode != 0) {
+            ok = false;
+            System.out.println("Maven run failed, see log : " + result.log);
+            break;
+          }
+        }
+      }
+    }
+    writeResult(results);
+    System.out.println("Result : " + this.resultFile);
+    return ok;
+  }
+
+  private RunResult runMaven(final File pom, final String sdkSite, final File storeFolder,
+                             final File logFolder, final int size, final String kind,
+                             final int index) throws IOException, InterruptedException {
+    final String runName = "reactor-" + size + '-' + kind + '-' + index;
+    final File log = new File(logFolder, runName + ".log");
+    final File recording = new File(logFolder, runName + ".jfr");
+    Files.deleteIfExists(recording.toPath());
+
+    final List<String> command = new ArrayList<>();
+    command.add(this.mvn);
+    command.add("-B");
+    // offline mode disables SDK download, so only snapshot updates are disabled
+    command.add("-nsu");
+    command.add("-f");
+    command.add(pom.getAbsolutePath());
+    command.add("-D" + SyntheticReactor.PROPERTY_SDK_SITE + '=' + sdkSite);
+    command.add("-D" + SyntheticReactor.PROPERTY_STORE + '=' + storeFolder.getAbsolutePath());
+    command.addAll(this.mavenArgs);
+    command.add("package");
+
+    final ProcessBuilder builder = new ProcessBuilder(command)
+        .directory(pom.getParentFile())
+        .redirectErrorStream(true)
+        .redirectOutput(log);
+    final Map<String, String> env = builder.environment();
+    final String mavenOpts = env.get("MAVEN_OPTS");
+    env.put("MAVEN_OPTS", (mavenOpts == null ? "" : mavenOpts + ' ')
+        + "-XX:StartFlightRecording=settings=profile,dumponexit=true,filename="
+        + recording.getAbsolutePath());
+
+    final long start = System.nanoTime();
+    final Process process = builder.start();
+    final int exitCode = process.waitFor();
+    final long wallNanos = System.nanoTime() - start;
+
+    final RecordingStats stats = recording.isFile() ? RecordingStats.read(recording) : null;
+    return new RunResult(size, kind, index, exitCode, wallNanos, stats, log);
+  }
+
+  private static void printResult(final RunResult result) {
+    System.out.printf(Locale.ENGLISH,
+        "%4d modules, %s run #%d : exit %d, wall %.1f ms, allocated %.1f MB,"
+            + " peak heap %.1f MB, GCs %d%n",
+        result.modules, result.kind, result.index, result.exitCode,
+        result.wallNanos / 1000000.0d, mb(result.stats == null ? 0L
+            : result.stats.getAllocatedBytes()),
+        mb(result.stats == null ? 0L : result.stats.getPeakHeapBytes()),
+        result.stats == null ? 0 : result.stats.getGcCount());
+    if (result.stats != null) {
+      for (final Map.Entry<String, RecordingStats.GoalStats> e
+          : result.stats.getGoals().entrySet()) {
+        final RecordingStats.GoalStats g = e.getValue();
+        System.out.printf(Locale.ENGLISH,
+            "    %-12s executions %4d, wall %9.1f ms, allocated %8.1f MB, peak heap %7.1f MB%n",
+            e.getKey(), g.getExecutions(), g.getWallNanos() / 1000000.0d,
+            mb(g.getAllocatedBytes()), mb(g.getPeakHeapBytes()));
+      }
+    }
+  }
+
+  private void writeResult(final List<RunResult> results) throws IOException {
+    final StringBuilder json = new StringBuilder();
+    json.append("{\n  \"pluginVersion\": ").append(quote(this.pluginVersion))
+        .append(",\n  \"goVersion\": ").append(quote(this.goVersion))
+        .append(",\n  \"java\": ").append(quote(System.getProperty("java.version")))
+        .append(",\n  \"os\": ").append(quote(SystemUtils.OS_NAME + ' ' + SystemUtils.OS_ARCH))
+        .append(",\n  \"chainLength\": ").append(this.chainLength)
+        .append(",\n  \"runs\": [");
+    boolean firstRun = true;
+    for (final RunResult r : results) {
+      json.append(firstRun ? "\n" : ",\n");
+      firstRun = false;
+      json.append("    {\"modules\": ").append(r.modules)
+          .append(", \"run\": ").append(quote(r.kind))
+          .append(", \"index\": ").append(r.index)
+          .append(", \"exitCode\": ").append(r.exitCode)
+          .append(", \"wallMs\": ").append(TimeUnit.NANOSECONDS.toMillis(r.wallNanos));
+      if (r.stats != null) {
+        json.append(", \"allocatedBytes\": ").append(r.stats.getAllocatedBytes())
+            .append(", \"peakHeapBytes\": ").append(r.stats.getPeakHeapBytes())
+            .append(", \"gcCount\": ").append(r.stats.getGcCount())
+            .append(", \"goals\": [");
+        boolean firstGoal = true;
+        for (final Map.Entry<String, RecordingStats.GoalStats> e
+            : r.stats.getGoals().entrySet()) {
+          final RecordingStats.GoalStats g = e.getValue();
+          json.append(firstGoal ? "\n" : ",\n");
+          firstGoal = false;
+          json.append("      {\"goal\": ").append(quote(e.getKey()))
+              .append(", \"executions\": ").append(g.getExecutions())
+              .append(", \"failed\": ").append(g.getFailed())
+              .append(", \"wallMs\": ").append(TimeUnit.NANOSECONDS.toMillis(g.getWallNanos()))
+              .append(", \"allocatedBytes\": ").append(g.getAllocatedBytes())
+              .append(", \"peakHeapBytes\": ").append(g.getPeakHeapBytes())
+              .append('}');
+        }
+        json.append(firstGoal ? "]" : "\n    ]");
+      }
+      json.append('}');
+    }
+    json.append(firstRun ? "]\n}\n" : "\n  ]\n}\n");
+    final File parent = this.resultFile.getAbsoluteFile().getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Can't create folder : " + parent);
+    }
+    Files.write(this.resultFile.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static double mb(final long bytes) {
+    return bytes / (1024.0d * 1024.0d);
+  }
+
+  private static String quote(final String text) {
+    final StringBuilder result = new StringBuilder("\"");
+    for (final char c : text.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        result.append('\\').append(c);
+      } else if (c < 0x20) {
+        result.append(String.format("\\u%04x", (int) c));
+      } else {
+        result.append(c);
+      }
+    }
+    return result.append('"').toString();
+  }
+
+  private static void deleteRecursively(final File file) throws IOException {
+    final File[] children = file.listFiles();
+    if (children != null) {
+      for (final File c : children) {
+        deleteRecursively(c);
+      }
+    }
+    Files.deleteIfExists(file.toPath());
+  }
+
+  private static final class RunResult {
+
+    private final int modules;
+    private final String kind;
+    private final int index;
+    private final int exitCode;
+    private final long wallNanos;
+    private final RecordingStats stats;
+    private final File log;
+
+    private RunResult(final int modules, final String kind, final int index, final int exitCode,
+                      final long wallNanos, final RecordingStats stats, final File log) {
+      this.modules = modules;
+      this.kind = kind;
+      this.index = index;
+      this.exitCode = exitCode;
+      this.wallNanos = wallNanos;
+      this.stats = stats;
+      this.log = log;
+    }
+  }
+}
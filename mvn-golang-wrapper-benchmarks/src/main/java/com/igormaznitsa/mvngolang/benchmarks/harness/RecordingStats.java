@@ -0,0 +1,208 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks.harness;
+
+import com.igormaznitsa.mvngolang.utils.JfrEvents;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Statistics of Maven run extracted from JFR recording. Mojo executions are
+ * found by mojo execute events of the plugin, allocation samples are
+ * attributed to a goal if they are made by the mojo thread inside of its
+ * execution, GC heap summaries are attributed to a goal if they are made
+ * during its execution. Allocations are estimated by weights of sampled
+ * allocations, peak heap is max heap usage before GC, so it is zero if
+ * there was no GC.
+ */
+final class RecordingStats {
+
+  static final String OTHER = "<maven>";
+
+  private final Map<String, GoalStats> goals = new TreeMap<>();
+  private long allocatedBytes;
+  private long peakHeapBytes;
+  private int gcCount;
+
+  private RecordingStats() {
+  }
+
+  /**
+   * Read statistics from recording file.
+   *
+   * @param recording JFR recording file
+   * @return extracted statistics
+   * @throws IOException if recording can't be read
+   */
+  static RecordingStats read(final File recording) throws IOException {
+    final List<RecordedEvent> events = RecordingFile.readAllEvents(recording.toPath());
+    final RecordingStats result = new RecordingStats();
+
+    final Map<Long, List<Window>> windowsByThread = new HashMap<>();
+    final List<Window> windows = new ArrayList<>();
+    final String mojoEvent = JfrEvents.Type.MOJO_EXECUTE.getName();
+    for (final RecordedEvent e : events) {
+      if (mojoEvent.equals(e.getEventType().getName())) {
+        final String execution = e.getString("execution");
+        final int index = execution.indexOf('@');
+        final Window window = new Window(index < 0 ? execution : execution.substring(0, index),
+            e.getStartTime(), e.getEndTime());
+        final GoalStats stats = result.goal(window.goal);
+        stats.executions++;
+        stats.wallNanos += Duration.between(window.start, window.end).toNanos();
+        if (e.getBoolean("failed")) {
+          stats.failed++;
+        }
+        windows.add(window);
+        windowsByThread.computeIfAbsent(threadId(e), k -> new ArrayList<>()).add(window);
+      }
+    }
+
+    windows.sort(Comparator.comparing(w -> w.start));
+    for (final List<Window> list : windowsByThread.values()) {
+      list.sort(Comparator.comparing(w -> w.start));
+    }
+
+    for (final RecordedEvent e : events) {
+      switch (e.getEventType().getName()) {
+        case "jdk.ObjectAllocationSample": {
+          final long weight = e.getLong("weight");
+          result.allocatedBytes += weight;
+          final Window window = find(windowsByThread.get(threadId(e)), e.getStartTime());
+          result.goal(window == null ? OTHER : window.goal).allocatedBytes += weight;
+        }
+        break;
+        case "jdk.GCHeapSummary": {
+          if ("Before GC".equals(e.getString("when"))) {
+            final long used = e.getLong("heapUsed");
+            result.peakHeapBytes = Math.max(result.peakHeapBytes, used);
+            final Window window = find(windows, e.getStartTime());
+            final GoalStats stats = result.goal(window == null ? OTHER : window.goal);
+            stats.peakHeapBytes = Math.max(stats.peakHeapBytes, used);
+          }
+        }
+        break;
+        case "jdk.GarbageCollection": {
+          result.gcCount++;
+        }
+        break;
+        default:
+          break;
+      }
+    }
+    return result;
+  }
+
+  private static long threadId(final RecordedEvent event) {
+    final RecordedThread thread = event.getThread();
+    return thread == null ? -1L : thread.getJavaThreadId();
+  }
+
+  private static Window find(final List<Window> windows, final Instant time) {
+    if (windows == null) {
+      return null;
+    }
+    // windows are sorted by start, executions in the same thread don't overlap
+    int low = 0;
+    int high = windows.size() - 1;
+    Window found = null;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final Window w = windows.get(middle);
+      if (w.start.isAfter(time)) {
+        high = middle - 1;
+      } else {
+        found = w;
+        low = middle + 1;
+      }
+    }
+    return found == null || found.end.isBefore(time) ? null : found;
+  }
+
+  private GoalStats goal(final String goal) {
+    return this.goals.computeIfAbsent(goal, k -> new GoalStats());
+  }
+
+  Map<String, GoalStats> getGoals() {
+    return this.goals;
+  }
+
+  long getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+
+  long getPeakHeapBytes() {
+    return this.peakHeapBytes;
+  }
+
+  int getGcCount() {
+    return this.gcCount;
+  }
+
+  static final class GoalStats {
+
+    private int executions;
+    private int failed;
+    private long wallNanos;
+    private long allocatedBytes;
+    private long peakHeapBytes;
+
+    int getExecutions() {
+      return this.executions;
+    }
+
+    int getFailed() {
+      return this.failed;
+    }
+
+    long getWallNanos() {
+      return this.wallNanos;
+    }
+
+    long getAllocatedBytes() {
+      return this.allocatedBytes;
+    }
+
+    long getPeakHeapBytes() {
+      return this.peakHeapBytes;
+    }
+  }
+
+  private static final class Window {
+
+    private final String goal;
+    private final Instant start;
+    private final Instant end;
+
+    private Window(final String goal, final Instant start, final Instant end) {
+      this.goal = goal;
+      this.start = start;
+      this.end = end;
+    }
+  }
+}
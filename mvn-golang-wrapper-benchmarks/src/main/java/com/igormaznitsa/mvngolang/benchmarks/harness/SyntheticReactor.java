@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.benchmarks.harness;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Generator of synthetic multi-module project with mvn-golang modules. Modules
+ * are organized into chains like in mvn-golang-example-maven-repository, every
+ * module of a chain depends on the previous one through mvn-golang artifact
+ * and refers its Go package through go.mod which is preprocessed by the
+ * plugin. Mvninstall goal is bound to the package phase, so that dependency
+ * artifacts are provided by reactor without install into local repository.
+ * Versions of lifecycle plugins are fixed, so that Maven doesn't look for
+ * their metadata and the package phase works with offline local repository.
+ */
+final class SyntheticReactor {
+
+  static final String GROUP_ID = "com.igormaznitsa.mvngolang.harness";
+  static final String PROPERTY_SDK_SITE = "harness.sdk.site";
+  static final String PROPERTY_STORE = "harness.store";
+
+  private SyntheticReactor() {
+  }
+
+  /**
+   * Generate reactor.
+   *
+   * @param folder        root folder of reactor, must be empty or not exist
+   * @param modules       number of mvn-golang modules
+   * @param chainLength   max number of modules in dependency chain
+   * @param pluginVersion version of mvn-golang-wrapper
+   * @param goVersion     version of go SDK
+   * @return root pom file
+   * @throws IOException if files can't be written
+   */
+  static File generate(final File folder, final int modules, final int chainLength,
+                       final String pluginVersion, final String goVersion)
+      throws IOException {
+    final StringBuilder moduleList = new StringBuilder();
+    for (int i = 0; i < modules; i++) {
+      moduleList.append("    <module>").append(moduleName(i)).append("</module>\n");
+      writeModule(new File(folder, moduleName(i)), i,
+          i % chainLength == 0 ? -1 : i - 1);
+    }
+    final File result = new File(folder, "pom.xml");
+    write(result, String.format(ROOT_POM, GROUP_ID, modules, pluginVersion, goVersion,
+        moduleList));
+    return result;
+  }
+
+  private static String moduleName(final int index) {
+    return String.format("module%04d", index);
+  }
+
+  private static void writeModule(final File folder, final int index, final int dependency)
+      throws IOException {
+    final String name = moduleName(index);
+    final StringBuilder dependencies = new StringBuilder();
+    final StringBuilder goMod = new StringBuilder("module harness/").append(name).append('\n');
+    final StringBuilder goFile = new StringBuilder("package ").append(name).append("\n\n");
+    if (dependency >= 0) {
+      final String depName = moduleName(dependency);
+      dependencies.append("  <dependencies>\n    <dependency>\n")
+          .append("      <groupId>").append(GROUP_ID).append("</groupId>\n")
+          .append("      <artifactId>").append(depName).append("</artifactId>\n")
+          .append("      <version>1.0.0-SNAPSHOT</version>\n")
+          .append("      <type>mvn-golang</type>\n")
+          .append("    </dependency>\n  </dependencies>\n");
+      goMod.append("\nrequire harness/").append(depName).append(" v1.0.0\n\n")
+          .append("replace harness/").append(depName).append(" => ../../../target/.__deps__/")
+          .append(depName).append("-1.0.0-SNAPSHOT/src/harness/").append(depName).append('\n');
+      goFile.append("import dep \"harness/").append(depName).append("\"\n\n")
+          .append("func Value() int {\n\treturn dep.Value() + 1\n}\n");
+    } else {
+      goFile.append("func Value() int {\n\treturn 1\n}\n");
+    }
+    final File sources = new File(folder, "src/harness/" + name);
+    write(new File(sources, "go.mod"), goMod.toString());
+    write(new File(sources, name + ".go"), goFile.toString());
+    write(new File(folder, "pom.xml"), String.format(MODULE_POM, GROUP_ID, name, dependencies));
+  }
+
+  private static void write(final File file, final String text) throws IOException {
+    final File parent = file.getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Can't create folder : " + parent);
+    }
+    Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static final String ROOT_POM = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" "
+      + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+      + "xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 "
+      + "http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n"
+      + "  <modelVersion>4.0.0</modelVersion>\n"
+      + "  <groupId>%1$s</groupId>\n"
+      + "  <artifactId>reactor</artifactId>\n"
+      + "  <version>1.0.0-SNAPSHOT</version>\n"
+      + "  <packaging>pom</packaging>\n"
+      + "  <name>mvn-golang harness reactor of %2$d modules</name>\n"
+      + "  <properties>\n"
+      + "    <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n"
+      + "    <mvn.golang.preprocess.gomod>true</mvn.golang.preprocess.gomod>\n"
+      + "    <mvn.golang.restore.gomod>false</mvn.golang.restore.gomod>\n"
+      + "  </properties>\n"
+      + "  <modules>\n%5$s  </modules>\n"
+      + "  <build>\n"
+      + "    <pluginManagement>\n"
+      + "      <plugins>\n"
+      + "        <plugin>\n"
+      + "          <groupId>org.apache.maven.plugins</groupId>\n"
+      + "          <artifactId>maven-install-plugin</artifactId>\n"
+      + "          <version>3.1.1</version>\n"
+      + "        </plugin>\n"
+      + "        <plugin>\n"
+      + "          <groupId>org.apache.maven.plugins</groupId>\n"
+      + "          <artifactId>maven-deploy-plugin</artifactId>\n"
+      + "          <version>3.1.1</version>\n"
+      + "        </plugin>\n"
+      + "        <plugin>\n"
+      + "          <groupId>com.igormaznitsa</groupId>\n"
+      + "          <artifactId>mvn-golang-wrapper</artifactId>\n"
+      + "          <version>%3$s</version>\n"
+      + "          <extensions>true</extensions>\n"
+      + "          <configuration>\n"
+      + "            <goVersion>%4$s</goVersion>\n"
+      + "            <sdkSite>${" + PROPERTY_SDK_SITE + "}</sdkSite>\n"
+      + "            <storeFolder>${" + PROPERTY_STORE + "}</storeFolder>\n"
+      + "            <useEnvVars>false</useEnvVars>\n"
+      + "            <buildMode>archive</buildMode>\n"
+      + "            <packages>\n"
+      + "              <package>./...</package>\n"
+      + "            </packages>\n"
+      + "            <env>\n"
+      + "              <GO111MODULE>off</GO111MODULE>\n"
+      + "            </env>\n"
+      + "          </configuration>\n"
+      + "          <executions>\n"
+      + "            <execution>\n"
+      + "              <id>reactor-artifact</id>\n"
+      + "              <phase>package</phase>\n"
+      + "              <goals>\n"
+      + "                <goal>mvninstall</goal>\n"
+      + "              </goals>\n"
+      + "            </execution>\n"
+      + "          </executions>\n"
+      + "        </plugin>\n"
+      + "      </plugins>\n"
+      + "    </pluginManagement>\n"
+      + "  </build>\n"
+      + "</project>\n";
+
+  private static final String MODULE_POM = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" "
+      + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+      + "xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 "
+      + "http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n"
+      + "  <modelVersion>4.0.0</modelVersion>\n"
+      + "  <parent>\n"
+      + "    <groupId>%1$s</groupId>\n"
+      + "    <artifactId>reactor</artifactId>\n"
+      + "    <version>1.0.0-SNAPSHOT</version>\n"
+      + "  </parent>\n"
+      + "  <artifactId>%2$s</artifactId>\n"
+      + "  <packaging>mvn-golang</packaging>\n"
+      + "%3$s"
+      + "  <build>\n"
+      + "    <sourceDirectory>${basedir}${file.separator}src</sourceDirectory>\n"
+      + "    <plugins>\n"
+      + "      <plugin>\n"
+      + "        <groupId>com.igormaznitsa</groupId>\n"
+      + "        <artifactId>mvn-golang-wrapper</artifactId>\n"
+      + "        <extensions>true</extensions>\n"
+      + "      </plugin>\n"
+      + "    </plugins>\n"
+      + "  </build>\n"
+      + "</project>\n";
+}
@@ -204,7 +204,7 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
           final GoMod parsed =
                   GoMod.from(FileUtils.readFileToString(goModFile, StandardCharsets.UTF_8));
           if (replaceLinksToModules(Tuple.of(parsed, goModFile), dependencyGoMods)) {
-            FileUtils.write(goModFile, parsed.toString(), StandardCharsets.UTF_8);
+            writeGoMod(goModFile, parsed);
           }
           if (deleteSum && sumFile.isFile() && !deleteSumFileFlag.isFile() &&
                   !deleteSumFileFlag.createNewFile()) {
@@ -270,6 +270,16 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
     return parsed;
   }
 
+  private static void writeGoMod(@Nonnull final File goModFile, @Nonnull final GoMod goMod)
+          throws IOException {
+    final JfrEvents.Handle jfrEvent = JfrEvents.begin(JfrEvents.Type.GOMOD_REWRITE);
+    final byte[] content = goMod.toString().getBytes(StandardCharsets.UTF_8);
+    FileUtils.writeByteArrayToFile(goModFile, content);
+    if (jfrEvent != null) {
+      jfrEvent.commit(goModFile, content.length);
+    }
+  }
+
   private int generateCrossLinksBetweenArtifactGoMods(
           @Nonnull @MustNotContainNull final List<Tuple<Artifact, Tuple<GoMod, File>>> unpackedFolders)
           throws IOException {
@@ -280,7 +290,7 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
     for (final Tuple<GoMod, File> i : parsed) {
       if (replaceLinksToModules(i, parsed)) {
         changes++;
-        FileUtils.write(i.right(), i.left().toString(), StandardCharsets.UTF_8);
+        writeGoMod(i.right(), i.left());
       }
     }
     return changes;
@@ -303,6 +313,7 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
   }
 
   @Override
+  @SuppressWarnings("try")
   public final void doInit() throws MojoFailureException, MojoExecutionException {
     super.doInit();
 
@@ -320,7 +331,7 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
       getLog().info("Scanning maven dependencies");
       final List<Tuple<Artifact, File>> foundArtifacts;
 
-      try {
+      try (final PhaseTimings.Span span = this.getTimings().phase("scanDependencies")) {
         foundArtifacts = MavenUtils.scanForMvnGoArtifacts(
                 this.getProject(),
                 this.isIgnoreNonResolvableArtifact(),
@@ -337,19 +348,25 @@ public abstract class AbstractGoDependencyAwareMojo extends AbstractGolangMojo {
       if (foundArtifacts.isEmpty()) {
         getLog().debug("Mvn golang dependencies are not found");
         if (this.isModuleMode()) {
-          this.preprocessModules(Collections.emptyList());
+          try (final PhaseTimings.Span span = this.getTimings().phase("preprocessModules")) {
+            this.preprocessModules(Collections.emptyList());
+          }
         }
         this.extraGoPathSectionInOsFormat = "";
       } else {
         getLog().debug("Found mvn-golang artifacts: " + foundArtifacts);
         final File dependencyTempTargetFolder = new File(this.getDependencyTempFolder());
         getLog().debug("Dependencies will be unpacked into folder: " + dependencyTempTargetFolder);
-        final List<Tuple<Artifact, File>> unpackedFolders =
-                unpackArtifactsIntoFolder(foundArtifacts, dependencyTempTargetFolder);
+        final List<Tuple<Artifact, File>> unpackedFolders;
+        try (final PhaseTimings.Span span = this.getTimings().phase("unpackDependencies")) {
+          unpackedFolders = unpackArtifactsIntoFolder(foundArtifacts, dependencyTempTargetFolder);
+        }
 
         if (this.isModuleMode()) {
           this.getLog().info("Module mode is activated");
-          this.preprocessModules(unpackedFolders);
+          try (final PhaseTimings.Span span = this.getTimings().phase("preprocessModules")) {
+            this.preprocessModules(unpackedFolders);
+          }
           this.getLog().info("Dependencies are not added into GOPATH because module mode is on");
         } else {
           final List<File> unpackedFolderList = new ArrayList<>();
@@ -18,6 +18,7 @@ package com.igormaznitsa.mvngolang;
 
 import static com.igormaznitsa.meta.common.utils.Assertions.assertNotNull;
 import static com.igormaznitsa.mvngolang.utils.MavenUtils.findProperty;
+import static com.igormaznitsa.mvngolang.utils.MavenUtils.makeResolveArtifactProjectBuildingRequest;
 
 import com.igormaznitsa.meta.annotation.LazyInited;
 import com.igormaznitsa.meta.annotation.MayContainNull;
@@ -26,28 +27,41 @@ import com.igormaznitsa.meta.annotation.ReturnsOriginal;
 import com.igormaznitsa.meta.common.utils.ArrayUtils;
 import com.igormaznitsa.meta.common.utils.GetUtils;
 import com.igormaznitsa.meta.common.utils.StrUtils;
+import com.igormaznitsa.mvngolang.utils.AsyncLineSink;
+import com.igormaznitsa.mvngolang.utils.BlobStore;
+import com.igormaznitsa.mvngolang.utils.BucketListParser;
+import com.igormaznitsa.mvngolang.utils.HashingInputStream;
 import com.igormaznitsa.mvngolang.utils.IOUtils;
+import com.igormaznitsa.mvngolang.utils.JfrEvents;
+import com.igormaznitsa.mvngolang.utils.PhaseTimings;
+import com.igormaznitsa.mvngolang.utils.ProcessTreeSampler;
 import com.igormaznitsa.mvngolang.utils.ProxySettings;
+import com.igormaznitsa.mvngolang.utils.RangedDownloader;
+import com.igormaznitsa.mvngolang.utils.SdkArtifact;
+import com.igormaznitsa.mvngolang.utils.SdkListCache;
+import com.igormaznitsa.mvngolang.utils.SdkManifest;
+import com.igormaznitsa.mvngolang.utils.SdkMirrors;
+import com.igormaznitsa.mvngolang.utils.SdkProfile;
+import com.igormaznitsa.mvngolang.utils.SdkResolver;
+import com.igormaznitsa.mvngolang.utils.SharedHttpClients;
+import com.igormaznitsa.mvngolang.utils.StoreLock;
+import com.igormaznitsa.mvngolang.utils.StoreUsage;
+import com.igormaznitsa.mvngolang.utils.StreamingLineCapture;
 import com.igormaznitsa.mvngolang.utils.SysUtils;
+import com.igormaznitsa.mvngolang.utils.ToolchainMemo;
 import com.igormaznitsa.mvngolang.utils.UnpackUtils;
-import com.igormaznitsa.mvngolang.utils.WildCardMatcher;
 import com.igormaznitsa.mvngolang.utils.XGoogHashHeader;
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
-import java.io.StringReader;
-import java.net.InetAddress;
 import java.net.URLEncoder;
-import java.net.UnknownHostException;
 import java.nio.charset.Charset;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
+import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -57,51 +71,28 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.io.input.TeeInputStream;
 import org.apache.commons.lang3.SystemUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpException;
 import org.apache.http.HttpHost;
-import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.NTCredentials;
-import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.config.Registry;
-import org.apache.http.config.RegistryBuilder;
-import org.apache.http.conn.routing.HttpRoute;
-import org.apache.http.conn.routing.HttpRoutePlanner;
-import org.apache.http.conn.socket.ConnectionSocketFactory;
-import org.apache.http.conn.socket.PlainConnectionSocketFactory;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
-import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
-import org.apache.http.impl.client.BasicCredentialsProvider;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.BasicHttpClientConnectionManager;
-import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
-import org.apache.http.protocol.HttpContext;
-import org.apache.http.util.EntityUtils;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
@@ -113,14 +104,12 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.settings.Proxy;
 import org.apache.maven.settings.Settings;
+import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
+import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolverException;
 import org.zeroturnaround.exec.ProcessExecutor;
 import org.zeroturnaround.exec.ProcessResult;
+import org.zeroturnaround.exec.listener.ProcessListener;
 
 public abstract class AbstractGolangMojo extends AbstractMojo {
 
@@ -136,7 +125,6 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   private static final List<String> ALLOWED_SDKARCHIVE_CONTENT_TYPE = Collections.unmodifiableList(
       Arrays.asList("application/octet-stream", "application/zip", "application/x-tar",
           "application/x-gzip"));
-  private static final ReentrantLock LOCKER = new ReentrantLock();
   private static final String[] BANNER =
       new String[] {"______  ___             _________     ______",
           "___   |/  /__   __________  ____/________  / ______ ______________ _",
@@ -270,6 +258,10 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   /**
    * Base site for SDK download. By default it uses
    * <a href="https://storage.googleapis.com/golang/">https://storage.googleapis.com/golang/</a>
+   * Since 2.3.11 it can contain list of mirrors separated by commas, in the
+   * case mirrors are probed concurrently, SDK is loaded from the best one and
+   * other ones are used if loading fails. Scores of mirrors are kept in the
+   * store folder.
    */
   @Parameter(name = "sdkSite", defaultValue = "https://storage.googleapis.com/golang/")
   private String sdkSite;
@@ -284,6 +276,17 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
    */
   @Parameter(defaultValue = "${user.home}${file.separator}.mvnGoLang", name = "storeFolder")
   private String storeFolder;
+  /**
+   * Read-only store folders (for instance prebuilt store mounted from shared
+   * volume) which are probed in defined order for SDK before the store folder.
+   * Nothing is written into them and no locks are taken there, missing SDK is
+   * loaded into the store folder and can be copied into shared store folder by
+   * goal <i>promote-store</i>.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sharedStoreFolders")
+  private String[] sharedStoreFolders;
   /**
    * Folder to be used as $GOPATH. NB! By default it has value
    * "${user.home}${file.separator}.mvnGoLang${file.separator}.go_path"
@@ -423,6 +426,15 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
    */
   @Parameter(name = "keepSdkArchive", defaultValue = "false")
   private boolean keepSdkArchive;
+  /**
+   * Unpack TAR.GZ SDK archive directly from HTTP response stream without
+   * intermediate archive file, hash is calculated during unpacking. The archive
+   * is saved only if {@code keepSdkArchive} is set.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "streamSdkUnpack", defaultValue = "false")
+  private boolean streamSdkUnpack;
   /**
    * Name of tool to be called instead of standard 'go' tool.
    */
@@ -470,6 +482,179 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
    */
   @Parameter(name = "connectionTimeout", defaultValue = "60000")
   private int connectionTimeout = 60000;
+  /**
+   * Number of parallel connections to download SDK archive if server supports
+   * byte ranges. Interrupted ranged download is resumed during next start.
+   * Value 1 turns off ranged download.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkDownloadConnections", defaultValue = "4")
+  private int sdkDownloadConnections = 4;
+  /**
+   * Time in seconds to use SDK archive name resolved through SDK list without
+   * new request to SDK site. Resolved names are cached in the store folder and
+   * after the time they are revalidated with ETag. Zero disables the cache.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkListCacheTtl", defaultValue = "86400")
+  private long sdkListCacheTtl = 86400L;
+  /**
+   * Max time in seconds to wait for SDK loading by another process which
+   * shares the same store folder. Zero means no limit.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkLockTimeout", defaultValue = "3600")
+  private long sdkLockTimeout = 3600L;
+  /**
+   * Profile of SDK extraction, allowed values:
+   * <ul>
+   * <li><b>full</b> - all files of SDK</li>
+   * <li><b>build</b> - without tests, test data, documentation, API
+   * descriptions, misc files and sources of SDK tools</li>
+   * <li><b>minimal</b> - as build but also without race packages and tools
+   * not used by build, test and vet</li>
+   * </ul>
+   * SDKs extracted with different profiles are kept in different folders.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkProfile", defaultValue = "full")
+  private String sdkProfile = "full";
+  /**
+   * Keep files of unpacked SDKs in content-addressed blob store (folder
+   * <i>.blobs</i> in the store folder) and make SDK folders from hard links
+   * to them, so that files shared by different SDK versions are kept once and
+   * not written again. Unreferenced blobs can be removed by goal
+   * <i>compact-store</i>.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkBlobStore", defaultValue = "false")
+  private boolean sdkBlobStore;
+  /**
+   * Max summary size in megabytes of SDK folders and kept SDK archives in the
+   * store folder. If it is exceeded then least recently used ones are evicted.
+   * SDK used during last hour is never evicted. Zero means no limit.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "maxStoreSize", defaultValue = "0")
+  private long maxStoreSize;
+  /**
+   * Max time in seconds from last use of SDK folder or kept SDK archive in the
+   * store folder, after the time it is evicted. Zero means no limit.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "maxStoreAge", defaultValue = "0")
+  private long maxStoreAge;
+  /**
+   * Source of SDK archives, allowed values:
+   * <ul>
+   * <li><b>site</b> - SDK archive is loaded from <i>sdkSite</i> or
+   * <i>sdkDownloadUrl</i></li>
+   * <li><b>maven</b> - SDK archive is resolved as Maven artifact
+   * <i>sdkArtifactGroupId:sdkArtifactId:&lt;version&gt;</i> with classifier
+   * <i>&lt;os&gt;-&lt;arch&gt;[-&lt;osxVersion&gt;]</i> through project
+   * repositories, so that local repository, mirrors and offline mode are
+   * applied</li>
+   * </ul>
+   * Resolved SDK is unpacked into store folder in the both cases.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkSource", defaultValue = "site")
+  private String sdkSource = SdkArtifact.SOURCE_SITE;
+  /**
+   * Group id of SDK artifacts for SDK source <i>maven</i>.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkArtifactGroupId", defaultValue = "org.golang")
+  private String sdkArtifactGroupId = "org.golang";
+  /**
+   * Artifact id of SDK artifacts for SDK source <i>maven</i>.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkArtifactId", defaultValue = "go-sdk")
+  private String sdkArtifactId = "go-sdk";
+  /**
+   * Extension of SDK artifacts for SDK source <i>maven</i>, if not defined then
+   * <i>zip</i> is used for Windows and <i>tar.gz</i> for other OS.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkArtifactExtension")
+  private String sdkArtifactExtension;
+  /**
+   * Verification of cached SDK folder before its use, allowed values:
+   * <ul>
+   * <li><b>none</b> - no verification</li>
+   * <li><b>fast</b> - presence and sizes of files are checked against manifest
+   * written during SDK unpacking</li>
+   * <li><b>full</b> - also hashes of files are checked</li>
+   * </ul>
+   * Damaged files are restored from kept SDK archive, if there is no archive
+   * then SDK is loaded again.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkVerify", defaultValue = "fast")
+  private String sdkVerify = "fast";
+  /**
+   * Period in seconds of full verification of cached SDK folder, if the last
+   * full verification was made before the period then full verification is
+   * made instead of fast one. Zero means no scheduled full verification.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "sdkFullVerifyPeriod", defaultValue = "0")
+  private long sdkFullVerifyPeriod;
+  /**
+   * Max number of chars of every process output stream kept in memory.
+   * Bigger output is spilled into temporary file and only its tail is kept
+   * in memory, report files get the whole output.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "consoleBufferLimit", defaultValue = "1048576")
+  private int consoleBufferLimit = 1048576;
+  /**
+   * Measure phases of mojo execution with nanosecond timers. JSON report of
+   * the module is written into <i>mvn-golang-timings.json</i> in the project
+   * build folder and trace of the whole session (in Chrome trace event
+   * format, reactor modules are shown as lanes) is written into
+   * <i>target/mvn-golang-trace.json</i> of the execution root folder. Both
+   * files are updated by every mojo execution. Can be activated by property
+   * <b>mvn.golang.timing.report</b>.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "timingReport", defaultValue = "false")
+  private boolean timingReport;
+  /**
+   * Sample resources used by tree of started go process through /proc (only
+   * Linux): CPU user and system time, peak RSS, read and written bytes, peak
+   * thread number. Results are exposed as project properties
+   * <b>mvn.golang.last.usage.*</b> and written into
+   * <i>mvn-golang-usage-[goal]-[executionId].json</i> in the project build
+   * folder. Can be activated by property <b>mvn.golang.resource.accounting</b>.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "resourceAccounting", defaultValue = "false")
+  private boolean resourceAccounting;
+  /**
+   * Interval between samples of resource accounting in milliseconds.
+   *
+   * @since 2.3.11
+   */
+  @Parameter(name = "resourceAccountingInterval", defaultValue = "100")
+  private long resourceAccountingInterval = 100L;
   /**
    * Keep unpacked wrongly SDK folder.
    */
@@ -483,11 +668,15 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   @Parameter(name = "addToGoPath")
   private String[] addToGoPath;
   @LazyInited
-  private CloseableHttpClient httpClient;
+  private StreamingLineCapture consoleErrBuffer;
+  @LazyInited
+  private StreamingLineCapture consoleOutBuffer;
+  @LazyInited
+  private AsyncLineSink consoleOutSink;
   @LazyInited
-  private ByteArrayOutputStream consoleErrBuffer;
+  private PhaseTimings timings;
   @LazyInited
-  private ByteArrayOutputStream consoleOutBuffer;
+  private Closeable sdkUse;
 
   @Nonnull
   private static String ensureNoSurroundingSlashes(@Nonnull final String str) {
@@ -564,28 +753,6 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return result;
   }
 
-  @Nonnull
-  private static String extractComputerName() {
-    String result = System.getenv("COMPUTERNAME");
-    if (result == null) {
-      result = System.getenv("HOSTNAME");
-    }
-    if (result == null) {
-      try {
-        result = InetAddress.getLocalHost().getHostName();
-      } catch (UnknownHostException ex) {
-        // do nothing, let be null
-      }
-    }
-    return GetUtils.ensureNonNull(result, "<Unknown computer>");
-  }
-
-  @Nonnull
-  private static String extractDomainName() {
-    final String result = System.getenv("USERDOMAIN");
-    return GetUtils.ensureNonNull(result, "");
-  }
-
   private static boolean tryRenameFolder(@Nonnull final File sourceFolder, @Nonnull final File targetFolder,
                                          final int attempts, final long retryDelayMs) {
     boolean result = false;
@@ -655,6 +822,20 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return ".#mvn.go.session.lock." + id;
   }
 
+  /**
+   * Make identifier of current maven session, it is different for sessions
+   * of long-living JVM.
+   *
+   * @return identifier of session, must not be null
+   * @since 2.3.11
+   */
+  @Nonnull
+  private String makeSessionId() {
+    final MavenSession theSession = this.getSession();
+    return Long.toHexString(theSession.getStartTime().getTime()) + '@'
+        + Integer.toHexString(System.identityHashCode(theSession.getRequest()));
+  }
+
   @Nonnull
   protected File getTempFileFolder() {
     return new File(System.getProperty("java.io.tmpdir"));
@@ -671,6 +852,7 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     final File lockFile = new File(this.getTempFileFolder(), makeSessionLockFileName());
 
     this.getLog().debug("Locking project for mvn-golang sync processing, locker file: " + lockFile);
+    final JfrEvents.Handle jfrEvent = JfrEvents.begin(JfrEvents.Type.LOCK_WAIT);
     while (!Thread.currentThread().isInterrupted()) {
       final boolean locked;
 
@@ -684,6 +866,9 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
       if (locked) {
         lockFile.deleteOnExit();
         this.getLog().debug("Locking file created: " + lockFile);
+        if (jfrEvent != null) {
+          jfrEvent.commit("session", lockFile, true);
+        }
         return;
       } else {
         try {
@@ -694,6 +879,9 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
         }
       }
     }
+    if (jfrEvent != null) {
+      jfrEvent.commit("session", lockFile, false);
+    }
   }
 
   /**
@@ -717,67 +905,316 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     }
   }
 
+  private long downloadSdkArchive(
+      @Nullable final ProxySettings proxySettings,
+      @Nonnull final RequestConfig config,
+      @Nonnull @MustNotContainNull final List<String> linksForDownloading,
+      @Nonnull final File archiveFile
+  ) throws IOException, MojoExecutionException {
+    this.getLog().warn("Loading SDK archive with URL : " + linksForDownloading.get(0));
+    if (linksForDownloading.size() > 1) {
+      this.logOptionally("Mirrors to be used if loading fails : "
+          + linksForDownloading.subList(1, linksForDownloading.size()));
+    }
+
+    final RangedDownloader downloader =
+        new RangedDownloader(this.getLog(), this.getHttpClient(proxySettings), config,
+            this.getSdkDownloadConnections());
+
+    final boolean showProgressBar =
+        !this.session.isParallel() && this.getConcurrentSdkLoads() == 1;
+    final int progressBarWidth = 10;
+    final int[] lastRenderedValue = new int[] {-1};
+
+    this.getLog().info("Downloading SDK archive into file : " + archiveFile);
+    final JfrEvents.Handle jfrEvent = JfrEvents.begin(JfrEvents.Type.SDK_DOWNLOAD);
+    final long downloadStart = System.nanoTime();
+    final RangedDownloader.Result downloadResult;
+    try {
+      downloadResult = downloader.download(linksForDownloading, archiveFile,
+          ALLOWED_SDKARCHIVE_CONTENT_TYPE, (loaded, total) -> {
+            if (showProgressBar && total > 0L) {
+              lastRenderedValue[0] = IOUtils.printTextProgressBar(
+                  "Loading " + total / (1024L * 1024L) + " Mb ", loaded, total,
+                  progressBarWidth, lastRenderedValue[0]);
+            }
+          });
+    } catch (InterruptedIOException ex) {
+      throw new MojoExecutionException("Interrupted", ex);
+    } finally {
+      if (lastRenderedValue[0] >= 0) {
+        System.out.println();
+      }
+    }
+
+    if (jfrEvent != null) {
+      final long nanos = Math.max(1L, System.nanoTime() - downloadStart);
+      jfrEvent.commit(linksForDownloading.get(0), downloadResult.getUrl(),
+          downloadResult.getTransferredBytes(),
+          downloadResult.getTransferredBytes() * 1000000000L / nanos,
+          downloadResult.getStreams());
+    }
+
+    this.getLog().info("Archived SDK has been succesfully downloaded, its size is " +
+        (archiveFile.length() / 1024L) + " Kb");
+    this.logOptionally(String.format("Transferred %d bytes through %d stream(s)",
+        downloadResult.getTransferredBytes(), downloadResult.getStreams()));
+
+    final XGoogHashHeader xGoogHash =
+        new XGoogHashHeader(downloadResult.getHashHeaders());
+    this.getLog().debug("XGoogHashHeader: " + xGoogHash);
+
+    this.assertSdkArchiveHash(xGoogHash, () -> {
+      if (xGoogHash.canCheckDigest(downloadResult.getMd5(), downloadResult.getCrc32c())) {
+        return xGoogHash.isDigestOk(this.getLog(), downloadResult.getMd5(),
+            downloadResult.getCrc32c());
+      }
+      this.getLog().debug("Checking hash of file");
+      return xGoogHash.isFileOk(this.getLog(), archiveFile);
+    });
+    return downloadResult.getTransferredBytes();
+  }
+
   @Nonnull
-  private File loadSDKAndUnpackIntoCache(
+  private File loadAndUnpackSdkArchiveStream(
       @Nullable final ProxySettings proxySettings,
-      @Nonnull final File cacheFolder,
-      @Nonnull final String baseSdkName,
-      final boolean notLoadIfNotInCache
+      @Nonnull final RequestConfig config,
+      @Nonnull @MustNotContainNull final List<String> linksForDownloading,
+      @Nonnull final File archiveFile,
+      @Nonnull final File destinationFolder,
+      @Nonnull final SdkProfile profile,
+      @Nullable final BlobStore blobStore,
+      @Nullable final AtomicLong loadedBytes
   ) throws IOException, MojoExecutionException {
-    synchronized (AbstractGolangMojo.class) {
-      final File sdkFolder = new File(cacheFolder, baseSdkName);
+    IOException lastError = null;
+    for (final String link : linksForDownloading) {
+      if (lastError != null) {
+        this.getLog().warn("Can't stream SDK archive (" + lastError.getMessage()
+            + "), trying mirror " + link);
+      }
+      try {
+        return this.loadAndUnpackSdkArchiveStream(proxySettings, config, link, archiveFile,
+            destinationFolder, profile, blobStore, loadedBytes);
+      } catch (InterruptedIOException ex) {
+        throw ex;
+      } catch (IOException ex) {
+        lastError = ex;
+      }
+    }
+    throw assertNotNull(lastError);
+  }
+
+  @Nonnull
+  private File loadAndUnpackSdkArchiveStream(
+      @Nullable final ProxySettings proxySettings,
+      @Nonnull final RequestConfig config,
+      @Nonnull final String linkForDownloading,
+      @Nonnull final File archiveFile,
+      @Nonnull final File destinationFolder,
+      @Nonnull final SdkProfile profile,
+      @Nullable final BlobStore blobStore,
+      @Nullable final AtomicLong loadedBytes
+  ) throws IOException, MojoExecutionException {
+    this.getLog().warn("Streaming SDK archive with URL : " + linkForDownloading);
+
+    final HttpGet methodGet = new HttpGet(linkForDownloading);
+    methodGet.setConfig(config);
+
+    boolean detectedError = true;
+    try {
+      final HttpResponse response = this.getHttpClient(proxySettings).execute(methodGet);
+      final StatusLine statusLine = response.getStatusLine();
+
+      this.getLog().debug("HttpResponse: " + response);
+
+      if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
+        throw new IOException(String
+            .format("Can't load SDK archive from %s : %d %s", linkForDownloading,
+                statusLine.getStatusCode(), statusLine.getReasonPhrase()));
+      }
+
+      final XGoogHashHeader xGoogHash = new XGoogHashHeader(response.getHeaders("x-goog-hash"));
+      this.getLog().debug("XGoogHashHeader: " + xGoogHash);
+
+      final HttpEntity entity = response.getEntity();
+      final Header contentType = entity.getContentType();
+      if (contentType == null || !ALLOWED_SDKARCHIVE_CONTENT_TYPE.contains(contentType.getValue())) {
+        throw new IOException(
+            "Unsupported content type : " + (contentType == null ? null : contentType.getValue()));
+      }
 
-      if (sdkFolder.isDirectory()) {
-        return sdkFolder;
+      if (destinationFolder.exists()) {
+        this.logOptionally("Deleting existing staging folder : " + destinationFolder);
+        FileUtils.deleteDirectory(destinationFolder);
       }
 
-      final File lockFile = new File(cacheFolder, ".lck" + baseSdkName);
-      lockFile.deleteOnExit();
+      this.getLog().info(String.format("Unpacking archive stream to folder %s%s",
+          destinationFolder.getName(),
+          this.isKeepSdkArchive() ? ", archive is saved into " + archiveFile : ""));
+
+      final JfrEvents.Handle jfrDownload = JfrEvents.begin(JfrEvents.Type.SDK_DOWNLOAD);
+      final JfrEvents.Handle jfrUnpack = JfrEvents.begin(JfrEvents.Type.ARCHIVE_UNPACK);
+      final long streamStart = System.nanoTime();
+      final HashingInputStream hashingStream = new HashingInputStream(entity.getContent());
+      final OutputStream archiveStream = this.isKeepSdkArchive() ?
+          new BufferedOutputStream(new FileOutputStream(archiveFile), 1024 * 1024) : null;
       try {
-        if (!lockFile.createNewFile()) {
-          this.getLog().info("Detected SDK loading, waiting for the process end");
-          while (lockFile.exists()) {
-            try {
-              Thread.sleep(100L);
-            } catch (InterruptedException ex) {
-              throw new IOException("Wait of SDK loading is interrupted", ex);
-            }
-          }
-          this.getLog().info("Loading process has been completed");
-          return sdkFolder;
+        final InputStream source =
+            archiveStream == null ? hashingStream :
+                new TeeInputStream(hashingStream, archiveStream, false);
+        final int unpackedFileCounter = UnpackUtils
+            .unpackTarGzStreamToFolder(this.getLog(), "go", source, destinationFolder, true,
+                profile, blobStore);
+        if (unpackedFileCounter == 0) {
+          throw new IOException(
+              "Couldn't find folder 'go' in archive or the archive is empty");
+        }
+        org.apache.commons.io.IOUtils.consume(source);
+        this.getLog().info(String.format("Unpacked %d file(s) from %d Kb stream",
+            unpackedFileCounter, hashingStream.getCounter() / 1024L));
+        if (jfrUnpack != null) {
+          jfrUnpack.commit(linkForDownloading, destinationFolder, unpackedFileCounter,
+              hashingStream.getCounter());
+        }
+        if (jfrDownload != null) {
+          final long nanos = Math.max(1L, System.nanoTime() - streamStart);
+          jfrDownload.commit(linkForDownloading, linkForDownloading, hashingStream.getCounter(),
+              hashingStream.getCounter() * 1000000000L / nanos, 1);
+        }
+        if (loadedBytes != null) {
+          loadedBytes.addAndGet(hashingStream.getCounter());
+        }
+      } finally {
+        IOUtils.closeSilently(hashingStream);
+        IOUtils.closeSilently(archiveStream);
+      }
+
+      final String md5 = hashingStream.getMd5Hex();
+      final String crc32c = hashingStream.getCrc32cHex();
+      this.assertSdkArchiveHash(xGoogHash,
+          () -> xGoogHash.isDigestOk(this.getLog(), md5, crc32c));
+
+      detectedError = false;
+    } finally {
+      methodGet.releaseConnection();
+      if (detectedError && !this.isKeepUnarchFolderIfError()) {
+        this.logOptionally("Deleting folder because error during unpack : " + destinationFolder);
+        FileUtils.deleteQuietly(destinationFolder);
+      }
+    }
+    return destinationFolder;
+  }
+
+  private void assertSdkArchiveHash(
+      @Nonnull final XGoogHashHeader xGoogHash,
+      @Nonnull final HashChecker checker
+  ) throws IOException, MojoExecutionException {
+    if (this.isCheckSdkHash()) {
+      if (xGoogHash.isValid() && xGoogHash.hasData()) {
+        if (checker.isOk()) {
+          this.getLog().info("Downloaded archive hash is OK");
+        } else {
+          this.getLog().error("Downloaded archive hash is BAD");
+          throw new MojoExecutionException("Downloaded SDK archive has wrong hash");
         }
+      } else {
+        if (!xGoogHash.isValid()) {
+          throw new MojoExecutionException(
+              "Couldn't parse x-goog-hash from response: " + xGoogHash);
+        } else {
+          throw new MojoExecutionException(
+              "Parsed x-goog-hash doesn't contain data but marked as valid one: " +
+                  xGoogHash);
+        }
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface HashChecker {
+
+    boolean isOk() throws IOException;
+  }
+
+  /**
+   * Find SDK in the store folder, load and unpack it if not found. Loading is
+   * guarded by lock of SDK base name.
+   *
+   * @param proxySettings       proxy settings, can be null
+   * @param cacheFolder         store folder, must not be null
+   * @param baseSdkName         base name of SDK, must not be null
+   * @param profile             extraction profile, must not be null
+   * @param notLoadIfNotInCache true if SDK must not be loaded
+   * @param loadedBytes         counter of loaded bytes of SDK archive, can be
+   *                            null
+   * @return SDK folder, must not be null
+   * @throws IOException            if any IO error
+   * @throws MojoExecutionException if any execution error
+   */
+  @Nonnull
+  protected File loadSDKAndUnpackIntoCache(
+      @Nullable final ProxySettings proxySettings,
+      @Nonnull final File cacheFolder,
+      @Nonnull final String baseSdkName,
+      @Nonnull final SdkProfile profile,
+      final boolean notLoadIfNotInCache,
+      @Nullable final AtomicLong loadedBytes
+  ) throws IOException, MojoExecutionException {
+    final String sdkFolderName = profile.makeFolderName(baseSdkName);
+    return SdkResolver.resolve(cacheFolder, sdkFolderName, sdkFolder -> {
+      try (final StoreLock lock = StoreLock.lock(this.getLog(), cacheFolder, baseSdkName,
+          this.getSdkLockTimeout() * 1000L)) {
+        this.getLog().debug("Acquired lock " + lock.getLockFile());
 
         if (sdkFolder.isDirectory()) {
           if (this.isVerbose() || this.getLog().isDebugEnabled()) {
             this.getLog().info("SDK cache folder : " + sdkFolder);
           }
           return sdkFolder;
-        } else if (notLoadIfNotInCache || this.session.isOffline()) {
+        }
+
+        final boolean mavenSource = this.isSdkSourceMaven();
+        if (notLoadIfNotInCache || (this.session.isOffline() && !mavenSource)) {
           this.getLog().error(
               "Can't find cached Golang SDK and downloading is disabled or Maven in offline mode");
           throw new IOException(
               "Can't find " + baseSdkName + " in the cache but loading is directly disabled");
         }
 
+        if (mavenSource) {
+          return this.resolveSdkArtifactAndUnpack(cacheFolder, baseSdkName, sdkFolder, profile);
+        }
+
         final String predefinedLink = this.getSdkDownloadUrl();
 
+        final RequestConfig config =
+            this.processRequestConfig(proxySettings, this.getConnectionTimeout(),
+                RequestConfig.custom()).build();
+
         final File archiveFile;
-        final String linkForDownloading;
+        final List<String> linksForDownloading = new ArrayList<>();
 
         if (isSafeEmpty(predefinedLink)) {
           this.logOptionally("There is not any predefined SDK URL");
-          final String sdkFileName = this.findSdkArchiveFileName(proxySettings, baseSdkName);
+          final List<String> sites =
+              this.orderSdkSites(proxySettings, config, cacheFolder, baseSdkName);
+          final String sdkFileName =
+              this.findSdkArchiveFileName(proxySettings, cacheFolder, baseSdkName, sites);
           archiveFile = new File(cacheFolder, sdkFileName);
-          linkForDownloading = this.getSdkSite() + sdkFileName;
+          for (final String site : sites) {
+            linksForDownloading.add(site + sdkFileName);
+          }
         } else {
           final String extension = extractExtensionOfArchive(assertNotNull(predefinedLink));
           archiveFile = new File(cacheFolder, baseSdkName + '.' + extension);
-          linkForDownloading = predefinedLink;
-          this.logOptionally("Using predefined URL to download SDK : " + linkForDownloading);
+          linksForDownloading.add(predefinedLink);
+          this.logOptionally("Using predefined URL to download SDK : " + predefinedLink);
           this.logOptionally("Detected extension of archive : " + extension);
         }
 
-        if (archiveFile.exists()) {
+        if (RangedDownloader.isResumable(archiveFile)) {
+          this.logOptionally("Detected state of interrupted download for " + archiveFile);
+        } else if (archiveFile.exists()) {
           this.logOptionally(
               "Detected existing archive " + archiveFile + ", deleting it and reload");
           if (!archiveFile.delete()) {
@@ -785,114 +1222,31 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
           }
         }
 
-        final HttpGet methodGet = new HttpGet(linkForDownloading);
-        final RequestConfig config =
-            this.processRequestConfig(proxySettings, this.getConnectionTimeout(),
-                RequestConfig.custom()).build();
-        methodGet.setConfig(config);
-
         boolean errorsDuringLoading = true;
-        boolean showProgressBar;
-
-        try {
-          if (!archiveFile.isFile()) {
-            this.getLog().warn("Loading SDK archive with URL : " + linkForDownloading);
 
-            final HttpResponse response = this.getHttpClient(proxySettings).execute(methodGet);
-            final StatusLine statusLine = response.getStatusLine();
-
-            this.getLog().debug("HttpResponse: " + response);
-
-            if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
-              throw new IOException(String
-                  .format("Can't load SDK archive from %s : %d %s", linkForDownloading,
-                      statusLine.getStatusCode(), statusLine.getReasonPhrase()));
-            }
-
-            final XGoogHashHeader xGoogHash =
-                new XGoogHashHeader(response.getHeaders("x-goog-hash"));
-            this.getLog().debug("XGoogHashHeader: " + xGoogHash);
-
-            final HttpEntity entity = response.getEntity();
-            final Header contentType = entity.getContentType();
-
-            if (!ALLOWED_SDKARCHIVE_CONTENT_TYPE.contains(contentType.getValue())) {
-              throw new IOException("Unsupported content type : " + contentType.getValue());
-            }
-
-            final long size = entity.getContentLength();
-            try (final InputStream inStream = entity.getContent()) {
-              showProgressBar = size > 0L && !this.session.isParallel();
-              this.getLog().info("Downloading SDK archive into file : " + archiveFile);
-              long loadedCounter = 0L;
-              final byte[] buffer = new byte[1024 * 1024];
-              int lastRenderedValue = -1;
-              final int PROGRESSBAR_WIDTH = 10;
-              final String LOADING_TITLE = "Loading " + size / (1024L * 1024L) + " Mb ";
-              if (showProgressBar) {
-                lastRenderedValue = IOUtils
-                    .printTextProgressBar(LOADING_TITLE, 0, size, PROGRESSBAR_WIDTH,
-                        lastRenderedValue);
-              }
-              final OutputStream fileOutStream =
-                  new BufferedOutputStream(new FileOutputStream(archiveFile), 128 * 16384);
-              try {
-                while (!Thread.currentThread().isInterrupted()) {
-                  final int readCounter = inStream.read(buffer);
-                  if (readCounter < 0) {
-                    break;
-                  }
-                  fileOutStream.write(buffer, 0, readCounter);
-                  loadedCounter += readCounter;
-                  if (showProgressBar) {
-                    lastRenderedValue = IOUtils
-                        .printTextProgressBar(LOADING_TITLE, loadedCounter, size, PROGRESSBAR_WIDTH,
-                            lastRenderedValue);
-                  }
-                }
-              } finally {
-                if (showProgressBar) {
-                  System.out.println();
-                }
-                IOUtils.closeSilently(fileOutStream);
-              }
-              if (Thread.currentThread().isInterrupted()) {
-                throw new MojoExecutionException("Interrupted");
-              }
-              this.getLog().info("Archived SDK has been succesfully downloaded, its size is " +
-                  (archiveFile.length() / 1024L) + " Kb");
-            }
-
-            if (this.isCheckSdkHash()) {
-              if (xGoogHash.isValid() && xGoogHash.hasData()) {
-                this.getLog().debug("Checking hash of file");
-                final boolean fileHashOk = xGoogHash.isFileOk(this.getLog(), archiveFile);
-                if (fileHashOk) {
-                  this.getLog().info("Downloaded archive file hash is OK");
-                } else {
-                  this.getLog().error("Downloaded archive file hash is BAD");
-                  throw new MojoExecutionException("Downloaded SDK archive has wrong hash");
-                }
-              } else {
-                if (!xGoogHash.isValid()) {
-                  throw new MojoExecutionException(
-                      "Couldn't parse x-goog-hash from response: " + response);
-                } else {
-                  throw new MojoExecutionException(
-                      "Parsed x-goog-hash doesn't contain data but marked as valid one: " +
-                          xGoogHash);
-                }
-              }
-            }
+        final File stagingFolder = new File(cacheFolder, ".#" + sdkFolderName);
+        final BlobStore blobStore = this.isSdkBlobStore() ? new BlobStore(cacheFolder) : null;
 
+        try {
+          final File interFolder;
+          if (this.isStreamSdkUnpack()
+              && archiveFile.getName().toLowerCase(Locale.ENGLISH).endsWith(".tar.gz")
+              && !RangedDownloader.isResumable(archiveFile)) {
+            interFolder = this.loadAndUnpackSdkArchiveStream(proxySettings, config,
+                linksForDownloading, archiveFile, stagingFolder, profile, blobStore, loadedBytes);
+            errorsDuringLoading = false;
           } else {
-            this.getLog().info("Archive file of SDK has been found in the cache : " + archiveFile);
+            final long transferred =
+                this.downloadSdkArchive(proxySettings, config, linksForDownloading, archiveFile);
+            if (loadedBytes != null) {
+              loadedBytes.addAndGet(transferred);
+            }
+            errorsDuringLoading = false;
+            interFolder =
+                this.unpackArchToFolder(archiveFile, "go", stagingFolder, profile, blobStore);
           }
-
-          errorsDuringLoading = false;
-
-          final File interFolder =
-              this.unpackArchToFolder(archiveFile, "go", new File(cacheFolder, ".#" + baseSdkName));
+          this.writeSdkManifest(interFolder);
+          this.logOptionally("Shared HTTP connection pool : " + SharedHttpClients.getTotalStats());
 
           this.getLog().info("Renaming " + interFolder.getName() + " to " + sdkFolder.getName());
 
@@ -905,8 +1259,10 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
           return sdkFolder;
         } finally {
-          methodGet.releaseConnection();
-          if (errorsDuringLoading || !this.isKeepSdkArchive()) {
+          if (errorsDuringLoading && RangedDownloader.isResumable(archiveFile)) {
+            this.getLog().warn("Partially loaded archive is kept to resume download : " +
+                archiveFile);
+          } else if (errorsDuringLoading || !this.isKeepSdkArchive()) {
             this.logOptionally("Deleting archive : " + archiveFile +
                 (errorsDuringLoading ? " (because error during loading)" : ""));
             deleteFileIfExists(archiveFile);
@@ -914,13 +1270,249 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
             this.logOptionally("Archive file is kept for special flag : " + archiveFile);
           }
         }
+      }
+    });
+  }
+
+  private boolean isSdkSourceMaven() throws MojoExecutionException {
+    final String source = this.getSdkSource();
+    if (SdkArtifact.SOURCE_MAVEN.equals(source)) {
+      return true;
+    } else if (SdkArtifact.SOURCE_SITE.equals(source)) {
+      return false;
+    }
+    throw new MojoExecutionException("Unsupported SDK source : " + source);
+  }
+
+  @Nonnull
+  private File resolveSdkArtifact(@Nonnull final String baseSdkName)
+      throws IOException, MojoExecutionException {
+    final ArtifactCoordinate coordinate;
+    try {
+      coordinate = SdkArtifact.makeCoordinate(this.getSdkArtifactGroupId(),
+          this.getSdkArtifactId(), baseSdkName, this.getSdkArtifactExtension());
+    } catch (IllegalArgumentException ex) {
+      throw new MojoExecutionException(ex.getMessage(), ex);
+    }
+    this.getLog().info("Resolving SDK artifact " + SdkArtifact.asString(coordinate));
+    final JfrEvents.Handle jfrEvent = JfrEvents.begin(JfrEvents.Type.ARTIFACT_RESOLVE);
+    File archiveFile = null;
+    try {
+      archiveFile = this.getArtifactResolver().resolveArtifact(
+          makeResolveArtifactProjectBuildingRequest(this.session, this.getRemoteRepositories()),
+          coordinate).getArtifact().getFile();
+    } catch (ArtifactResolverException ex) {
+      throw new MojoExecutionException(
+          "Can't resolve SDK artifact : " + SdkArtifact.asString(coordinate), ex);
+    } finally {
+      if (jfrEvent != null) {
+        jfrEvent.commit(SdkArtifact.asString(coordinate), archiveFile, archiveFile != null);
+      }
+    }
+    if (archiveFile == null || !archiveFile.isFile()) {
+      throw new IOException("Resolved SDK artifact doesn't have file : " + archiveFile);
+    }
+    this.logOptionally("Resolved SDK archive : " + archiveFile);
+    return archiveFile;
+  }
+
+  @Nonnull
+  private File resolveSdkArtifactAndUnpack(@Nonnull final File cacheFolder,
+                                           @Nonnull final String baseSdkName,
+                                           @Nonnull final File sdkFolder,
+                                           @Nonnull final SdkProfile profile)
+      throws IOException, MojoExecutionException {
+    if (!isSafeEmpty(this.getSdkDownloadUrl())) {
+      this.getLog().warn("Predefined SDK URL is ignored for SDK source maven");
+    }
+    final File archiveFile = this.resolveSdkArtifact(baseSdkName);
+
+    final File stagingFolder = new File(cacheFolder, ".#" + sdkFolder.getName());
+    final File interFolder = this.unpackArchToFolder(archiveFile, "go", stagingFolder, profile,
+        this.isSdkBlobStore() ? new BlobStore(cacheFolder) : null);
+    this.writeSdkManifest(interFolder);
+
+    this.getLog().info("Renaming " + interFolder.getName() + " to " + sdkFolder.getName());
+    if (!tryRenameFolder(interFolder, sdkFolder, 3, 5000L)) {
+      throw new IOException(
+          "Can't rename temp GoSDK folder: " + interFolder + " -> " + sdkFolder);
+    }
+    return sdkFolder;
+  }
+
+  private void writeSdkManifest(@Nonnull final File sdkFolder) throws IOException {
+    final long start = System.currentTimeMillis();
+    final SdkManifest manifest =
+        SdkManifest.make(sdkFolder, Runtime.getRuntime().availableProcessors());
+    manifest.save(sdkFolder);
+    this.logOptionally(String.format("SDK manifest has been written (%d file(s), %d Kb) in %d ms",
+        manifest.getFileCount(), manifest.getTotalBytes() / 1024L,
+        System.currentTimeMillis() - start));
+  }
+
+  @Nullable
+  private File findSdkArchiveForRepair(@Nonnull final File cacheFolder,
+                                       @Nonnull final String baseSdkName)
+      throws IOException, MojoExecutionException {
+    if (this.isSdkSourceMaven()) {
+      return this.resolveSdkArtifact(baseSdkName);
+    }
+    final List<String> names = new ArrayList<>();
+    if (!isSafeEmpty(this.getSdkArchiveName())) {
+      names.add(assertNotNull(this.getSdkArchiveName()));
+    }
+    names.add(baseSdkName + ".tar.gz");
+    names.add(baseSdkName + ".zip");
+    for (final String name : names) {
+      final File archive = new File(cacheFolder, name);
+      if (archive.isFile() && !RangedDownloader.isResumable(archive)) {
+        return archive;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Verify SDK folder in the store folder against its manifest, damaged files
+   * are restored from kept SDK archive and if it is impossible then the SDK
+   * folder is removed.
+   *
+   * @param cacheFolder store folder, must not be null
+   * @param baseSdkName base name of SDK, must not be null
+   * @param sdkFolder   SDK folder, must not be null
+   * @param full        true if hashes of files must be checked, false if only
+   *                    presence and sizes
+   * @return false if SDK folder has been removed, true otherwise
+   * @throws IOException            if any IO error
+   * @throws MojoExecutionException if any execution error
+   * @since 2.3.11
+   */
+  protected boolean verifySdkFolder(@Nonnull final File cacheFolder,
+                                    @Nonnull final String baseSdkName,
+                                    @Nonnull final File sdkFolder,
+                                    final boolean full)
+      throws IOException, MojoExecutionException {
+    final SdkManifest manifest = SdkManifest.load(sdkFolder);
+    if (manifest == null) {
+      this.getLog().debug("There is no manifest in SDK folder : " + sdkFolder);
+      return true;
+    }
+
+    final int threads = Runtime.getRuntime().availableProcessors();
+    final long start = System.currentTimeMillis();
+    final List<String> damaged =
+        full ? manifest.verifyFull(sdkFolder, threads) : manifest.verifyFast(sdkFolder);
+    this.logOptionally(String.format("%s verification of %s (%d file(s)) took %d ms",
+        full ? "Full" : "Fast", sdkFolder.getName(), manifest.getFileCount(),
+        System.currentTimeMillis() - start));
+    if (damaged.isEmpty()) {
+      if (full) {
+        try {
+          SdkManifest.markFullVerification(sdkFolder);
+        } catch (IOException ex) {
+          this.getLog().debug("Can't mark full verification of " + sdkFolder + " : " + ex);
+        }
+      }
+      return true;
+    }
+
+    this.getLog().warn(String.format("Detected %d damaged file(s) in SDK %s, for instance %s",
+        damaged.size(), sdkFolder.getName(), damaged.get(0)));
+
+    try (final StoreLock lock = StoreLock.lock(this.getLog(), cacheFolder, baseSdkName,
+        this.getSdkLockTimeout() * 1000L)) {
+      this.getLog().debug("Acquired lock " + lock.getLockFile());
+      // other process could repair or replace the SDK while we were waiting for the lock
+      if (!sdkFolder.isDirectory()) {
+        this.getLog().info("Damaged SDK folder has been removed by other process : " + sdkFolder);
+        return false;
+      }
+      final SdkManifest lockedManifest = SdkManifest.load(sdkFolder);
+      if (lockedManifest == null
+          || lockedManifest.verifyFiles(sdkFolder, damaged, threads).isEmpty()) {
+        this.getLog().info("SDK has been restored by other process : " + sdkFolder);
+        return true;
+      }
+
+      final File archive = this.findSdkArchiveForRepair(cacheFolder, baseSdkName);
+      if (archive == null) {
+        this.getLog().warn("There is no kept SDK archive to repair SDK");
+      } else {
+        try {
+          SdkManifest.repair(this.getLog(), sdkFolder, damaged, archive);
+          if (lockedManifest.verifyFiles(sdkFolder, damaged, threads).isEmpty()) {
+            this.getLog().info(String.format("Restored %d file(s) of SDK %s from %s",
+                damaged.size(), sdkFolder.getName(), archive.getName()));
+            return true;
+          }
+          this.getLog().warn("SDK files are still damaged after restoring from " + archive);
+        } catch (IOException ex) {
+          this.getLog().warn("Can't restore SDK files from " + archive + " : " + ex.getMessage());
+        }
+      }
+
+      final Closeable unused = StoreUsage.lockUnused(cacheFolder, sdkFolder.getName());
+      if (unused == null) {
+        throw new IOException("Damaged SDK folder is used by other build : " + sdkFolder);
+      }
+      final File damagedFolder = new File(cacheFolder, ".#damaged-" + sdkFolder.getName());
+      try {
+        FileUtils.deleteQuietly(damagedFolder);
+        if (!sdkFolder.renameTo(damagedFolder)) {
+          throw new IOException("Can't remove damaged SDK folder : " + sdkFolder);
+        }
       } finally {
-        final boolean deleted = FileUtils.deleteQuietly(lockFile);
-        this.getLog().debug("Lock file " + lockFile + " deleted : " + deleted);
+        unused.close();
       }
+      this.getLog().warn("Damaged SDK folder has been removed : " + sdkFolder);
+      FileUtils.deleteQuietly(damagedFolder);
+      return false;
     }
   }
 
+  /**
+   * Find SDK folder in shared read-only store folders. Folders are probed
+   * without locks and nothing is written into them, SDK which doesn't pass
+   * verification is ignored.
+   *
+   * @param sdkFolderName name of SDK folder, must not be null
+   * @return found SDK folder or null
+   * @throws IOException if any IO error
+   * @since 2.3.11
+   */
+  @Nullable
+  protected File findSdkInSharedStores(@Nonnull final String sdkFolderName) throws IOException {
+    for (final File sharedStore : this.getSharedStoreFolders()) {
+      final File sdkFolder = new File(sharedStore, sdkFolderName);
+      if (!sdkFolder.isDirectory()) {
+        this.getLog().debug("SDK is not found in shared store : " + sdkFolder);
+        continue;
+      }
+      final SdkManifest manifest =
+          "none".equals(this.getSdkVerify()) ? null : SdkManifest.load(sdkFolder);
+      if (manifest != null) {
+        final List<String> damaged = "full".equals(this.getSdkVerify())
+            ? manifest.verifyFull(sdkFolder, Runtime.getRuntime().availableProcessors())
+            : manifest.verifyFast(sdkFolder);
+        if (!damaged.isEmpty()) {
+          this.getLog().warn(String.format(
+              "Ignored SDK in shared store %s because %d damaged file(s), for instance %s",
+              sharedStore, damaged.size(), damaged.get(0)));
+          continue;
+        }
+      }
+      return sdkFolder;
+    }
+    return null;
+  }
+
+  private boolean isSdkFullVerifyNeeded(@Nonnull final File sdkFolder) {
+    final long period = this.getSdkFullVerifyPeriod() * 1000L;
+    return "full".equals(this.getSdkVerify()) || (period > 0L
+        && System.currentTimeMillis() - SdkManifest.findLastFullVerification(sdkFolder)
+        >= period);
+  }
+
   public boolean isFilterEnvPath() {
     return this.filterEnvPath;
   }
@@ -985,6 +1577,10 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return this.connectionTimeout;
   }
 
+  public int getSdkDownloadConnections() {
+    return Math.max(1, this.sdkDownloadConnections);
+  }
+
   @Nonnull
   public String getExec() {
     return ensureNoSurroundingSlashes(assertNotNull(this.exec));
@@ -994,10 +1590,136 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return this.useEnvVars;
   }
 
+  @Nonnull
+  public String getSdkSource() {
+    return isSafeEmpty(this.sdkSource) ? SdkArtifact.SOURCE_SITE
+        : this.sdkSource.trim().toLowerCase(Locale.ENGLISH);
+  }
+
+  @Nonnull
+  public String getSdkArtifactGroupId() {
+    return this.sdkArtifactGroupId == null ? "org.golang" : this.sdkArtifactGroupId.trim();
+  }
+
+  @Nonnull
+  public String getSdkArtifactId() {
+    return this.sdkArtifactId == null ? "go-sdk" : this.sdkArtifactId.trim();
+  }
+
+  @Nullable
+  public String getSdkArtifactExtension() {
+    return this.sdkArtifactExtension;
+  }
+
+  @Nonnull
+  public String getSdkVerify() {
+    return isSafeEmpty(this.sdkVerify) ? "fast" : this.sdkVerify.trim().toLowerCase(Locale.ENGLISH);
+  }
+
+  public long getSdkFullVerifyPeriod() {
+    return Math.max(0L, this.sdkFullVerifyPeriod);
+  }
+
+  public int getConsoleBufferLimit() {
+    return this.consoleBufferLimit;
+  }
+
+  public boolean isTimingReport() {
+    return Boolean.parseBoolean(
+        findMvnProperty("mvn.golang.timing.report", Boolean.toString(this.timingReport)));
+  }
+
+  public boolean isResourceAccounting() {
+    return Boolean.parseBoolean(findMvnProperty("mvn.golang.resource.accounting",
+        Boolean.toString(this.resourceAccounting)));
+  }
+
+  public long getResourceAccountingInterval() {
+    return this.resourceAccountingInterval;
+  }
+
+  /**
+   * Get timings of the current mojo execution.
+   *
+   * @return timings, disabled ones if execution is not started, must not be
+   * null
+   * @since 2.3.11
+   */
+  @Nonnull
+  protected PhaseTimings getTimings() {
+    final PhaseTimings result = this.timings;
+    return result == null ? PhaseTimings.begin(false, "", "", "") : result;
+  }
+
+  @Nonnull
+  private String makeModuleId() {
+    final MavenProject theProject = this.getProject();
+    return theProject.getGroupId() + ':' + theProject.getArtifactId();
+  }
+
+  @Nonnull
+  private String makeExecutionId() {
+    final MojoExecution theExecution = this.getExecution();
+    return theExecution == null ? this.getClass().getSimpleName()
+        : theExecution.getGoal() + '@' + theExecution.getExecutionId();
+  }
+
+  private void registerResourceUsage(@Nonnull final ProcessTreeSampler.Usage usage,
+                                     @Nonnull final String command) {
+    this.logOptionally("Resources used by go process tree : " + usage);
+    for (final Map.Entry<String, Long> e : usage.asMap().entrySet()) {
+      this.project.getProperties()
+          .setProperty("mvn.golang.last.usage." + e.getKey(), Long.toString(e.getValue()));
+    }
+    final MojoExecution theExecution = this.getExecution();
+    final String fileName = theExecution == null
+        ? "mvn-golang-usage-" + this.getClass().getSimpleName() + ".json"
+        : "mvn-golang-usage-" + theExecution.getGoal() + '-' + theExecution.getExecutionId()
+        + ".json";
+    final File report = new File(this.getProject().getBuild().getDirectory(), fileName);
+    try {
+      PhaseTimings.write(report,
+          usage.toJson(this.makeModuleId(), this.makeExecutionId(), command));
+      this.getLog().debug("Resource usage report has been written : " + report);
+    } catch (IOException ex) {
+      this.getLog().warn("Can't write resource usage report : " + ex.getMessage());
+    }
+  }
+
+  private void writeTimingReports() {
+    final PhaseTimings theTimings = this.timings;
+    if (theTimings == null || !theTimings.isEnabled()) {
+      return;
+    }
+    for (final PhaseTimings.Record r : theTimings.getRecords()) {
+      if (r.getDepth() <= 1) {
+        this.logOptionally(String.format("Phase %s took %.3f ms", r.getPhase(),
+            r.getDurationNanos() / 1000000.0d));
+      }
+    }
+    final File moduleReport =
+        new File(this.getProject().getBuild().getDirectory(), "mvn-golang-timings.json");
+    final File trace = new File(new File(this.getSession().getExecutionRootDirectory(), "target"),
+        "mvn-golang-trace.json");
+    try {
+      // trace is replaced atomically after every execution, so that it is complete
+      // whichever execution of the session is the last one
+      PhaseTimings.write(moduleReport, PhaseTimings.makeModuleReport(this.makeModuleId()));
+      PhaseTimings.writeTrace(trace);
+      this.getLog().debug("Timing reports have been written : " + moduleReport + ", " + trace);
+    } catch (IOException ex) {
+      this.getLog().warn("Can't write timing report : " + ex.getMessage());
+    }
+  }
+
   public boolean isKeepSdkArchive() {
     return this.keepSdkArchive;
   }
 
+  public boolean isStreamSdkUnpack() {
+    return this.streamSdkUnpack;
+  }
+
   public boolean isKeepUnarchFolderIfError() {
     return this.keepUnarchFolderIfError;
   }
@@ -1031,6 +1753,20 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return this.storeFolder;
   }
 
+  @Nonnull
+  @MustNotContainNull
+  public List<File> getSharedStoreFolders() {
+    final List<File> result = new ArrayList<>();
+    if (this.sharedStoreFolders != null) {
+      for (final String folder : this.sharedStoreFolders) {
+        if (!isSafeEmpty(folder)) {
+          result.add(new File(folder.trim()));
+        }
+      }
+    }
+    return result;
+  }
+
   @Nullable
   public String getUseGoTool() {
     return this.useGoTool;
@@ -1045,9 +1781,47 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return this.disableSdkLoad;
   }
 
+  public long getMaxStoreSize() {
+    return Math.max(0L, this.maxStoreSize);
+  }
+
+  public long getMaxStoreAge() {
+    return Math.max(0L, this.maxStoreAge);
+  }
+
+  public boolean isSdkBlobStore() {
+    return this.sdkBlobStore;
+  }
+
+  @Nonnull
+  public String getSdkProfile() {
+    return GetUtils.ensureNonNull(this.sdkProfile, SdkProfile.FULL.getId());
+  }
+
+  public long getSdkLockTimeout() {
+    return Math.max(0L, this.sdkLockTimeout);
+  }
+
+  public long getSdkListCacheTtl() {
+    return Math.max(0L, this.sdkListCacheTtl);
+  }
+
   @Nonnull
   public String getSdkSite() {
-    return assertNotNull(this.sdkSite);
+    final List<String> sites = this.getSdkSites();
+    return sites.isEmpty() ? assertNotNull(this.sdkSite) : sites.get(0);
+  }
+
+  /**
+   * Get list of configured SDK site mirrors.
+   *
+   * @return list of mirrors in configured order, must not be null
+   * @since 2.3.11
+   */
+  @Nonnull
+  @MustNotContainNull
+  public List<String> getSdkSites() {
+    return SdkMirrors.parse(this.sdkSite);
   }
 
   @Nonnull
@@ -1076,45 +1850,36 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   @Nonnull
   @MustNotContainNull
   public File[] findGoPath(final boolean ensureExist) throws IOException {
-    LOCKER.lock();
-    try {
-      final String foundGoPath = getGoPath();
-      if (getLog().isDebugEnabled()) {
-        getLog().debug("findGoPath(" + ensureExist + "), getGoPath() returns " + foundGoPath);
-      }
+    final String foundGoPath = getGoPath();
+    if (getLog().isDebugEnabled()) {
+      getLog().debug("findGoPath(" + ensureExist + "), getGoPath() returns " + foundGoPath);
+    }
 
-      final List<File> result = new ArrayList<>();
+    final List<File> result = new ArrayList<>();
 
-      for (final String p : foundGoPath.split(String.format("\\%s", File.pathSeparator))) {
-        final File folder = new File(p);
-        result.add(folder);
-        if (ensureExist && !folder.isDirectory() && !folder.mkdirs()) {
-          throw new IOException("Can't create folder for GOPATH : " + folder.getAbsolutePath());
-        }
+    for (final String p : foundGoPath.split(String.format("\\%s", File.pathSeparator))) {
+      final File folder = new File(p);
+      result.add(folder);
+      if (ensureExist && !folder.isDirectory() && !folder.mkdirs()
+          && !folder.isDirectory()) {
+        throw new IOException("Can't create folder for GOPATH : " + folder.getAbsolutePath());
       }
-
-      return result.toArray(new File[0]);
-    } finally {
-      LOCKER.unlock();
     }
+
+    return result.toArray(new File[0]);
   }
 
   @Nullable
   public File findGoRootBootstrap(final boolean ensureExist) throws IOException {
-    LOCKER.lock();
-    try {
-      final String value = getGoRootBootstrap();
-      File result = null;
-      if (value != null) {
-        result = new File(value);
-        if (ensureExist && !result.isDirectory()) {
-          throw new IOException("Can't find folder for GOROOT_BOOTSTRAP: " + result);
-        }
+    final String value = getGoRootBootstrap();
+    File result = null;
+    if (value != null) {
+      result = new File(value);
+      if (ensureExist && !result.isDirectory()) {
+        throw new IOException("Can't find folder for GOROOT_BOOTSTRAP: " + result);
       }
-      return result;
-    } finally {
-      LOCKER.unlock();
     }
+    return result;
   }
 
   @Nonnull
@@ -1293,10 +2058,15 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   }
 
   @Nonnull
-  private String loadGoLangSdkList(@Nullable final ProxySettings proxySettings,
-                                   @Nullable final String keyPrefix)
-      throws IOException, MojoExecutionException {
-    final String sdksite = getSdkSite() + (keyPrefix == null ? "" : "?prefix=" + keyPrefix);
+  private String loadSdkArchiveNameFromList(
+      @Nullable final ProxySettings proxySettings,
+      @Nonnull final String site,
+      @Nonnull final String sdkBaseName,
+      @Nullable final SdkListCache cache,
+      @Nullable final SdkListCache.Entry cachedEntry
+  ) throws IOException, MojoExecutionException {
+    final String sdksite =
+        site + "?prefix=" + URLEncoder.encode(sdkBaseName, "UTF-8");
 
     getLog().warn("Loading list of available GoLang SDKs from " + sdksite);
     final HttpGet get = new HttpGet(sdksite);
@@ -1307,15 +2077,41 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     get.setConfig(config);
 
     get.addHeader("Accept", "application/xml");
+    if (cachedEntry != null && cachedEntry.getETag() != null) {
+      get.addHeader("If-None-Match", cachedEntry.getETag());
+    }
 
     try {
       final HttpResponse response = getHttpClient(proxySettings).execute(get);
       final StatusLine statusLine = response.getStatusLine();
-      if (statusLine.getStatusCode() == HttpStatus.SC_OK) {
-        final String content = EntityUtils.toString(response.getEntity());
+      if (statusLine.getStatusCode() == HttpStatus.SC_NOT_MODIFIED && cachedEntry != null) {
+        logOptionally("GoLang SDK list is not modified, cached SDK archive name is used : "
+            + cachedEntry.getArchiveKey());
+        this.putIntoSdkListCache(cache, sdkBaseName, cachedEntry.getArchiveKey(),
+            cachedEntry.getETag());
+        return cachedEntry.getArchiveKey();
+      } else if (statusLine.getStatusCode() == HttpStatus.SC_OK) {
+        final Set<String> variants = new HashSet<>();
+        for (final String ext : new String[] {"tar.gz", "zip"}) {
+          variants.add(sdkBaseName + '.' + ext);
+        }
+        getLog().debug("Looking for SDK started with base name : " + sdkBaseName);
+
+        final List<String> listedSdk = new ArrayList<>();
+        final String found;
+        try (final InputStream in = response.getEntity().getContent()) {
+          found = BucketListParser.findFirstKey(in, variants, listedSdk);
+        }
         getLog().info("GoLang SDK list has been loaded successfuly");
-        getLog().debug(content);
-        return content;
+
+        if (found == null) {
+          return this.processNotFoundSdk(site, sdkBaseName, listedSdk);
+        }
+        logOptionally("Detected compatible SDK in the SDK list : " + found);
+        final Header etag = response.getFirstHeader("ETag");
+        this.putIntoSdkListCache(cache, sdkBaseName, found,
+            etag == null ? null : etag.getValue());
+        return found;
       } else {
         throw new IOException(String
             .format("Can't load list of SDKs from %s : %d %s", sdksite, statusLine.getStatusCode(),
@@ -1326,22 +2122,18 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     }
   }
 
-  @Nonnull
-  private Document convertSdkListToDocument(@Nonnull final String sdkListAsString)
-      throws IOException {
-    try {
-      final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-      final DocumentBuilder builder = factory.newDocumentBuilder();
-      return builder.parse(new InputSource(new StringReader(sdkListAsString)));
-    } catch (ParserConfigurationException ex) {
-      getLog().error("Can't configure XML parser", ex);
-      throw new IOException("Can't configure XML parser", ex);
-    } catch (SAXException ex) {
-      getLog().error("Can't parse document", ex);
-      throw new IOException("Can't parse document", ex);
-    } catch (IOException ex) {
-      getLog().error("Unexpected IOException", ex);
-      throw new IOException("Unexpected IOException", ex);
+  private void putIntoSdkListCache(
+      @Nullable final SdkListCache cache,
+      @Nonnull final String sdkBaseName,
+      @Nonnull final String archiveName,
+      @Nullable final String etag
+  ) {
+    if (cache != null) {
+      try {
+        cache.put(getSdkSite(), sdkBaseName, archiveName, etag);
+      } catch (IOException ex) {
+        getLog().warn("Can't save SDK list cache " + cache.getFile() + " : " + ex.getMessage());
+      }
     }
   }
 
@@ -1365,25 +2157,112 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     }
   }
 
-  protected void initConsoleBuffers() {
+  protected void initConsoleBuffers() throws IOException {
     getLog().debug("Initing console out and console err buffers");
-    this.consoleErrBuffer = new ByteArrayOutputStream();
-    this.consoleOutBuffer = new ByteArrayOutputStream();
+    this.disposeConsoleBuffers();
+
+    final File tempFolder = this.getTempFileFolder();
+    this.consoleErrBuffer = new StreamingLineCapture(Charset.defaultCharset(),
+        this.getConsoleBufferLimit(), tempFolder);
+    this.consoleOutBuffer = new StreamingLineCapture(Charset.defaultCharset(),
+        this.getConsoleBufferLimit(), tempFolder);
+
+    final File reportsFolderFile = new File(this.getReportsFolder());
+    final String targetOutFileName = nullIfBlank(this.getOutLogFile());
+    final String targetErrFileName = nullIfBlank(this.getErrLogFile());
+    if (targetOutFileName != null || targetErrFileName != null) {
+      getLog().debug("Reports folder : " + reportsFolderFile);
+      if (!reportsFolderFile.isDirectory() && !reportsFolderFile.mkdirs()) {
+        throw new IOException("Can't create folder for console logs : " + reportsFolderFile);
+      }
+    }
+    this.consoleOutBuffer.setReportFile(
+        targetOutFileName == null ? null : new File(reportsFolderFile, targetOutFileName));
+    this.consoleErrBuffer.setReportFile(
+        targetErrFileName == null ? null : new File(reportsFolderFile, targetErrFileName));
+
+    if (this.isEnforcePrintOutput() || (this.isVerbose() && this.isCommandSupportVerbose())
+        || getLog().isDebugEnabled()) {
+      final AtomicBoolean headerPrinted = new AtomicBoolean();
+      this.consoleOutSink = new AsyncLineSink("mvn-golang-out", line -> {
+        if (headerPrinted.compareAndSet(false, true)) {
+          getLog().info("");
+          getLog().info("---------Exec.Out---------");
+        }
+        getLog().info(StrUtils.trimRight(line));
+      });
+      this.consoleOutBuffer.addListener(this.consoleOutSink);
+    }
+  }
+
+  /**
+   * Get capture of error stream of current process.
+   *
+   * @return capture of error stream, must not be null after init of buffers
+   * @since 2.3.11
+   */
+  @Nonnull
+  protected StreamingLineCapture getConsoleErrBuffer() {
+    return assertNotNull(this.consoleErrBuffer);
+  }
+
+  private void closeConsoleBuffers() throws MojoExecutionException {
+    IOException error = null;
+    try {
+      this.consoleOutBuffer.close();
+    } catch (IOException ex) {
+      error = ex;
+    }
+    try {
+      this.consoleErrBuffer.close();
+    } catch (IOException ex) {
+      error = error == null ? ex : error;
+    }
+    if (this.consoleOutSink != null) {
+      this.consoleOutSink.close();
+      if (!this.consoleOutBuffer.isEmpty()) {
+        getLog().info("");
+      }
+    }
+    if (error != null) {
+      throw new MojoExecutionException("Can't save console log", error);
+    }
+  }
+
+  private void disposeConsoleBuffers() {
+    if (this.consoleOutSink != null) {
+      this.consoleOutSink.close();
+      this.consoleOutSink = null;
+    }
+    if (this.consoleOutBuffer != null) {
+      this.consoleOutBuffer.dispose();
+    }
+    if (this.consoleErrBuffer != null) {
+      this.consoleErrBuffer.dispose();
+    }
   }
 
   @ReturnsOriginal
   @Nonnull
   private File unpackArchToFolder(@Nonnull final File archiveFile,
                                   @Nonnull final String folderInArchive,
-                                  @Nonnull final File destinationFolder) throws IOException {
-    getLog().info(String.format("Unpacking archive %s to folder %s", archiveFile.getName(),
-        destinationFolder.getName()));
+                                  @Nonnull final File destinationFolder,
+                                  @Nonnull final SdkProfile profile,
+                                  @Nullable final BlobStore blobStore) throws IOException {
+    getLog().info(String.format("Unpacking archive %s to folder %s (profile %s)",
+        archiveFile.getName(), destinationFolder.getName(), profile.getId()));
 
     boolean detectedError = true;
     try {
 
+      final JfrEvents.Handle jfrEvent = JfrEvents.begin(JfrEvents.Type.ARCHIVE_UNPACK);
       final int unpackedFileCounter = UnpackUtils
-          .unpackFileToFolder(getLog(), folderInArchive, archiveFile, destinationFolder, true);
+          .unpackFileToFolder(getLog(), folderInArchive, archiveFile, destinationFolder, true,
+              profile, blobStore);
+      if (jfrEvent != null) {
+        jfrEvent.commit(archiveFile, destinationFolder, unpackedFileCounter,
+            archiveFile.length());
+      }
       if (unpackedFileCounter == 0) {
         throw new IOException(
             "Couldn't find folder '" + folderInArchive + "' in archive or the archive is empty");
@@ -1403,76 +2282,99 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   }
 
   @Nonnull
-  private String extractSDKFileName(@Nonnull final String listUrl, @Nonnull final Document doc,
+  private String processNotFoundSdk(@Nonnull final String listUrl,
                                     @Nonnull final String sdkBaseName,
-                                    @Nonnull @MustNotContainNull final String[] allowedExtensions)
+                                    @Nonnull @MustNotContainNull final List<String> listedSdk)
       throws IOException {
-    getLog().debug("Looking for SDK started with base name : " + sdkBaseName);
-
-    final Set<String> variants = new HashSet<>();
-    for (final String ext : allowedExtensions) {
-      variants.add(sdkBaseName + '.' + ext);
-    }
-
-    final List<String> listedSdk = new ArrayList<>();
-
-    final Element root = doc.getDocumentElement();
-    if ("ListBucketResult".equals(root.getTagName())) {
-      final NodeList list = root.getElementsByTagName("Contents");
-      for (int i = 0; i < list.getLength(); i++) {
-        final Element element = (Element) list.item(i);
-        final NodeList keys = element.getElementsByTagName("Key");
-        if (keys.getLength() > 0) {
-          final String text = keys.item(0).getTextContent();
-          if (variants.contains(text)) {
-            logOptionally("Detected compatible SDK in the SDK list : " + text);
-            return text;
-          } else {
-            listedSdk.add(text);
-          }
-        }
+    if (this.supposeSdkArchiveFileName) {
+      final String supposedSdkName =
+          sdkBaseName + '.' + (SystemUtils.IS_OS_WINDOWS ? "zip" : "tar.gz");
+      getLog().warn("Can't find SDK file in the loaded list");
+      getLog().debug("..................................................");
+      for (final String s : listedSdk) {
+        getLog().debug(s);
       }
+      getLog().debug("..................................................");
 
-      if (this.supposeSdkArchiveFileName) {
-        final String supposedSdkName =
-            sdkBaseName + '.' + (SystemUtils.IS_OS_WINDOWS ? "zip" : "tar.gz");
-        getLog().warn("Can't find SDK file in the loaded list");
-        getLog().debug("..................................................");
-        for (final String s : listedSdk) {
-          getLog().debug(s);
-        }
-        getLog().debug("..................................................");
+      getLog().warn("Supposed name of SDK archive is " + supposedSdkName +
+          ", trying to load it directly! It can be disabled with <supposeSdkArchiveFileName>false</supposeSdkArchiveFileName>)");
+      return supposedSdkName;
+    }
 
-        getLog().warn("Supposed name of SDK archive is " + supposedSdkName +
-            ", trying to load it directly! It can be disabled with <supposeSdkArchiveFileName>false</supposeSdkArchiveFileName>)");
-        return supposedSdkName;
-      }
+    getLog().error("Can't find any SDK to be used as " + sdkBaseName);
+    getLog().error("GoLang list contains listed SDKs (" + listUrl + ")");
+    getLog().error(
+        "It is possible directly define link to SDK through configuration parameter <sdkDownloadUrl>..</sdkDownloadUrl>");
+    getLog().error("..................................................");
+    for (final String s : listedSdk) {
+      getLog().error(s);
+    }
 
-      getLog().error("Can't find any SDK to be used as " + sdkBaseName);
-      getLog().error("GoLang list contains listed SDKs (" + listUrl + ")");
-      getLog().error(
-          "It is possible directly define link to SDK through configuration parameter <sdkDownloadUrl>..</sdkDownloadUrl>");
-      getLog().error("..................................................");
-      for (final String s : listedSdk) {
-        getLog().error(s);
-      }
+    throw new IOException("Can't find SDK : " + sdkBaseName);
+  }
 
-      throw new IOException("Can't find SDK : " + sdkBaseName);
-    } else {
-      throw new IOException("It is not a ListBucket file [" + root.getTagName() + ']');
+  @Nonnull
+  @MustNotContainNull
+  private List<String> orderSdkSites(@Nullable final ProxySettings proxySettings,
+                                     @Nonnull final RequestConfig config,
+                                     @Nonnull final File storeFolder,
+                                     @Nonnull final String sdkBaseName)
+      throws IOException, MojoExecutionException {
+    final List<String> sites = this.getSdkSites();
+    if (sites.size() < 2) {
+      return sites;
+    }
+    this.logOptionally("Probing SDK site mirrors : " + sites);
+    try {
+      final List<String> result = new SdkMirrors(this.getLog(), storeFolder).race(
+          this.getHttpClient(proxySettings), config, sites,
+          "?prefix=" + URLEncoder.encode(sdkBaseName, "UTF-8"),
+          Math.max(1000L, this.getConnectionTimeout()));
+      this.getLog().info("Selected SDK site mirror : " + result.get(0));
+      return result;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted", ex);
     }
   }
 
   @Nonnull
   private String findSdkArchiveFileName(@Nullable final ProxySettings proxySettings,
-                                        @Nonnull final String sdkBaseName)
+                                        @Nonnull final File storeFolder,
+                                        @Nonnull final String sdkBaseName,
+                                        @Nonnull @MustNotContainNull final List<String> sites)
       throws IOException, MojoExecutionException {
     String result = getSdkArchiveName();
     if (isSafeEmpty(result)) {
-      final Document parsed = convertSdkListToDocument(
-          loadGoLangSdkList(proxySettings, URLEncoder.encode(sdkBaseName, "UTF-8")));
-      result =
-          extractSDKFileName(getSdkSite(), parsed, sdkBaseName, new String[] {"tar.gz", "zip"});
+      final SdkListCache cache = this.getSdkListCacheTtl() > 0L
+          ? new SdkListCache(storeFolder, this.getSdkListCacheTtl() * 1000L) : null;
+      final SdkListCache.Entry cachedEntry =
+          cache == null ? null : cache.find(getSdkSite(), sdkBaseName);
+      if (cachedEntry != null && cache.isFresh(cachedEntry)) {
+        result = cachedEntry.getArchiveKey();
+        logOptionally("SDK archive name is found in SDK list cache : " + result);
+      } else {
+        IOException lastError = null;
+        for (final String site : sites) {
+          try {
+            result = this.loadSdkArchiveNameFromList(proxySettings, site, sdkBaseName, cache,
+                cachedEntry);
+            lastError = null;
+            break;
+          } catch (InterruptedIOException ex) {
+            throw ex;
+          } catch (IOException ex) {
+            lastError = ex;
+            if (sites.size() > 1) {
+              this.getLog().warn("Can't get SDK list from " + site + " : " + ex.getMessage());
+              new SdkMirrors(this.getLog(), storeFolder).registerFailure(site);
+            }
+          }
+        }
+        if (lastError != null) {
+          throw lastError;
+        }
+      }
     } else {
       getLog().info("SDK archive name is predefined : " + result);
     }
@@ -1492,55 +2394,205 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     }
   }
 
+  /**
+   * Get store folder and create it if not exists.
+   *
+   * @return store folder, must not be null
+   * @throws IOException if it can't be created
+   * @since 2.3.11
+   */
   @Nonnull
-  protected File findGoRoot(@Nullable final ProxySettings proxySettings)
-      throws IOException, MojoFailureException, MojoExecutionException {
-    final File result;
-    LOCKER.lock();
-    try {
-      final String predefinedGoRoot = this.getGoRoot();
+  protected File ensureStoreFolder() throws IOException {
+    final File cacheFolder = new File(this.storeFolder);
+    if (!cacheFolder.isDirectory()) {
+      if (cacheFolder.isFile()) {
+        throw new IOException("Can't create folder '" + cacheFolder +
+            "' because there is presented a file with such name!");
+      }
+      logOptionally("Making SDK cache folder : " + cacheFolder);
+      FileUtils.forceMkdir(cacheFolder);
+    }
+    return cacheFolder;
+  }
 
-      if (isSafeEmpty(predefinedGoRoot)) {
-        final File cacheFolder = new File(this.storeFolder);
+  /**
+   * Make base name of SDK.
+   *
+   * @param sdkVersion version of SDK, can be null
+   * @param os         OS, can be null
+   * @param arch       architecture, can be null
+   * @param osxVersion OSX version, can be null
+   * @return base name of SDK, must not be null
+   * @throws MojoFailureException if version is not defined
+   * @since 2.3.11
+   */
+  @Nonnull
+  protected String makeSdkBaseName(@Nullable final String sdkVersion, @Nullable final String os,
+                                   @Nullable final String arch,
+                                   @Nullable final String osxVersion)
+      throws MojoFailureException {
+    if (isSafeEmpty(sdkVersion)) {
+      throw new MojoFailureException("GoLang SDK version is not defined!");
+    }
+    final String sdkBaseName = String.format(NAME_PATTERN, sdkVersion, os, arch,
+        isSafeEmpty(osxVersion) ? "" : "-" + osxVersion);
+    warnIfContainsUC("Prefer usage of lower case chars only for SDK base name", sdkBaseName);
+    return sdkBaseName;
+  }
 
-        if (!cacheFolder.isDirectory()) {
-          if (cacheFolder.isFile()) {
-            throw new IOException("Can't create folder '" + cacheFolder +
-                "' because there is presented a file with such name!");
-          }
-          logOptionally("Making SDK cache folder : " + cacheFolder);
-          FileUtils.forceMkdir(cacheFolder);
+  /**
+   * Find configured profile of SDK extraction.
+   *
+   * @return profile, must not be null
+   * @throws MojoFailureException if profile is unsupported
+   * @since 2.3.11
+   */
+  @Nonnull
+  protected SdkProfile findSdkProfile() throws MojoFailureException {
+    final SdkProfile profile = SdkProfile.findForId(this.getSdkProfile());
+    if (profile == null) {
+      throw new MojoFailureException("Unsupported SDK profile : " + this.getSdkProfile());
+    }
+    return profile;
+  }
+
+  /**
+   * Register use of SDK folder in the store folder and evict least recently
+   * used entries of the store if needed. Errors are only logged.
+   *
+   * @param cacheFolder   store folder, must not be null
+   * @param sdkFolder     used SDK folder, must not be null
+   * @param checkEviction true if store should be checked for eviction
+   * @since 2.3.11
+   */
+  protected void updateStoreUsage(@Nonnull final File cacheFolder, @Nonnull final File sdkFolder,
+                                  final boolean checkEviction) {
+    try {
+      StoreUsage.touch(cacheFolder, sdkFolder.getName());
+      if (checkEviction && (this.getMaxStoreSize() > 0L || this.getMaxStoreAge() > 0L)) {
+        final int evicted = StoreUsage.evict(this.getLog(), cacheFolder,
+            this.getMaxStoreSize() * 1024L * 1024L, this.getMaxStoreAge() * 1000L,
+            Collections.singleton(sdkFolder.getName()));
+        if (evicted > 0) {
+          this.getLog().info("Evicted " + evicted + " entry(s) from store folder");
         }
+      }
+    } catch (IOException ex) {
+      this.getLog().warn("Can't update usage of store folder : " + ex.getMessage());
+    }
+  }
 
-        final String definedOsxVersion = this.getOSXVersion();
-        final String sdkVersion = this.getGoVersion();
+  @Nonnull
+  @SuppressWarnings("try")
+  protected File findGoRoot(@Nullable final ProxySettings proxySettings)
+      throws IOException, MojoFailureException, MojoExecutionException {
+    try (final PhaseTimings.Span span = this.getTimings().phase("findGoRoot")) {
+      return this.findGoRootInternal(proxySettings);
+    }
+  }
 
-        this.getLog().debug(
-            String.format("SdkVersion = %s, osxVersion = %s", sdkVersion, definedOsxVersion));
+  @Nonnull
+  private File findGoRootInternal(@Nullable final ProxySettings proxySettings)
+      throws IOException, MojoFailureException, MojoExecutionException {
+    File result;
+    final String predefinedGoRoot = this.getGoRoot();
+
+    if (isSafeEmpty(predefinedGoRoot)) {
+      final String definedOsxVersion = this.getOSXVersion();
+      final String sdkVersion = this.getGoVersion();
+
+      this.getLog().debug(
+          String.format("SdkVersion = %s, osxVersion = %s", sdkVersion, definedOsxVersion));
+
+      final String sdkBaseName =
+          this.makeSdkBaseName(sdkVersion, this.getOs(), this.getArch(), definedOsxVersion);
+      final SdkProfile profile = this.findSdkProfile();
+      final String verify = this.getSdkVerify();
+      if (!"none".equals(verify) && !"fast".equals(verify) && !"full".equals(verify)) {
+        throw new MojoFailureException("Unsupported SDK verification mode : " + verify);
+      }
 
-        if (isSafeEmpty(sdkVersion)) {
-          throw new MojoFailureException("GoLang SDK version is not defined!");
+      final String memoKey = "goroot|" + profile.makeFolderName(sdkBaseName) + '|'
+          + this.getStoreFolder() + '|' + this.getSharedStoreFolders() + '|' + verify + '|'
+          + this.getSdkSource();
+      // SDK in the store folder is marked as used until end of the mojo, so that
+      // it can't be evicted by other builds, SDK evicted before the mark is resolved again
+      while (true) {
+        result = this.resolveGoRootInStore(proxySettings, memoKey, sdkBaseName, profile, verify);
+        final File cacheFolder = new File(this.getStoreFolder()).getAbsoluteFile();
+        if (!cacheFolder.equals(result.getAbsoluteFile().getParentFile())) {
+          break;
         }
-
-        final String sdkBaseName = String
-            .format(NAME_PATTERN, sdkVersion, this.getOs(), this.getArch(),
-                isSafeEmpty(definedOsxVersion) ? "" : "-" + definedOsxVersion);
-        warnIfContainsUC("Prefer usage of lower case chars only for SDK base name", sdkBaseName);
-        result =
-            loadSDKAndUnpackIntoCache(proxySettings, cacheFolder, sdkBaseName, isDisableSdkLoad());
-      } else {
-        logOptionally("Detected predefined SDK root folder : " + predefinedGoRoot);
-        result = new File(predefinedGoRoot);
-        if (!result.isDirectory()) {
-          throw new MojoFailureException("Predefined SDK root is not a directory : " + result);
+        if (this.sdkUse == null) {
+          this.sdkUse = StoreUsage.use(cacheFolder, result.getName());
+          if (!result.isDirectory()) {
+            this.releaseSdkUse();
+            continue;
+          }
+        }
+        // memo is session wide but use must be visible to other JVMs sharing the store,
+        // so that long sessions are not taken as idle by eviction, touch is throttled
+        try {
+          StoreUsage.touch(cacheFolder, result.getName());
+        } catch (IOException ex) {
+          this.getLog().warn("Can't update usage of store folder : " + ex.getMessage());
         }
+        break;
+      }
+    } else {
+      logOptionally("Detected predefined SDK root folder : " + predefinedGoRoot);
+      result = new File(predefinedGoRoot);
+      if (!result.isDirectory()) {
+        throw new MojoFailureException("Predefined SDK root is not a directory : " + result);
       }
-    } finally {
-      LOCKER.unlock();
     }
     return result;
   }
 
+  private void releaseSdkUse() {
+    final Closeable use = this.sdkUse;
+    this.sdkUse = null;
+    if (use != null) {
+      try {
+        use.close();
+      } catch (IOException ex) {
+        this.getLog().warn("Can't release use of SDK : " + ex.getMessage());
+      }
+    }
+  }
+
+  @Nonnull
+  private File resolveGoRootInStore(@Nullable final ProxySettings proxySettings,
+                                    @Nonnull final String memoKey,
+                                    @Nonnull final String sdkBaseName,
+                                    @Nonnull final SdkProfile profile,
+                                    @Nonnull final String verify)
+      throws IOException, MojoFailureException, MojoExecutionException {
+    return ToolchainMemo.resolve(this.makeSessionId(), memoKey, File::isDirectory, () -> {
+      final File sharedSdkFolder =
+          this.findSdkInSharedStores(profile.makeFolderName(sdkBaseName));
+      if (sharedSdkFolder != null) {
+        this.logOptionally("SDK is found in shared store : " + sharedSdkFolder);
+        return sharedSdkFolder;
+      }
+
+      final File cacheFolder = this.ensureStoreFolder();
+      final boolean firstCheck = StoreUsage.registerCheck(cacheFolder);
+      final boolean existed =
+          new File(cacheFolder, profile.makeFolderName(sdkBaseName)).isDirectory();
+      File sdkFolder = loadSDKAndUnpackIntoCache(proxySettings, cacheFolder, sdkBaseName,
+          profile, isDisableSdkLoad(), null);
+      if (existed && !"none".equals(verify)
+          && !this.verifySdkFolder(cacheFolder, sdkBaseName, sdkFolder,
+          this.isSdkFullVerifyNeeded(sdkFolder))) {
+        sdkFolder = loadSDKAndUnpackIntoCache(proxySettings, cacheFolder, sdkBaseName, profile,
+            isDisableSdkLoad(), null);
+      }
+      this.updateStoreUsage(cacheFolder, sdkFolder, firstCheck || !existed);
+      return sdkFolder;
+    });
+  }
+
   private void printBanner() {
     for (final String s : BANNER) {
       getLog().info(s);
@@ -1569,13 +2621,14 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
       getLog().debug("ERR_LOG: " + errLog);
     }
 
-    this.processLogFiles(outLog, errLog);
+    this.processLogFiles();
 
     this.printLogs(
         error || isEnforcePrintOutput() || (this.isVerbose() && this.isCommandSupportVerbose()),
-        error, outLog, errLog);
+        error);
   }
 
+  @SuppressWarnings("try")
   protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings,
                                    final int maxAttempts)
       throws InterruptedException, MojoFailureException, MojoExecutionException, IOException {
@@ -1583,34 +2636,84 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
     boolean error = false;
 
+    final boolean accounting = this.isResourceAccounting();
+    if (accounting && !ProcessTreeSampler.isSupported()) {
+      this.getLog().warn("Resource accounting is supported only under Linux with /proc");
+    }
+    ProcessTreeSampler.Usage usage = null;
+
     while (!Thread.currentThread().isInterrupted()) {
-      final ProcessExecutor executor = prepareExecutor(proxySettings);
+      final ProcessExecutor executor;
+      try (final PhaseTimings.Span span = this.getTimings().phase("prepareExecutor")) {
+        executor = prepareExecutor(proxySettings);
+      }
       if (executor == null) {
         logOptionally("The Mojo should not be executed");
+        this.disposeConsoleBuffers();
         break;
       }
-      final ProcessResult result = executor.executeNoTimeout();
-      final int resultCode = result.getExitValue();
-      error = resultCode != 0 && !isIgnoreErrorExitCode();
-      iterations++;
-
-      final String outLog = extractOutAsString();
-      final String errLog = extractErrorOutAsString();
+      final AtomicReference<ProcessTreeSampler> sampler = new AtomicReference<>();
+      if (accounting && ProcessTreeSampler.isSupported()) {
+        final long interval = this.getResourceAccountingInterval();
+        executor.addListener(new ProcessListener() {
+          @Override
+          public void afterStart(@Nonnull final Process process,
+                                 @Nonnull final ProcessExecutor processExecutor) {
+            final long pid = SysUtils.findPid(process);
+            if (pid > 0L) {
+              sampler.set(ProcessTreeSampler.start(pid, interval));
+            }
+          }
+        });
+      }
+      try {
+        final ProcessResult result;
+        final JfrEvents.Handle jfrEvent = JfrEvents.begin(JfrEvents.Type.GO_PROCESS);
+        try (final PhaseTimings.Span span = this.getTimings().phase("process")) {
+          try {
+            result = executor.executeNoTimeout();
+          } finally {
+            final ProcessTreeSampler started = sampler.getAndSet(null);
+            if (started != null) {
+              started.close();
+              usage = usage == null ? started.getUsage() : usage.add(started.getUsage());
+            }
+          }
+          this.closeConsoleBuffers();
+        }
+        if (usage != null) {
+          this.registerResourceUsage(usage, String.join(" ", executor.getCommand()));
+        }
+        final int resultCode = result.getExitValue();
+        if (jfrEvent != null) {
+          jfrEvent.commit(String.join(" ", executor.getCommand()), executor.getDirectory(),
+              resultCode);
+        }
+        error = resultCode != 0 && !isIgnoreErrorExitCode();
+        iterations++;
 
-      this.doLogging(resultCode, error, outLog, errLog);
+        final String outLog = extractOutAsString();
+        final String errLog = extractErrorOutAsString();
 
-      if (doesNeedOneMoreAttempt(result, outLog, errLog)) {
-        if (iterations > maxAttempts) {
-          throw new MojoExecutionException(
-              "Too many iterations detected, may be some loop and bug at mojo " +
-                  this.getClass().getName());
+        try (final PhaseTimings.Span span = this.getTimings().phase("logging")) {
+          this.doLogging(resultCode, error, outLog, errLog);
         }
-        getLog().warn("Make one more attempt...");
-      } else {
-        if (!isIgnoreErrorExitCode()) {
-          assertProcessResult(result);
+
+        if (doesNeedOneMoreAttempt(result, outLog, errLog)) {
+          if (iterations > maxAttempts) {
+            throw new MojoExecutionException(
+                "Too many iterations detected, may be some loop and bug at mojo " +
+                    this.getClass().getName());
+          }
+          getLog().warn("Make one more attempt...");
+        } else {
+          if (!isIgnoreErrorExitCode()) {
+            assertProcessResult(result);
+          }
+          break;
         }
-        break;
+      } finally {
+        this.disposeConsoleBuffers();
       }
     }
 
@@ -1618,51 +2721,78 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   }
 
   @Override
+  @SuppressWarnings("try")
   public final void execute() throws MojoExecutionException, MojoFailureException {
     if (this.isSkip()) {
       getLog().info("Skipping mvn-golang execution");
     } else {
-      if (this.doesNeedSessionLock()) {
-        lockMvnGolangSession();
-        if (Thread.currentThread().isInterrupted()) {
-          throw new MojoFailureException("Current thread is interrupted");
+      final JfrEvents.Handle jfrEvent = JfrEvents.begin(JfrEvents.Type.MOJO_EXECUTE);
+      boolean failed = true;
+      this.timings = PhaseTimings.begin(this.isTimingReport(), this.makeSessionId(),
+          this.makeModuleId(), this.makeExecutionId());
+      try (final PhaseTimings.Span executeSpan = this.timings.phase("execute")) {
+        this.executeWithTimings();
+        failed = false;
+      } finally {
+        this.releaseSdkUse();
+        this.writeTimingReports();
+        if (jfrEvent != null) {
+          jfrEvent.commit(this.makeModuleId(), this.makeExecutionId(), failed);
         }
       }
-      try {
-        if (!isHideBanner()) {
-          printBanner();
-        }
+    }
+  }
+
+  @SuppressWarnings("try")
+  private void executeWithTimings() throws MojoExecutionException, MojoFailureException {
+    if (this.doesNeedSessionLock()) {
+      try (final PhaseTimings.Span span = this.timings.phase("lockSession")) {
+        lockMvnGolangSession();
+      }
+      if (Thread.currentThread().isInterrupted()) {
+        throw new MojoFailureException("Current thread is interrupted");
+      }
+    }
+    try {
+      if (!isHideBanner()) {
+        printBanner();
+      }
+      try (final PhaseTimings.Span span = this.timings.phase("doInit")) {
         doInit();
+      }
 
-        printEcho();
+      printEcho();
 
-        final ProxySettings proxySettings = extractProxySettings();
+      final ProxySettings proxySettings = extractProxySettings();
+      try (final PhaseTimings.Span span = this.timings.phase("beforeExecution")) {
         beforeExecution(proxySettings);
+      }
 
-        Exception exception = null;
-        boolean errorDuringMainBusiness = false;
-        try {
-          errorDuringMainBusiness = doMainBusiness(proxySettings, 10);
-        } catch (final IOException | InterruptedException | MojoExecutionException |
-                       MojoFailureException ex) {
-          if (ex instanceof InterruptedException) {
-            Thread.currentThread().interrupt();
-          }
-          exception = ex;
-        } finally {
-          afterExecution(null, errorDuringMainBusiness || exception != null);
-        }
-
-        if (exception != null) {
-          throw new MojoExecutionException(exception.getMessage(), exception);
-        } else if (errorDuringMainBusiness) {
-          throw new MojoFailureException("Mojo execution failed, see log");
+      Exception exception = null;
+      boolean errorDuringMainBusiness = false;
+      try (final PhaseTimings.Span span = this.timings.phase("doMainBusiness")) {
+        errorDuringMainBusiness = doMainBusiness(proxySettings, 10);
+      } catch (final IOException | InterruptedException | MojoExecutionException |
+                     MojoFailureException ex) {
+        if (ex instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
         }
+        exception = ex;
       } finally {
-        if (this.doesNeedSessionLock()) {
-          unlockMvnGolangSession();
+        try (final PhaseTimings.Span span = this.timings.phase("afterExecution")) {
+          afterExecution(null, errorDuringMainBusiness || exception != null);
         }
       }
+
+      if (exception != null) {
+        throw new MojoExecutionException(exception.getMessage(), exception);
+      } else if (errorDuringMainBusiness) {
+        throw new MojoFailureException("Mojo execution failed, see log");
+      }
+    } finally {
+      if (this.doesNeedSessionLock()) {
+        unlockMvnGolangSession();
+      }
     }
   }
 
@@ -1686,54 +2816,44 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
   @Nonnull
   private String extractOutAsString() {
-    return new String(this.consoleOutBuffer.toByteArray(), Charset.defaultCharset());
+    return this.consoleOutBuffer.getText();
   }
 
   @Nonnull
   private String extractErrorOutAsString() {
-    return new String(this.consoleErrBuffer.toByteArray(), Charset.defaultCharset());
+    return this.consoleErrBuffer.getText();
   }
 
-  protected void printLogs(final boolean forcePrint, final boolean errorDetected,
-                           @Nonnull final String outLog, @Nonnull final String errLog) {
-    final boolean outLogNotEmpty = !outLog.isEmpty();
-    final boolean errLogNotEmpty = !errLog.isEmpty();
-
-    if (outLogNotEmpty) {
-      if (forcePrint || getLog().isDebugEnabled()) {
+  protected void printLogs(final boolean forcePrint, final boolean errorDetected) {
+    if (!this.consoleOutBuffer.isEmpty()) {
+      if (this.consoleOutSink != null) {
+        getLog().debug("Output of the process has been printed during execution");
+      } else if (forcePrint || getLog().isDebugEnabled()) {
         getLog().info("");
         getLog().info("---------Exec.Out---------");
-        for (final String str : outLog.split("\n")) {
-          getLog().info(StrUtils.trimRight(str));
-        }
+        this.printCapturedLines(this.consoleOutBuffer, str -> getLog().info(str));
         getLog().info("");
       } else {
         getLog().debug("There is not any log out from the process");
       }
     }
 
-    if (errLogNotEmpty) {
+    if (!this.consoleErrBuffer.isEmpty()) {
       if (forcePrint) {
         if (errorDetected) {
           getLog().error("");
           getLog().error("---------Exec.Err---------");
-          for (final String str : errLog.split("\n")) {
-            getLog().error(StrUtils.trimRight(str));
-          }
+          this.printCapturedLines(this.consoleErrBuffer, str -> getLog().error(str));
           getLog().error("");
         } else {
           getLog().warn("");
           getLog().warn("---------Exec.Err---------");
-          for (final String str : errLog.split("\n")) {
-            getLog().warn(StrUtils.trimRight(str));
-          }
+          this.printCapturedLines(this.consoleErrBuffer, str -> getLog().warn(str));
           getLog().warn("");
         }
       } else {
         getLog().debug("---------Exec.Err---------");
-        for (final String str : errLog.split("\n")) {
-          getLog().debug(StrUtils.trimRight(str));
-        }
+        this.printCapturedLines(this.consoleErrBuffer, str -> getLog().debug(str));
       }
     } else {
       getLog().debug("Error log buffer is empty");
@@ -1741,6 +2861,15 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
   }
 
+  private void printCapturedLines(@Nonnull final StreamingLineCapture capture,
+                                  @Nonnull final Consumer<String> printer) {
+    try {
+      capture.forEachLine(line -> printer.accept(StrUtils.trimRight(line)));
+    } catch (IOException ex) {
+      getLog().warn("Can't read captured process output : " + ex.getMessage());
+    }
+  }
+
   private void assertProcessResult(@Nonnull final ProcessResult result)
       throws MojoFailureException {
     final int code = result.getExitValue();
@@ -1753,6 +2882,18 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return false;
   }
 
+  /**
+   * Get max number of SDKs loaded concurrently by the mojo. Console progress
+   * bar is not shown for concurrent loading and HTTP connection pool is
+   * extended for the number.
+   *
+   * @return max number of concurrently loaded SDKs, one or more
+   * @since 2.3.11
+   */
+  protected int getConcurrentSdkLoads() {
+    return 1;
+  }
+
   public boolean isMojoMustNotBeExecuted() throws MojoFailureException {
     try {
       return isSourceFolderRequired() && !this.getSources(false).isDirectory();
@@ -1822,116 +2963,14 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
   }
 
   @Nonnull
-  private synchronized HttpClient getHttpClient(@Nullable final ProxySettings proxy)
+  private HttpClient getHttpClient(@Nullable final ProxySettings proxy)
       throws MojoExecutionException {
-    if (this.httpClient == null) {
-      final HttpClientBuilder builder = HttpClients.custom();
-
-      if (proxy != null) {
-        if (proxy.hasCredentials()) {
-          final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-          credentialsProvider.setCredentials(new AuthScope(proxy.host, proxy.port),
-              new NTCredentials(GetUtils.ensureNonNull(proxy.username, ""), proxy.password,
-                  extractComputerName(), extractDomainName()));
-          builder.setDefaultCredentialsProvider(credentialsProvider);
-          getLog().debug(String
-              .format("Credentials provider has been created for proxy (username : %s): %s",
-                  proxy.username, proxy));
-        }
-
-        final String[] ignoreForAddresses =
-            proxy.nonProxyHosts == null ? new String[0] : proxy.nonProxyHosts.split("\\|");
-
-        final WildCardMatcher[] matchers;
-
-        if (ignoreForAddresses.length > 0) {
-          matchers = new WildCardMatcher[ignoreForAddresses.length];
-          for (int i = 0; i < ignoreForAddresses.length; i++) {
-            matchers[i] = new WildCardMatcher(ignoreForAddresses[i]);
-          }
-        } else {
-          matchers = new WildCardMatcher[0];
-        }
-
-        getLog().debug("Regular routing mode");
-
-        final HttpRoutePlanner routePlanner =
-            new DefaultProxyRoutePlanner(new HttpHost(proxy.host, proxy.port, proxy.protocol)) {
-              @Override
-              @Nonnull
-              public HttpRoute determineRoute(@Nonnull final HttpHost host,
-                                              @Nonnull final HttpRequest request,
-                                              @Nonnull final HttpContext context)
-                  throws HttpException {
-                HttpRoute result = null;
-                final String hostName = host.getHostName();
-                for (final WildCardMatcher m : matchers) {
-                  if (m.match(hostName)) {
-                    getLog().debug("Ignoring proxy for host : " + hostName);
-                    result = new HttpRoute(host);
-                    break;
-                  }
-                }
-                if (result == null) {
-                  result = super.determineRoute(host, request, context);
-                }
-                getLog().debug("Made connection route : " + result);
-                return result;
-              }
-            };
-
-        builder.setRoutePlanner(routePlanner);
-        getLog().debug("Proxy will ignore: " + Arrays.toString(matchers));
-      }
-
-      builder.setUserAgent("mvn-golang-wrapper-agent/1.0");
-      builder.disableCookieManagement();
-
-      if (this.isDisableSslCheck()) {
-        this.getLog().warn("SSL certificate check is disabled");
-        try {
-          final SSLContext sslcontext = SSLContext.getInstance("TLS");
-          X509TrustManager tm = new X509TrustManager() {
-            @Override
-            public void checkClientTrusted(
-                @Nonnull @MustNotContainNull final X509Certificate[] arg0,
-                @Nonnull final String arg1) throws CertificateException {
-            }
-
-            @Override
-            public void checkServerTrusted(
-                @Nonnull @MustNotContainNull final X509Certificate[] arg0, @Nonnull String arg1)
-                throws CertificateException {
-            }
-
-            @Override
-            @Nullable
-            @MustNotContainNull
-            public X509Certificate[] getAcceptedIssuers() {
-              return null;
-            }
-          };
-          sslcontext.init(null, new TrustManager[] {tm}, null);
-
-          final SSLConnectionSocketFactory sslfactory =
-              new SSLConnectionSocketFactory(sslcontext, NoopHostnameVerifier.INSTANCE);
-          final Registry<ConnectionSocketFactory> r =
-              RegistryBuilder.<ConnectionSocketFactory>create()
-                  .register("https", sslfactory)
-                  .register("http", new PlainConnectionSocketFactory()).build();
-
-          builder.setConnectionManager(new BasicHttpClientConnectionManager(r));
-          builder.setSSLSocketFactory(sslfactory);
-          builder.setSSLContext(sslcontext);
-        } catch (final KeyManagementException | NoSuchAlgorithmException ex) {
-          throw new MojoExecutionException("Can't disable SSL certificate check", ex);
-        }
-      } else {
-        this.getLog().debug("SSL check is enabled");
-      }
-      this.httpClient = builder.build();
+    try {
+      return SharedHttpClients.find(this.getLog(), proxy, this.isDisableSslCheck(),
+          this.getSdkDownloadConnections() * this.getConcurrentSdkLoads());
+    } catch (final GeneralSecurityException ex) {
+      throw new MojoExecutionException("Can't make HTTP client", ex);
     }
-    return this.httpClient;
   }
 
   protected void registerOutputBuffers(@Nonnull final ProcessExecutor executor) {
@@ -2012,10 +3051,17 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
           .setProperty("mvn.golang.last.goroot_bootstrap", gorootbootstrap.getAbsolutePath());
     }
 
-    String thePath = GetUtils.ensureNonNull(getEnvPath(), "");
-    thePath = IOUtils
-        .makeOsFilePathWithoutDuplications((theGoRoot + File.separator + getExecSubpath()), thePath,
-            theGoBin);
+    final String thePath;
+    try {
+      thePath = ToolchainMemo.resolve(this.makeSessionId(),
+          "path|" + this.isFilterEnvPath() + '|' + theGoRoot + '|' + this.getExecSubpath() + '|'
+              + theGoBin + '|' + System.getenv("PATH"), x -> true,
+          () -> IOUtils.makeOsFilePathWithoutDuplications(
+              (theGoRoot + File.separator + getExecSubpath()),
+              GetUtils.ensureNonNull(getEnvPath(), ""), theGoBin));
+    } catch (MojoFailureException | MojoExecutionException ex) {
+      throw new IOException("Can't prepare PATH", ex);
+    }
     addEnvVar(result, "PATH", thePath);
     this.project.getProperties().setProperty("mvn.golang.last.path", thePath);
 
@@ -2129,7 +3175,9 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     final File detectedRoot = findGoRoot(proxySettings);
     final String gobin = getGoBin();
     final String gocache = getGoCache();
-    final File[] gopathParts = findGoPath(true);
+    final File[] gopathParts = ToolchainMemo.resolve(this.makeSessionId(),
+        "gopath|" + this.getGoPath(), parts -> Arrays.stream(parts).allMatch(File::isDirectory),
+        () -> this.findGoPath(true));
 
     if (isMojoMustNotBeExecuted()) {
       return null;
@@ -2144,14 +3192,16 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
 
     final File[] exeVariants = new File[] {executableFileInBin, executableFileInPathOrRoot};
 
-    final File foundExecutableTool = findExisting(exeVariants);
-
-    if (foundExecutableTool == null) {
-      throw new MojoFailureException(
-          "Can't find executable file : " + Arrays.toString(exeVariants));
-    } else {
-      logOptionally("Executable file detected : " + foundExecutableTool);
-    }
+    final File foundExecutableTool = ToolchainMemo.resolve(this.makeSessionId(),
+        "exe|" + Arrays.toString(exeVariants), File::isFile, () -> {
+          final File found = findExisting(exeVariants);
+          if (found == null) {
+            throw new MojoFailureException(
+                "Can't find executable file : " + Arrays.toString(exeVariants));
+          }
+          return found;
+        });
+    logOptionally("Executable file detected : " + foundExecutableTool);
 
     final List<String> commandLine = new ArrayList<>();
     commandLine.add(foundExecutableTool.getAbsolutePath());
@@ -2216,68 +3266,25 @@ public abstract class AbstractGolangMojo extends AbstractMojo {
     return result;
   }
 
-  private void processLogFiles(@Nonnull final String logOut, @Nonnull final String logErr)
-      throws MojoExecutionException {
-    final File reportsFolderFile = new File(this.getReportsFolder());
-
+  private void processLogFiles() {
     final String targetOutFileName = nullIfBlank(this.getOutLogFile());
     final String targetErrFileName = nullIfBlank(this.getErrLogFile());
 
     if (targetErrFileName != null ^ targetOutFileName != null) {
-      if (targetOutFileName == null && !logOut.isEmpty()) {
+      if (targetOutFileName == null && !this.consoleOutBuffer.isEmpty()) {
         this.getLog()
             .warn("File logging for ERR stream is ON but also detected text in output stream!");
       }
-      if (targetErrFileName == null && !logErr.isEmpty()) {
+      if (targetErrFileName == null && !this.consoleErrBuffer.isEmpty()) {
         this.getLog()
             .warn("File logging for OUT stream is ON but also detected text in error stream!");
       }
     }
 
-    this.getLog().debug("log.file.out: " + targetOutFileName);
-    this.getLog().debug("log.file.err: " + targetErrFileName);
-
-    final File targetOutFile =
-        targetOutFileName == null ? null : new File(reportsFolderFile, targetOutFileName);
-    final File targetErrFile =
-        targetErrFileName == null ? null : new File(reportsFolderFile, targetErrFileName);
-
-
-    if (targetOutFile == null) {
-      this.getLog().debug("Log file to write output stream is not set");
-    } else {
-      getLog().debug("Reports folder : " + reportsFolderFile);
-      if (!reportsFolderFile.isDirectory() && !reportsFolderFile.mkdirs()) {
-        throw new MojoExecutionException(
-            "Can't create folder for console logs : " + reportsFolderFile);
-      }
-      try {
-        getLog().debug(
-            "Writing " + logOut.length() + " chars as output console log : " + targetOutFile);
-        FileUtils.write(targetOutFile, logOut, "UTF-8");
-      } catch (IOException ex) {
-        throw new MojoExecutionException(
-            "Can't save console output log into file : " + targetOutFile, ex);
-      }
-    }
-
-    if (targetErrFile == null) {
-      this.getLog().debug("Log file to write error stream is not set");
-    } else {
-      getLog().debug("Reports folder : " + reportsFolderFile);
-      if (!reportsFolderFile.isDirectory() && !reportsFolderFile.mkdirs()) {
-        throw new MojoExecutionException(
-            "Can't create folder for console logs : " + reportsFolderFile);
-      }
-      try {
-        getLog().debug(
-            "Writing " + logErr.length() + " chars as error console log : " + targetErrFile);
-        FileUtils.write(targetErrFile, logErr, "UTF-8");
-      } catch (IOException ex) {
-        throw new MojoExecutionException(
-            "Can't save console error log into file : " + targetErrFile, ex);
-      }
-    }
+    this.getLog().debug(String.format("log.file.out: %s (%d chars)", targetOutFileName,
+        this.consoleOutBuffer.getCharCount()));
+    this.getLog().debug(String.format("log.file.err: %s (%d chars)", targetErrFileName,
+        this.consoleErrBuffer.getCharCount()));
   }
 
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import com.igormaznitsa.mvngolang.utils.BlobStore;
+import com.igormaznitsa.mvngolang.utils.ProxySettings;
+import java.io.File;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * The Mojo removes blobs of the SDK blob store which are not referenced by any
+ * SDK folder in the store folder anymore.
+ *
+ * @see AbstractGolangMojo#isSdkBlobStore()
+ * @since 2.3.11
+ */
+@Mojo(name = "compact-store", threadSafe = true)
+public class GolangCompactStoreMojo extends AbstractGolangMojo {
+
+  @Nullable
+  @Override
+  protected String getSkipMojoPropertySuffix() {
+    return "compact-store";
+  }
+
+  @Override
+  protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings,
+                                   final int maxAttempts) throws IOException {
+    final BlobStore blobStore = new BlobStore(new File(this.getStoreFolder()));
+    this.getLog().info("Compacting SDK blob store : " + blobStore.getBlobFolder());
+    final BlobStore.CompactionResult result = blobStore.compact(this.getLog());
+    this.getLog().info("Compaction completed, " + result);
+    return false;
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getTailArguments() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @Override
+  public String getGoCommand() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getCommandFlags() {
+    throw new NotImplementedException("Must not be called");
+  }
+}
@@ -46,6 +46,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -186,6 +187,9 @@ public class GolangGetMojo extends AbstractModuleAware {
 
   private List<PackageList.Package> integralPackageList;
 
+  private final List<String> problemPackagesInErrorLog = new CopyOnWriteArrayList<>();
+  private volatile boolean noSubmoduleMappingInErrorLog;
+
   @Nonnull
   private static String processSlashes(@Nonnull final String str) {
     final StringBuilder result = new StringBuilder();
@@ -464,19 +468,20 @@ public class GolangGetMojo extends AbstractModuleAware {
     return result;
   }
 
-  @Nonnull
-  @MustNotContainNull
-  private List<String> extractProblemPackagesFromErrorLog(@Nonnull final String errorLog) {
-    final List<String> result = new ArrayList<>();
-    final Matcher extractor = PATTERN_EXTRACT_PACKAGE_AND_STATUS.matcher(errorLog);
-    while (extractor.find()) {
-      final String packageName = extractor.group(1);
-      final String status = extractor.group(2);
-      if (!"0".equals(status)) {
-        result.add(packageName);
+  @Override
+  protected void initConsoleBuffers() throws IOException {
+    super.initConsoleBuffers();
+    this.noSubmoduleMappingInErrorLog = false;
+    this.problemPackagesInErrorLog.clear();
+    this.getConsoleErrBuffer().addListener(line -> {
+      if (PATTERN_NO_SUBMODULE_MAPPING_FOUND_IN_GIT.matcher(line).find()) {
+        this.noSubmoduleMappingInErrorLog = true;
       }
-    }
-    return result;
+      final Matcher extractor = PATTERN_EXTRACT_PACKAGE_AND_STATUS.matcher(line);
+      if (extractor.find() && !"0".equals(extractor.group(2))) {
+        this.problemPackagesInErrorLog.add(extractor.group(1));
+      }
+    });
   }
 
   @Nullable
@@ -833,11 +838,9 @@ public class GolangGetMojo extends AbstractModuleAware {
       throws IOException, MojoExecutionException {
     boolean result = false;
     if (processResult.getExitValue() != 0) {
-      final Matcher matcher = PATTERN_NO_SUBMODULE_MAPPING_FOUND_IN_GIT.matcher(consoleErr);
-
-      if (matcher.find()) {
+      if (this.noSubmoduleMappingInErrorLog) {
         final List<String> packagesWithDetectedGitCacheErrors =
-            extractProblemPackagesFromErrorLog(consoleErr);
+            new ArrayList<>(this.problemPackagesInErrorLog);
         if (!packagesWithDetectedGitCacheErrors.isEmpty()) {
           if (this.autofixGitCache) {
 
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import com.igormaznitsa.mvngolang.utils.DaemonThreadFactory;
+import com.igormaznitsa.mvngolang.utils.ProxySettings;
+import com.igormaznitsa.mvngolang.utils.SdkProfile;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * The Mojo loads list of SDKs into the store folder concurrently, it can be
+ * used to prepare build images and agents.
+ *
+ * @since 2.3.11
+ */
+@Mojo(name = "prefetch-sdk", threadSafe = true)
+public class GolangPrefetchSdkMojo extends AbstractGolangMojo {
+
+  /**
+   * List of SDKs to be loaded. If not defined then SDK configured for the
+   * mojo is loaded. Not defined fields of SDK are taken from the mojo
+   * configuration.
+   * <pre>{@code
+   * <sdks>
+   *   <sdk>
+   *     <version>1.20.5</version>
+   *     <os>linux</os>
+   *     <arch>amd64</arch>
+   *   </sdk>
+   *   <sdk>
+   *     <version>1.21.1</version>
+   *     <os>windows</os>
+   *   </sdk>
+   * </sdks>
+   * }</pre>
+   */
+  @Parameter(name = "sdks")
+  private PrefetchSdk[] sdks;
+
+  /**
+   * Max number of SDKs loaded concurrently.
+   */
+  @Parameter(name = "prefetchThreads", defaultValue = "4")
+  private int prefetchThreads = 4;
+
+  @Nonnull
+  @MustNotContainNull
+  public PrefetchSdk[] getSdks() {
+    return this.sdks == null ? new PrefetchSdk[0] : this.sdks.clone();
+  }
+
+  public int getPrefetchThreads() {
+    return Math.max(1, this.prefetchThreads);
+  }
+
+  @Override
+  protected int getConcurrentSdkLoads() {
+    return this.getPrefetchThreads();
+  }
+
+  @Nullable
+  @Override
+  protected String getSkipMojoPropertySuffix() {
+    return "prefetch-sdk";
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  private List<String> makeSdkBaseNames() throws MojoFailureException {
+    final Set<String> result = new LinkedHashSet<>();
+    final PrefetchSdk[] configured = this.getSdks();
+    if (configured.length == 0) {
+      result.add(this.makeSdkBaseName(this.getGoVersion(), this.getOs(), this.getArch(),
+          this.getOSXVersion()));
+    } else {
+      for (final PrefetchSdk sdk : configured) {
+        result.add(this.makeSdkBaseName(
+            isBlank(sdk.version) ? this.getGoVersion() : sdk.version,
+            isBlank(sdk.os) ? this.getOs() : sdk.os,
+            isBlank(sdk.arch) ? this.getArch() : sdk.arch,
+            isBlank(sdk.osxVersion) ? this.getOSXVersion() : sdk.osxVersion));
+      }
+    }
+    return new ArrayList<>(result);
+  }
+
+  @Override
+  protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings,
+                                   final int maxAttempts)
+      throws IOException, MojoFailureException {
+    final List<String> baseNames = this.makeSdkBaseNames();
+    if (baseNames.size() > 1 && !isBlank(this.getSdkDownloadUrl())) {
+      throw new MojoFailureException("Predefined SDK download URL can't be used to prefetch "
+          + baseNames.size() + " SDKs");
+    }
+
+    final File storeFolder = this.ensureStoreFolder();
+    final SdkProfile profile = this.findSdkProfile();
+    final int threads = Math.min(this.getPrefetchThreads(), baseNames.size());
+    this.getLog().info(String.format("Prefetching %d SDK(s) into %s through %d thread(s)",
+        baseNames.size(), storeFolder, threads));
+
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(threads, new DaemonThreadFactory("mvn-golang-prefetch"));
+    final List<Future<String>> futures = new ArrayList<>();
+    try {
+      for (final String baseName : baseNames) {
+        futures.add(executor.submit(() -> {
+          final long start = System.currentTimeMillis();
+          final File sharedSdkFolder =
+              this.findSdkInSharedStores(profile.makeFolderName(baseName));
+          if (sharedSdkFolder != null) {
+            return sharedSdkFolder + " : found in shared store";
+          }
+          final AtomicLong loadedBytes = new AtomicLong();
+          final File sdkFolder = this.loadSDKAndUnpackIntoCache(proxySettings, storeFolder,
+              baseName, profile, false, loadedBytes);
+          this.updateStoreUsage(storeFolder, sdkFolder, false);
+          return String.format("%s : %d Kb loaded, %d ms", sdkFolder.getName(),
+              loadedBytes.get() / 1024L, System.currentTimeMillis() - start);
+        }));
+      }
+
+      boolean error = false;
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          this.getLog().info("Prefetched " + futures.get(i).get());
+        } catch (ExecutionException ex) {
+          error = true;
+          final Throwable cause = ex.getCause();
+          this.getLog().error("Can't prefetch " + baseNames.get(i) + " : " + cause.getMessage(),
+              cause);
+        }
+      }
+      return error;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MojoFailureException("Prefetch interrupted", ex);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getTailArguments() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @Override
+  public String getGoCommand() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getCommandFlags() {
+    throw new NotImplementedException("Must not be called");
+  }
+}
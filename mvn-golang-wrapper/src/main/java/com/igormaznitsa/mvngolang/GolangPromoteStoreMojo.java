@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import com.igormaznitsa.mvngolang.utils.ProxySettings;
+import com.igormaznitsa.mvngolang.utils.SdkManifest;
+import com.igormaznitsa.mvngolang.utils.SdkPromoter;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * The Mojo copies SDK folders of the store folder into shared store folder,
+ * SDKs which already exist in the shared store are skipped. SDK which has
+ * manifest is copied only if it passes full verification.
+ *
+ * @see AbstractGolangMojo#getSharedStoreFolders()
+ * @since 2.3.11
+ */
+@Mojo(name = "promote-store", threadSafe = true)
+public class GolangPromoteStoreMojo extends AbstractGolangMojo {
+
+  /**
+   * Shared store folder to get SDKs, if not defined then the first folder of
+   * <i>sharedStoreFolders</i> is used.
+   */
+  @Parameter(name = "promoteTarget")
+  private String promoteTarget;
+
+  /**
+   * Names of SDK folders to be promoted, if not defined then all SDK folders
+   * of the store folder are promoted.
+   */
+  @Parameter(name = "promoteSdks")
+  private String[] promoteSdks;
+
+  @Nullable
+  public String getPromoteTarget() {
+    return this.promoteTarget;
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  public String[] getPromoteSdks() {
+    return this.promoteSdks == null ? new String[0] : this.promoteSdks.clone();
+  }
+
+  @Nullable
+  @Override
+  protected String getSkipMojoPropertySuffix() {
+    return "promote-store";
+  }
+
+  @Nonnull
+  private File findTarget() throws MojoFailureException {
+    final String defined = this.getPromoteTarget();
+    if (!isBlank(defined)) {
+      return new File(defined.trim());
+    }
+    final List<File> sharedStores = this.getSharedStoreFolders();
+    if (sharedStores.isEmpty()) {
+      throw new MojoFailureException(
+          "Neither promoteTarget nor sharedStoreFolders is defined");
+    }
+    return sharedStores.get(0);
+  }
+
+  @Override
+  protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings,
+                                   final int maxAttempts)
+      throws IOException, MojoFailureException {
+    final File target = this.findTarget();
+    final File storeFolder = this.ensureStoreFolder();
+    final List<String> names = Arrays.asList(this.getPromoteSdks());
+    final File[] folders = storeFolder.listFiles(file -> file.isDirectory()
+        && file.getName().startsWith("go")
+        && (names.isEmpty() || names.contains(file.getName())));
+    if (folders == null) {
+      throw new IOException("Can't list store folder : " + storeFolder);
+    }
+    Arrays.sort(folders);
+
+    this.getLog().info("Promoting SDKs from " + storeFolder + " to " + target);
+    boolean error = false;
+    int promoted = 0;
+    for (final File folder : folders) {
+      final SdkManifest manifest = SdkManifest.load(folder);
+      if (manifest != null && !manifest.verifyFull(folder,
+          Runtime.getRuntime().availableProcessors()).isEmpty()) {
+        this.getLog().error("SDK is damaged and can't be promoted : " + folder.getName());
+        error = true;
+        continue;
+      }
+      final long start = System.currentTimeMillis();
+      if (SdkPromoter.promote(this.getLog(), folder, target)) {
+        promoted++;
+        this.getLog().info(String.format("Promoted %s, %d ms", folder.getName(),
+            System.currentTimeMillis() - start));
+      } else {
+        this.getLog().info("Already in shared store : " + folder.getName());
+      }
+    }
+    this.getLog().info("Promoted " + promoted + " SDK(s)");
+    return error;
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getTailArguments() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @Override
+  public String getGoCommand() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getCommandFlags() {
+    throw new NotImplementedException("Must not be called");
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import com.igormaznitsa.mvngolang.utils.ProxySettings;
+import com.igormaznitsa.mvngolang.utils.StoreServer;
+import java.io.File;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * The Mojo starts embedded HTTP server which provides SDK archives kept in the
+ * store folder (see <i>keepSdkArchive</i>) in the same format as the SDK site,
+ * so that other agents can use URL of the server as <i>sdkSite</i>.
+ *
+ * @since 2.3.11
+ */
+@Mojo(name = "serve-store", threadSafe = true)
+public class GolangServeStoreMojo extends AbstractGolangMojo {
+
+  /**
+   * Host address to bind the server.
+   */
+  @Parameter(name = "serveHost", defaultValue = "0.0.0.0")
+  private String serveHost = "0.0.0.0";
+
+  /**
+   * Port to bind the server.
+   */
+  @Parameter(name = "servePort", defaultValue = "8765")
+  private int servePort = 8765;
+
+  /**
+   * Number of threads to process requests.
+   */
+  @Parameter(name = "serveThreads", defaultValue = "8")
+  private int serveThreads = 8;
+
+  /**
+   * Time in seconds to work, zero means until the process is stopped.
+   */
+  @Parameter(name = "serveTime", defaultValue = "0")
+  private long serveTime;
+
+  @Nonnull
+  public String getServeHost() {
+    return this.serveHost == null ? "0.0.0.0" : this.serveHost;
+  }
+
+  public int getServePort() {
+    return this.servePort;
+  }
+
+  public int getServeThreads() {
+    return Math.max(1, this.serveThreads);
+  }
+
+  public long getServeTime() {
+    return Math.max(0L, this.serveTime);
+  }
+
+  @Nullable
+  @Override
+  protected String getSkipMojoPropertySuffix() {
+    return "serve-store";
+  }
+
+  @Override
+  protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings,
+                                   final int maxAttempts)
+      throws IOException, InterruptedException {
+    final File storeFolder = this.ensureStoreFolder();
+    try (final StoreServer server = StoreServer.start(this.getLog(), storeFolder,
+        this.getServeHost(), this.getServePort(), this.getServeThreads())) {
+      this.getLog().info(String.format("Serving SDK archives of %s at http://%s:%d/",
+          storeFolder, this.getServeHost(), server.getPort()));
+      if (this.getServeTime() == 0L) {
+        Thread.sleep(Long.MAX_VALUE);
+      } else {
+        Thread.sleep(this.getServeTime() * 1000L);
+      }
+    }
+    this.getLog().info("Serving has been completed");
+    return false;
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getTailArguments() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @Override
+  public String getGoCommand() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getCommandFlags() {
+    throw new NotImplementedException("Must not be called");
+  }
+}
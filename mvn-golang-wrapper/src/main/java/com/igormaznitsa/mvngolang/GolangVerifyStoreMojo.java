@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import com.igormaznitsa.mvngolang.utils.ProxySettings;
+import com.igormaznitsa.mvngolang.utils.SdkManifest;
+import com.igormaznitsa.mvngolang.utils.SdkProfile;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * The Mojo makes full verification of all SDK folders in the store folder
+ * against their manifests. Damaged files are restored from kept SDK archives,
+ * SDK folder which can't be restored is removed to be loaded again.
+ *
+ * @see AbstractGolangMojo#getSdkVerify()
+ * @since 2.3.11
+ */
+@Mojo(name = "verify-store", threadSafe = true)
+public class GolangVerifyStoreMojo extends AbstractGolangMojo {
+
+  @Nullable
+  @Override
+  protected String getSkipMojoPropertySuffix() {
+    return "verify-store";
+  }
+
+  @Override
+  protected boolean doMainBusiness(@Nullable final ProxySettings proxySettings,
+                                   final int maxAttempts)
+      throws IOException, MojoExecutionException {
+    final File storeFolder = this.ensureStoreFolder();
+    final File[] folders = storeFolder.listFiles(
+        file -> file.isDirectory() && file.getName().startsWith("go"));
+    if (folders == null) {
+      throw new IOException("Can't list store folder : " + storeFolder);
+    }
+    Arrays.sort(folders);
+
+    int verified = 0;
+    int removed = 0;
+    int withoutManifest = 0;
+    for (final File folder : folders) {
+      if (!new File(folder, SdkManifest.FILE_NAME).isFile()) {
+        this.getLog().debug("SDK folder without manifest : " + folder);
+        withoutManifest++;
+        continue;
+      }
+      this.getLog().info("Verifying SDK " + folder.getName());
+      if (this.verifySdkFolder(storeFolder, SdkProfile.extractBaseName(folder.getName()),
+          folder, true)) {
+        verified++;
+      } else {
+        removed++;
+      }
+    }
+    this.getLog().info(String.format(
+        "Verification completed, %d SDK(s) are OK, %d damaged SDK(s) removed, %d SDK(s) without"
+            + " manifest", verified, removed, withoutManifest));
+    return false;
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getTailArguments() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @Override
+  public String getGoCommand() {
+    throw new NotImplementedException("Must not be called");
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  @Override
+  public String[] getCommandFlags() {
+    throw new NotImplementedException("Must not be called");
+  }
+}
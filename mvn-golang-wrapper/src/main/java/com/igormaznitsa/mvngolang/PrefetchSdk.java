@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang;
+
+/**
+ * Auxiliary class describes SDK to be prefetched into the store folder. Not
+ * defined fields are taken from the mojo configuration.
+ *
+ * @since 2.3.11
+ */
+public class PrefetchSdk {
+  /**
+   * Version of SDK, for instance 1.20.
+   */
+  public String version;
+  /**
+   * OS of SDK, for instance linux.
+   */
+  public String os;
+  /**
+   * Architecture of SDK, for instance amd64.
+   */
+  public String arch;
+  /**
+   * OSX version of SDK, optional.
+   */
+  public String osxVersion;
+}
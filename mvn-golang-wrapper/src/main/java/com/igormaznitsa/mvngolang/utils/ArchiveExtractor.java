@@ -0,0 +1,436 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Engine to extract archive entries into a folder. Created folders are cached
+ * to avoid repeated file system checks, file data is written through direct
+ * buffers, Unix mode from archive headers is applied to extracted files and
+ * entries of ZIP file are extracted in parallel through random access. If
+ * blob store is provided then files are materialized as links to blobs and
+ * content already presented in the store is not written.
+ *
+ * @since 2.3.11
+ */
+final class ArchiveExtractor {
+
+  private static final int BUFFER_SIZE = 256 * 1024;
+  private static final int DEFAULT_FILE_MODE = 0644;
+  private static final int MAX_THREADS = 8;
+  private static final int IN_MEMORY_BLOB_LIMIT = 1024 * 1024;
+
+  private static final ThreadLocal<ByteBuffer> BUFFERS =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+  private static final ThreadLocal<byte[]> BLOB_BUFFERS =
+      ThreadLocal.withInitial(() -> new byte[IN_MEMORY_BLOB_LIMIT]);
+
+  private final Log logger;
+  private final File destinationFolder;
+  private final String normalizedFolder;
+  private final boolean makeExecutableIfNoMode;
+  private final boolean posix;
+  private final Predicate<String> filter;
+  private final BlobStore blobStore;
+  private final Set<File> createdFolders = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger fileCounter = new AtomicInteger();
+  private final AtomicInteger reusedBlobCounter = new AtomicInteger();
+
+  ArchiveExtractor(
+      @Nonnull final Log logger,
+      @Nullable final String folder,
+      @Nonnull final File destinationFolder,
+      final boolean makeExecutableIfNoMode,
+      @Nullable final Predicate<String> filter,
+      @Nullable final BlobStore blobStore
+  ) {
+    this.logger = logger;
+    this.destinationFolder = destinationFolder;
+    this.normalizedFolder =
+        folder == null ? null : FilenameUtils.normalize(folder, true) + '/';
+    this.makeExecutableIfNoMode = makeExecutableIfNoMode;
+    this.posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    this.filter = filter;
+    this.blobStore = blobStore;
+  }
+
+  @Nonnull
+  private static Set<PosixFilePermission> toPermissions(final int mode) {
+    final Set<PosixFilePermission> result = EnumSet.noneOf(PosixFilePermission.class);
+    final PosixFilePermission[] values = {
+        PosixFilePermission.OTHERS_EXECUTE, PosixFilePermission.OTHERS_WRITE,
+        PosixFilePermission.OTHERS_READ, PosixFilePermission.GROUP_EXECUTE,
+        PosixFilePermission.GROUP_WRITE, PosixFilePermission.GROUP_READ,
+        PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.OWNER_WRITE,
+        PosixFilePermission.OWNER_READ
+    };
+    for (int i = 0; i < values.length; i++) {
+      if ((mode & (1 << i)) != 0) {
+        result.add(values[i]);
+      }
+    }
+    return result;
+  }
+
+  private static int findUnixMode(@Nonnull final ArchiveEntry entry) {
+    if (entry instanceof TarArchiveEntry) {
+      return ((TarArchiveEntry) entry).getMode() & 0777;
+    } else if (entry instanceof ZipArchiveEntry) {
+      return ((ZipArchiveEntry) entry).getUnixMode() & 0777;
+    }
+    return 0;
+  }
+
+  /**
+   * Find target file for entry.
+   *
+   * @param entry archive entry, must not be null
+   * @return target file or null if the entry must not be extracted, folder
+   * entries are not filtered
+   * @throws IOException if entry has illegal path
+   */
+  @Nullable
+  private File findTarget(@Nonnull final ArchiveEntry entry) throws IOException {
+    final String normalizedPath = FilenameUtils.normalize(entry.getName(), true);
+    if (normalizedPath == null) {
+      throw new IOException("Illegal path of archive entry : " + entry.getName());
+    }
+    final String relativePath;
+    if (this.normalizedFolder == null) {
+      relativePath = normalizedPath;
+    } else if (normalizedPath.startsWith(this.normalizedFolder)) {
+      relativePath = normalizedPath.substring(this.normalizedFolder.length());
+    } else {
+      return null;
+    }
+    if (this.filter != null && !entry.isDirectory() && !this.filter.test(relativePath)) {
+      return null;
+    }
+    return new File(this.destinationFolder, relativePath);
+  }
+
+  private void ensureFolder(@Nullable final File folder) throws IOException {
+    if (folder == null || this.createdFolders.contains(folder)) {
+      return;
+    }
+    if (!folder.mkdirs() && !folder.isDirectory()) {
+      throw new IOException("Can't create folder : " + folder);
+    }
+    File current = folder;
+    while (current != null && this.createdFolders.add(current)) {
+      current = current.getParentFile();
+    }
+  }
+
+  private void extractFile(@Nonnull final ArchiveEntry entry, @Nonnull final File targetFile,
+                           @Nonnull final InputStream data) throws IOException {
+    this.ensureFolder(targetFile.getParentFile());
+
+    if (this.blobStore != null) {
+      this.extractBlob(this.blobStore, entry, targetFile, data);
+      this.fileCounter.incrementAndGet();
+      return;
+    }
+
+    final ByteBuffer buffer = BUFFERS.get();
+    long written = 0L;
+    final ReadableByteChannel source = Channels.newChannel(data);
+    try (final FileChannel target = FileChannel.open(targetFile.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      ((Buffer) buffer).clear();
+      while (source.read(buffer) >= 0) {
+        if (!buffer.hasRemaining()) {
+          ((Buffer) buffer).flip();
+          while (buffer.hasRemaining()) {
+            written += target.write(buffer);
+          }
+          ((Buffer) buffer).clear();
+        }
+      }
+      ((Buffer) buffer).flip();
+      while (buffer.hasRemaining()) {
+        written += target.write(buffer);
+      }
+    }
+
+    this.assertLength(entry, written);
+
+    this.applyMode(targetFile, findUnixMode(entry));
+    this.fileCounter.incrementAndGet();
+  }
+
+  private void extractBlob(@Nonnull final BlobStore store, @Nonnull final ArchiveEntry entry,
+                           @Nonnull final File targetFile, @Nonnull final InputStream data)
+      throws IOException {
+    final int unixMode = findUnixMode(entry);
+    final int mode =
+        unixMode != 0 ? unixMode : this.makeExecutableIfNoMode ? 0755 : DEFAULT_FILE_MODE;
+    final MessageDigest digest = DigestUtils.getSha256Digest();
+
+    final byte[] buffer = BLOB_BUFFERS.get();
+    int filled = 0;
+    int read = 0;
+    while (filled < buffer.length
+        && (read = data.read(buffer, filled, buffer.length - filled)) >= 0) {
+      filled += read;
+    }
+    digest.update(buffer, 0, filled);
+
+    Files.deleteIfExists(targetFile.toPath());
+
+    if (read < 0) {
+      this.assertLength(entry, filled);
+      final String blobName = BlobStore.makeBlobName(digest.digest(), mode);
+      if (store.linkIfExists(blobName, targetFile)) {
+        this.reusedBlobCounter.incrementAndGet();
+        return;
+      }
+      final File tempFile = store.makeTempFile();
+      try {
+        Files.write(tempFile.toPath(), Arrays.copyOf(buffer, filled));
+        this.applyBlobMode(tempFile, mode);
+        store.addAndLink(tempFile, blobName, targetFile);
+      } finally {
+        Files.deleteIfExists(tempFile.toPath());
+      }
+    } else {
+      final File tempFile = store.makeTempFile();
+      try {
+        long written = filled;
+        try (final OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+          out.write(buffer, 0, filled);
+          while ((read = data.read(buffer)) >= 0) {
+            digest.update(buffer, 0, read);
+            out.write(buffer, 0, read);
+            written += read;
+          }
+        }
+        this.assertLength(entry, written);
+        this.applyBlobMode(tempFile, mode);
+        store.addAndLink(tempFile, BlobStore.makeBlobName(digest.digest(), mode), targetFile);
+      } finally {
+        Files.deleteIfExists(tempFile.toPath());
+      }
+    }
+  }
+
+  private void assertLength(@Nonnull final ArchiveEntry entry, final long length)
+      throws IOException {
+    if (entry.getSize() >= 0L && length != entry.getSize()) {
+      throw new IOException("Can't unpack file, illegal unpacked length : " + entry.getName());
+    }
+  }
+
+  private void applyBlobMode(@Nonnull final File file, final int mode) throws IOException {
+    if (this.posix) {
+      // temp files are created with restricted permissions, so mode is always set
+      Files.setPosixFilePermissions(file.toPath(), toPermissions(mode));
+    } else {
+      this.applyMode(file, mode);
+    }
+  }
+
+  private void applyMode(@Nonnull final File file, final int mode) throws IOException {
+    try {
+      if (mode == 0) {
+        if (this.makeExecutableIfNoMode && !file.setExecutable(true, true)) {
+          this.logger.debug("Can't make file executable : " + file);
+        }
+      } else if (this.posix) {
+        if (mode != DEFAULT_FILE_MODE) {
+          Files.setPosixFilePermissions(file.toPath(), toPermissions(mode));
+        }
+      } else if ((mode & 0111) != 0 && !file.setExecutable(true, false)) {
+        this.logger.debug("Can't make file executable : " + file);
+      }
+    } catch (SecurityException ex) {
+      throw new IOException("Can't set file mode for security reasons : " + file, ex);
+    }
+  }
+
+  private void logBlobReuse() {
+    if (this.blobStore != null) {
+      this.logger.info("Reused " + this.reusedBlobCounter.get() + " of " + this.fileCounter.get()
+          + " file(s) from blob store");
+    }
+  }
+
+  /**
+   * Extract entries provided sequentially, for instance from TAR stream.
+   *
+   * @param entryGetter  source of entries, must not be null
+   * @param dataProvider provider of entry data, must not be null
+   * @return number of extracted files
+   * @throws IOException if any IO error
+   */
+  int extractSequentially(@Nonnull final EntrySource entryGetter,
+                          @Nonnull final EntryData dataProvider) throws IOException {
+    final boolean debug = this.logger.isDebugEnabled();
+    while (true) {
+      final ArchiveEntry entry = entryGetter.next();
+      if (entry == null) {
+        break;
+      }
+      final File target = this.findTarget(entry);
+      if (target == null) {
+        if (debug) {
+          this.logger.debug("Archive entry " + entry.getName() + " ignored");
+        }
+      } else if (entry.isDirectory()) {
+        this.ensureFolder(target);
+      } else {
+        try (final InputStream data = dataProvider.open(entry)) {
+          this.extractFile(entry, target, data);
+        }
+      }
+    }
+    this.logBlobReuse();
+    return this.fileCounter.get();
+  }
+
+  /**
+   * Extract entries of ZIP file in parallel.
+   *
+   * @param zipFile opened zip file, must not be null
+   * @return number of extracted files
+   * @throws IOException if any IO error
+   */
+  int extractZipFile(@Nonnull final ZipFile zipFile) throws IOException {
+    final List<ZipArchiveEntry> files = new ArrayList<>();
+    final List<File> targets = new ArrayList<>();
+
+    final Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
+    while (entries.hasMoreElements()) {
+      final ZipArchiveEntry entry = entries.nextElement();
+      final File target = this.findTarget(entry);
+      if (target == null) {
+        continue;
+      }
+      if (entry.isDirectory()) {
+        this.ensureFolder(target);
+      } else {
+        this.ensureFolder(target.getParentFile());
+        files.add(entry);
+        targets.add(target);
+      }
+    }
+
+    final int threads =
+        Math.max(1, Math.min(Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()),
+            files.size() / 64));
+    this.logger.debug("Extracting " + files.size() + " zip entries through " + threads
+        + " thread(s)");
+
+    if (threads == 1) {
+      for (int i = 0; i < files.size(); i++) {
+        try (final InputStream data = zipFile.getInputStream(files.get(i))) {
+          this.extractFile(files.get(i), targets.get(i), data);
+        }
+      }
+      this.logBlobReuse();
+      return this.fileCounter.get();
+    }
+
+    final AtomicInteger nextIndex = new AtomicInteger();
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(threads, new DaemonThreadFactory("mvn-golang-unpack"));
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          int index;
+          while ((index = nextIndex.getAndIncrement()) < files.size()) {
+            if (Thread.currentThread().isInterrupted()) {
+              throw new InterruptedIOException("Unpack interrupted");
+            }
+            try (final InputStream data = zipFile.getInputStream(files.get(index))) {
+              this.extractFile(files.get(index), targets.get(index), data);
+            }
+          }
+          return null;
+        }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Unpack interrupted");
+    } catch (ExecutionException ex) {
+      nextIndex.set(files.size());
+      final Throwable cause = ex.getCause();
+      throw cause instanceof IOException ? (IOException) cause
+          : new IOException("Error during unpack", cause);
+    } finally {
+      executor.shutdownNow();
+    }
+    this.logBlobReuse();
+    return this.fileCounter.get();
+  }
+
+  @FunctionalInterface
+  interface EntrySource {
+
+    @Nullable
+    ArchiveEntry next() throws IOException;
+  }
+
+  @FunctionalInterface
+  interface EntryData {
+
+    @Nonnull
+    InputStream open(@Nonnull ArchiveEntry entry) throws IOException;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+/**
+ * Sink forwarding lines to target consumer (for instance maven log) in
+ * separated daemon thread, so that process output pumps are not blocked by
+ * slow logging. Queue of lines is bounded, producer waits if it is full.
+ * Worker thread is started with the first line.
+ *
+ * @since 2.3.11
+ */
+public final class AsyncLineSink implements Consumer<String>, Closeable {
+
+  private static final int QUEUE_SIZE = 4096;
+
+  private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+  private final Object endMarker = new Object();
+  private final Consumer<String> target;
+  private final DaemonThreadFactory threadFactory;
+  private Thread thread;
+
+  public AsyncLineSink(@Nonnull final String threadName, @Nonnull final Consumer<String> target) {
+    this.target = target;
+    this.threadFactory = new DaemonThreadFactory(threadName);
+  }
+
+  private synchronized boolean ensureStarted() {
+    if (this.thread == null) {
+      this.thread = this.threadFactory.newThread(() -> {
+        try {
+          while (true) {
+            final Object next = this.queue.take();
+            if (next == this.endMarker) {
+              break;
+            }
+            try {
+              this.target.accept((String) next);
+            } catch (RuntimeException ex) {
+              // ignore to keep queue drained
+            }
+          }
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      this.thread.start();
+    }
+    return this.thread.isAlive();
+  }
+
+  @Override
+  public void accept(@Nonnull final String line) {
+    if (this.ensureStarted()) {
+      try {
+        this.queue.put(line);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Wait until all queued lines are forwarded and stop worker thread.
+   */
+  @Override
+  public void close() {
+    final Thread worker;
+    synchronized (this) {
+      worker = this.thread;
+    }
+    if (worker != null && worker.isAlive()) {
+      try {
+        this.queue.put(this.endMarker);
+        worker.join();
+      } catch (InterruptedException ex) {
+        worker.interrupt();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
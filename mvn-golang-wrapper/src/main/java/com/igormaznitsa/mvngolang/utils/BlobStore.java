@@ -0,0 +1,331 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Content-addressed store of extracted SDK files. Every file is kept once in
+ * the blob folder under name made from its SHA-256 and mode, SDK folders are
+ * made of hard links to blobs. Blob without other links is not referenced by
+ * any SDK and can be removed by compaction. If the file system doesn't support
+ * hard links then blobs are copied.
+ *
+ * @since 2.3.11
+ */
+public final class BlobStore {
+
+  /**
+   * Name of folder in the store folder which contains blobs.
+   */
+  public static final String BLOB_FOLDER = ".blobs";
+
+  private static final String TEMP_FOLDER = ".tmp";
+  private static final long TEMP_FILE_MAX_AGE_MS = 3600_000L;
+
+  private final File blobFolder;
+  private final File tempFolder;
+  private final AtomicBoolean linksUnsupported = new AtomicBoolean();
+
+  public BlobStore(@Nonnull final File storeFolder) {
+    this.blobFolder = new File(storeFolder, BLOB_FOLDER);
+    this.tempFolder = new File(this.blobFolder, TEMP_FOLDER);
+  }
+
+  /**
+   * Make name of blob for digest and mode of file.
+   *
+   * @param sha256 SHA-256 digest of content, must not be null
+   * @param mode   Unix mode of file
+   * @return name of blob, must not be null
+   */
+  @Nonnull
+  public static String makeBlobName(@Nonnull final byte[] sha256, final int mode) {
+    return Hex.encodeHexString(sha256) + '-' + Integer.toOctalString(mode & 0777);
+  }
+
+  @Nonnull
+  public File getBlobFolder() {
+    return this.blobFolder;
+  }
+
+  @Nonnull
+  private File makeBlobFile(@Nonnull final String blobName) {
+    return new File(new File(this.blobFolder, blobName.substring(0, 2)), blobName);
+  }
+
+  /**
+   * Make new temp file in the blob folder, it is on the same file system so
+   * that it can be linked as blob.
+   *
+   * @return created temp file, must not be null
+   * @throws IOException if it can't be created
+   */
+  @Nonnull
+  File makeTempFile() throws IOException {
+    if (!this.tempFolder.isDirectory() && !this.tempFolder.mkdirs()
+        && !this.tempFolder.isDirectory()) {
+      throw new IOException("Can't create folder : " + this.tempFolder);
+    }
+    return Files.createTempFile(this.tempFolder.toPath(), "blob", ".tmp").toFile();
+  }
+
+  /**
+   * Materialize target file as link to existing blob.
+   *
+   * @param blobName name of blob, must not be null
+   * @param target   target file, must not be null
+   * @return true if blob found and target is created, false if there is no
+   * such blob
+   * @throws IOException if any IO error
+   */
+  boolean linkIfExists(@Nonnull final String blobName, @Nonnull final File target)
+      throws IOException {
+    final File blob = this.makeBlobFile(blobName);
+    try {
+      this.link(blob, target);
+      return true;
+    } catch (NoSuchFileException ex) {
+      return false;
+    }
+  }
+
+  /**
+   * Add prepared temp file as blob and materialize target file as its link.
+   * The temp file is deleted. If there is already such blob then it is used.
+   *
+   * @param tempFile temp file made by {@link #makeTempFile()}, must not be
+   *                 null
+   * @param blobName name of blob, must not be null
+   * @param target   target file, must not be null
+   * @throws IOException if any IO error
+   */
+  void addAndLink(@Nonnull final File tempFile, @Nonnull final String blobName,
+                  @Nonnull final File target) throws IOException {
+    final File blob = this.makeBlobFile(blobName);
+    try {
+      final File blobParent = blob.getParentFile();
+      if (!blobParent.isDirectory() && !blobParent.mkdirs() && !blobParent.isDirectory()) {
+        throw new IOException("Can't create folder : " + blobParent);
+      }
+      while (true) {
+        try {
+          this.link(tempFile, blob);
+        } catch (FileAlreadyExistsException ex) {
+          // the same content is already stored by another extraction
+        }
+        try {
+          this.link(blob, target);
+          break;
+        } catch (NoSuchFileException ex) {
+          // blob has been removed by concurrent compaction, make it again
+        }
+      }
+    } finally {
+      Files.deleteIfExists(tempFile.toPath());
+    }
+  }
+
+  private void link(@Nonnull final File existing, @Nonnull final File link)
+      throws IOException {
+    if (!this.linksUnsupported.get()) {
+      try {
+        Files.createLink(link.toPath(), existing.toPath());
+        return;
+      } catch (UnsupportedOperationException ex) {
+        this.linksUnsupported.set(true);
+      } catch (FileAlreadyExistsException | NoSuchFileException ex) {
+        throw ex;
+      } catch (IOException ex) {
+        if (!existing.isFile()) {
+          throw new NoSuchFileException(existing.getAbsolutePath());
+        }
+        if (link.exists()) {
+          throw new FileAlreadyExistsException(link.getAbsolutePath());
+        }
+        this.linksUnsupported.set(true);
+      }
+    }
+    if (link.exists()) {
+      throw new FileAlreadyExistsException(link.getAbsolutePath());
+    }
+    Files.copy(existing.toPath(), link.toPath(), StandardCopyOption.COPY_ATTRIBUTES);
+  }
+
+  /**
+   * Remove blobs which are not referenced by any SDK folder and forgotten temp
+   * files. If the file system provides number of links then blob with single
+   * link is removed, otherwise digests of files in the store are collected.
+   *
+   * @param log logger, must not be null
+   * @return result of compaction, must not be null
+   * @throws IOException if any IO error
+   */
+  @Nonnull
+  public CompactionResult compact(@Nonnull final Log log) throws IOException {
+    final CompactionResult result = new CompactionResult();
+    if (!this.blobFolder.isDirectory()) {
+      log.debug("There is no blob folder : " + this.blobFolder);
+      return result;
+    }
+
+    final boolean linkCounters =
+        FileSystems.getDefault().supportedFileAttributeViews().contains("unix");
+    final Set<String> referencedDigests = linkCounters ? null
+        : this.collectReferencedDigests(this.blobFolder.getParentFile());
+
+    final long now = System.currentTimeMillis();
+    try (final DirectoryStream<Path> prefixes =
+             Files.newDirectoryStream(this.blobFolder.toPath())) {
+      for (final Path prefix : prefixes) {
+        if (!Files.isDirectory(prefix)) {
+          continue;
+        }
+        final boolean temp = TEMP_FOLDER.equals(prefix.getFileName().toString());
+        try (final DirectoryStream<Path> blobs = Files.newDirectoryStream(prefix)) {
+          for (final Path blob : blobs) {
+            final BasicFileAttributes attributes =
+                Files.readAttributes(blob, BasicFileAttributes.class);
+            final boolean remove;
+            if (temp) {
+              remove = now - attributes.lastModifiedTime().toMillis() > TEMP_FILE_MAX_AGE_MS;
+            } else if (referencedDigests == null) {
+              remove = ((Number) Files.getAttribute(blob, "unix:nlink")).intValue() <= 1;
+            } else {
+              final String name = blob.getFileName().toString();
+              final int modeStart = name.indexOf('-');
+              remove = !referencedDigests
+                  .contains(modeStart < 0 ? name : name.substring(0, modeStart));
+            }
+            if (remove) {
+              try {
+                Files.delete(blob);
+                result.removedFiles++;
+                result.removedBytes += attributes.size();
+              } catch (NoSuchFileException ex) {
+                // already removed
+              }
+            } else {
+              result.keptFiles++;
+              result.keptBytes += attributes.size();
+            }
+          }
+        }
+        if (!temp) {
+          try (final DirectoryStream<Path> rest = Files.newDirectoryStream(prefix)) {
+            if (!rest.iterator().hasNext()) {
+              Files.deleteIfExists(prefix);
+            }
+          } catch (IOException ex) {
+            log.debug("Can't remove empty blob folder : " + prefix);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  @Nonnull
+  private Set<String> collectReferencedDigests(@Nonnull final File storeFolder)
+      throws IOException {
+    final Set<String> result = new HashSet<>();
+    final MessageDigest digest = DigestUtils.getSha256Digest();
+    final byte[] buffer = new byte[64 * 1024];
+    Files.walkFileTree(storeFolder.toPath(), new SimpleFileVisitor<Path>() {
+      @Override
+      @Nonnull
+      public FileVisitResult preVisitDirectory(@Nonnull final Path dir,
+                                               @Nonnull final BasicFileAttributes attrs) {
+        return dir.equals(storeFolder.toPath()) || !dir.getFileName().toString().startsWith(".")
+            ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+      }
+
+      @Override
+      @Nonnull
+      public FileVisitResult visitFile(@Nonnull final Path file,
+                                       @Nonnull final BasicFileAttributes attrs)
+          throws IOException {
+        if (attrs.isRegularFile() && !file.getParent().equals(storeFolder.toPath())) {
+          digest.reset();
+          try (final InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+              digest.update(buffer, 0, read);
+            }
+          }
+          result.add(Hex.encodeHexString(digest.digest()));
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Result of blob store compaction.
+   */
+  public static final class CompactionResult {
+
+    private int removedFiles;
+    private long removedBytes;
+    private int keptFiles;
+    private long keptBytes;
+
+    public int getRemovedFiles() {
+      return this.removedFiles;
+    }
+
+    public long getRemovedBytes() {
+      return this.removedBytes;
+    }
+
+    public int getKeptFiles() {
+      return this.keptFiles;
+    }
+
+    public long getKeptBytes() {
+      return this.keptBytes;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+      return "removed " + this.removedFiles + " blob(s) (" + this.removedBytes + " bytes), kept "
+          + this.keptFiles + " blob(s) (" + this.keptBytes + " bytes)";
+    }
+  }
+}
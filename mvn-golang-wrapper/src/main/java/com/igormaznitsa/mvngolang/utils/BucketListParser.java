@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streaming parser of Google Storage ListBucketResult XML. It doesn't build
+ * DOM and stops at the first key found among expected ones so that memory
+ * consumption doesn't depend on size of the list.
+ *
+ * @since 2.3.11
+ */
+public final class BucketListParser {
+
+  private static final String TAG_ROOT = "ListBucketResult";
+  private static final String TAG_CONTENTS = "Contents";
+  private static final String TAG_KEY = "Key";
+
+  private BucketListParser() {
+  }
+
+  @Nonnull
+  private static XMLInputFactory makeFactory() {
+    final XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+    return factory;
+  }
+
+  /**
+   * Find first key of listed content which is among expected ones.
+   *
+   * @param xmlStream    stream contains XML, must not be null and it is not
+   *                     closed
+   * @param expectedKeys expected keys, must not be null
+   * @param listedKeys   collection to collect met not expected keys, can be
+   *                     null
+   * @return found key or null if not found
+   * @throws IOException if transport error or wrong format
+   */
+  @Nullable
+  public static String findFirstKey(
+      @Nonnull final InputStream xmlStream,
+      @Nonnull @MustNotContainNull final Collection<String> expectedKeys,
+      @Nullable @MustNotContainNull final List<String> listedKeys
+  ) throws IOException {
+    XMLStreamReader reader = null;
+    try {
+      reader = makeFactory().createXMLStreamReader(xmlStream);
+      boolean rootChecked = false;
+      int contentsLevel = -1;
+      int level = 0;
+      while (reader.hasNext()) {
+        final int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          level++;
+          final String name = reader.getLocalName();
+          if (!rootChecked) {
+            if (!TAG_ROOT.equals(name)) {
+              throw new IOException("It is not a ListBucket file [" + name + ']');
+            }
+            rootChecked = true;
+          } else if (level == 2 && TAG_CONTENTS.equals(name)) {
+            contentsLevel = level;
+          } else if (contentsLevel > 0 && level == contentsLevel + 1 && TAG_KEY.equals(name)) {
+            final String key = reader.getElementText();
+            level--;
+            if (expectedKeys.contains(key)) {
+              return key;
+            }
+            if (listedKeys != null) {
+              listedKeys.add(key);
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          if (level == contentsLevel) {
+            contentsLevel = -1;
+          }
+          level--;
+        }
+      }
+      if (!rootChecked) {
+        throw new IOException("Empty SDK list document");
+      }
+      return null;
+    } catch (XMLStreamException ex) {
+      throw new IOException("Can't parse document", ex);
+    } finally {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (XMLStreamException ex) {
+          // ignore
+        }
+      }
+    }
+  }
+}
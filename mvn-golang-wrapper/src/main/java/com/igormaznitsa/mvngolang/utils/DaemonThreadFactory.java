@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+
+/**
+ * Factory of named daemon threads for internal worker pools of the plugin.
+ *
+ * @since 2.3.11
+ */
+public final class DaemonThreadFactory implements ThreadFactory {
+
+  private final String prefix;
+  private final AtomicInteger counter = new AtomicInteger();
+
+  public DaemonThreadFactory(@Nonnull final String prefix) {
+    this.prefix = prefix;
+  }
+
+  @Override
+  @Nonnull
+  public Thread newThread(@Nonnull final Runnable runnable) {
+    final Thread thread = new Thread(runnable, this.prefix + '-' + this.counter.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  }
+}
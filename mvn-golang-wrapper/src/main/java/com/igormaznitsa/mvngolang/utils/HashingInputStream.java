@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.zip.Checksum;
+import javax.annotation.Nonnull;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Input stream calculating MD5 and CRC32C for all bytes passed through it.
+ * Mark and reset are not supported.
+ *
+ * @since 2.3.11
+ */
+public final class HashingInputStream extends FilterInputStream {
+
+  private final MessageDigest md5 = DigestUtils.getMd5Digest();
+  private final Checksum crc32c = XGoogHashHeader.makeCrc32c();
+  private long counter;
+
+  public HashingInputStream(@Nonnull final InputStream in) {
+    super(in);
+  }
+
+  @Override
+  public int read() throws IOException {
+    final int result = super.read();
+    if (result >= 0) {
+      this.md5.update((byte) result);
+      this.crc32c.update(result);
+      this.counter++;
+    }
+    return result;
+  }
+
+  @Override
+  public int read(@Nonnull final byte[] buffer, final int offset, final int length)
+      throws IOException {
+    final int result = super.read(buffer, offset, length);
+    if (result > 0) {
+      this.md5.update(buffer, offset, result);
+      this.crc32c.update(buffer, offset, result);
+      this.counter += result;
+    }
+    return result;
+  }
+
+  @Override
+  public long skip(final long length) throws IOException {
+    final byte[] buffer = new byte[(int) Math.min(64 * 1024L, Math.max(1L, length))];
+    long skipped = 0L;
+    while (skipped < length) {
+      final int read = this.read(buffer, 0, (int) Math.min(buffer.length, length - skipped));
+      if (read < 0) {
+        break;
+      }
+      skipped += read;
+    }
+    return skipped;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public synchronized void mark(final int readLimit) {
+    // not supported
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    throw new IOException("Reset is not supported");
+  }
+
+  /**
+   * Read all rest bytes of the stream to include them into hash.
+   *
+   * @return number of read bytes
+   * @throws IOException if any transport error
+   */
+  public long drain() throws IOException {
+    return this.skip(Long.MAX_VALUE);
+  }
+
+  /**
+   * Get number of bytes passed through the stream.
+   *
+   * @return number of bytes
+   */
+  public long getCounter() {
+    return this.counter;
+  }
+
+  /**
+   * Get MD5 for passed bytes, can be called only once.
+   *
+   * @return MD5 as hex string, must not be null
+   */
+  @Nonnull
+  public String getMd5Hex() {
+    return Hex.encodeHexString(this.md5.digest());
+  }
+
+  /**
+   * Get CRC32C for passed bytes.
+   *
+   * @return CRC32C as hex string, must not be null
+   */
+  @Nonnull
+  public String getCrc32cHex() {
+    return XGoogHashHeader.toCrc32cHex(this.crc32c.getValue());
+  }
+}
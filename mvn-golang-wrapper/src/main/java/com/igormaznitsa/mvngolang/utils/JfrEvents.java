@@ -0,0 +1,282 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MayContainNull;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Custom Java Flight Recorder events of the plugin. Event types are defined
+ * dynamically through reflection of jdk.jfr.EventFactory, so that the plugin
+ * stays compatible with Java 8 runtimes without JFR. An event is started only
+ * if JFR is presented and its type is enabled in a running recording, in all
+ * other cases {@link #begin(Type)} returns null and the only cost is check of
+ * the result.
+ *
+ * @since 2.3.11
+ */
+public final class JfrEvents {
+
+  private static final String CATEGORY = "mvn-golang";
+
+  private static final Object[] FACTORIES = new Object[Type.values().length];
+  private static final Object[] EVENT_TYPES = new Object[Type.values().length];
+  private static final Method METHOD_IS_ENABLED;
+  private static final Method METHOD_NEW_EVENT;
+  private static final Method METHOD_BEGIN;
+  private static final Method METHOD_END;
+  private static final Method METHOD_SHOULD_COMMIT;
+  private static final Method METHOD_SET;
+  private static final Method METHOD_COMMIT;
+
+  static {
+    Method isEnabled = null;
+    Method newEvent = null;
+    Method begin = null;
+    Method end = null;
+    Method shouldCommit = null;
+    Method set = null;
+    Method commit = null;
+    try {
+      final Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+      final Class<?> eventClass = Class.forName("jdk.jfr.Event");
+      final Class<?> annotationClass = Class.forName("jdk.jfr.AnnotationElement");
+      final Class<?> descriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+      final Constructor<?> annotation = annotationClass.getConstructor(Class.class, Object.class);
+      final Constructor<?> descriptor =
+          descriptorClass.getConstructor(Class.class, String.class, List.class);
+      final Method create = factoryClass.getMethod("create", List.class, List.class);
+
+      for (final Type type : Type.values()) {
+        final List<Object> typeAnnotations = new ArrayList<>();
+        typeAnnotations.add(annotation.newInstance(jfrAnnotation("Name"), type.name));
+        typeAnnotations.add(annotation.newInstance(jfrAnnotation("Label"), type.label));
+        typeAnnotations.add(annotation.newInstance(jfrAnnotation("Description"),
+            type.description));
+        typeAnnotations.add(annotation.newInstance(jfrAnnotation("Category"),
+            new String[] {CATEGORY}));
+
+        final List<Object> fields = new ArrayList<>();
+        for (final Field field : type.fields) {
+          final List<Object> fieldAnnotations = new ArrayList<>();
+          fieldAnnotations.add(annotation.newInstance(jfrAnnotation("Label"), field.label));
+          if (field.bytes) {
+            fieldAnnotations.add(annotation.newInstance(jfrAnnotation("DataAmount"), "BYTES"));
+          }
+          fields.add(descriptor.newInstance(field.type, field.name, fieldAnnotations));
+        }
+        FACTORIES[type.ordinal()] = create.invoke(null, typeAnnotations, fields);
+      }
+
+      isEnabled = Class.forName("jdk.jfr.EventType").getMethod("isEnabled");
+      newEvent = factoryClass.getMethod("newEvent");
+      begin = eventClass.getMethod("begin");
+      end = eventClass.getMethod("end");
+      shouldCommit = eventClass.getMethod("shouldCommit");
+      set = eventClass.getMethod("set", int.class, Object.class);
+      commit = eventClass.getMethod("commit");
+
+      final Method getEventType = factoryClass.getMethod("getEventType");
+      for (int i = 0; i < FACTORIES.length; i++) {
+        EVENT_TYPES[i] = getEventType.invoke(FACTORIES[i]);
+      }
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+      // JFR is not supported by the runtime
+      isEnabled = null;
+    }
+    METHOD_IS_ENABLED = isEnabled;
+    METHOD_NEW_EVENT = newEvent;
+    METHOD_BEGIN = begin;
+    METHOD_END = end;
+    METHOD_SHOULD_COMMIT = shouldCommit;
+    METHOD_SET = set;
+    METHOD_COMMIT = commit;
+  }
+
+  private JfrEvents() {
+  }
+
+  @Nonnull
+  private static Class<? extends Annotation> jfrAnnotation(@Nonnull final String name)
+      throws ClassNotFoundException {
+    return Class.forName("jdk.jfr." + name).asSubclass(Annotation.class);
+  }
+
+  /**
+   * Check that JFR events are supported by the runtime.
+   *
+   * @return true if events can be recorded
+   */
+  public static boolean isSupported() {
+    return METHOD_IS_ENABLED != null;
+  }
+
+  /**
+   * Begin event if its type is enabled in a running recording.
+   *
+   * @param type type of event, must not be null
+   * @return started event or null if it should not be recorded
+   */
+  @Nullable
+  public static Handle begin(@Nonnull final Type type) {
+    if (METHOD_IS_ENABLED == null) {
+      return null;
+    }
+    try {
+      if (!((Boolean) METHOD_IS_ENABLED.invoke(EVENT_TYPES[type.ordinal()]))) {
+        return null;
+      }
+      final Object event = METHOD_NEW_EVENT.invoke(FACTORIES[type.ordinal()]);
+      METHOD_BEGIN.invoke(event);
+      return new Handle(type, event);
+    } catch (ReflectiveOperationException | RuntimeException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Types of events and their fields.
+   */
+  public enum Type {
+    SDK_DOWNLOAD("SdkDownload", "SDK Download", "Download of SDK archive",
+        new Field(String.class, "url", "URL", false),
+        new Field(String.class, "mirror", "Used Mirror", false),
+        new Field(long.class, "bytes", "Transferred", true),
+        new Field(long.class, "throughput", "Throughput per Second", true),
+        new Field(int.class, "streams", "Streams", false)),
+    ARCHIVE_UNPACK("ArchiveUnpack", "Archive Unpack", "Extraction of archive into folder",
+        new Field(String.class, "archive", "Archive", false),
+        new Field(String.class, "folder", "Target Folder", false),
+        new Field(int.class, "entries", "Unpacked Entries", false),
+        new Field(long.class, "bytes", "Archive Size", true)),
+    ARTIFACT_RESOLVE("ArtifactResolve", "Artifact Resolve", "Resolving of maven artifact",
+        new Field(String.class, "artifact", "Artifact", false),
+        new Field(String.class, "file", "File", false),
+        new Field(boolean.class, "resolved", "Resolved", false)),
+    GOMOD_REWRITE("GoModRewrite", "go.mod Rewrite", "Rewriting of go.mod file",
+        new Field(String.class, "file", "File", false),
+        new Field(long.class, "bytes", "Written", true)),
+    LOCK_WAIT("LockWait", "Lock Wait", "Waiting for lock",
+        new Field(String.class, "kind", "Kind", false),
+        new Field(String.class, "lock", "Lock File", false),
+        new Field(boolean.class, "acquired", "Acquired", false)),
+    GO_PROCESS("GoProcess", "Go Process", "Lifetime of started go process",
+        new Field(String.class, "command", "Command", false),
+        new Field(String.class, "folder", "Working Folder", false),
+        new Field(int.class, "exitCode", "Exit Code", false)),
+    MOJO_EXECUTE("MojoExecute", "Mojo Execute", "Execution of mojo in module",
+        new Field(String.class, "module", "Module", false),
+        new Field(String.class, "execution", "Execution", false),
+        new Field(boolean.class, "failed", "Failed", false));
+
+    private final String name;
+    private final String label;
+    private final String description;
+    private final List<Field> fields;
+
+    Type(@Nonnull final String name, @Nonnull final String label,
+         @Nonnull final String description,
+         @Nonnull final Field... fields) {
+      this.name = "com.igormaznitsa.mvngolang." + name;
+      this.label = label;
+      this.description = description;
+      this.fields = Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * Get full name of the event type in JFR recordings.
+     *
+     * @return name of the type, must not be null
+     */
+    @Nonnull
+    public String getName() {
+      return this.name;
+    }
+  }
+
+  private static final class Field {
+
+    private final Class<?> type;
+    private final String name;
+    private final String label;
+    private final boolean bytes;
+
+    private Field(@Nonnull final Class<?> type, @Nonnull final String name,
+                  @Nonnull final String label, final boolean bytes) {
+      this.type = type;
+      this.name = name;
+      this.label = label;
+      this.bytes = bytes;
+    }
+
+    @Nullable
+    private Object convert(@Nullable final Object value) {
+      if (this.type == String.class) {
+        return value == null ? null : String.valueOf(value);
+      } else if (this.type == long.class) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+      } else if (this.type == int.class) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+      } else {
+        return value instanceof Boolean ? value : Boolean.FALSE;
+      }
+    }
+  }
+
+  /**
+   * Started event.
+   */
+  public static final class Handle {
+
+    private final Type type;
+    private final Object event;
+
+    private Handle(@Nonnull final Type type, @Nonnull final Object event) {
+      this.type = type;
+      this.event = event;
+    }
+
+    /**
+     * End the event and commit it with field values if its duration passes
+     * threshold of recording.
+     *
+     * @param values values of fields in order of their definition in the type
+     */
+    public void commit(@Nonnull @MayContainNull final Object... values) {
+      try {
+        METHOD_END.invoke(this.event);
+        if ((Boolean) METHOD_SHOULD_COMMIT.invoke(this.event)) {
+          final int count = Math.min(values.length, this.type.fields.size());
+          for (int i = 0; i < count; i++) {
+            METHOD_SET.invoke(this.event, i, this.type.fields.get(i).convert(values[i]));
+          }
+          METHOD_COMMIT.invoke(this.event);
+        }
+      } catch (ReflectiveOperationException | RuntimeException ex) {
+        // ignore, events must not break build
+      }
+    }
+  }
+}
@@ -55,6 +55,8 @@ public final class MavenUtils {
   private static final Pattern ARTIFACT_RECORD_PATTERN =
       Pattern.compile("^([^:]+)::([^:]+)::([^:]*)::([^:]*)::([^:]*)::([^:]*)$");
 
+  private static volatile PropertySnapshot propertySnapshot;
+
   private MavenUtils() {
 
   }
@@ -188,11 +190,18 @@ public final class MavenUtils {
         }
 
         if (artifact.getType().equals(AbstractGolangMojo.GOARTIFACT_PACKAGING)) {
+          final JfrEvents.Handle jfrEvent = JfrEvents.begin(JfrEvents.Type.ARTIFACT_RESOLVE);
           final ArtifactResult artifactResult;
           try {
             artifactResult = resolver.resolveArtifact(
                     makeResolveArtifactProjectBuildingRequest(session, remoteRepositories), artifact);
+            if (jfrEvent != null) {
+              jfrEvent.commit(artifact, artifactResult.getArtifact().getFile(), true);
+            }
           } catch (ArtifactResolverException ex) {
+            if (jfrEvent != null) {
+              jfrEvent.commit(artifact, null, false);
+            }
             if (ignoreNonResolvedArtifact) {
               mojo.getLog().debug("Can't resolve artifact: " + artifact, ex);
               continue;
@@ -263,9 +272,13 @@ public final class MavenUtils {
       @Nonnull final String key,
       @Nullable final String defaultValue
   ) {
-    final Properties properties = new Properties(project.getProperties());
-    properties.putAll(session.getSystemProperties());
-    properties.putAll(session.getUserProperties());
-    return properties.getProperty(key, defaultValue);
+    final Properties system = session.getSystemProperties();
+    PropertySnapshot snapshot = propertySnapshot;
+    if (snapshot == null || !snapshot.isActualFor(system)) {
+      snapshot = PropertySnapshot.of(system);
+      propertySnapshot = snapshot;
+    }
+    return snapshot.find(key, session.getUserProperties(), project.getProperties(),
+        defaultValue);
   }
 }
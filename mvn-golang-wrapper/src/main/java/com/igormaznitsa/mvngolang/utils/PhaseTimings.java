@@ -0,0 +1,361 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Nanosecond timers of phases of mojo execution. Phases are measured by
+ * spans opened in try-with-resources blocks, nested spans get increased
+ * depth. Records of all mojo executions of the current session are kept
+ * grouped by module, so that they can be exported as per-module JSON report
+ * and as trace in Chrome trace event format where every reactor module is
+ * shown as separate lane. Disabled timings don't record anything.
+ *
+ * @since 2.3.11
+ */
+public final class PhaseTimings {
+
+  private static final Span NO_SPAN = () -> {
+  };
+
+  private static final Object SESSION_LOCK = new Object();
+  private static final Object TRACE_LOCK = new Object();
+  private static final ConcurrentMap<String, ModuleRecords> SESSION_MODULES =
+      new ConcurrentHashMap<>();
+  private static final AtomicInteger SESSION_LANES = new AtomicInteger();
+  private static volatile String sessionId = "";
+  private static volatile long sessionOriginNanos = System.nanoTime();
+
+  private final boolean enabled;
+  private final String module;
+  private final String execution;
+  private final List<Record> records = new ArrayList<>();
+  private int depth;
+
+  private PhaseTimings(final boolean enabled, @Nonnull final String module,
+                       @Nonnull final String execution) {
+    this.enabled = enabled;
+    this.module = module;
+    this.execution = execution;
+  }
+
+  /**
+   * Start timings of mojo execution.
+   *
+   * @param enabled   flag to record phases
+   * @param session   identifier of session, records of previous session are
+   *                  dropped if it is changed, must not be null
+   * @param module    identifier of module, must not be null
+   * @param execution identifier of mojo execution, must not be null
+   * @return timings of mojo execution, must not be null
+   */
+  @Nonnull
+  public static PhaseTimings begin(final boolean enabled, @Nonnull final String session,
+                                   @Nonnull final String module,
+                                   @Nonnull final String execution) {
+    if (enabled && !session.equals(sessionId)) {
+      synchronized (SESSION_LOCK) {
+        if (!session.equals(sessionId)) {
+          SESSION_MODULES.clear();
+          SESSION_LANES.set(0);
+          sessionOriginNanos = System.nanoTime();
+          sessionId = session;
+        }
+      }
+    }
+    return new PhaseTimings(enabled, module, execution);
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * Open span of phase, must be closed in the same thread.
+   *
+   * @param phase name of phase, must not be null
+   * @return span to be closed in the end of the phase, must not be null
+   */
+  @Nonnull
+  public Span phase(@Nonnull final String phase) {
+    if (!this.enabled) {
+      return NO_SPAN;
+    }
+    final int spanDepth = this.depth++;
+    final long start = System.nanoTime();
+    return () -> {
+      final long end = System.nanoTime();
+      this.depth = spanDepth;
+      final Record record = new Record(this.module, this.execution, phase, spanDepth,
+          Thread.currentThread().getName(), start - sessionOriginNanos, end - start);
+      synchronized (this.records) {
+        this.records.add(record);
+      }
+      SESSION_MODULES.computeIfAbsent(this.module,
+          k -> new ModuleRecords(k, SESSION_LANES.incrementAndGet())).records.add(record);
+    };
+  }
+
+  /**
+   * Get records of the mojo execution.
+   *
+   * @return list of records in order of span closing, must not be null
+   */
+  @Nonnull
+  @MustNotContainNull
+  public List<Record> getRecords() {
+    synchronized (this.records) {
+      return new ArrayList<>(this.records);
+    }
+  }
+
+  /**
+   * Make JSON report of all phases of module in the current session.
+   *
+   * @param module identifier of module, must not be null
+   * @return JSON text, must not be null
+   */
+  @Nonnull
+  public static String makeModuleReport(@Nonnull final String module) {
+    final StringBuilder result = new StringBuilder();
+    result.append("{\n  \"module\": ").append(quote(module))
+        .append(",\n  \"session\": ").append(quote(sessionId))
+        .append(",\n  \"phases\": [");
+    boolean first = true;
+    final ModuleRecords moduleRecords = SESSION_MODULES.get(module);
+    final Iterable<Record> records =
+        moduleRecords == null ? Collections.emptyList() : moduleRecords.records;
+    for (final Record r : records) {
+      result.append(first ? "\n" : ",\n");
+      first = false;
+      result.append("    {\"execution\": ").append(quote(r.execution))
+          .append(", \"phase\": ").append(quote(r.phase))
+          .append(", \"depth\": ").append(r.depth)
+          .append(", \"thread\": ").append(quote(r.thread))
+          .append(", \"startNs\": ").append(r.startNanos)
+          .append(", \"durationNs\": ").append(r.durationNanos)
+          .append('}');
+    }
+    result.append(first ? "]\n}\n" : "\n  ]\n}\n");
+    return result.toString();
+  }
+
+  /**
+   * Make trace of all phases of the current session in Chrome trace event
+   * format, every module gets its own lane.
+   *
+   * @return JSON text, must not be null
+   */
+  @Nonnull
+  public static String makeTrace() {
+    final List<ModuleRecords> modules = new ArrayList<>(SESSION_MODULES.values());
+    modules.sort((a, b) -> Integer.compare(a.lane, b.lane));
+
+    final StringBuilder result = new StringBuilder();
+    result.append("{\n  \"displayTimeUnit\": \"ms\",\n  \"traceEvents\": [\n")
+        .append("    {\"name\": \"process_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": 0,")
+        .append(" \"args\": {\"name\": \"mvn-golang\"}}");
+    for (final ModuleRecords m : modules) {
+      result.append(",\n    {\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": ")
+          .append(m.lane).append(", \"args\": {\"name\": ").append(quote(m.module))
+          .append("}}");
+    }
+    for (final ModuleRecords m : modules) {
+      for (final Record r : m.records) {
+        result.append(",\n    {\"name\": ").append(quote(r.phase))
+            .append(", \"cat\": ").append(quote(r.execution))
+            .append(", \"ph\": \"X\", \"pid\": 1, \"tid\": ").append(m.lane)
+            .append(", \"ts\": ").append(micros(r.startNanos))
+            .append(", \"dur\": ").append(micros(r.durationNanos))
+            .append(", \"args\": {\"execution\": ").append(quote(r.execution))
+            .append(", \"thread\": ").append(quote(r.thread))
+            .append(", \"depth\": ").append(r.depth).append("}}");
+      }
+    }
+    result.append("\n  ]\n}\n");
+    return result.toString();
+  }
+
+  /**
+   * Make trace of the session and write it into file. Trace is made and
+   * written under lock, so that the last writer always writes trace which
+   * contains records of all finished executions.
+   *
+   * @param file target file, must not be null
+   * @throws IOException if any IO error
+   */
+  public static void writeTrace(@Nonnull final File file) throws IOException {
+    synchronized (TRACE_LOCK) {
+      write(file, makeTrace());
+    }
+  }
+
+  /**
+   * Write text into file through temporary file, so that readers never see
+   * partially written file and concurrent writers don't need lock.
+   *
+   * @param file target file, must not be null
+   * @param text text to be written, must not be null
+   * @throws IOException if any IO error
+   */
+  public static void write(@Nonnull final File file, @Nonnull final String text)
+      throws IOException {
+    final File folder = file.getAbsoluteFile().getParentFile();
+    FileUtils.forceMkdir(folder);
+    final File temp = File.createTempFile(".mvn-golang-timing", ".tmp", folder);
+    try {
+      FileUtils.write(temp, text, StandardCharsets.UTF_8);
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      if (temp.exists() && !temp.delete()) {
+        temp.deleteOnExit();
+      }
+    }
+  }
+
+  @Nonnull
+  private static String micros(final long nanos) {
+    return String.format(Locale.ENGLISH, "%.3f", nanos / 1000.0d);
+  }
+
+  @Nonnull
+  static String quote(@Nonnull final String text) {
+    final StringBuilder result = new StringBuilder(text.length() + 2).append('"');
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      switch (c) {
+        case '"':
+          result.append("\\\"");
+          break;
+        case '\\':
+          result.append("\\\\");
+          break;
+        case '\n':
+          result.append("\\n");
+          break;
+        case '\r':
+          result.append("\\r");
+          break;
+        case '\t':
+          result.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            result.append(String.format("\\u%04x", (int) c));
+          } else {
+            result.append(c);
+          }
+          break;
+      }
+    }
+    return result.append('"').toString();
+  }
+
+  private static final class ModuleRecords {
+
+    private final String module;
+    private final int lane;
+    private final ConcurrentLinkedQueue<Record> records = new ConcurrentLinkedQueue<>();
+
+    private ModuleRecords(@Nonnull final String module, final int lane) {
+      this.module = module;
+      this.lane = lane;
+    }
+  }
+
+  /**
+   * Span of phase.
+   */
+  @FunctionalInterface
+  public interface Span extends AutoCloseable {
+
+    /**
+     * Close the span and record its duration.
+     */
+    @Override
+    void close();
+  }
+
+  /**
+   * Record of measured phase.
+   */
+  public static final class Record {
+
+    private final String module;
+    private final String execution;
+    private final String phase;
+    private final int depth;
+    private final String thread;
+    private final long startNanos;
+    private final long durationNanos;
+
+    private Record(@Nonnull final String module, @Nonnull final String execution,
+                   @Nonnull final String phase, final int depth, @Nonnull final String thread,
+                   final long startNanos, final long durationNanos) {
+      this.module = module;
+      this.execution = execution;
+      this.phase = phase;
+      this.depth = depth;
+      this.thread = thread;
+      this.startNanos = startNanos;
+      this.durationNanos = durationNanos;
+    }
+
+    @Nonnull
+    public String getModule() {
+      return this.module;
+    }
+
+    @Nonnull
+    public String getExecution() {
+      return this.execution;
+    }
+
+    @Nonnull
+    public String getPhase() {
+      return this.phase;
+    }
+
+    public int getDepth() {
+      return this.depth;
+    }
+
+    public long getStartNanos() {
+      return this.startNanos;
+    }
+
+    public long getDurationNanos() {
+      return this.durationNanos;
+    }
+  }
+}
@@ -0,0 +1,542 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.SystemUtils;
+
+/**
+ * Sampler of resources used by tree of child process through /proc of Linux.
+ * The tree is sampled periodically in daemon thread, CPU time and I/O
+ * counters of every process are taken from the last sample where the process
+ * has been seen. CPU time of a process includes cumulative time of its
+ * waited-for children, so that short living processes started and finished
+ * between samples are counted through their parent, and figures of a
+ * process which has disappeared while its parent is alive are dropped
+ * because they are already in the parent's child time. I/O counters don't
+ * include children, so I/O of processes not seen in samples is lost. Peak
+ * RSS is the max of summary resident size of the tree in samples and of peak
+ * resident size of every seen process, processes living between samples are
+ * not covered.
+ *
+ * @since 2.3.11
+ */
+public final class ProcessTreeSampler implements Closeable {
+
+  /**
+   * USER_HZ of Linux, it is 100 on all supported architectures.
+   */
+  private static final long CLOCK_TICKS_PER_SECOND = 100L;
+
+  private static final File PROC = new File("/proc");
+  private static final DaemonThreadFactory THREAD_FACTORY =
+      new DaemonThreadFactory("mvn-golang-proc-sampler");
+
+  private final long rootPid;
+  private final long intervalMs;
+  private final long startNanos = System.nanoTime();
+  private final Map<String, ProcInfo> processes = new LinkedHashMap<>();
+  private final Thread thread;
+  private long peakTreeRssKb;
+  private int peakThreads;
+  private int samples;
+  private long wallNanos = -1L;
+
+  private ProcessTreeSampler(final long rootPid, final long intervalMs) {
+    this.rootPid = rootPid;
+    this.intervalMs = Math.max(10L, intervalMs);
+    this.thread = THREAD_FACTORY.newThread(this::run);
+  }
+
+  /**
+   * Check that the current platform provides data for sampling.
+   *
+   * @return true if sampling is supported
+   */
+  public static boolean isSupported() {
+    return SystemUtils.IS_OS_LINUX && new File(PROC, "self/stat").isFile();
+  }
+
+  /**
+   * Start sampling of process tree.
+   *
+   * @param rootPid    PID of root process of the tree
+   * @param intervalMs interval between samples in milliseconds
+   * @return started sampler, must not be null
+   */
+  @Nonnull
+  public static ProcessTreeSampler start(final long rootPid, final long intervalMs) {
+    final ProcessTreeSampler result = new ProcessTreeSampler(rootPid, intervalMs);
+    result.thread.start();
+    return result;
+  }
+
+  private void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      synchronized (this) {
+        if (this.wallNanos >= 0L) {
+          break;
+        }
+        this.sample();
+      }
+      try {
+        Thread.sleep(this.intervalMs);
+      } catch (InterruptedException ex) {
+        break;
+      }
+    }
+  }
+
+  private void sample() {
+    long treeRss = 0L;
+    int treeThreads = 0;
+    final Map<Long, String> seen = new HashMap<>();
+    for (final Long pid : findTree(this.rootPid)) {
+      final Stat stat = readStat(pid);
+      if (stat == null) {
+        continue;
+      }
+      final String key = pid + ":" + stat.startTime;
+      seen.put(pid, key);
+      ProcInfo info = this.processes.get(key);
+      if (info == null) {
+        info = new ProcInfo();
+        this.processes.put(key, info);
+      }
+      // tree is traversed from root, so that parent is already registered
+      info.parentKey = seen.get(stat.parentPid);
+      info.utimeTicks = stat.utimeTicks;
+      info.stimeTicks = stat.stimeTicks;
+      info.cutimeTicks = stat.cutimeTicks;
+      info.cstimeTicks = stat.cstimeTicks;
+
+      final Map<String, Long> status =
+          parseKeyValues(readProcFile(pid, "status"), true);
+      final long rss = status.getOrDefault("VmRSS", 0L);
+      info.hwmKb = Math.max(info.hwmKb, status.getOrDefault("VmHWM", rss));
+      treeRss += rss;
+      treeThreads += status.getOrDefault("Threads", (long) stat.threads).intValue();
+
+      final Map<String, Long> io = parseKeyValues(readProcFile(pid, "io"), false);
+      if (!io.isEmpty()) {
+        info.readBytes = io.getOrDefault("read_bytes", info.readBytes);
+        info.writeBytes = io.getOrDefault("write_bytes", info.writeBytes);
+      }
+    }
+    final Set<String> alive = new HashSet<>(seen.values());
+    for (final Map.Entry<String, ProcInfo> e : this.processes.entrySet()) {
+      final ProcInfo info = e.getValue();
+      if (!info.finished && !alive.contains(e.getKey())) {
+        info.finished = true;
+        // alive parent has already got CPU time of the process as child time
+        info.reaped = info.parentKey != null && alive.contains(info.parentKey);
+      }
+    }
+    this.peakTreeRssKb = Math.max(this.peakTreeRssKb, treeRss);
+    this.peakThreads = Math.max(this.peakThreads, treeThreads);
+    this.samples++;
+  }
+
+  /**
+   * Make the last sample if the root process is still alive and stop
+   * sampling.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (this.wallNanos < 0L) {
+        this.sample();
+        this.wallNanos = System.nanoTime() - this.startNanos;
+      }
+    }
+    this.thread.interrupt();
+  }
+
+  /**
+   * Get resource usage sampled so far.
+   *
+   * @return usage, must not be null
+   */
+  @Nonnull
+  public synchronized Usage getUsage() {
+    long utime = 0L;
+    long stime = 0L;
+    long peakRssKb = this.peakTreeRssKb;
+    long read = 0L;
+    long write = 0L;
+    for (final ProcInfo info : this.processes.values()) {
+      if (!info.reaped) {
+        utime += info.utimeTicks + info.cutimeTicks;
+        stime += info.stimeTicks + info.cstimeTicks;
+      }
+      peakRssKb = Math.max(peakRssKb, info.hwmKb);
+      read += info.readBytes;
+      write += info.writeBytes;
+    }
+    final long wall =
+        this.wallNanos < 0L ? System.nanoTime() - this.startNanos : this.wallNanos;
+    return new Usage(wall / 1000000L, ticksToMs(utime), ticksToMs(stime), peakRssKb * 1024L,
+        read, write, this.peakThreads, this.processes.size(), this.samples);
+  }
+
+  private static long ticksToMs(final long ticks) {
+    return ticks * 1000L / CLOCK_TICKS_PER_SECOND;
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  private static List<Long> findTree(final long rootPid) {
+    final List<Long> result = new ArrayList<>();
+    final Set<Long> visited = new HashSet<>();
+    final Deque<Long> queue = new ArrayDeque<>();
+    queue.add(rootPid);
+    Map<Long, List<Long>> scanned = null;
+    while (!queue.isEmpty()) {
+      final Long pid = queue.removeFirst();
+      if (!visited.add(pid)) {
+        continue;
+      }
+      result.add(pid);
+      List<Long> children = readChildren(pid);
+      if (children == null) {
+        if (scanned == null) {
+          scanned = scanParents();
+        }
+        children = scanned.get(pid);
+      }
+      if (children != null) {
+        queue.addAll(children);
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  @MustNotContainNull
+  private static List<Long> readChildren(final long pid) {
+    final File[] tasks = new File(PROC, pid + "/task").listFiles();
+    if (tasks == null) {
+      return null;
+    }
+    final List<Long> result = new ArrayList<>();
+    for (final File task : tasks) {
+      final File children = new File(task, "children");
+      if (!children.isFile()) {
+        return null;
+      }
+      try {
+        for (final String item : new String(Files.readAllBytes(children.toPath()),
+            StandardCharsets.US_ASCII).trim().split("\\s+")) {
+          if (!item.isEmpty()) {
+            result.add(Long.parseLong(item));
+          }
+        }
+      } catch (IOException | NumberFormatException ex) {
+        // task is finished
+      }
+    }
+    return result;
+  }
+
+  @Nonnull
+  private static Map<Long, List<Long>> scanParents() {
+    final Map<Long, List<Long>> result = new HashMap<>();
+    final String[] names = PROC.list();
+    if (names != null) {
+      for (final String name : names) {
+        if (!name.isEmpty() && Character.isDigit(name.charAt(0))) {
+          final long pid;
+          try {
+            pid = Long.parseLong(name);
+          } catch (NumberFormatException ex) {
+            continue;
+          }
+          final Stat stat = readStat(pid);
+          if (stat != null) {
+            result.computeIfAbsent(stat.parentPid, k -> new ArrayList<>()).add(pid);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  private static Stat readStat(final long pid) {
+    final String text = readProcFile(pid, "stat");
+    return text == null ? null : parseStat(text);
+  }
+
+  @Nullable
+  private static String readProcFile(final long pid, @Nonnull final String name) {
+    try {
+      return new String(Files.readAllBytes(new File(PROC, pid + "/" + name).toPath()),
+          StandardCharsets.UTF_8);
+    } catch (IOException | SecurityException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Parse content of /proc/[pid]/stat, command name can contain spaces and
+   * brackets so fields are counted from the last closing bracket.
+   *
+   * @param text content of the file, must not be null
+   * @return parsed data or null if wrong format
+   */
+  @Nullable
+  static Stat parseStat(@Nonnull final String text) {
+    final int end = text.lastIndexOf(')');
+    if (end < 0) {
+      return null;
+    }
+    final String[] fields = text.substring(end + 1).trim().split("\\s+");
+    // fields[0] is field 3 (state) of proc(5)
+    if (fields.length < 20) {
+      return null;
+    }
+    try {
+      return new Stat(Long.parseLong(fields[1]), Long.parseLong(fields[11]),
+          Long.parseLong(fields[12]), Long.parseLong(fields[13]), Long.parseLong(fields[14]),
+          Integer.parseInt(fields[17]), Long.parseLong(fields[19]));
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Parse numeric values of "key: value" lines of /proc files.
+   *
+   * @param text        content of the file, can be null
+   * @param onlyNumbers take only the first number of value, suffixes like kB
+   *                    are ignored
+   * @return map of parsed values, must not be null
+   */
+  @Nonnull
+  static Map<String, Long> parseKeyValues(@Nullable final String text,
+                                          final boolean onlyNumbers) {
+    final Map<String, Long> result = new HashMap<>();
+    if (text == null) {
+      return result;
+    }
+    for (final String line : text.split("\n")) {
+      final int colon = line.indexOf(':');
+      if (colon <= 0) {
+        continue;
+      }
+      String value = line.substring(colon + 1).trim();
+      if (onlyNumbers) {
+        final int space = value.indexOf(' ');
+        value = space < 0 ? value : value.substring(0, space);
+      }
+      try {
+        result.put(line.substring(0, colon).trim(), Long.parseLong(value));
+      } catch (NumberFormatException ex) {
+        // not numeric
+      }
+    }
+    return result;
+  }
+
+  private static final class ProcInfo {
+
+    private String parentKey;
+    private boolean finished;
+    private boolean reaped;
+    private long utimeTicks;
+    private long stimeTicks;
+    private long cutimeTicks;
+    private long cstimeTicks;
+    private long hwmKb;
+    private long readBytes;
+    private long writeBytes;
+  }
+
+  static final class Stat {
+
+    final long parentPid;
+    final long utimeTicks;
+    final long stimeTicks;
+    final long cutimeTicks;
+    final long cstimeTicks;
+    final int threads;
+    final long startTime;
+
+    private Stat(final long parentPid, final long utimeTicks, final long stimeTicks,
+                 final long cutimeTicks, final long cstimeTicks, final int threads,
+                 final long startTime) {
+      this.parentPid = parentPid;
+      this.utimeTicks = utimeTicks;
+      this.stimeTicks = stimeTicks;
+      this.cutimeTicks = cutimeTicks;
+      this.cstimeTicks = cstimeTicks;
+      this.threads = threads;
+      this.startTime = startTime;
+    }
+  }
+
+  /**
+   * Resources used by process tree.
+   */
+  public static final class Usage {
+
+    private final long wallMs;
+    private final long cpuUserMs;
+    private final long cpuSystemMs;
+    private final long peakRssBytes;
+    private final long readBytes;
+    private final long writeBytes;
+    private final int peakThreads;
+    private final int processes;
+    private final int samples;
+
+    private Usage(final long wallMs, final long cpuUserMs, final long cpuSystemMs,
+                  final long peakRssBytes, final long readBytes, final long writeBytes,
+                  final int peakThreads, final int processes, final int samples) {
+      this.wallMs = wallMs;
+      this.cpuUserMs = cpuUserMs;
+      this.cpuSystemMs = cpuSystemMs;
+      this.peakRssBytes = peakRssBytes;
+      this.readBytes = readBytes;
+      this.writeBytes = writeBytes;
+      this.peakThreads = peakThreads;
+      this.processes = processes;
+      this.samples = samples;
+    }
+
+    /**
+     * Make summary of usage of sequentially executed process trees, counters
+     * are added and peaks are maximized.
+     *
+     * @param other other usage, must not be null
+     * @return summary, must not be null
+     */
+    @Nonnull
+    public Usage add(@Nonnull final Usage other) {
+      return new Usage(this.wallMs + other.wallMs, this.cpuUserMs + other.cpuUserMs,
+          this.cpuSystemMs + other.cpuSystemMs, Math.max(this.peakRssBytes, other.peakRssBytes),
+          this.readBytes + other.readBytes, this.writeBytes + other.writeBytes,
+          Math.max(this.peakThreads, other.peakThreads), this.processes + other.processes,
+          this.samples + other.samples);
+    }
+
+    /**
+     * Get values as ordered map with keys in the same form as they are
+     * exposed by project properties.
+     *
+     * @return map of values, must not be null
+     */
+    @Nonnull
+    public Map<String, Long> asMap() {
+      final Map<String, Long> result = new LinkedHashMap<>();
+      result.put("wall.ms", this.wallMs);
+      result.put("cpu.user.ms", this.cpuUserMs);
+      result.put("cpu.system.ms", this.cpuSystemMs);
+      result.put("peak.rss.bytes", this.peakRssBytes);
+      result.put("read.bytes", this.readBytes);
+      result.put("write.bytes", this.writeBytes);
+      result.put("peak.threads", (long) this.peakThreads);
+      result.put("processes", (long) this.processes);
+      result.put("samples", (long) this.samples);
+      return result;
+    }
+
+    /**
+     * Make JSON report.
+     *
+     * @param module    identifier of module, must not be null
+     * @param execution identifier of mojo execution, must not be null
+     * @param command   executed command, must not be null
+     * @return JSON text, must not be null
+     */
+    @Nonnull
+    public String toJson(@Nonnull final String module, @Nonnull final String execution,
+                         @Nonnull final String command) {
+      final StringBuilder result = new StringBuilder();
+      result.append("{\n  \"module\": ").append(PhaseTimings.quote(module))
+          .append(",\n  \"execution\": ").append(PhaseTimings.quote(execution))
+          .append(",\n  \"command\": ").append(PhaseTimings.quote(command));
+      for (final Map.Entry<String, Long> e : this.asMap().entrySet()) {
+        result.append(",\n  ").append(PhaseTimings.quote(e.getKey())).append(": ")
+            .append(e.getValue());
+      }
+      return result.append("\n}\n").toString();
+    }
+
+    public long getWallMs() {
+      return this.wallMs;
+    }
+
+    public long getCpuUserMs() {
+      return this.cpuUserMs;
+    }
+
+    public long getCpuSystemMs() {
+      return this.cpuSystemMs;
+    }
+
+    public long getPeakRssBytes() {
+      return this.peakRssBytes;
+    }
+
+    public long getReadBytes() {
+      return this.readBytes;
+    }
+
+    public long getWriteBytes() {
+      return this.writeBytes;
+    }
+
+    public int getPeakThreads() {
+      return this.peakThreads;
+    }
+
+    public int getProcesses() {
+      return this.processes;
+    }
+
+    public int getSamples() {
+      return this.samples;
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+      return String.format(
+          "wall %d ms, cpu user %d ms, cpu system %d ms, peak RSS %d Kb, read %d Kb, "
+              + "written %d Kb, peak threads %d, processes %d",
+          this.wallMs, this.cpuUserMs, this.cpuSystemMs, this.peakRssBytes / 1024L,
+          this.readBytes / 1024L, this.writeBytes / 1024L, this.peakThreads, this.processes);
+    }
+  }
+}
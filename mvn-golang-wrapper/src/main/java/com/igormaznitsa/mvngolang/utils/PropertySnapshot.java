@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable view of session system properties. System properties are big and
+ * their set is not changed during build, so they are copied once, small user
+ * properties are looked up live on every request, because plugins can
+ * overwrite their values. Snapshot remembers its source property object and
+ * its size, so that it can be detected that the snapshot is out of date and
+ * must be made again.
+ *
+ * @since 2.3.11
+ */
+public final class PropertySnapshot {
+
+  private final Properties system;
+  private final int systemSize;
+  private final Map<String, String> values;
+
+  private PropertySnapshot(@Nonnull final Properties system) {
+    this.system = system;
+    this.systemSize = system.size();
+    final Map<String, String> copy = new HashMap<>(this.systemSize);
+    for (final String name : system.stringPropertyNames()) {
+      final String value = system.getProperty(name);
+      if (value != null) {
+        copy.put(name, value);
+      }
+    }
+    this.values = copy;
+  }
+
+  /**
+   * Make snapshot.
+   *
+   * @param system system properties, must not be null
+   * @return snapshot, must not be null
+   */
+  @Nonnull
+  public static PropertySnapshot of(@Nonnull final Properties system) {
+    return new PropertySnapshot(system);
+  }
+
+  /**
+   * Check that snapshot has been made from the properties and they are not
+   * changed in size since that.
+   *
+   * @param system system properties, must not be null
+   * @return true if snapshot can be used for the properties
+   */
+  public boolean isActualFor(@Nonnull final Properties system) {
+    return this.system == system && this.systemSize == system.size();
+  }
+
+  /**
+   * Find property value. User properties override system ones, project
+   * properties are used if neither contains the property.
+   *
+   * @param key          property name, must not be null
+   * @param user         user properties to be checked before snapshot, can be
+   *                     null
+   * @param project      project properties to be used if snapshot doesn't
+   *                     contain the property, can be null
+   * @param defaultValue default value, can be null
+   * @return found value or default value
+   */
+  @Nullable
+  public String find(@Nonnull final String key, @Nullable final Properties user,
+                     @Nullable final Properties project, @Nullable final String defaultValue) {
+    String result = user == null ? null : user.getProperty(key);
+    if (result == null) {
+      result = this.values.get(key);
+    }
+    if (result != null) {
+      return result;
+    }
+    return project == null ? defaultValue : project.getProperty(key, defaultValue);
+  }
+}
@@ -0,0 +1,798 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Checksum;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.io.FileUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Downloader of big files. If server supports byte ranges then the file is
+ * loaded through several parallel connections into preallocated file, state of
+ * loaded ranges is persisted to make possible resume of interrupted
+ * downloading. If server doesn't support ranges then the file is loaded through
+ * single stream. Hash values are calculated during download so that there is
+ * no need to read the file once again for verification: MD5 and CRC32C for
+ * single stream and CRC32C combined from ranges for ranged download. If
+ * several mirrors of the file are provided then failed ranges are loaded from
+ * the next mirror and single stream download is restarted from the next
+ * mirror.
+ *
+ * @since 2.3.11
+ */
+public final class RangedDownloader {
+
+  /**
+   * Extension of file to keep state of ranges, the file is placed near the
+   * downloading file.
+   */
+  public static final String RANGE_MAP_EXTENSION = ".ranges";
+
+  private static final long MIN_PART_SIZE = 4L * 1024L * 1024L;
+  private static final int BUFFER_SIZE = 256 * 1024;
+  private static final int PART_ATTEMPTS = 3;
+  private static final long SAVE_MAP_INTERVAL_MS = 2000L;
+  private static final long PROGRESS_INTERVAL_MS = 200L;
+
+  private final Log log;
+  private final HttpClient httpClient;
+  private final RequestConfig requestConfig;
+  private final int connections;
+  private final Set<HttpRequestBase> activeRequests = ConcurrentHashMap.newKeySet();
+
+  public RangedDownloader(
+      @Nonnull final Log log,
+      @Nonnull final HttpClient httpClient,
+      @Nonnull final RequestConfig requestConfig,
+      final int connections
+  ) {
+    this.log = log;
+    this.httpClient = httpClient;
+    this.requestConfig = requestConfig;
+    this.connections = Math.max(1, connections);
+  }
+
+  /**
+   * Make file to keep state of ranges for a downloading file.
+   *
+   * @param targetFile downloading file, must not be null
+   * @return file for range map, must not be null
+   */
+  @Nonnull
+  public static File makeRangeMapFile(@Nonnull final File targetFile) {
+    return new File(targetFile.getParentFile(), targetFile.getName() + RANGE_MAP_EXTENSION);
+  }
+
+  /**
+   * Check that there is persisted state of interrupted download for file.
+   *
+   * @param targetFile downloading file, must not be null
+   * @return true if download can be resumed, false otherwise
+   */
+  public static boolean isResumable(@Nonnull final File targetFile) {
+    return targetFile.isFile() && makeRangeMapFile(targetFile).isFile();
+  }
+
+  @Nullable
+  private static String findHeaderValue(@Nonnull final HttpResponse response,
+                                        @Nonnull final String name) {
+    final Header header = response.getFirstHeader(name);
+    return header == null ? null : header.getValue();
+  }
+
+  private static void assertContentType(
+      @Nullable final String contentType,
+      @Nullable @MustNotContainNull final Collection<String> allowedContentTypes)
+      throws IOException {
+    if (allowedContentTypes != null && !allowedContentTypes.contains(contentType)) {
+      throw new IOException("Unsupported content type : " + contentType);
+    }
+  }
+
+  /**
+   * Load file.
+   *
+   * @param url                 url of the file, must not be null
+   * @param targetFile          target file, must not be null
+   * @param allowedContentTypes allowed content types, null if any allowed
+   * @param progressListener    listener to get notifications about progress,
+   *                            it is called only from the calling thread, can
+   *                            be null
+   * @return result of the loading, must not be null
+   * @throws IOException it will be thrown for any transport error, in the case
+   *                     range map is kept if the download can be resumed
+   */
+  @Nonnull
+  public Result download(
+      @Nonnull final String url,
+      @Nonnull final File targetFile,
+      @Nullable @MustNotContainNull final Collection<String> allowedContentTypes,
+      @Nullable final ProgressListener progressListener
+  ) throws IOException {
+    return this.download(Collections.singletonList(url), targetFile, allowedContentTypes,
+        progressListener);
+  }
+
+  /**
+   * Load file from one of mirrors. The first mirror which answers probe is
+   * used as the main one, other mirrors are used if loading fails.
+   *
+   * @param urls                urls of the same file on mirrors in order of
+   *                            preference, must not be null or empty
+   * @param targetFile          target file, must not be null
+   * @param allowedContentTypes allowed content types, null if any allowed
+   * @param progressListener    listener to get notifications about progress,
+   *                            it is called only from the calling thread, can
+   *                            be null
+   * @return result of the loading, must not be null
+   * @throws IOException it will be thrown if the file can't be loaded from any
+   *                     mirror, in the case range map is kept if the download
+   *                     can be resumed
+   */
+  @Nonnull
+  public Result download(
+      @Nonnull @MustNotContainNull final List<String> urls,
+      @Nonnull final File targetFile,
+      @Nullable @MustNotContainNull final Collection<String> allowedContentTypes,
+      @Nullable final ProgressListener progressListener
+  ) throws IOException {
+    if (urls.isEmpty()) {
+      throw new IllegalArgumentException("URL list must not be empty");
+    }
+    final File mapFile = makeRangeMapFile(targetFile);
+
+    Probe probe = null;
+    int main = 0;
+    if (this.connections > 1) {
+      for (int i = 0; i < urls.size() && probe == null; i++) {
+        probe = this.probe(urls.get(i));
+        main = i;
+      }
+    }
+    final List<String> ordered = new ArrayList<>(urls);
+    Collections.rotate(ordered, -main);
+
+    if (probe != null && probe.acceptRanges && probe.length >= MIN_PART_SIZE * 2) {
+      assertContentType(probe.contentType, allowedContentTypes);
+      return this.loadRanged(ordered, probe, targetFile, mapFile, progressListener);
+    } else {
+      this.log.debug("Ranged download is not possible, single stream mode: " + ordered.get(0));
+      FileUtils.deleteQuietly(mapFile);
+      IOException lastError = null;
+      for (final String url : ordered) {
+        if (lastError != null) {
+          this.log.warn("Can't load " + targetFile.getName() + " (" + lastError.getMessage()
+              + "), trying mirror " + url);
+        }
+        try {
+          return this.loadSingleStream(url, targetFile, allowedContentTypes, progressListener);
+        } catch (InterruptedIOException ex) {
+          throw ex;
+        } catch (IOException ex) {
+          if (Thread.currentThread().isInterrupted()) {
+            throw ex;
+          }
+          lastError = ex;
+        }
+      }
+      throw lastError;
+    }
+  }
+
+  @Nullable
+  private Probe probe(@Nonnull final String url) {
+    final HttpHead head = new HttpHead(url);
+    head.setConfig(this.requestConfig);
+    try {
+      final HttpResponse response = this.httpClient.execute(head);
+      final StatusLine statusLine = response.getStatusLine();
+      this.log.debug("HEAD response: " + response);
+      if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
+        this.log.debug("Can't probe " + url + " : " + statusLine);
+        return null;
+      }
+      final String contentLength = findHeaderValue(response, "Content-Length");
+      final String acceptRanges = findHeaderValue(response, "Accept-Ranges");
+      String tag = findHeaderValue(response, "ETag");
+      if (tag == null) {
+        tag = findHeaderValue(response, "Last-Modified");
+      }
+
+      long length = -1L;
+      if (contentLength != null) {
+        try {
+          length = Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException ex) {
+          this.log.debug("Can't parse content length: " + contentLength);
+        }
+      }
+
+      return new Probe(
+          acceptRanges != null && acceptRanges.trim().equalsIgnoreCase("bytes"),
+          length,
+          tag == null ? "" : tag,
+          findHeaderValue(response, "Content-Type"),
+          response.getHeaders("x-goog-hash")
+      );
+    } catch (IOException ex) {
+      this.log.debug("Error during probe of " + url, ex);
+      return null;
+    } finally {
+      head.releaseConnection();
+    }
+  }
+
+  @Nonnull
+  private Result loadSingleStream(
+      @Nonnull final String url,
+      @Nonnull final File targetFile,
+      @Nullable @MustNotContainNull final Collection<String> allowedContentTypes,
+      @Nullable final ProgressListener progressListener
+  ) throws IOException {
+    final HttpGet methodGet = new HttpGet(url);
+    methodGet.setConfig(this.requestConfig);
+    try {
+      final HttpResponse response = this.httpClient.execute(methodGet);
+      final StatusLine statusLine = response.getStatusLine();
+
+      this.log.debug("HttpResponse: " + response);
+
+      if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
+        throw new IOException(String
+            .format("Can't load SDK archive from %s : %d %s", url,
+                statusLine.getStatusCode(), statusLine.getReasonPhrase()));
+      }
+
+      final HttpEntity entity = response.getEntity();
+      final String contentType =
+          entity.getContentType() == null ? null : entity.getContentType().getValue();
+      assertContentType(contentType, allowedContentTypes);
+
+      final long size = entity.getContentLength();
+      long loadedCounter = 0L;
+      long lastProgressTime = 0L;
+      final HashingInputStream hashingStream;
+      try (final InputStream inStream = hashingStream = new HashingInputStream(entity.getContent());
+           final OutputStream fileOutStream = new FileOutputStream(targetFile)) {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        while (true) {
+          if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Interrupted");
+          }
+          final int readCounter = inStream.read(buffer);
+          if (readCounter < 0) {
+            break;
+          }
+          fileOutStream.write(buffer, 0, readCounter);
+          loadedCounter += readCounter;
+          final long now = System.currentTimeMillis();
+          if (progressListener != null && now - lastProgressTime >= PROGRESS_INTERVAL_MS) {
+            lastProgressTime = now;
+            progressListener.onProgress(loadedCounter, size);
+          }
+        }
+      }
+      if (progressListener != null) {
+        progressListener.onProgress(loadedCounter, size);
+      }
+      return new Result(url, contentType, targetFile.length(), loadedCounter, 1,
+          response.getHeaders("x-goog-hash"), hashingStream.getMd5Hex(),
+          hashingStream.getCrc32cHex());
+    } finally {
+      methodGet.releaseConnection();
+    }
+  }
+
+  @Nonnull
+  private Result loadRanged(
+      @Nonnull @MustNotContainNull final List<String> urls,
+      @Nonnull final Probe probe,
+      @Nonnull final File targetFile,
+      @Nonnull final File mapFile,
+      @Nullable final ProgressListener progressListener
+  ) throws IOException {
+    RangeMap rangeMap = RangeMap.load(mapFile);
+    if (rangeMap != null && rangeMap.isCompatible(probe) && targetFile.isFile()
+        && targetFile.length() == probe.length) {
+      this.log.info(String.format("Resuming interrupted download, already loaded %d of %d bytes",
+          rangeMap.getLoaded(), probe.length));
+    } else {
+      final int parts =
+          (int) Math.max(1L, Math.min(this.connections, probe.length / MIN_PART_SIZE));
+      rangeMap = RangeMap.split(probe.length, probe.tag, parts);
+      if (targetFile.isFile() && !targetFile.delete()) {
+        throw new IOException("Can't delete file: " + targetFile);
+      }
+      try (final FileChannel channel = FileChannel.open(targetFile.toPath(),
+          StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+        channel.write(ByteBuffer.wrap(new byte[1]), probe.length - 1L);
+      }
+      rangeMap.save(mapFile);
+    }
+
+    final List<Range> notCompleted = rangeMap.findNotCompleted();
+    this.log.info(String.format("Ranged download through %d connection(s), %d range(s) to load",
+        Math.min(this.connections, notCompleted.size()), notCompleted.size()));
+
+    final long alreadyLoaded = rangeMap.getLoaded();
+    final AtomicLong loadedCounter = new AtomicLong(alreadyLoaded);
+    final AtomicInteger mirrorIndex = new AtomicInteger();
+
+    try (final FileChannel channel = FileChannel
+        .open(targetFile.toPath(), StandardOpenOption.WRITE)) {
+      final ExecutorService executor =
+          Executors.newFixedThreadPool(Math.max(1, Math.min(this.connections,
+              notCompleted.size())), new DaemonThreadFactory("mvn-golang-download"));
+      try {
+        final List<Future<?>> futures = new ArrayList<>();
+        for (final Range range : notCompleted) {
+          futures.add(executor.submit(() -> {
+            this.loadRange(urls, mirrorIndex, probe.length, channel, range, loadedCounter);
+            return null;
+          }));
+        }
+
+        long lastSaveTime = System.currentTimeMillis();
+        for (final Future<?> future : futures) {
+          while (true) {
+            try {
+              future.get(PROGRESS_INTERVAL_MS, TimeUnit.MILLISECONDS);
+              break;
+            } catch (TimeoutException ex) {
+              // continue waiting
+            } finally {
+              if (progressListener != null) {
+                progressListener.onProgress(loadedCounter.get(), probe.length);
+              }
+              final long now = System.currentTimeMillis();
+              if (now - lastSaveTime >= SAVE_MAP_INTERVAL_MS) {
+                lastSaveTime = now;
+                channel.force(false);
+                rangeMap.save(mapFile);
+              }
+            }
+          }
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Ranged download has been interrupted");
+      } catch (ExecutionException ex) {
+        final Throwable cause = ex.getCause();
+        throw cause instanceof IOException ? (IOException) cause
+            : new IOException("Error during ranged download", cause);
+      } finally {
+        executor.shutdownNow();
+        for (final HttpRequestBase request : this.activeRequests) {
+          request.abort();
+        }
+        try {
+          if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            this.log.warn("Some download threads are still alive");
+          }
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+        try {
+          channel.force(false);
+          rangeMap.save(mapFile);
+        } catch (IOException ex) {
+          this.log.debug("Can't save range map: " + mapFile, ex);
+        }
+      }
+    }
+
+    if (!rangeMap.findNotCompleted().isEmpty()) {
+      throw new IOException("Not all ranges have been loaded: " + targetFile);
+    }
+
+    if (!mapFile.delete()) {
+      this.log.warn("Can't delete range map file: " + mapFile);
+    }
+
+    return new Result(urls.get(0), probe.contentType, targetFile.length(),
+        loadedCounter.get() - alreadyLoaded, notCompleted.size(), probe.hashHeaders, null,
+        XGoogHashHeader.toCrc32cHex(rangeMap.getCrc32c()));
+  }
+
+  private void loadRange(
+      @Nonnull @MustNotContainNull final List<String> urls,
+      @Nonnull final AtomicInteger mirrorIndex,
+      final long length,
+      @Nonnull final FileChannel channel,
+      @Nonnull final Range range,
+      @Nonnull final AtomicLong loadedCounter
+  ) throws IOException {
+    IOException lastError = null;
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    final int attempts = PART_ATTEMPTS + urls.size() - 1;
+    for (int attempt = 0; attempt < attempts && !range.isCompleted(); attempt++) {
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedIOException("Range loading interrupted");
+      }
+      final int mirror = mirrorIndex.get();
+      final String url = urls.get(mirror);
+      final HttpGet get = new HttpGet(url);
+      get.setConfig(this.requestConfig);
+      get.setHeader("Range", "bytes=" + range.position + '-' + range.end);
+      this.activeRequests.add(get);
+      try {
+        final HttpResponse response = this.httpClient.execute(get);
+        final StatusLine statusLine = response.getStatusLine();
+        if (statusLine.getStatusCode() != HttpStatus.SC_PARTIAL_CONTENT) {
+          throw new IOException(String.format("Unexpected response for range %d-%d of %s : %s",
+              range.position, range.end, url, statusLine));
+        }
+        final String contentRange = findHeaderValue(response, "Content-Range");
+        if (contentRange != null
+            && !contentRange.trim().endsWith("/" + length)) {
+          throw new IOException(String.format("Unexpected content range of %s : %s", url,
+              contentRange));
+        }
+        try (final InputStream in = response.getEntity().getContent()) {
+          while (!range.isCompleted()) {
+            final int read =
+                in.read(buffer, 0, (int) Math.min(buffer.length, range.getRemaining()));
+            if (read < 0) {
+              throw new EOFException("Unexpected end of range stream: " + range);
+            }
+            final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+            long position = range.position;
+            while (byteBuffer.hasRemaining()) {
+              position += channel.write(byteBuffer, position);
+            }
+            range.update(buffer, read);
+            loadedCounter.addAndGet(read);
+          }
+        }
+      } catch (IOException ex) {
+        if (Thread.currentThread().isInterrupted()) {
+          throw ex;
+        }
+        lastError = ex;
+        this.log.debug(String.format("Error during load of range %s (attempt %d)", range,
+            attempt + 1), ex);
+        if (urls.size() > 1
+            && mirrorIndex.compareAndSet(mirror, (mirror + 1) % urls.size())) {
+          this.log.warn("Switching ranged download to mirror " + urls.get(mirrorIndex.get())
+              + " because of error : " + ex.getMessage());
+        }
+      } finally {
+        this.activeRequests.remove(get);
+        get.releaseConnection();
+      }
+    }
+    if (!range.isCompleted()) {
+      throw lastError == null ? new IOException("Can't load range " + range) : lastError;
+    }
+  }
+
+  /**
+   * Listener of progress of download.
+   */
+  @FunctionalInterface
+  public interface ProgressListener {
+
+    /**
+     * Notification about progress.
+     *
+     * @param loaded number of loaded bytes
+     * @param total  total number of bytes, can be negative if unknown
+     */
+    void onProgress(long loaded, long total);
+  }
+
+  /**
+   * Result of download.
+   */
+  public static final class Result {
+
+    private final String url;
+    private final String contentType;
+    private final long size;
+    private final long transferredBytes;
+    private final int streams;
+    private final Header[] hashHeaders;
+    private final String md5;
+    private final String crc32c;
+
+    private Result(
+        @Nonnull final String url,
+        @Nullable final String contentType,
+        final long size,
+        final long transferredBytes,
+        final int streams,
+        @Nonnull @MustNotContainNull final Header[] hashHeaders,
+        @Nullable final String md5,
+        @Nullable final String crc32c
+    ) {
+      this.url = url;
+      this.contentType = contentType;
+      this.size = size;
+      this.transferredBytes = transferredBytes;
+      this.streams = streams;
+      this.hashHeaders = hashHeaders.clone();
+      this.md5 = md5;
+      this.crc32c = crc32c;
+    }
+
+    /**
+     * Get URL of the main mirror used for download.
+     *
+     * @return URL, must not be null
+     * @since 2.3.11
+     */
+    @Nonnull
+    public String getUrl() {
+      return this.url;
+    }
+
+    /**
+     * Get MD5 of the file calculated during download.
+     *
+     * @return MD5 as hex string, null if it was not calculated
+     */
+    @Nullable
+    public String getMd5() {
+      return this.md5;
+    }
+
+    /**
+     * Get CRC32C of the file calculated during download.
+     *
+     * @return CRC32C as hex string, null if it was not calculated
+     */
+    @Nullable
+    public String getCrc32c() {
+      return this.crc32c;
+    }
+
+    @Nullable
+    public String getContentType() {
+      return this.contentType;
+    }
+
+    public long getSize() {
+      return this.size;
+    }
+
+    public long getTransferredBytes() {
+      return this.transferredBytes;
+    }
+
+    public int getStreams() {
+      return this.streams;
+    }
+
+    @Nonnull
+    @MustNotContainNull
+    public Header[] getHashHeaders() {
+      return this.hashHeaders.clone();
+    }
+  }
+
+  private static final class Probe {
+
+    private final boolean acceptRanges;
+    private final long length;
+    private final String tag;
+    private final String contentType;
+    private final Header[] hashHeaders;
+
+    private Probe(
+        final boolean acceptRanges,
+        final long length,
+        @Nonnull final String tag,
+        @Nullable final String contentType,
+        @Nonnull @MustNotContainNull final Header[] hashHeaders
+    ) {
+      this.acceptRanges = acceptRanges;
+      this.length = length;
+      this.tag = tag;
+      this.contentType = contentType;
+      this.hashHeaders = hashHeaders;
+    }
+  }
+
+  private static final class Range {
+
+    private final long start;
+    private final long end;
+    private final long sessionStart;
+    private final long sessionStartCrc;
+    private final Checksum sessionCrc = XGoogHashHeader.makeCrc32c();
+    private volatile long position;
+
+    private Range(final long start, final long end, final long position, final long crc) {
+      this.start = start;
+      this.end = end;
+      this.position = position;
+      this.sessionStart = position;
+      this.sessionStartCrc = crc;
+    }
+
+    private synchronized void update(@Nonnull final byte[] data, final int length) {
+      this.sessionCrc.update(data, 0, length);
+      this.position += length;
+    }
+
+    private synchronized long getCrc32c() {
+      return XGoogHashHeader.combineCrc32c(this.sessionStartCrc, this.sessionCrc.getValue(),
+          this.position - this.sessionStart);
+    }
+
+    private boolean isCompleted() {
+      return this.position > this.end;
+    }
+
+    private long getRemaining() {
+      return this.end - this.position + 1L;
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+      return "Range(" + this.start + '-' + this.end + ", position=" + this.position + ')';
+    }
+  }
+
+  private static final class RangeMap {
+
+    private final long length;
+    private final String tag;
+    private final List<Range> ranges;
+
+    private RangeMap(final long length, @Nonnull final String tag,
+                     @Nonnull @MustNotContainNull final List<Range> ranges) {
+      this.length = length;
+      this.tag = tag;
+      this.ranges = Collections.unmodifiableList(ranges);
+    }
+
+    @Nonnull
+    private static RangeMap split(final long length, @Nonnull final String tag,
+                                  final int parts) {
+      final List<Range> result = new ArrayList<>();
+      final long partSize = length / parts;
+      long start = 0L;
+      for (int i = 0; i < parts; i++) {
+        final long end = i == parts - 1 ? length - 1L : start + partSize - 1L;
+        result.add(new Range(start, end, start, 0L));
+        start = end + 1L;
+      }
+      return new RangeMap(length, tag, result);
+    }
+
+    @Nullable
+    private static RangeMap load(@Nonnull final File file) {
+      if (!file.isFile()) {
+        return null;
+      }
+      final Properties properties = new Properties();
+      try (final InputStream in = new FileInputStream(file)) {
+        properties.load(in);
+        final long length = Long.parseLong(properties.getProperty("length"));
+        final int parts = Integer.parseInt(properties.getProperty("parts"));
+        final List<Range> ranges = new ArrayList<>();
+        for (int i = 0; i < parts; i++) {
+          final String[] values = properties.getProperty("range." + i).split(",");
+          ranges.add(new Range(Long.parseLong(values[0]), Long.parseLong(values[1]),
+              Long.parseLong(values[2]), Long.parseLong(values[3], 16)));
+        }
+        return new RangeMap(length, properties.getProperty("tag", ""), ranges);
+      } catch (IOException | RuntimeException ex) {
+        return null;
+      }
+    }
+
+    private boolean isCompatible(@Nonnull final Probe probe) {
+      return this.length == probe.length
+          && (this.tag.isEmpty() || probe.tag.isEmpty() || this.tag.equals(probe.tag));
+    }
+
+    private long getCrc32c() {
+      long result = 0L;
+      for (final Range r : this.ranges) {
+        result = XGoogHashHeader.combineCrc32c(result, r.getCrc32c(), r.end - r.start + 1L);
+      }
+      return result;
+    }
+
+    private long getLoaded() {
+      long result = 0L;
+      for (final Range r : this.ranges) {
+        result += r.position - r.start;
+      }
+      return result;
+    }
+
+    @Nonnull
+    @MustNotContainNull
+    private List<Range> findNotCompleted() {
+      final List<Range> result = new ArrayList<>();
+      for (final Range r : this.ranges) {
+        if (!r.isCompleted()) {
+          result.add(r);
+        }
+      }
+      return result;
+    }
+
+    private synchronized void save(@Nonnull final File file) throws IOException {
+      final Properties properties = new Properties();
+      properties.setProperty("length", Long.toString(this.length));
+      properties.setProperty("tag", this.tag);
+      properties.setProperty("parts", Integer.toString(this.ranges.size()));
+      for (int i = 0; i < this.ranges.size(); i++) {
+        final Range range = this.ranges.get(i);
+        synchronized (range) {
+          properties.setProperty("range." + i,
+              range.start + "," + range.end + ',' + range.position + ','
+                  + Long.toHexString(range.getCrc32c()));
+        }
+      }
+      final File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+      try (final OutputStream out = new FileOutputStream(tempFile)) {
+        properties.store(out, "mvn-golang ranged download state");
+      }
+      if (file.isFile() && !file.delete()) {
+        throw new IOException("Can't delete file: " + file);
+      }
+      if (!tempFile.renameTo(file)) {
+        throw new IOException("Can't rename file: " + tempFile + " -> " + file);
+      }
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
+import org.apache.maven.shared.transfer.artifact.DefaultArtifactCoordinate;
+
+/**
+ * Mapping of SDK base name to Maven artifact coordinates. SDK
+ * <i>go1.20.1.darwin-amd64-osx10.8</i> is mapped to
+ * <i>groupId:artifactId:1.20.1:darwin-amd64-osx10.8</i> with extension
+ * <i>zip</i> for Windows and <i>tar.gz</i> for other OS.
+ *
+ * @since 2.3.11
+ */
+public final class SdkArtifact {
+
+  /**
+   * Name of SDK source to load SDK from SDK site.
+   */
+  public static final String SOURCE_SITE = "site";
+  /**
+   * Name of SDK source to resolve SDK archive as Maven artifact.
+   */
+  public static final String SOURCE_MAVEN = "maven";
+
+  private static final Pattern BASE_NAME =
+      Pattern.compile("^go(.+?)\\.([a-z0-9]+-[a-z0-9]+(?:-.+)?)$", Pattern.CASE_INSENSITIVE);
+
+  private SdkArtifact() {
+  }
+
+  /**
+   * Make artifact coordinates for SDK base name.
+   *
+   * @param groupId     group id of SDK artifacts, must not be null
+   * @param artifactId  artifact id of SDK artifacts, must not be null
+   * @param sdkBaseName SDK base name, must not be null
+   * @param extension   extension of SDK archive, if null then detected by OS
+   * @return coordinates of SDK archive, must not be null
+   * @throws IllegalArgumentException if SDK base name can't be parsed
+   */
+  @Nonnull
+  public static ArtifactCoordinate makeCoordinate(@Nonnull final String groupId,
+                                                  @Nonnull final String artifactId,
+                                                  @Nonnull final String sdkBaseName,
+                                                  @Nullable final String extension) {
+    final Matcher matcher = BASE_NAME.matcher(sdkBaseName);
+    if (!matcher.find()) {
+      throw new IllegalArgumentException("Can't parse SDK base name : " + sdkBaseName);
+    }
+    final String classifier = matcher.group(2);
+    final DefaultArtifactCoordinate result = new DefaultArtifactCoordinate();
+    result.setGroupId(groupId);
+    result.setArtifactId(artifactId);
+    result.setVersion(matcher.group(1));
+    result.setClassifier(classifier);
+    if (extension == null || extension.trim().isEmpty()) {
+      result.setExtension(
+          classifier.toLowerCase(Locale.ENGLISH).startsWith("windows-") ? "zip" : "tar.gz");
+    } else {
+      result.setExtension(extension.trim());
+    }
+    return result;
+  }
+
+  /**
+   * Make text representation of coordinates.
+   *
+   * @param coordinate coordinates, must not be null
+   * @return text in format groupId:artifactId:extension:classifier:version
+   */
+  @Nonnull
+  public static String asString(@Nonnull final ArtifactCoordinate coordinate) {
+    return coordinate.getGroupId() + ':' + coordinate.getArtifactId() + ':'
+        + coordinate.getExtension() + ':' + coordinate.getClassifier() + ':'
+        + coordinate.getVersion();
+  }
+}
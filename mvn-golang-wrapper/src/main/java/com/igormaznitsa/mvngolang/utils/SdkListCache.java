@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Persistent cache of SDK archive names resolved through SDK list of SDK
+ * site. Records are kept in properties file in the store folder, every record
+ * contains archive key, ETag of the list response and time of the last
+ * validation.
+ *
+ * @since 2.3.11
+ */
+public final class SdkListCache {
+
+  /**
+   * Name of the cache file in the store folder.
+   */
+  public static final String FILE_NAME = ".sdkListCache.properties";
+
+  private static final String SUFFIX_KEY = ".key";
+  private static final String SUFFIX_ETAG = ".etag";
+  private static final String SUFFIX_TIME = ".time";
+
+  private final File file;
+  private final long ttlMillis;
+
+  public SdkListCache(@Nonnull final File storeFolder, final long ttlMillis) {
+    this.file = new File(storeFolder, FILE_NAME);
+    this.ttlMillis = ttlMillis;
+  }
+
+  @Nonnull
+  private static String makeId(@Nonnull final String site, @Nonnull final String sdkBaseName) {
+    return site + '|' + sdkBaseName;
+  }
+
+  @Nonnull
+  public File getFile() {
+    return this.file;
+  }
+
+  @Nonnull
+  private Properties load() {
+    final Properties result = new Properties();
+    if (this.file.isFile()) {
+      try (final InputStream in = new FileInputStream(this.file)) {
+        result.load(in);
+      } catch (IOException | IllegalArgumentException ex) {
+        result.clear();
+      }
+    }
+    return result;
+  }
+
+  private void save(@Nonnull final Properties properties) throws IOException {
+    final File folder = this.file.getParentFile();
+    if (folder != null && !folder.isDirectory() && !folder.mkdirs()) {
+      throw new IOException("Can't create folder: " + folder);
+    }
+    final File tempFile = File.createTempFile(".sdkListCache", ".tmp", folder);
+    try {
+      try (final OutputStream out = new FileOutputStream(tempFile)) {
+        properties.store(out, "mvn-golang SDK list cache");
+      }
+      Files.move(tempFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      if (tempFile.exists() && !tempFile.delete()) {
+        tempFile.deleteOnExit();
+      }
+    }
+  }
+
+  /**
+   * Find cached record.
+   *
+   * @param site        SDK site, must not be null
+   * @param sdkBaseName SDK base name, must not be null
+   * @return found record or null
+   */
+  @Nullable
+  public Entry find(@Nonnull final String site, @Nonnull final String sdkBaseName) {
+    final String id = makeId(site, sdkBaseName);
+    synchronized (SdkListCache.class) {
+      final Properties properties = this.load();
+      final String key = properties.getProperty(id + SUFFIX_KEY);
+      if (key == null || key.isEmpty()) {
+        return null;
+      }
+      long time;
+      try {
+        time = Long.parseLong(properties.getProperty(id + SUFFIX_TIME, "0"));
+      } catch (NumberFormatException ex) {
+        time = 0L;
+      }
+      final String etag = properties.getProperty(id + SUFFIX_ETAG);
+      return new Entry(key, etag == null || etag.isEmpty() ? null : etag, time);
+    }
+  }
+
+  /**
+   * Put or refresh record with current time.
+   *
+   * @param site        SDK site, must not be null
+   * @param sdkBaseName SDK base name, must not be null
+   * @param archiveKey  resolved archive key, must not be null
+   * @param etag        ETag of SDK list response, can be null
+   * @throws IOException if the cache file can't be written
+   */
+  public void put(@Nonnull final String site, @Nonnull final String sdkBaseName,
+                  @Nonnull final String archiveKey, @Nullable final String etag)
+      throws IOException {
+    final String id = makeId(site, sdkBaseName);
+    synchronized (SdkListCache.class) {
+      final Properties properties = this.load();
+      properties.setProperty(id + SUFFIX_KEY, archiveKey);
+      properties.setProperty(id + SUFFIX_ETAG, etag == null ? "" : etag);
+      properties.setProperty(id + SUFFIX_TIME, Long.toString(System.currentTimeMillis()));
+      this.save(properties);
+    }
+  }
+
+  /**
+   * Check that record is not expired.
+   *
+   * @param entry record, must not be null
+   * @return true if the record can be used without revalidation
+   */
+  public boolean isFresh(@Nonnull final Entry entry) {
+    final long age = System.currentTimeMillis() - entry.getTimestamp();
+    return age >= 0L && age < this.ttlMillis;
+  }
+
+  /**
+   * Record of the cache.
+   */
+  public static final class Entry {
+
+    private final String archiveKey;
+    private final String etag;
+    private final long timestamp;
+
+    private Entry(@Nonnull final String archiveKey, @Nullable final String etag,
+                  final long timestamp) {
+      this.archiveKey = archiveKey;
+      this.etag = etag;
+      this.timestamp = timestamp;
+    }
+
+    @Nonnull
+    public String getArchiveKey() {
+      return this.archiveKey;
+    }
+
+    @Nullable
+    public String getETag() {
+      return this.etag;
+    }
+
+    public long getTimestamp() {
+      return this.timestamp;
+    }
+  }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Checksum;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Integrity manifest of unpacked SDK. It contains number of files, summary
+ * size and size with CRC32C of every regular file, it is written into SDK
+ * folder before publication of the folder. Fast verification checks only
+ * presence and sizes of files, full verification calculates hashes in
+ * parallel. Damaged files can be repaired through extraction from SDK
+ * archive.
+ *
+ * @since 2.3.11
+ */
+public final class SdkManifest {
+
+  /**
+   * Name of manifest file in SDK folder.
+   */
+  public static final String FILE_NAME = ".mvn-golang-sdk.manifest";
+  /**
+   * Name of file in SDK folder which modification time is time of the last
+   * full verification.
+   */
+  public static final String VERIFIED_MARKER = ".mvn-golang-sdk.verified";
+
+  private static final String HEADER = "# mvn-golang-sdk-manifest 1";
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Map<String, Entry> entries;
+  private final long totalBytes;
+
+  private SdkManifest(@Nonnull final Map<String, Entry> entries) {
+    this.entries = Collections.unmodifiableMap(entries);
+    long total = 0L;
+    for (final Entry e : entries.values()) {
+      total += e.size;
+    }
+    this.totalBytes = total;
+  }
+
+  private static boolean isServiceFile(@Nonnull final String path) {
+    return FILE_NAME.equals(path) || VERIFIED_MARKER.equals(path);
+  }
+
+  @Nonnull
+  private static Map<String, Long> scanFiles(@Nonnull final File folder) throws IOException {
+    final Path root = folder.toPath();
+    final Map<String, Long> result = new HashMap<>();
+    Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+      @Override
+      @Nonnull
+      public FileVisitResult visitFile(@Nonnull final Path file,
+                                       @Nonnull final BasicFileAttributes attrs) {
+        if (attrs.isRegularFile()) {
+          final String path = root.relativize(file).toString().replace('\\', '/');
+          if (!isServiceFile(path)) {
+            result.put(path, attrs.size());
+          }
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    return result;
+  }
+
+  private static long calcCrc32c(@Nonnull final File file, @Nonnull final byte[] buffer)
+      throws IOException {
+    final Checksum checksum = XGoogHashHeader.makeCrc32c();
+    try (final InputStream in = Files.newInputStream(file.toPath())) {
+      while (true) {
+        final int read = in.read(buffer);
+        if (read < 0) {
+          break;
+        }
+        checksum.update(buffer, 0, read);
+      }
+    }
+    return checksum.getValue();
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  private static <T> List<T> runParallel(@Nonnull @MustNotContainNull final List<String> paths,
+                                         final int threads,
+                                         @Nonnull final PathTask<T> task) throws IOException {
+    final List<T> result = new ArrayList<>(paths.size());
+    if (paths.isEmpty()) {
+      return result;
+    }
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(Math.max(1, Math.min(threads, paths.size())),
+            new DaemonThreadFactory("mvn-golang-manifest"));
+    final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+    try {
+      final List<Future<T>> futures = new ArrayList<>(paths.size());
+      for (final String path : paths) {
+        futures.add(executor.submit(() -> task.process(path, buffers.get())));
+      }
+      for (final Future<T> future : futures) {
+        result.add(future.get());
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted");
+    } catch (ExecutionException ex) {
+      final Throwable cause = ex.getCause();
+      throw cause instanceof IOException ? (IOException) cause
+          : new IOException("Error during processing of SDK files", cause);
+    } finally {
+      executor.shutdownNow();
+    }
+    return result;
+  }
+
+  /**
+   * Make manifest for SDK folder.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @param threads   number of threads to calculate hashes
+   * @return manifest of the folder, must not be null
+   * @throws IOException if any IO error
+   */
+  @Nonnull
+  public static SdkManifest make(@Nonnull final File sdkFolder, final int threads)
+      throws IOException {
+    final Map<String, Long> files = scanFiles(sdkFolder);
+    final List<String> paths = new ArrayList<>(files.keySet());
+    final List<Long> hashes = runParallel(paths, threads,
+        (path, buffer) -> calcCrc32c(new File(sdkFolder, path), buffer));
+    final Map<String, Entry> entries = new TreeMap<>();
+    for (int i = 0; i < paths.size(); i++) {
+      final String path = paths.get(i);
+      entries.put(path, new Entry(files.get(path), hashes.get(i)));
+    }
+    return new SdkManifest(entries);
+  }
+
+  /**
+   * Load manifest from SDK folder.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @return loaded manifest or null if there is no manifest or it is broken
+   */
+  @Nullable
+  public static SdkManifest load(@Nonnull final File sdkFolder) {
+    final File file = new File(sdkFolder, FILE_NAME);
+    if (!file.isFile()) {
+      return null;
+    }
+    final Map<String, Entry> entries = new TreeMap<>();
+    long files = -1L;
+    long bytes = -1L;
+    try (final BufferedReader reader = Files.newBufferedReader(file.toPath(),
+        StandardCharsets.UTF_8)) {
+      if (!HEADER.equals(reader.readLine())) {
+        return null;
+      }
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("files=")) {
+          files = Long.parseLong(line.substring("files=".length()));
+        } else if (line.startsWith("bytes=")) {
+          bytes = Long.parseLong(line.substring("bytes=".length()));
+        } else if (!line.isEmpty()) {
+          final String[] parts = line.split(" ", 3);
+          entries.put(parts[2],
+              new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1], 16)));
+        }
+      }
+    } catch (IOException | RuntimeException ex) {
+      return null;
+    }
+    final SdkManifest result = new SdkManifest(entries);
+    return files == entries.size() && bytes == result.totalBytes ? result : null;
+  }
+
+  /**
+   * Get time of the last full verification of SDK folder.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @return time in milliseconds, zero if unknown
+   */
+  public static long findLastFullVerification(@Nonnull final File sdkFolder) {
+    return new File(sdkFolder, VERIFIED_MARKER).lastModified();
+  }
+
+  /**
+   * Register successful full verification of SDK folder.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @throws IOException if marker can't be written
+   */
+  public static void markFullVerification(@Nonnull final File sdkFolder) throws IOException {
+    final Path marker = new File(sdkFolder, VERIFIED_MARKER).toPath();
+    if (!Files.exists(marker)) {
+      Files.createFile(marker);
+    }
+    Files.setLastModifiedTime(marker, FileTime.fromMillis(System.currentTimeMillis()));
+  }
+
+  public int getFileCount() {
+    return this.entries.size();
+  }
+
+  public long getTotalBytes() {
+    return this.totalBytes;
+  }
+
+  /**
+   * Save manifest into SDK folder.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @throws IOException if any IO error
+   */
+  public void save(@Nonnull final File sdkFolder) throws IOException {
+    final File tempFile = new File(sdkFolder, FILE_NAME + ".tmp");
+    try (final Writer writer = Files.newBufferedWriter(tempFile.toPath(),
+        StandardCharsets.UTF_8)) {
+      writer.write(HEADER);
+      writer.write('\n');
+      writer.write("files=" + this.entries.size() + '\n');
+      writer.write("bytes=" + this.totalBytes + '\n');
+      for (final Map.Entry<String, Entry> e : this.entries.entrySet()) {
+        writer.write(Long.toString(e.getValue().size));
+        writer.write(' ');
+        writer.write(Long.toHexString(e.getValue().crc32c));
+        writer.write(' ');
+        writer.write(e.getKey());
+        writer.write('\n');
+      }
+    }
+    Files.move(tempFile.toPath(), new File(sdkFolder, FILE_NAME).toPath(),
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Fast verification, checks that all files are presented and have expected
+   * size. Files which are not listed in the manifest are ignored.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @return sorted list of missing or damaged files, empty if the folder is
+   * OK
+   * @throws IOException if the folder can't be scanned
+   */
+  @Nonnull
+  @MustNotContainNull
+  public List<String> verifyFast(@Nonnull final File sdkFolder) throws IOException {
+    final Map<String, Long> files = scanFiles(sdkFolder);
+    final List<String> result = new ArrayList<>();
+    for (final Map.Entry<String, Entry> e : this.entries.entrySet()) {
+      final Long size = files.get(e.getKey());
+      if (size == null || size != e.getValue().size) {
+        result.add(e.getKey());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Full verification, checks sizes and hashes of all files.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @param threads   number of threads to calculate hashes
+   * @return sorted list of missing or damaged files, empty if the folder is
+   * OK
+   * @throws IOException if any IO error
+   */
+  @Nonnull
+  @MustNotContainNull
+  public List<String> verifyFull(@Nonnull final File sdkFolder, final int threads)
+      throws IOException {
+    return this.verifyFiles(sdkFolder, this.entries.keySet(), threads);
+  }
+
+  /**
+   * Check sizes and hashes of listed files.
+   *
+   * @param sdkFolder SDK folder, must not be null
+   * @param paths     relative paths of files to check, must not be null
+   * @param threads   number of threads to calculate hashes
+   * @return sorted list of missing or damaged files, files which are not
+   * listed in the manifest are ignored
+   * @throws IOException if any IO error
+   */
+  @Nonnull
+  @MustNotContainNull
+  public List<String> verifyFiles(@Nonnull final File sdkFolder,
+                                  @Nonnull @MustNotContainNull final Collection<String> paths,
+                                  final int threads) throws IOException {
+    final List<String> listed = new ArrayList<>();
+    for (final String path : paths) {
+      if (this.entries.containsKey(path)) {
+        listed.add(path);
+      }
+    }
+    Collections.sort(listed);
+    final List<Boolean> checks = runParallel(listed, threads, (path, buffer) -> {
+      final Entry entry = this.entries.get(path);
+      final File file = new File(sdkFolder, path);
+      return file.isFile() && file.length() == entry.size
+          && calcCrc32c(file, buffer) == entry.crc32c;
+    });
+    final List<String> result = new ArrayList<>();
+    for (int i = 0; i < listed.size(); i++) {
+      if (!checks.get(i)) {
+        result.add(listed.get(i));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Repair files of SDK folder through extraction from SDK archive. Files are
+   * extracted into temporary folder and moved into SDK folder, so that damaged
+   * file is replaced even if it is hard link to blob store.
+   *
+   * @param log         logger, must not be null
+   * @param sdkFolder   SDK folder, must not be null
+   * @param paths       relative paths of files to be restored, must not be
+   *                    null
+   * @param archiveFile SDK archive, must not be null
+   * @return number of restored files
+   * @throws IOException if any IO error or some file is not found in the
+   *                     archive
+   */
+  public static int repair(@Nonnull final Log log, @Nonnull final File sdkFolder,
+                           @Nonnull @MustNotContainNull final Collection<String> paths,
+                           @Nonnull final File archiveFile) throws IOException {
+    final File tempFolder =
+        new File(sdkFolder.getParentFile(), ".#repair-" + sdkFolder.getName());
+    if (tempFolder.exists()) {
+      FileUtils.deleteDirectory(tempFolder);
+    }
+    final Set<String> required = new HashSet<>(paths);
+    try {
+      UnpackUtils.unpackFileToFolder(log, "go", archiveFile, tempFolder, true, required::contains,
+          null);
+      for (final String path : required) {
+        final File source = new File(tempFolder, path);
+        if (!source.isFile()) {
+          throw new IOException("Can't find file in SDK archive : " + path);
+        }
+      }
+      for (final String path : required) {
+        final File target = new File(sdkFolder, path);
+        FileUtils.forceMkdirParent(target);
+        Files.move(new File(tempFolder, path).toPath(), target.toPath(),
+            StandardCopyOption.REPLACE_EXISTING);
+        log.debug("Restored SDK file : " + target);
+      }
+    } finally {
+      FileUtils.deleteQuietly(tempFolder);
+    }
+    return required.size();
+  }
+
+  @FunctionalInterface
+  private interface PathTask<T> {
+
+    @Nonnull
+    T process(@Nonnull String path, @Nonnull byte[] buffer) throws IOException;
+  }
+
+  private static final class Entry {
+
+    private final long size;
+    private final long crc32c;
+
+    private Entry(final long size, final long crc32c) {
+      this.size = size;
+      this.crc32c = crc32c;
+    }
+  }
+}
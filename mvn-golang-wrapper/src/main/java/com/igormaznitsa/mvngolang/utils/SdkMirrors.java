@@ -0,0 +1,327 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Selection of SDK site among several mirrors. Mirrors are probed by
+ * concurrent HEAD requests, the first answered mirror wins and others get
+ * short grace period to answer. Latency (exponential moving average) and
+ * number of recent failures of every mirror are persisted in properties file
+ * in the store folder, mirrors are ordered by score made from them.
+ *
+ * @since 2.3.11
+ */
+public final class SdkMirrors {
+
+  /**
+   * Name of the score file in the store folder.
+   */
+  public static final String FILE_NAME = ".sdkMirrors.properties";
+
+  private static final long FAILURE_PENALTY_MS = 10000L;
+  private static final long MIN_GRACE_MS = 100L;
+
+  private final Log log;
+  private final File file;
+
+  public SdkMirrors(@Nonnull final Log log, @Nonnull final File storeFolder) {
+    this.log = log;
+    this.file = new File(storeFolder, FILE_NAME);
+  }
+
+  /**
+   * Parse list of mirrors, mirrors can be separated by commas, semicolons or
+   * white spaces.
+   *
+   * @param text text to be parsed, can be null
+   * @return list of mirrors in defined order without duplications, must not be
+   * null
+   */
+  @Nonnull
+  @MustNotContainNull
+  public static List<String> parse(@Nullable final String text) {
+    final List<String> result = new ArrayList<>();
+    if (text != null) {
+      for (final String mirror : text.split("[,;\\s]+")) {
+        if (!mirror.isEmpty() && !result.contains(mirror)) {
+          result.add(mirror);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Nonnull
+  public File getFile() {
+    return this.file;
+  }
+
+  @Nonnull
+  private Properties load() {
+    final Properties result = new Properties();
+    if (this.file.isFile()) {
+      try (final InputStream in = new FileInputStream(this.file)) {
+        result.load(in);
+      } catch (IOException | IllegalArgumentException ex) {
+        result.clear();
+      }
+    }
+    return result;
+  }
+
+  private void save(@Nonnull final Properties properties) throws IOException {
+    final File folder = this.file.getParentFile();
+    if (folder != null && !folder.isDirectory() && !folder.mkdirs()) {
+      throw new IOException("Can't create folder: " + folder);
+    }
+    final File tempFile = File.createTempFile(".sdkMirrors", ".tmp", folder);
+    try {
+      try (final OutputStream out = new FileOutputStream(tempFile)) {
+        properties.store(out, "mvn-golang SDK mirror scores");
+      }
+      Files.move(tempFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      if (tempFile.exists() && !tempFile.delete()) {
+        tempFile.deleteOnExit();
+      }
+    }
+  }
+
+  @Nonnull
+  private static long[] parseRecord(@Nullable final String record) {
+    final long[] result = new long[] {-1L, 0L};
+    if (record != null) {
+      final String[] values = record.split(",");
+      try {
+        result[0] = Long.parseLong(values[0].trim());
+        result[1] = values.length > 1 ? Long.parseLong(values[1].trim()) : 0L;
+      } catch (NumberFormatException ex) {
+        result[0] = -1L;
+        result[1] = 0L;
+      }
+    }
+    return result;
+  }
+
+  private static long makeScore(@Nonnull final long[] record) {
+    return Math.max(0L, record[0]) + record[1] * FAILURE_PENALTY_MS;
+  }
+
+  /**
+   * Get score of mirror, the less the better. Unknown mirror has zero score.
+   *
+   * @param mirror mirror, must not be null
+   * @return score of the mirror
+   */
+  public long getScore(@Nonnull final String mirror) {
+    synchronized (SdkMirrors.class) {
+      return makeScore(parseRecord(this.load().getProperty(mirror)));
+    }
+  }
+
+  /**
+   * Order mirrors by persisted score, mirrors with equal score keep their
+   * order.
+   *
+   * @param mirrors mirrors, must not be null
+   * @return new ordered list, must not be null
+   */
+  @Nonnull
+  @MustNotContainNull
+  public List<String> order(@Nonnull @MustNotContainNull final List<String> mirrors) {
+    final Map<String, Long> scores = new HashMap<>();
+    synchronized (SdkMirrors.class) {
+      final Properties properties = this.load();
+      for (final String mirror : mirrors) {
+        scores.put(mirror, makeScore(parseRecord(properties.getProperty(mirror))));
+      }
+    }
+    final List<String> result = new ArrayList<>(mirrors);
+    result.sort((a, b) -> Long.compare(scores.get(a), scores.get(b)));
+    return result;
+  }
+
+  /**
+   * Register results of probes. Latency is merged into moving average, every
+   * success halves failure counter and every failure increments it.
+   *
+   * @param latencies map of latency in milliseconds for answered mirrors,
+   *                  must not be null
+   * @param failed    list of failed mirrors, must not be null
+   */
+  public void register(@Nonnull final Map<String, Long> latencies,
+                       @Nonnull @MustNotContainNull final List<String> failed) {
+    synchronized (SdkMirrors.class) {
+      final Properties properties = this.load();
+      for (final Map.Entry<String, Long> e : latencies.entrySet()) {
+        final long[] record = parseRecord(properties.getProperty(e.getKey()));
+        final long latency = Math.max(0L, e.getValue());
+        record[0] = record[0] < 0L ? latency : (record[0] * 7L + latency * 3L) / 10L;
+        record[1] = record[1] / 2L;
+        properties.setProperty(e.getKey(), record[0] + "," + record[1]);
+      }
+      for (final String mirror : failed) {
+        final long[] record = parseRecord(properties.getProperty(mirror));
+        record[1] = Math.min(record[1] + 1L, 16L);
+        properties.setProperty(mirror, Math.max(0L, record[0]) + "," + record[1]);
+      }
+      try {
+        this.save(properties);
+      } catch (IOException ex) {
+        this.log.warn("Can't save SDK mirror scores " + this.file + " : " + ex.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Register failure of mirror.
+   *
+   * @param mirror failed mirror, must not be null
+   */
+  public void registerFailure(@Nonnull final String mirror) {
+    this.register(Collections.emptyMap(), Collections.singletonList(mirror));
+  }
+
+  /**
+   * Probe mirrors concurrently and order them by updated score.
+   *
+   * @param httpClient    http client, must not be null
+   * @param requestConfig request configuration, must not be null
+   * @param mirrors       mirrors to probe, must not be null
+   * @param probeSuffix   suffix to be added to mirror to make probe URL, must
+   *                      not be null
+   * @param timeoutMs     max time to wait for the first answer
+   * @return ordered mirrors, the best one is the first, must not be null
+   * @throws InterruptedException if the thread is interrupted
+   */
+  @Nonnull
+  @MustNotContainNull
+  public List<String> race(@Nonnull final HttpClient httpClient,
+                           @Nonnull final RequestConfig requestConfig,
+                           @Nonnull @MustNotContainNull final List<String> mirrors,
+                           @Nonnull final String probeSuffix,
+                           final long timeoutMs) throws InterruptedException {
+    if (mirrors.size() < 2) {
+      return new ArrayList<>(mirrors);
+    }
+
+    final Map<String, Long> latencies = new HashMap<>();
+    final List<String> failed = new ArrayList<>();
+    final List<HttpHead> requests = new ArrayList<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(mirrors.size(),
+        new DaemonThreadFactory("mvn-golang-mirror"));
+    try {
+      final CompletionService<Object[]> completion = new ExecutorCompletionService<>(executor);
+      final long start = System.currentTimeMillis();
+      for (final String mirror : mirrors) {
+        final HttpHead head = new HttpHead(mirror + probeSuffix);
+        head.setConfig(requestConfig);
+        requests.add(head);
+        completion.submit(() -> {
+          try {
+            final HttpResponse response = httpClient.execute(head);
+            final int code = response.getStatusLine().getStatusCode();
+            return new Object[] {mirror, code < 400 ? System.currentTimeMillis() - start : -1L};
+          } catch (IOException ex) {
+            this.log.debug("Error during probe of mirror " + mirror + " : " + ex);
+            return new Object[] {mirror, -1L};
+          } finally {
+            head.releaseConnection();
+          }
+        });
+      }
+
+      long deadline = start + Math.max(1L, timeoutMs);
+      boolean answered = false;
+      for (int i = 0; i < mirrors.size(); i++) {
+        final long wait = deadline - System.currentTimeMillis();
+        final Future<Object[]> future =
+            wait > 0L ? completion.poll(wait, TimeUnit.MILLISECONDS) : completion.poll();
+        if (future == null) {
+          break;
+        }
+        final Object[] result;
+        try {
+          result = future.get();
+        } catch (ExecutionException ex) {
+          continue;
+        }
+        final String mirror = (String) result[0];
+        final long latency = (Long) result[1];
+        if (latency < 0L) {
+          failed.add(mirror);
+        } else {
+          latencies.put(mirror, latency);
+          if (!answered) {
+            answered = true;
+            deadline = System.currentTimeMillis() + Math.max(MIN_GRACE_MS, latency);
+          }
+        }
+      }
+
+      final long elapsed = System.currentTimeMillis() - start;
+      for (final String mirror : mirrors) {
+        if (!latencies.containsKey(mirror) && !failed.contains(mirror)) {
+          if (answered) {
+            latencies.put(mirror, elapsed);
+          } else {
+            failed.add(mirror);
+          }
+        }
+      }
+    } finally {
+      for (final HttpHead head : requests) {
+        head.abort();
+      }
+      executor.shutdownNow();
+    }
+
+    this.log.debug("Mirror probe latencies " + latencies + ", failed " + failed);
+    this.register(latencies, failed);
+    return this.order(mirrors);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Extraction profiles of SDK. Profile defines which files of SDK archive are
+ * extracted, paths are relative to the root folder of SDK. Profile is a part
+ * of SDK folder name so that SDKs extracted with different profiles never
+ * share folder.
+ *
+ * @since 2.3.11
+ */
+public enum SdkProfile implements Predicate<String> {
+  /**
+   * All files of SDK.
+   */
+  FULL("full"),
+  /**
+   * Files needed to build and test modules, without tests, test data,
+   * documentation, API descriptions, misc files and sources of SDK tools.
+   */
+  BUILD("build"),
+  /**
+   * The same as build but also without race packages and tools which are not
+   * used by build, test and vet.
+   */
+  MINIMAL("minimal");
+
+  private static final String[] BUILD_EXCLUDED_FOLDERS = {
+      "test/", "doc/", "api/", "misc/", "src/cmd/"
+  };
+
+  private static final Set<String> MINIMAL_TOOLS = Collections.unmodifiableSet(
+      new HashSet<>(Arrays.asList("asm", "buildid", "cgo", "compile", "cover", "covdata",
+          "link", "pack", "test2json", "vet")));
+
+  private final String id;
+
+  SdkProfile(@Nonnull final String id) {
+    this.id = id;
+  }
+
+  /**
+   * Find profile for its identifier.
+   *
+   * @param id identifier, case insensitive, can be null
+   * @return found profile or null
+   */
+  @Nullable
+  public static SdkProfile findForId(@Nullable final String id) {
+    if (id != null) {
+      final String normalized = id.trim().toLowerCase(Locale.ENGLISH);
+      for (final SdkProfile p : values()) {
+        if (p.id.equals(normalized)) {
+          return p;
+        }
+      }
+    }
+    return null;
+  }
+
+  @Nonnull
+  public String getId() {
+    return this.id;
+  }
+
+  /**
+   * Make name of SDK folder for the profile.
+   *
+   * @param sdkBaseName base name of SDK, must not be null
+   * @return folder name, the same as base name for full profile
+   */
+  @Nonnull
+  public String makeFolderName(@Nonnull final String sdkBaseName) {
+    return this == FULL ? sdkBaseName : sdkBaseName + '_' + this.id;
+  }
+
+  /**
+   * Extract base name of SDK from name of SDK folder made for any profile.
+   *
+   * @param folderName name of SDK folder, must not be null
+   * @return base name of SDK, must not be null
+   */
+  @Nonnull
+  public static String extractBaseName(@Nonnull final String folderName) {
+    for (final SdkProfile p : values()) {
+      if (p != FULL && folderName.endsWith('_' + p.id)) {
+        return folderName.substring(0, folderName.length() - p.id.length() - 1);
+      }
+    }
+    return folderName;
+  }
+
+  /**
+   * Check that file must be extracted.
+   *
+   * @param path path of file relative to SDK root folder, with '/' separator
+   * @return true if the file must be extracted
+   */
+  @Override
+  public boolean test(@Nonnull final String path) {
+    if (this == FULL) {
+      return true;
+    }
+    for (final String folder : BUILD_EXCLUDED_FOLDERS) {
+      if (path.startsWith(folder)) {
+        return false;
+      }
+    }
+    if (path.endsWith("_test.go") || path.startsWith("testdata/")
+        || path.contains("/testdata/")) {
+      return false;
+    }
+    if (this == MINIMAL && path.startsWith("pkg/")) {
+      final String[] parts = path.split("/");
+      if (parts.length > 1 && parts[1].endsWith("_race")) {
+        return false;
+      }
+      if (parts.length == 4 && "tool".equals(parts[1])) {
+        String tool = parts[3];
+        if (tool.endsWith(".exe")) {
+          tool = tool.substring(0, tool.length() - 4);
+        }
+        return MINIMAL_TOOLS.contains(tool);
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import javax.annotation.Nonnull;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Copying of SDK folders from the local store folder into shared store
+ * folder. SDK is copied into hidden staging folder of the shared store and
+ * published by rename, so that readers of the shared store never see
+ * partially copied SDK. Hard links to blob store are copied as regular files.
+ *
+ * @since 2.3.11
+ */
+public final class SdkPromoter {
+
+  private SdkPromoter() {
+  }
+
+  /**
+   * Copy SDK folder into shared store if it is not there.
+   *
+   * @param log         logger, must not be null
+   * @param sdkFolder   SDK folder in local store, must not be null
+   * @param sharedStore shared store folder, must not be null
+   * @return true if SDK has been copied, false if it already exists in the
+   * shared store
+   * @throws IOException if any IO error
+   */
+  public static boolean promote(@Nonnull final Log log, @Nonnull final File sdkFolder,
+                                @Nonnull final File sharedStore) throws IOException {
+    final File target = new File(sharedStore, sdkFolder.getName());
+    if (target.exists()) {
+      return false;
+    }
+    FileUtils.forceMkdir(sharedStore);
+
+    final File staging = new File(sharedStore,
+        ".#promote-" + sdkFolder.getName() + '-' + Long.toHexString(System.nanoTime()));
+    try {
+      final Path source = sdkFolder.toPath();
+      final Path destination = staging.toPath();
+      Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+        @Override
+        @Nonnull
+        public FileVisitResult preVisitDirectory(@Nonnull final Path dir,
+                                                 @Nonnull final BasicFileAttributes attrs)
+            throws IOException {
+          Files.createDirectories(destination.resolve(source.relativize(dir).toString()));
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        @Nonnull
+        public FileVisitResult visitFile(@Nonnull final Path file,
+                                         @Nonnull final BasicFileAttributes attrs)
+            throws IOException {
+          if (!SdkManifest.VERIFIED_MARKER.equals(file.getFileName().toString())) {
+            Files.copy(file, destination.resolve(source.relativize(file).toString()),
+                StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+          }
+          return FileVisitResult.CONTINUE;
+        }
+      });
+
+      try {
+        Files.move(destination, target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException ex) {
+        if (!staging.renameTo(target)) {
+          throw new IOException("Can't rename " + staging + " -> " + target);
+        }
+      } catch (FileAlreadyExistsException ex) {
+        log.debug("SDK has been promoted concurrently : " + target);
+        return false;
+      } catch (IOException ex) {
+        if (target.isDirectory()) {
+          log.debug("SDK has been promoted concurrently : " + target);
+          return false;
+        }
+        throw ex;
+      }
+      return true;
+    } finally {
+      if (staging.exists()) {
+        FileUtils.deleteQuietly(staging);
+      }
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.File;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Resolver of SDK folders in the store folder. Already materialized SDK is
+ * resolved without any lock, only missing SDK goes to loader which must take
+ * lock for the SDK base name, so that modules of parallel reactor don't wait
+ * each other if SDK is already in place or they need different SDKs.
+ *
+ * @since 2.3.11
+ */
+public final class SdkResolver {
+
+  private SdkResolver() {
+  }
+
+  /**
+   * Resolve SDK folder.
+   *
+   * @param storeFolder store folder, must not be null
+   * @param sdkBaseName base name of SDK, must not be null
+   * @param loader      loader to be called if SDK folder doesn't exist, must
+   *                    not be null
+   * @return SDK folder, must not be null
+   * @throws IOException            if loader throws it
+   * @throws MojoExecutionException if loader throws it
+   */
+  @Nonnull
+  public static File resolve(
+      @Nonnull final File storeFolder,
+      @Nonnull final String sdkBaseName,
+      @Nonnull final Loader loader
+  ) throws IOException, MojoExecutionException {
+    final File sdkFolder = new File(storeFolder, sdkBaseName);
+    return sdkFolder.isDirectory() ? sdkFolder : loader.load(sdkFolder);
+  }
+
+  /**
+   * Loader of missing SDK.
+   */
+  @FunctionalInterface
+  public interface Loader {
+
+    /**
+     * Load missing SDK.
+     *
+     * @param sdkFolder expected SDK folder, must not be null
+     * @return SDK folder, must not be null
+     * @throws IOException            if any IO error
+     * @throws MojoExecutionException if any execution error
+     */
+    @Nonnull
+    File load(@Nonnull File sdkFolder) throws IOException, MojoExecutionException;
+  }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import com.igormaznitsa.meta.common.utils.GetUtils;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.NTCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * JVM-wide registry of HTTP clients shared by all mojo executions. Clients
+ * are kept per proxy and SSL check settings, every client has pooling
+ * connection manager with keep-alive and its own SSL context, so that
+ * connections and TLS sessions are reused between mojo executions of reactor
+ * and between builds of long-living Maven daemon.
+ *
+ * @since 2.3.11
+ */
+public final class SharedHttpClients {
+
+  private static final long IDLE_TIMEOUT_SECONDS = 60L;
+  private static final int VALIDATE_AFTER_INACTIVITY_MS = 2000;
+
+  private static final Map<String, SharedClient> CLIENTS = new ConcurrentHashMap<>();
+
+  private SharedHttpClients() {
+  }
+
+  @Nonnull
+  private static String makeKey(@Nullable final ProxySettings proxy,
+                                final boolean disableSslCheck) {
+    final StringBuilder result = new StringBuilder(disableSslCheck ? "nossl|" : "ssl|");
+    if (proxy != null) {
+      result.append(proxy).append('|').append(proxy.username).append('|')
+          .append(proxy.password == null ? 0 : proxy.password.hashCode()).append('|')
+          .append(proxy.nonProxyHosts);
+    }
+    return result.toString();
+  }
+
+  @Nonnull
+  private static String extractComputerName() {
+    String result = System.getenv("COMPUTERNAME");
+    if (result == null) {
+      result = System.getenv("HOSTNAME");
+    }
+    if (result == null) {
+      try {
+        result = InetAddress.getLocalHost().getHostName();
+      } catch (UnknownHostException ex) {
+        // do nothing, let be null
+      }
+    }
+    return GetUtils.ensureNonNull(result, "<Unknown computer>");
+  }
+
+  @Nonnull
+  private static String extractDomainName() {
+    final String result = System.getenv("USERDOMAIN");
+    return GetUtils.ensureNonNull(result, "");
+  }
+
+  /**
+   * Find shared client for settings and make it if not exists. Pool limits of
+   * found client are increased if needed.
+   *
+   * @param log             logger, must not be null
+   * @param proxy           proxy settings, can be null
+   * @param disableSslCheck true if SSL certificates must not be checked
+   * @param connections     number of connections needed for one route
+   * @return shared client, must not be null and must not be closed by caller
+   * @throws GeneralSecurityException if SSL context can't be made
+   */
+  @Nonnull
+  public static CloseableHttpClient find(@Nonnull final Log log,
+                                         @Nullable final ProxySettings proxy,
+                                         final boolean disableSslCheck,
+                                         final int connections)
+      throws GeneralSecurityException {
+    final String key = makeKey(proxy, disableSslCheck);
+    SharedClient result = CLIENTS.get(key);
+    if (result == null) {
+      synchronized (CLIENTS) {
+        result = CLIENTS.get(key);
+        if (result == null) {
+          result = make(log, proxy, disableSslCheck);
+          CLIENTS.put(key, result);
+          log.debug("Created shared HTTP client (proxy : " + proxy + ", SSL check : "
+              + !disableSslCheck + ')');
+        } else {
+          log.debug("Reused shared HTTP client");
+        }
+      }
+    } else {
+      log.debug("Reused shared HTTP client");
+    }
+    result.ensureCapacity(Math.max(1, connections));
+    return result.client;
+  }
+
+  /**
+   * Get summary statistics of connection pools of all shared clients.
+   *
+   * @return summary statistics, must not be null
+   */
+  @Nonnull
+  public static PoolStats getTotalStats() {
+    int leased = 0;
+    int pending = 0;
+    int available = 0;
+    int max = 0;
+    for (final SharedClient c : CLIENTS.values()) {
+      final PoolStats stats = c.manager.getTotalStats();
+      leased += stats.getLeased();
+      pending += stats.getPending();
+      available += stats.getAvailable();
+      max += stats.getMax();
+    }
+    return new PoolStats(leased, pending, available, max);
+  }
+
+  /**
+   * Get number of shared clients.
+   *
+   * @return number of clients
+   */
+  public static int size() {
+    return CLIENTS.size();
+  }
+
+  /**
+   * Close all shared clients and clear registry.
+   */
+  public static void closeAll() {
+    synchronized (CLIENTS) {
+      for (final SharedClient c : CLIENTS.values()) {
+        try {
+          c.client.close();
+        } catch (IOException ex) {
+          // ignore
+        }
+      }
+      CLIENTS.clear();
+    }
+  }
+
+  @Nonnull
+  private static SharedClient make(@Nonnull final Log log,
+                                   @Nullable final ProxySettings proxy,
+                                   final boolean disableSslCheck)
+      throws GeneralSecurityException {
+    final HttpClientBuilder builder = HttpClients.custom();
+
+    if (proxy != null) {
+      if (proxy.hasCredentials()) {
+        final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(new AuthScope(proxy.host, proxy.port),
+            new NTCredentials(GetUtils.ensureNonNull(proxy.username, ""), proxy.password,
+                extractComputerName(), extractDomainName()));
+        builder.setDefaultCredentialsProvider(credentialsProvider);
+        log.debug(String
+            .format("Credentials provider has been created for proxy (username : %s): %s",
+                proxy.username, proxy));
+      }
+
+      final String[] ignoreForAddresses =
+          proxy.nonProxyHosts == null ? new String[0] : proxy.nonProxyHosts.split("\\|");
+
+      final WildCardMatcher[] matchers = new WildCardMatcher[ignoreForAddresses.length];
+      for (int i = 0; i < ignoreForAddresses.length; i++) {
+        matchers[i] = new WildCardMatcher(ignoreForAddresses[i]);
+      }
+
+      log.debug("Regular routing mode");
+
+      builder.setRoutePlanner(
+          new DefaultProxyRoutePlanner(new HttpHost(proxy.host, proxy.port, proxy.protocol)) {
+            @Override
+            @Nonnull
+            public HttpRoute determineRoute(@Nonnull final HttpHost host,
+                                            @Nonnull final HttpRequest request,
+                                            @Nonnull final HttpContext context)
+                throws HttpException {
+              HttpRoute result = null;
+              final String hostName = host.getHostName();
+              for (final WildCardMatcher m : matchers) {
+                if (m.match(hostName)) {
+                  log.debug("Ignoring proxy for host : " + hostName);
+                  result = new HttpRoute(host);
+                  break;
+                }
+              }
+              if (result == null) {
+                result = super.determineRoute(host, request, context);
+              }
+              log.debug("Made connection route : " + result);
+              return result;
+            }
+          });
+      log.debug("Proxy will ignore: " + Arrays.toString(matchers));
+    }
+
+    final SSLConnectionSocketFactory sslFactory;
+    if (disableSslCheck) {
+      log.warn("SSL certificate check is disabled");
+      final SSLContext sslcontext = SSLContext.getInstance("TLS");
+      final X509TrustManager tm = new X509TrustManager() {
+        @Override
+        public void checkClientTrusted(
+            @Nonnull @MustNotContainNull final X509Certificate[] arg0,
+            @Nonnull final String arg1) {
+        }
+
+        @Override
+        public void checkServerTrusted(
+            @Nonnull @MustNotContainNull final X509Certificate[] arg0,
+            @Nonnull final String arg1) {
+        }
+
+        @Override
+        @Nullable
+        @MustNotContainNull
+        public X509Certificate[] getAcceptedIssuers() {
+          return null;
+        }
+      };
+      sslcontext.init(null, new TrustManager[] {tm}, null);
+      sslFactory = new SSLConnectionSocketFactory(sslcontext, NoopHostnameVerifier.INSTANCE);
+    } else {
+      log.debug("SSL check is enabled");
+      sslFactory = new SSLConnectionSocketFactory(SSLContexts.createDefault(),
+          SSLConnectionSocketFactory.getDefaultHostnameVerifier());
+    }
+
+    final Registry<ConnectionSocketFactory> registry =
+        RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("https", sslFactory)
+            .register("http", PlainConnectionSocketFactory.getSocketFactory()).build();
+
+    final PoolingHttpClientConnectionManager manager =
+        new PoolingHttpClientConnectionManager(registry);
+    manager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MS);
+    manager.setDefaultMaxPerRoute(2);
+    manager.setMaxTotal(4);
+
+    builder.setConnectionManager(manager);
+    builder.setUserAgent("mvn-golang-wrapper-agent/1.0");
+    builder.disableCookieManagement();
+    builder.evictExpiredConnections();
+    builder.evictIdleConnections(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    return new SharedClient(builder.build(), manager);
+  }
+
+  private static final class SharedClient {
+
+    private final CloseableHttpClient client;
+    private final PoolingHttpClientConnectionManager manager;
+
+    private SharedClient(@Nonnull final CloseableHttpClient client,
+                         @Nonnull final PoolingHttpClientConnectionManager manager) {
+      this.client = client;
+      this.manager = manager;
+    }
+
+    private synchronized void ensureCapacity(final int connections) {
+      if (this.manager.getDefaultMaxPerRoute() < connections + 1) {
+        this.manager.setDefaultMaxPerRoute(connections + 1);
+      }
+      if (this.manager.getMaxTotal() < connections * 2 + 2) {
+        this.manager.setMaxTotal(connections * 2 + 2);
+      }
+    }
+  }
+}
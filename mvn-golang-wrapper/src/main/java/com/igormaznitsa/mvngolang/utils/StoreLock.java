@@ -0,0 +1,396 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Inter-process lock of a resource in the store folder. It is based on OS
+ * file locks so that lock of crashed process is released by OS and waiters
+ * are woken by OS without polling. Near the lock file there is owner file
+ * which contains PID, host and heartbeat of the owner, it is used to detect
+ * hung or dead owners (for instance if the store folder is on network file
+ * system which releases locks late) and take over their owner files, the
+ * lock file itself is never deleted, so that all processes lock the same
+ * file.
+ *
+ * @since 2.3.11
+ */
+public final class StoreLock implements Closeable {
+
+  /**
+   * Name of folder in the store folder which contains lock files.
+   */
+  public static final String LOCK_FOLDER = ".locks";
+
+  private static final long HEARTBEAT_INTERVAL_MS = 5000L;
+  private static final long STALE_HEARTBEAT_MS = HEARTBEAT_INTERVAL_MS * 12L;
+
+  private static final ConcurrentMap<String, ReentrantLock> LOCAL_LOCKS =
+      new ConcurrentHashMap<>();
+  private static final ScheduledExecutorService HEARTBEAT_EXECUTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          new DaemonThreadFactory("mvn-golang-lock-heartbeat"));
+  private static final ExecutorService WAIT_EXECUTOR =
+      Executors.newCachedThreadPool(new DaemonThreadFactory("mvn-golang-lock-wait"));
+
+  private final File lockFile;
+  private final File ownerFile;
+  private final ReentrantLock localLock;
+  private final FileChannel channel;
+  private final FileLock fileLock;
+  private final ScheduledFuture<?> heartbeat;
+  private final long acquiredTime;
+  private boolean closed;
+
+  private StoreLock(
+      @Nonnull final File lockFile,
+      @Nonnull final File ownerFile,
+      @Nonnull final ReentrantLock localLock,
+      @Nonnull final FileChannel channel,
+      @Nonnull final FileLock fileLock
+  ) throws IOException {
+    this.lockFile = lockFile;
+    this.ownerFile = ownerFile;
+    this.localLock = localLock;
+    this.channel = channel;
+    this.fileLock = fileLock;
+    this.acquiredTime = System.currentTimeMillis();
+    this.writeOwner();
+    this.heartbeat = HEARTBEAT_EXECUTOR.scheduleWithFixedDelay(() -> {
+      synchronized (this) {
+        if (this.closed) {
+          return;
+        }
+        try {
+          this.writeOwner();
+        } catch (IOException ex) {
+          // ignore, next heartbeat will try again
+        }
+      }
+    }, HEARTBEAT_INTERVAL_MS, HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Make lock file for a resource.
+   *
+   * @param storeFolder store folder, must not be null
+   * @param name        name of the resource, must not be null
+   * @return lock file, must not be null
+   */
+  @Nonnull
+  public static File makeLockFile(@Nonnull final File storeFolder, @Nonnull final String name) {
+    return new File(new File(storeFolder, LOCK_FOLDER), name + ".lock");
+  }
+
+  @Nonnull
+  private static File makeOwnerFile(@Nonnull final File lockFile) {
+    return new File(lockFile.getParentFile(), lockFile.getName() + ".owner");
+  }
+
+  /**
+   * Acquire lock of a resource in the store folder. Waiting threads of the
+   * same JVM are queued on in-process lock, other processes wait on OS lock.
+   *
+   * @param log         logger, must not be null
+   * @param storeFolder store folder, must not be null
+   * @param name        name of resource, must not be null
+   * @param timeoutMs   max time to wait in milliseconds, zero or negative
+   *                    means no limit
+   * @return acquired lock which must be closed, must not be null
+   * @throws IOException if timeout, interruption or any IO error
+   */
+  @Nonnull
+  public static StoreLock lock(
+      @Nonnull final Log log,
+      @Nonnull final File storeFolder,
+      @Nonnull final String name,
+      final long timeoutMs
+  ) throws IOException {
+    final File lockFile = makeLockFile(storeFolder, name);
+    final File ownerFile = makeOwnerFile(lockFile);
+    final File lockFolder = lockFile.getParentFile();
+    if (!lockFolder.isDirectory() && !lockFolder.mkdirs() && !lockFolder.isDirectory()) {
+      throw new IOException("Can't create lock folder: " + lockFolder);
+    }
+
+    final long deadline =
+        timeoutMs > 0L ? System.currentTimeMillis() + timeoutMs : Long.MAX_VALUE;
+
+    final JfrEvents.Handle jfrEvent = JfrEvents.begin(JfrEvents.Type.LOCK_WAIT);
+    final ReentrantLock localLock = LOCAL_LOCKS
+        .computeIfAbsent(lockFile.getCanonicalPath(), k -> new ReentrantLock());
+    try {
+      if (!localLock.tryLock(remaining(deadline), TimeUnit.MILLISECONDS)) {
+        if (jfrEvent != null) {
+          jfrEvent.commit("store", lockFile, false);
+        }
+        throw new IOException("Timeout of waiting for lock: " + lockFile);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      if (jfrEvent != null) {
+        jfrEvent.commit("store", lockFile, false);
+      }
+      throw new InterruptedIOException("Interrupted waiting for lock: " + lockFile);
+    }
+
+    boolean acquired = false;
+    try {
+      while (true) {
+        final FileChannel channel = FileChannel.open(lockFile.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+          FileLock fileLock = channel.tryLock();
+          if (fileLock == null) {
+            final Owner owner = Owner.read(ownerFile);
+            log.info("Detected lock " + lockFile.getName() + " held by "
+                + (owner == null ? "unknown process" : owner) + ", waiting for release");
+            fileLock = waitForLock(log, channel, ownerFile, deadline);
+          }
+          if (fileLock == null) {
+            // lock file is never deleted, otherwise waiters could lock different files,
+            // stale owner is removed by only one waiter and the same file is locked again
+            if (takeOverOwner(ownerFile)) {
+              log.warn("Taken over stale owner of lock " + lockFile);
+            }
+            closeQuietly(channel);
+            continue;
+          }
+          final StoreLock result =
+              new StoreLock(lockFile, ownerFile, localLock, channel, fileLock);
+          acquired = true;
+          return result;
+        } finally {
+          if (!acquired) {
+            closeQuietly(channel);
+          }
+        }
+      }
+    } finally {
+      if (!acquired) {
+        localLock.unlock();
+      }
+      if (jfrEvent != null) {
+        jfrEvent.commit("store", lockFile, acquired);
+      }
+    }
+  }
+
+  private static long remaining(final long deadline) {
+    return deadline == Long.MAX_VALUE ? Long.MAX_VALUE
+        : Math.max(0L, deadline - System.currentTimeMillis());
+  }
+
+  @Nullable
+  private static FileLock waitForLock(
+      @Nonnull final Log log,
+      @Nonnull final FileChannel channel,
+      @Nonnull final File ownerFile,
+      final long deadline
+  ) throws IOException {
+    final Future<FileLock> future = WAIT_EXECUTOR.submit(() -> channel.lock());
+    try {
+      while (true) {
+        final long remaining = remaining(deadline);
+        if (remaining <= 0L) {
+          throw new IOException("Timeout of waiting for lock, owner: " + Owner.read(ownerFile));
+        }
+        try {
+          return future.get(Math.min(remaining, HEARTBEAT_INTERVAL_MS), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+          final Owner owner = Owner.read(ownerFile);
+          if (owner != null && owner.isStale()) {
+            log.warn("Owner of lock looks dead or hung: " + owner);
+            return null;
+          }
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted waiting for lock");
+    } catch (ExecutionException ex) {
+      final Throwable cause = ex.getCause();
+      throw cause instanceof IOException ? (IOException) cause
+          : new IOException("Error during wait for lock", cause);
+    } finally {
+      if (!future.isDone()) {
+        // closing of channel breaks blocked lock() call
+        closeQuietly(channel);
+        future.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Remove owner file of stale owner. Owner file is atomically renamed into
+   * unique file, so that only one of waiters can take it over.
+   *
+   * @param ownerFile owner file, must not be null
+   * @return true if the owner has been taken over by the call, false if it
+   * has been done by other waiter or the owner is alive
+   */
+  static boolean takeOverOwner(@Nonnull final File ownerFile) {
+    final File takenFile = new File(ownerFile.getParentFile(), ownerFile.getName() + ".stale-"
+        + SysUtils.findCurrentPid() + '-' + Long.toHexString(System.nanoTime()));
+    try {
+      Files.move(ownerFile.toPath(), takenFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException ex) {
+      return false;
+    }
+    try {
+      final Owner owner = Owner.read(takenFile);
+      if (owner != null && !owner.isStale()) {
+        // owner has been changed after check, return its file if it is not re-written
+        try {
+          Files.move(takenFile.toPath(), ownerFile.toPath());
+        } catch (IOException ex) {
+          // ignore, owner has written new file
+        }
+        return false;
+      }
+      return true;
+    } finally {
+      try {
+        Files.deleteIfExists(takenFile.toPath());
+      } catch (IOException ex) {
+        // ignore
+      }
+    }
+  }
+
+  private static void closeQuietly(@Nonnull final FileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      // ignore
+    }
+  }
+
+  private void writeOwner() throws IOException {
+    final Properties properties = new Properties();
+    properties.setProperty("pid", Long.toString(SysUtils.findCurrentPid()));
+    properties.setProperty("host", SysUtils.findHostName());
+    properties.setProperty("acquired", Long.toString(this.acquiredTime));
+    properties.setProperty("heartbeat", Long.toString(System.currentTimeMillis()));
+    final File tempFile = new File(this.ownerFile.getParentFile(),
+        this.ownerFile.getName() + ".tmp");
+    try (final OutputStream out = new FileOutputStream(tempFile)) {
+      properties.store(out, "mvn-golang lock owner");
+    }
+    Files.move(tempFile.toPath(), this.ownerFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  @Nonnull
+  public File getLockFile() {
+    return this.lockFile;
+  }
+
+  @Override
+  public void close() throws IOException {
+    // heartbeat writes owner file under the monitor, so that after the flag is
+    // set no heartbeat can re-create the owner file deleted below
+    synchronized (this) {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+    }
+    this.heartbeat.cancel(false);
+    try {
+      Files.deleteIfExists(this.ownerFile.toPath());
+      this.fileLock.release();
+    } finally {
+      closeQuietly(this.channel);
+      this.localLock.unlock();
+    }
+  }
+
+  private static final class Owner {
+
+    private final long pid;
+    private final String host;
+    private final long heartbeat;
+
+    private Owner(final long pid, @Nonnull final String host, final long heartbeat) {
+      this.pid = pid;
+      this.host = host;
+      this.heartbeat = heartbeat;
+    }
+
+    @Nullable
+    private static Owner read(@Nonnull final File file) {
+      if (!file.isFile()) {
+        return null;
+      }
+      final Properties properties = new Properties();
+      try (final InputStream in = new FileInputStream(file)) {
+        properties.load(in);
+        return new Owner(Long.parseLong(properties.getProperty("pid", "-1")),
+            properties.getProperty("host", "unknown"),
+            Long.parseLong(properties.getProperty("heartbeat", "0")));
+      } catch (IOException | RuntimeException ex) {
+        return null;
+      }
+    }
+
+    private boolean isStale() {
+      if (System.currentTimeMillis() - this.heartbeat < STALE_HEARTBEAT_MS) {
+        return false;
+      }
+      if (this.host.equals(SysUtils.findHostName())) {
+        // alive local process keeps OS lock, only dead one can be detected as stale
+        return Boolean.FALSE.equals(SysUtils.isProcessAlive(this.pid));
+      }
+      return true;
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+      return "PID " + this.pid + '@' + this.host + " (heartbeat "
+          + (System.currentTimeMillis() - this.heartbeat) / 1000L + " s ago)";
+    }
+  }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Embedded HTTP server which provides SDK archives of the store folder in
+ * the same way as SDK site does it. Root path returns synthesized
+ * ListBucketResult for archives (with support of prefix parameter), archive
+ * path returns archive with x-goog-hash, ETag and single range support. So
+ * that agents can use the server as SDK site without any changes.
+ *
+ * @since 2.3.11
+ */
+public final class StoreServer implements Closeable {
+
+  private static final String XML_HEADER = "<?xml version='1.0' encoding='UTF-8'?>";
+
+  private final Log log;
+  private final File storeFolder;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final ConcurrentMap<String, String> hashHeaders = new ConcurrentHashMap<>();
+
+  private StoreServer(@Nonnull final Log log, @Nonnull final File storeFolder,
+                      @Nonnull final HttpServer server, @Nonnull final ExecutorService executor) {
+    this.log = log;
+    this.storeFolder = storeFolder;
+    this.server = server;
+    this.executor = executor;
+  }
+
+  /**
+   * Start server.
+   *
+   * @param log         logger, must not be null
+   * @param storeFolder store folder, must not be null
+   * @param host        host address to bind, must not be null
+   * @param port        port to bind, zero to use any free port
+   * @param threads     number of threads to serve requests
+   * @return started server, must not be null
+   * @throws IOException if server can't be started
+   */
+  @Nonnull
+  public static StoreServer start(@Nonnull final Log log, @Nonnull final File storeFolder,
+                                  @Nonnull final String host, final int port,
+                                  final int threads) throws IOException {
+    final HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 64);
+    final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads),
+        new DaemonThreadFactory("mvn-golang-serve"));
+    final StoreServer result = new StoreServer(log, storeFolder, server, executor);
+    server.createContext("/", exchange -> {
+      try {
+        result.process(exchange);
+      } catch (IOException | RuntimeException ex) {
+        log.debug("Error during processing of " + exchange.getRequestURI() + " : " + ex);
+      } finally {
+        exchange.close();
+      }
+    });
+    server.setExecutor(executor);
+    server.start();
+    return result;
+  }
+
+  public int getPort() {
+    return this.server.getAddress().getPort();
+  }
+
+  private static boolean isArchiveName(@Nonnull final String name) {
+    final String normalized = name.toLowerCase(Locale.ENGLISH);
+    return name.startsWith("go") && (normalized.endsWith(".tar.gz")
+        || normalized.endsWith(".zip")) && name.indexOf('/') < 0 && name.indexOf('\\') < 0
+        && !name.contains("..");
+  }
+
+  @Nullable
+  private static String findQueryParameter(@Nullable final String query,
+                                           @Nonnull final String name) throws IOException {
+    if (query != null) {
+      for (final String pair : query.split("&")) {
+        final int index = pair.indexOf('=');
+        final String key = index < 0 ? pair : pair.substring(0, index);
+        if (name.equals(URLDecoder.decode(key, "UTF-8"))) {
+          return index < 0 ? "" : URLDecoder.decode(pair.substring(index + 1), "UTF-8");
+        }
+      }
+    }
+    return null;
+  }
+
+  @Nonnull
+  private static String escapeXml(@Nonnull final String text) {
+    return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+  }
+
+  private static void sendEmpty(@Nonnull final HttpExchange exchange, final int code)
+      throws IOException {
+    exchange.sendResponseHeaders(code, -1);
+  }
+
+  private void process(@Nonnull final HttpExchange exchange) throws IOException {
+    final String method = exchange.getRequestMethod();
+    final boolean head = "HEAD".equals(method);
+    if (!head && !"GET".equals(method)) {
+      sendEmpty(exchange, 405);
+      return;
+    }
+    final String path = exchange.getRequestURI().getPath();
+    this.log.debug("Request " + method + ' ' + exchange.getRequestURI());
+    if (path == null || "/".equals(path) || path.isEmpty()) {
+      this.sendList(exchange, head,
+          findQueryParameter(exchange.getRequestURI().getRawQuery(), "prefix"));
+    } else {
+      final String name = path.substring(1);
+      final File file = new File(this.storeFolder, name);
+      if (isArchiveName(name) && file.isFile() && !RangedDownloader.isResumable(file)) {
+        this.sendArchive(exchange, head, file);
+      } else {
+        sendEmpty(exchange, 404);
+      }
+    }
+  }
+
+  @Nonnull
+  @MustNotContainNull
+  private List<File> listArchives(@Nullable final String prefix) {
+    final List<File> result = new ArrayList<>();
+    final File[] files = this.storeFolder.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        final String name = file.getName();
+        if (isArchiveName(name) && (prefix == null || name.startsWith(prefix)) && file.isFile()
+            && !RangedDownloader.isResumable(file)) {
+          result.add(file);
+        }
+      }
+    }
+    result.sort((a, b) -> a.getName().compareTo(b.getName()));
+    return result;
+  }
+
+  private void sendList(@Nonnull final HttpExchange exchange, final boolean head,
+                        @Nullable final String prefix) throws IOException {
+    final SimpleDateFormat dateFormat =
+        new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ENGLISH);
+    dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+    final StringBuilder buffer = new StringBuilder(XML_HEADER)
+        .append("<ListBucketResult xmlns='http://doc.s3.amazonaws.com/2006-03-01'>")
+        .append("<Name>mvn-golang-store</Name>")
+        .append("<Prefix>").append(prefix == null ? "" : escapeXml(prefix)).append("</Prefix>")
+        .append("<Marker></Marker><IsTruncated>false</IsTruncated>");
+    for (final File file : this.listArchives(prefix)) {
+      buffer.append("<Contents><Key>").append(escapeXml(file.getName())).append("</Key>")
+          .append("<LastModified>").append(dateFormat.format(new Date(file.lastModified())))
+          .append("</LastModified><ETag>").append(makeETag(file)).append("</ETag>")
+          .append("<Size>").append(file.length()).append("</Size></Contents>");
+    }
+    buffer.append("</ListBucketResult>");
+
+    final byte[] body = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    final String etag = '"' + DigestUtils.md5Hex(body) + '"';
+    final Headers headers = exchange.getResponseHeaders();
+    headers.set("ETag", etag);
+    headers.set("Content-Type", "application/xml; charset=UTF-8");
+    if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+      sendEmpty(exchange, 304);
+    } else if (head) {
+      headers.set("Content-Length", Integer.toString(body.length));
+      sendEmpty(exchange, 200);
+    } else {
+      exchange.sendResponseHeaders(200, body.length);
+      try (final OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+  }
+
+  @Nonnull
+  private static String makeETag(@Nonnull final File file) {
+    return '"' + Long.toHexString(file.length()) + '-' + Long.toHexString(file.lastModified())
+        + '"';
+  }
+
+  @Nonnull
+  private String findHashHeader(@Nonnull final File file) throws IOException {
+    final String key = file.getName() + ':' + makeETag(file);
+    String result = this.hashHeaders.get(key);
+    if (result == null) {
+      try (final HashingInputStream in = new HashingInputStream(new FileInputStream(file))) {
+        in.drain();
+        result = "crc32c=" + Base64.encodeBase64String(Hex.decodeHex(in.getCrc32cHex()))
+            + ",md5=" + Base64.encodeBase64String(Hex.decodeHex(in.getMd5Hex()));
+      } catch (DecoderException ex) {
+        throw new IOException("Can't make hash of file : " + file, ex);
+      }
+      this.hashHeaders.put(key, result);
+    }
+    return result;
+  }
+
+  private void sendArchive(@Nonnull final HttpExchange exchange, final boolean head,
+                           @Nonnull final File file) throws IOException {
+    final long length = file.length();
+    final String etag = makeETag(file);
+
+    final Headers headers = exchange.getResponseHeaders();
+    headers.set("Content-Type",
+        file.getName().toLowerCase(Locale.ENGLISH).endsWith(".zip") ? "application/zip"
+            : "application/x-gzip");
+    headers.set("Accept-Ranges", "bytes");
+    headers.set("ETag", etag);
+    headers.set("x-goog-hash", this.findHashHeader(file));
+
+    long start = 0L;
+    long end = length - 1L;
+    int code = 200;
+    final String range = exchange.getRequestHeaders().getFirst("Range");
+    final String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+    if (range != null && range.startsWith("bytes=") && range.indexOf(',') < 0
+        && (ifRange == null || ifRange.equals(etag))) {
+      final String spec = range.substring("bytes=".length()).trim();
+      final int dash = spec.indexOf('-');
+      try {
+        if (dash == 0) {
+          start = Math.max(0L, length - Long.parseLong(spec.substring(1)));
+        } else if (dash > 0) {
+          start = Long.parseLong(spec.substring(0, dash));
+          if (dash < spec.length() - 1) {
+            end = Math.min(end, Long.parseLong(spec.substring(dash + 1)));
+          }
+        }
+      } catch (NumberFormatException ex) {
+        start = -1L;
+      }
+      if (dash < 0 || start < 0L || start > end) {
+        headers.set("Content-Range", "bytes */" + length);
+        sendEmpty(exchange, 416);
+        return;
+      }
+      code = 206;
+      headers.set("Content-Range", "bytes " + start + '-' + end + '/' + length);
+    }
+
+    final long bodyLength = end - start + 1L;
+    if (head) {
+      headers.set("Content-Length", Long.toString(bodyLength));
+      sendEmpty(exchange, code);
+      return;
+    }
+
+    exchange.sendResponseHeaders(code, bodyLength);
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         final OutputStream out = exchange.getResponseBody()) {
+      long position = start;
+      final long limit = start + bodyLength;
+      final WritableByteChannel target = Channels.newChannel(out);
+      while (position < limit) {
+        final long sent = channel.transferTo(position, limit - position, target);
+        if (sent <= 0L) {
+          throw new IOException("Can't send file : " + file);
+        }
+        position += sent;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    this.server.stop(0);
+    this.executor.shutdownNow();
+  }
+}
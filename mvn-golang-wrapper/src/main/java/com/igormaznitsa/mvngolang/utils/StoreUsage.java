@@ -0,0 +1,449 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import com.igormaznitsa.meta.annotation.MustNotContainNull;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Tracker of SDK folders and cached SDK archives usage in the store folder
+ * and their LRU eviction. Last use time is kept as modification time of
+ * marker file in the usage folder, content of the marker is size of the
+ * entry calculated once. Markers are touched not more often than once per
+ * minute for each entry in the same JVM. Builds using an entry hold shared
+ * OS lock of its use file in the usage folder, eviction takes exclusive lock
+ * of the file, so that entry in use is never evicted.
+ *
+ * @since 2.3.11
+ */
+public final class StoreUsage {
+
+  /**
+   * Name of folder in the store folder which contains usage markers.
+   */
+  public static final String USAGE_FOLDER = ".usage";
+
+  /**
+   * Entry used during the period is considered as in use and never evicted,
+   * it is fallback for file systems where use locks don't work.
+   */
+  public static final long IN_USE_PERIOD_MS = 3600_000L;
+
+  private static final long TOUCH_INTERVAL_MS = 60_000L;
+  private static final long EVICTION_LOCK_TIMEOUT_MS = 1000L;
+
+  private static final ConcurrentMap<String, Long> LAST_TOUCH = new ConcurrentHashMap<>();
+  private static final Map<String, UseLock> USE_LOCKS = new HashMap<>();
+  private static final Set<String> EXCLUSIVE_USE_LOCKS = new HashSet<>();
+  private static final Set<String> CHECKED_STORES = ConcurrentHashMap.newKeySet();
+
+  private StoreUsage() {
+  }
+
+  @Nonnull
+  private static File makeMarkerFile(@Nonnull final File storeFolder,
+                                     @Nonnull final String entryName) {
+    return new File(new File(storeFolder, USAGE_FOLDER), entryName);
+  }
+
+  @Nonnull
+  private static File makeUseFile(@Nonnull final File storeFolder,
+                                  @Nonnull final String entryName) {
+    return new File(new File(storeFolder, USAGE_FOLDER), entryName + ".use");
+  }
+
+  @Nonnull
+  private static FileChannel openUseFile(@Nonnull final File useFile) throws IOException {
+    final File folder = useFile.getParentFile();
+    if (!folder.isDirectory() && !folder.mkdirs() && !folder.isDirectory()) {
+      throw new IOException("Can't create folder : " + folder);
+    }
+    return FileChannel.open(useFile.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  /**
+   * Mark store entry as used until returned handle is closed. Shared OS lock
+   * of use file of the entry is taken once per JVM and released when all
+   * handles are closed, it waits if the entry is being evicted.
+   *
+   * @param storeFolder store folder, must not be null
+   * @param entryName   name of SDK folder or archive in the store folder, must
+   *                    not be null
+   * @return handle to be closed when the entry is not used anymore, must not
+   * be null
+   * @throws IOException if any IO error or interruption
+   */
+  @Nonnull
+  public static Closeable use(@Nonnull final File storeFolder, @Nonnull final String entryName)
+      throws IOException {
+    final File useFile = makeUseFile(storeFolder, entryName);
+    final String key = useFile.getAbsolutePath();
+    synchronized (USE_LOCKS) {
+      // OS locks are per JVM, so eviction in the same JVM is waited on the monitor
+      while (EXCLUSIVE_USE_LOCKS.contains(key)) {
+        try {
+          USE_LOCKS.wait();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted waiting for eviction of " + entryName);
+        }
+      }
+      UseLock useLock = USE_LOCKS.get(key);
+      if (useLock == null) {
+        final FileChannel channel = openUseFile(useFile);
+        try {
+          useLock = new UseLock(channel, channel.lock(0L, Long.MAX_VALUE, true));
+        } catch (IOException | RuntimeException ex) {
+          channel.close();
+          throw ex;
+        }
+        USE_LOCKS.put(key, useLock);
+      }
+      useLock.counter++;
+      final UseLock acquired = useLock;
+      return new Closeable() {
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+          synchronized (USE_LOCKS) {
+            if (this.closed) {
+              return;
+            }
+            this.closed = true;
+            if (--acquired.counter == 0) {
+              USE_LOCKS.remove(key);
+              try {
+                acquired.lock.release();
+              } finally {
+                acquired.channel.close();
+              }
+            }
+          }
+        }
+      };
+    }
+  }
+
+  /**
+   * Try to lock store entry for removal, it is impossible if any process
+   * uses the entry.
+   *
+   * @param storeFolder store folder, must not be null
+   * @param entryName   name of SDK folder or archive in the store folder, must
+   *                    not be null
+   * @return handle to be closed after removal or null if the entry is in use
+   * @throws IOException if any IO error
+   */
+  @Nullable
+  public static Closeable lockUnused(@Nonnull final File storeFolder,
+                                     @Nonnull final String entryName) throws IOException {
+    final File useFile = makeUseFile(storeFolder, entryName);
+    final String key = useFile.getAbsolutePath();
+    synchronized (USE_LOCKS) {
+      if (USE_LOCKS.containsKey(key) || EXCLUSIVE_USE_LOCKS.contains(key)) {
+        return null;
+      }
+      final FileChannel channel = openUseFile(useFile);
+      final FileLock lock;
+      try {
+        lock = channel.tryLock(0L, Long.MAX_VALUE, false);
+      } catch (IOException | OverlappingFileLockException ex) {
+        channel.close();
+        return null;
+      }
+      if (lock == null) {
+        channel.close();
+        return null;
+      }
+      EXCLUSIVE_USE_LOCKS.add(key);
+      return () -> {
+        synchronized (USE_LOCKS) {
+          try {
+            lock.release();
+          } finally {
+            channel.close();
+            EXCLUSIVE_USE_LOCKS.remove(key);
+            USE_LOCKS.notifyAll();
+          }
+        }
+      };
+    }
+  }
+
+  /**
+   * Register store folder as checked in the JVM.
+   *
+   * @param storeFolder store folder, must not be null
+   * @return true if it is first registration of the folder
+   */
+  public static boolean registerCheck(@Nonnull final File storeFolder) {
+    return CHECKED_STORES.add(storeFolder.getAbsolutePath());
+  }
+
+  /**
+   * Update last use time of store entry.
+   *
+   * @param storeFolder store folder, must not be null
+   * @param entryName   name of SDK folder or archive in the store folder, must
+   *                    not be null
+   * @throws IOException if any IO error
+   */
+  public static void touch(@Nonnull final File storeFolder, @Nonnull final String entryName)
+      throws IOException {
+    final File marker = makeMarkerFile(storeFolder, entryName);
+    final String key = marker.getAbsolutePath();
+    final long now = System.currentTimeMillis();
+    final Long last = LAST_TOUCH.get(key);
+    if (last != null && now - last < TOUCH_INTERVAL_MS) {
+      return;
+    }
+    LAST_TOUCH.put(key, now);
+    try {
+      Files.setLastModifiedTime(marker.toPath(), FileTime.fromMillis(now));
+    } catch (NoSuchFileException ex) {
+      final File folder = marker.getParentFile();
+      if (!folder.isDirectory() && !folder.mkdirs() && !folder.isDirectory()) {
+        throw new IOException("Can't create folder : " + folder);
+      }
+      Files.write(marker.toPath(), new byte[0]);
+    }
+  }
+
+  /**
+   * Find last use time of store entry.
+   *
+   * @param storeFolder store folder, must not be null
+   * @param entry       SDK folder or archive, must not be null
+   * @return last use time in milliseconds, modification time of entry if
+   * there is no marker
+   */
+  public static long findLastUse(@Nonnull final File storeFolder, @Nonnull final File entry) {
+    final File marker = makeMarkerFile(storeFolder, entry.getName());
+    final long result = marker.lastModified();
+    return result == 0L ? entry.lastModified() : result;
+  }
+
+  private static long findSize(@Nonnull final File storeFolder, @Nonnull final File entry)
+      throws IOException {
+    if (entry.isFile()) {
+      return entry.length();
+    }
+    final File marker = makeMarkerFile(storeFolder, entry.getName());
+    if (marker.isFile()) {
+      final String text = new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8);
+      try {
+        return Long.parseLong(text.trim());
+      } catch (NumberFormatException ex) {
+        // not calculated yet
+      }
+    }
+    final long size = FileUtils.sizeOfDirectory(entry);
+    final long lastUse = findLastUse(storeFolder, entry);
+    final File folder = marker.getParentFile();
+    if (!folder.isDirectory() && !folder.mkdirs() && !folder.isDirectory()) {
+      throw new IOException("Can't create folder : " + folder);
+    }
+    Files.write(marker.toPath(), Long.toString(size).getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(marker.toPath(), FileTime.fromMillis(lastUse));
+    return size;
+  }
+
+  private static boolean isSdkArchive(@Nonnull final File file) {
+    final String name = file.getName().toLowerCase(Locale.ENGLISH);
+    return file.isFile() && name.startsWith("go")
+        && (name.endsWith(".tar.gz") || name.endsWith(".zip"))
+        && !RangedDownloader.isResumable(file);
+  }
+
+  @Nonnull
+  private static String findLockName(@Nonnull final File entry) {
+    final String name = entry.getName();
+    if (entry.isDirectory()) {
+      return SdkProfile.extractBaseName(name);
+    }
+    final String lowerCase = name.toLowerCase(Locale.ENGLISH);
+    return name.substring(0,
+        name.length() - (lowerCase.endsWith(".tar.gz") ? ".tar.gz".length() : ".zip".length()));
+  }
+
+  /**
+   * Evict least recently used SDK folders and archives from the store folder.
+   * Entry is removed under lock of its SDK and exclusive lock of its use
+   * file, entries used by any build, used during {@link #IN_USE_PERIOD_MS},
+   * locked by other process or protected are never evicted.
+   *
+   * @param log            logger, must not be null
+   * @param storeFolder    store folder, must not be null
+   * @param maxSize        max summary size of entries in bytes, zero or
+   *                       negative for no limit
+   * @param maxAge         max time from last use in milliseconds, zero or
+   *                       negative for no limit
+   * @param protectedNames names of entries which must not be evicted, must
+   *                       not be null
+   * @return number of evicted entries
+   * @throws IOException if any IO error
+   */
+  public static int evict(
+      @Nonnull final Log log,
+      @Nonnull final File storeFolder,
+      final long maxSize,
+      final long maxAge,
+      @Nonnull @MustNotContainNull final Collection<String> protectedNames
+  ) throws IOException {
+    final File[] files = storeFolder.listFiles();
+    if (files == null || (maxSize <= 0L && maxAge <= 0L)) {
+      return 0;
+    }
+
+    final List<Entry> entries = new ArrayList<>();
+    long totalSize = 0L;
+    for (final File file : files) {
+      final String name = file.getName();
+      if (name.startsWith(".") || !name.startsWith("go")) {
+        continue;
+      }
+      if (file.isDirectory() || isSdkArchive(file)) {
+        final Entry entry =
+            new Entry(file, findLastUse(storeFolder, file), findSize(storeFolder, file));
+        entries.add(entry);
+        totalSize += entry.size;
+      }
+    }
+    entries.sort(Comparator.comparingLong(e -> e.lastUse));
+
+    int evicted = 0;
+    final long now = System.currentTimeMillis();
+    for (final Entry entry : entries) {
+      final boolean expired = maxAge > 0L && now - entry.lastUse > maxAge;
+      final boolean overSize = maxSize > 0L && totalSize > maxSize;
+      if (!expired && !overSize) {
+        break;
+      }
+      final String name = entry.file.getName();
+      if (protectedNames.contains(name) || now - entry.lastUse < IN_USE_PERIOD_MS) {
+        log.debug("Store entry is in use and can't be evicted : " + name);
+        continue;
+      }
+
+      final StoreLock lock;
+      try {
+        lock = StoreLock.lock(log, storeFolder, findLockName(entry.file),
+            EVICTION_LOCK_TIMEOUT_MS);
+      } catch (IOException ex) {
+        log.debug("Store entry is locked and can't be evicted : " + name);
+        continue;
+      }
+      try {
+        final Closeable unused = lockUnused(storeFolder, name);
+        if (unused == null) {
+          log.debug("Store entry is used by other build and can't be evicted : " + name);
+          continue;
+        }
+        try {
+          if (evictEntry(log, storeFolder, entry, expired, now)) {
+            totalSize -= entry.size;
+            evicted++;
+          }
+        } finally {
+          unused.close();
+        }
+      } finally {
+        lock.close();
+      }
+    }
+    return evicted;
+  }
+
+  private static boolean evictEntry(@Nonnull final Log log, @Nonnull final File storeFolder,
+                                    @Nonnull final Entry entry, final boolean expired,
+                                    final long now) throws IOException {
+    final String name = entry.file.getName();
+    if (findLastUse(storeFolder, entry.file) != entry.lastUse) {
+      log.debug("Store entry has been used during eviction : " + name);
+      return false;
+    }
+    log.info(String.format("Evicting %s from store folder (%s, last use %d s ago)", name,
+        expired ? "expired" : "store size limit", (now - entry.lastUse) / 1000L));
+    if (entry.file.isDirectory()) {
+      final File trash = new File(storeFolder, ".#evicted-" + name);
+      FileUtils.deleteQuietly(trash);
+      if (!entry.file.renameTo(trash)) {
+        throw new IOException("Can't rename evicted SDK folder : " + entry.file);
+      }
+      FileUtils.deleteDirectory(trash);
+    } else {
+      Files.deleteIfExists(entry.file.toPath());
+    }
+    final File marker = makeMarkerFile(storeFolder, name);
+    Files.deleteIfExists(marker.toPath());
+    LAST_TOUCH.remove(marker.getAbsolutePath());
+    return true;
+  }
+
+  private static final class UseLock {
+
+    private final FileChannel channel;
+    private final FileLock lock;
+    private int counter;
+
+    private UseLock(@Nonnull final FileChannel channel, @Nonnull final FileLock lock) {
+      this.channel = channel;
+      this.lock = lock;
+    }
+  }
+
+  private static final class Entry {
+
+    private final File file;
+    private final long lastUse;
+    private final long size;
+
+    private Entry(@Nonnull final File file, final long lastUse, final long size) {
+      this.file = file;
+      this.lastUse = lastUse;
+      this.size = size;
+    }
+  }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Capture of process output stream split into lines. Every line is passed to
+ * registered listeners (live logging, pattern matchers) and to optional
+ * report file as soon as it is completed. Captured text is kept in memory
+ * until its size reaches limit, after that the whole text is spilled into
+ * temporary file and only tail lines are kept in memory, so that huge output
+ * of a process doesn't exhaust heap of maven.
+ *
+ * @since 2.3.11
+ */
+public final class StreamingLineCapture extends OutputStream {
+
+  private static final int MAX_LINE_BYTES = 64 * 1024;
+
+  private final Charset charset;
+  private final int memoryLimit;
+  private final File tempFolder;
+  private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+  private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(256);
+  private final ArrayDeque<String> tail = new ArrayDeque<>();
+  private StringBuilder memory = new StringBuilder();
+  private int tailChars;
+  private File reportFile;
+  private Writer reportWriter;
+  private File spillFile;
+  private Writer spillWriter;
+  private IOException writeError;
+  private long lineCount;
+  private long charCount;
+  private boolean closed;
+
+  /**
+   * Constructor.
+   *
+   * @param charset     charset of the stream, must not be null
+   * @param memoryLimit max number of chars kept in memory
+   * @param tempFolder  folder for spill file, must not be null
+   */
+  public StreamingLineCapture(@Nonnull final Charset charset, final int memoryLimit,
+                              @Nonnull final File tempFolder) {
+    this.charset = charset;
+    this.memoryLimit = Math.max(1024, memoryLimit);
+    this.tempFolder = tempFolder;
+  }
+
+  /**
+   * Add listener to be notified about every completed line. Listener is
+   * called in the thread writing into the capture.
+   *
+   * @param listener listener, must not be null
+   */
+  public void addListener(@Nonnull final Consumer<String> listener) {
+    this.listeners.add(listener);
+  }
+
+  /**
+   * Set report file to get all lines, the file is rewritten and created even
+   * if there is no output.
+   *
+   * @param file report file, can be null to not write report
+   */
+  public synchronized void setReportFile(@Nullable final File file) {
+    this.reportFile = file;
+  }
+
+  @Override
+  public synchronized void write(final int b) {
+    if (b == '\n') {
+      this.emitLine();
+    } else {
+      this.lineBuffer.write(b);
+      if (this.lineBuffer.size() >= MAX_LINE_BYTES) {
+        this.emitLine();
+      }
+    }
+  }
+
+  @Override
+  public synchronized void write(@Nonnull final byte[] data, final int offset,
+                                 final int length) {
+    int start = offset;
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      if (data[i] == '\n') {
+        this.lineBuffer.write(data, start, i - start);
+        this.emitLine();
+        start = i + 1;
+      } else if (this.lineBuffer.size() + (i - start) >= MAX_LINE_BYTES) {
+        this.lineBuffer.write(data, start, i - start);
+        this.emitLine();
+        start = i;
+      }
+    }
+    if (start < end) {
+      this.lineBuffer.write(data, start, end - start);
+    }
+  }
+
+  private void emitLine() {
+    final String line = new String(this.lineBuffer.toByteArray(), this.charset);
+    this.lineBuffer.reset();
+    this.lineCount++;
+    this.charCount += line.length() + 1;
+
+    this.store(line);
+
+    for (final Consumer<String> listener : this.listeners) {
+      listener.accept(line);
+    }
+  }
+
+  private void store(@Nonnull final String line) {
+    if (this.reportFile != null && this.writeError == null) {
+      try {
+        if (this.reportWriter == null) {
+          this.reportWriter = openWriter(this.reportFile);
+        }
+        this.reportWriter.write(line);
+        this.reportWriter.write('\n');
+      } catch (IOException ex) {
+        this.writeError = ex;
+      }
+    }
+
+    if (this.spillWriter == null && this.memory != null) {
+      if (this.memory.length() + line.length() + 1 <= this.memoryLimit) {
+        this.memory.append(line).append('\n');
+        return;
+      }
+      try {
+        this.spill();
+      } catch (IOException ex) {
+        // can't spill, keep only tail
+        this.writeError = this.writeError == null ? ex : this.writeError;
+        this.moveMemoryToTail();
+      }
+    }
+
+    if (this.spillWriter != null) {
+      try {
+        this.spillWriter.write(line);
+        this.spillWriter.write('\n');
+      } catch (IOException ex) {
+        this.writeError = this.writeError == null ? ex : this.writeError;
+      }
+    }
+    this.addToTail(line);
+  }
+
+  @Nonnull
+  private static Writer openWriter(@Nonnull final File file) throws IOException {
+    return new BufferedWriter(
+        new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+  }
+
+  private void spill() throws IOException {
+    this.spillFile = File.createTempFile(".mvn-golang-out", ".log", this.tempFolder);
+    this.spillWriter = openWriter(this.spillFile);
+    this.spillWriter.write(this.memory.toString());
+    this.moveMemoryToTail();
+  }
+
+  private void moveMemoryToTail() {
+    final StringBuilder text = this.memory;
+    this.memory = null;
+    int start = 0;
+    for (int i = text.indexOf("\n"); i >= 0; i = text.indexOf("\n", start)) {
+      this.addToTail(text.substring(start, i));
+      start = i + 1;
+    }
+  }
+
+  private void addToTail(@Nonnull final String line) {
+    this.tail.addLast(line);
+    this.tailChars += line.length() + 1;
+    while (this.tailChars > this.memoryLimit && this.tail.size() > 1) {
+      this.tailChars -= this.tail.removeFirst().length() + 1;
+    }
+  }
+
+  /**
+   * Complete the last line and close spill and report files. Listeners are
+   * notified about the last line if it is not empty.
+   *
+   * @throws IOException if there was error during writing of files
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    if (this.lineBuffer.size() > 0) {
+      this.emitLine();
+    }
+    try {
+      if (this.reportFile != null && this.reportWriter == null && this.writeError == null) {
+        this.reportWriter = openWriter(this.reportFile);
+      }
+      if (this.reportWriter != null) {
+        this.reportWriter.close();
+      }
+      if (this.spillWriter != null) {
+        this.spillWriter.close();
+      }
+    } catch (IOException ex) {
+      this.writeError = this.writeError == null ? ex : this.writeError;
+    }
+    if (this.writeError != null) {
+      throw this.writeError;
+    }
+  }
+
+  /**
+   * Close the capture and delete spill file.
+   */
+  public synchronized void dispose() {
+    try {
+      this.close();
+    } catch (IOException ex) {
+      // ignore
+    }
+    if (this.spillFile != null && this.spillFile.isFile() && !this.spillFile.delete()) {
+      this.spillFile.deleteOnExit();
+    }
+  }
+
+  public synchronized long getLineCount() {
+    return this.lineCount;
+  }
+
+  public synchronized long getCharCount() {
+    return this.charCount;
+  }
+
+  public synchronized boolean isEmpty() {
+    return this.lineCount == 0L && this.lineBuffer.size() == 0;
+  }
+
+  public synchronized boolean isSpilled() {
+    return this.spillFile != null;
+  }
+
+  /**
+   * Get captured text. If the text has been spilled then only its tail is
+   * returned with note about skipped lines, so size of the result is bounded
+   * by memory limit.
+   *
+   * @return captured text, must not be null
+   */
+  @Nonnull
+  public synchronized String getText() {
+    if (this.memory != null) {
+      return this.memory.toString();
+    }
+    final StringBuilder result = new StringBuilder(this.tailChars + 128);
+    result.append("... ").append(this.lineCount - this.tail.size())
+        .append(" line(s) skipped");
+    if (this.reportFile != null) {
+      result.append(", see ").append(this.reportFile);
+    }
+    result.append(" ...\n");
+    for (final String line : this.tail) {
+      result.append(line).append('\n');
+    }
+    return result.toString();
+  }
+
+  /**
+   * Pass all captured lines to consumer, spilled lines are read from the
+   * spill file.
+   *
+   * @param consumer consumer of lines, must not be null
+   * @throws IOException if spill file can't be read
+   */
+  public synchronized void forEachLine(@Nonnull final Consumer<String> consumer)
+      throws IOException {
+    if (this.memory != null) {
+      int start = 0;
+      for (int i = this.memory.indexOf("\n"); i >= 0; i = this.memory.indexOf("\n", start)) {
+        consumer.accept(this.memory.substring(start, i));
+        start = i + 1;
+      }
+    } else if (this.spillFile != null && this.writeError == null) {
+      if (!this.closed) {
+        this.spillWriter.flush();
+      }
+      try (final BufferedReader reader = new BufferedReader(
+          new InputStreamReader(new FileInputStream(this.spillFile), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          consumer.accept(line);
+        }
+      }
+    } else {
+      for (final String line : this.tail) {
+        consumer.accept(line);
+      }
+    }
+  }
+}
@@ -20,7 +20,12 @@ import org.apache.commons.lang3.SystemUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.Locale;
+import java.util.Optional;
 
 /**
  * Class contains some auxiliary system related methods.
@@ -74,4 +79,87 @@ public final class SysUtils {
     return null;
   }
 
+  /**
+   * Find PID of the current process.
+   *
+   * @return PID or -1 if it can't be detected
+   * @since 2.3.11
+   */
+  public static long findCurrentPid() {
+    final String name = ManagementFactory.getRuntimeMXBean().getName();
+    final int index = name.indexOf('@');
+    if (index > 0) {
+      try {
+        return Long.parseLong(name.substring(0, index));
+      } catch (NumberFormatException ex) {
+        return -1L;
+      }
+    }
+    return -1L;
+  }
+
+  /**
+   * Find PID of started process. Process#pid() is used under Java 9+ and
+   * private field of UNIXProcess under Java 8.
+   *
+   * @param process started process, must not be null
+   * @return PID or -1 if it can't be detected
+   * @since 2.3.11
+   */
+  public static long findPid(@Nonnull final Process process) {
+    try {
+      return (Long) Process.class.getMethod("pid").invoke(process);
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+      // Java 8
+    }
+    try {
+      final Field field = process.getClass().getDeclaredField("pid");
+      field.setAccessible(true);
+      return ((Number) field.get(process)).longValue();
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+      return -1L;
+    }
+  }
+
+  /**
+   * Check that a process of the current host is alive.
+   *
+   * @param pid process id
+   * @return TRUE or FALSE if detected, null if state can't be detected
+   * @since 2.3.11
+   */
+  @Nullable
+  public static Boolean isProcessAlive(final long pid) {
+    if (pid <= 0L) {
+      return null;
+    }
+    final File procFolder = new File("/proc");
+    if (SystemUtils.IS_OS_LINUX && procFolder.isDirectory()) {
+      return new File(procFolder, Long.toString(pid)).isDirectory();
+    }
+    try {
+      final Class<?> processHandle = Class.forName("java.lang.ProcessHandle");
+      final Method of = processHandle.getMethod("of", long.class);
+      final Optional<?> found = (Optional<?>) of.invoke(null, pid);
+      if (!found.isPresent()) {
+        return Boolean.FALSE;
+      }
+      return (Boolean) processHandle.getMethod("isAlive").invoke(found.get());
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Find name of the current host.
+   *
+   * @return host name, must not be null
+   * @since 2.3.11
+   */
+  @Nonnull
+  public static String findHostName() {
+    final String name = ManagementFactory.getRuntimeMXBean().getName();
+    final int index = name.indexOf('@');
+    return index >= 0 ? name.substring(index + 1) : "unknown";
+  }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * Memo of resolved toolchain state (GOROOT, GOPATH parts, executable file,
+ * prepared PATH) shared by mojo executions of the same Maven session. Values
+ * are kept by key made from all inputs which affect them and checked by
+ * validator before reuse, all values are dropped when new session starts.
+ *
+ * @since 2.3.11
+ */
+public final class ToolchainMemo {
+
+  private static final ConcurrentMap<String, Object> VALUES = new ConcurrentHashMap<>();
+  private static final AtomicLong HITS = new AtomicLong();
+  private static final AtomicLong MISSES = new AtomicLong();
+  private static volatile String sessionId = "";
+
+  private ToolchainMemo() {
+  }
+
+  private static void ensureSession(@Nonnull final String session) {
+    if (!session.equals(sessionId)) {
+      synchronized (VALUES) {
+        if (!session.equals(sessionId)) {
+          VALUES.clear();
+          sessionId = session;
+        }
+      }
+    }
+  }
+
+  /**
+   * Find memorized value or resolve and memorize it.
+   *
+   * @param session   identifier of current session, must not be null
+   * @param key       key made from all inputs affecting the value, must not
+   *                  be null
+   * @param validator validator of memorized value, if it returns false then
+   *                  the value is resolved again, must not be null
+   * @param resolver  resolver of value, must not be null
+   * @param <T>       type of value
+   * @return memorized or resolved value, must not be null
+   * @throws IOException            if resolver throws it
+   * @throws MojoFailureException   if resolver throws it
+   * @throws MojoExecutionException if resolver throws it
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  public static <T> T resolve(
+      @Nonnull final String session,
+      @Nonnull final String key,
+      @Nonnull final Predicate<T> validator,
+      @Nonnull final Resolver<T> resolver
+  ) throws IOException, MojoFailureException, MojoExecutionException {
+    ensureSession(session);
+    final T known = (T) VALUES.get(key);
+    if (known != null && validator.test(known)) {
+      HITS.incrementAndGet();
+      return known;
+    }
+    MISSES.incrementAndGet();
+    final T resolved = resolver.resolve();
+    if (session.equals(sessionId)) {
+      VALUES.put(key, resolved);
+    }
+    return resolved;
+  }
+
+  /**
+   * Get number of requests served by memorized values.
+   *
+   * @return number of hits
+   */
+  public static long getHits() {
+    return HITS.get();
+  }
+
+  /**
+   * Get number of requests which needed resolving.
+   *
+   * @return number of misses
+   */
+  public static long getMisses() {
+    return MISSES.get();
+  }
+
+  /**
+   * Forget all memorized values.
+   */
+  public static void reset() {
+    synchronized (VALUES) {
+      VALUES.clear();
+      sessionId = "";
+    }
+  }
+
+  /**
+   * Resolver of value.
+   *
+   * @param <T> type of value
+   */
+  @FunctionalInterface
+  public interface Resolver<T> {
+
+    /**
+     * Resolve value.
+     *
+     * @return resolved value, must not be null
+     * @throws IOException            if any IO error
+     * @throws MojoFailureException   if any failure
+     * @throws MojoExecutionException if any execution error
+     */
+    @Nonnull
+    T resolve() throws IOException, MojoFailureException, MojoExecutionException;
+  }
+}
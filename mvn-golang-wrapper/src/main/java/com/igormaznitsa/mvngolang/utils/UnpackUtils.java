@@ -22,23 +22,19 @@ import static com.igormaznitsa.mvngolang.utils.IOUtils.closeSilently;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Enumeration;
 import java.util.Locale;
+import java.util.function.Predicate;
 import java.util.zip.GZIPInputStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.ArchiveStreamFactory;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
-import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
-import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.apache.maven.plugin.logging.Log;
 
 public final class UnpackUtils {
@@ -48,147 +44,158 @@ public final class UnpackUtils {
   private UnpackUtils() {
   }
 
+  /**
+   * Unpack archive file into folder. ZIP entries are extracted in parallel.
+   * Unix mode from archive headers is applied to extracted files, if an entry
+   * doesn't have Unix mode then flag to make it executable is used.
+   *
+   * @param logger               logger, must not be null
+   * @param folder               folder in archive to be extracted, null for all
+   * @param archiveFile          archive file, must not be null
+   * @param destinationFolder    destination folder, must not be null
+   * @param tryMakeAllExecutable make executable extracted files which don't
+   *                             have Unix mode in archive
+   * @return number of unpacked files
+   * @throws IOException it will be thrown for any transport or format error
+   */
   public static int unpackFileToFolder(@Nonnull final Log logger, @Nullable final String folder,
                                        @Nonnull final File archiveFile,
                                        @Nonnull final File destinationFolder,
                                        final boolean tryMakeAllExecutable) throws IOException {
-    final String normalizedName = archiveFile.getName().toLowerCase(Locale.ENGLISH);
+    return unpackFileToFolder(logger, folder, archiveFile, destinationFolder,
+        tryMakeAllExecutable, null);
+  }
 
-    final ArchEntryGetter entryGetter;
+  /**
+   * Unpack archive file into folder with filter of files.
+   *
+   * @param logger               logger, must not be null
+   * @param folder               folder in archive to be extracted, null for all
+   * @param archiveFile          archive file, must not be null
+   * @param destinationFolder    destination folder, must not be null
+   * @param tryMakeAllExecutable make executable extracted files which don't
+   *                             have Unix mode in archive
+   * @param filter               filter gets file path relative to the
+   *                             extracted folder and returns true if the file
+   *                             must be extracted, null to extract all
+   * @return number of unpacked files
+   * @throws IOException it will be thrown for any transport or format error
+   * @since 2.3.11
+   */
+  public static int unpackFileToFolder(@Nonnull final Log logger, @Nullable final String folder,
+                                       @Nonnull final File archiveFile,
+                                       @Nonnull final File destinationFolder,
+                                       final boolean tryMakeAllExecutable,
+                                       @Nullable final Predicate<String> filter)
+      throws IOException {
+    return unpackFileToFolder(logger, folder, archiveFile, destinationFolder,
+        tryMakeAllExecutable, filter, null);
+  }
 
-    boolean modeZipFile = false;
+  /**
+   * Unpack archive file into folder with filter of files, extracted files can
+   * be materialized as links to content-addressed blob store.
+   *
+   * @param logger               logger, must not be null
+   * @param folder               folder in archive to be extracted, null for all
+   * @param archiveFile          archive file, must not be null
+   * @param destinationFolder    destination folder, must not be null
+   * @param tryMakeAllExecutable make executable extracted files which don't
+   *                             have Unix mode in archive
+   * @param filter               filter gets file path relative to the
+   *                             extracted folder and returns true if the file
+   *                             must be extracted, null to extract all
+   * @param blobStore            blob store to keep content of files, null to
+   *                             write files directly
+   * @return number of unpacked files
+   * @throws IOException it will be thrown for any transport or format error
+   * @since 2.3.11
+   */
+  public static int unpackFileToFolder(@Nonnull final Log logger, @Nullable final String folder,
+                                       @Nonnull final File archiveFile,
+                                       @Nonnull final File destinationFolder,
+                                       final boolean tryMakeAllExecutable,
+                                       @Nullable final Predicate<String> filter,
+                                       @Nullable final BlobStore blobStore)
+      throws IOException {
+    final String normalizedName = archiveFile.getName().toLowerCase(Locale.ENGLISH);
+    final ArchiveExtractor extractor = new ArchiveExtractor(logger, folder, destinationFolder,
+        tryMakeAllExecutable, filter, blobStore);
 
-    final ZipFile theZipFile;
-    final ArchiveInputStream archInputStream;
     if (normalizedName.endsWith(".zip")) {
       logger.debug("Detected ZIP archive");
-
-      modeZipFile = true;
-
-      theZipFile = new ZipFile(archiveFile);
-      archInputStream = null;
-      entryGetter = new ArchEntryGetter() {
-        private final Enumeration<ZipArchiveEntry> iterator = theZipFile.getEntries();
-
-        @Override
-        @Nullable
-        public ArchiveEntry getNextEntry() throws IOException {
-          ArchiveEntry result = null;
-          if (this.iterator.hasMoreElements()) {
-            result = this.iterator.nextElement();
-          }
-          return result;
-        }
-      };
-    } else {
-      theZipFile = null;
-      final InputStream in = new BufferedInputStream(new FileInputStream(archiveFile));
-      try {
-        if (normalizedName.endsWith(".tar.gz")) {
-          logger.debug("Detected TAR.GZ archive");
-          archInputStream = new TarArchiveInputStream(new GZIPInputStream(in));
-          entryGetter = ((TarArchiveInputStream) archInputStream)::getNextTarEntry;
-        } else {
-          logger.debug("Detected OTHER archive");
-          archInputStream = ARCHIVE_STREAM_FACTORY.createArchiveInputStream(in);
-          logger.debug("Created archive stream : " + archInputStream.getClass().getName());
-          entryGetter = archInputStream::getNextEntry;
-        }
-
-      } catch (ArchiveException ex) {
-        closeSilently(in);
-        throw new IOException("Can't recognize or read archive file : " + archiveFile, ex);
-      } catch (CantReadArchiveEntryException ex) {
-        closeSilently(in);
-        throw new IOException("Can't read entry from archive file : " + archiveFile, ex);
+      try (final ZipFile zipFile = new ZipFile(archiveFile)) {
+        return extractor.extractZipFile(zipFile);
       }
     }
 
+    final InputStream in =
+        new BufferedInputStream(new FileInputStream(archiveFile), 64 * 1024);
+    final ArchiveInputStream archInputStream;
+    final ArchiveExtractor.EntrySource entrySource;
     try {
+      if (normalizedName.endsWith(".tar.gz")) {
+        logger.debug("Detected TAR.GZ archive");
+        archInputStream = new TarArchiveInputStream(new GZIPInputStream(in, 64 * 1024));
+        entrySource = ((TarArchiveInputStream) archInputStream)::getNextTarEntry;
+      } else {
+        logger.debug("Detected OTHER archive");
+        archInputStream = ARCHIVE_STREAM_FACTORY.createArchiveInputStream(in);
+        logger.debug("Created archive stream : " + archInputStream.getClass().getName());
+        entrySource = archInputStream::getNextEntry;
+      }
+    } catch (ArchiveException ex) {
+      closeSilently(in);
+      throw new IOException("Can't recognize or read archive file : " + archiveFile, ex);
+    } catch (CantReadArchiveEntryException ex) {
+      closeSilently(in);
+      throw new IOException("Can't read entry from archive file : " + archiveFile, ex);
+    }
 
-      final String normalizedFolder =
-          folder == null ? null : FilenameUtils.normalize(folder, true) + '/';
-
-      int unpackedFilesCounter = 0;
-      while (true) {
-        final ArchiveEntry entry = entryGetter.getNextEntry();
-        if (entry == null) {
-          break;
-        }
-        final String normalizedPath = FilenameUtils.normalize(entry.getName(), true);
-
-        logger.debug("Detected archive entry : " + normalizedPath);
-
-        if (normalizedFolder == null || normalizedPath.startsWith(normalizedFolder)) {
-          final File targetFile = new File(destinationFolder,
-              normalizedFolder == null ? normalizedPath :
-                  normalizedPath.substring(normalizedFolder.length()));
-          if (entry.isDirectory()) {
-            logger.debug("Folder : " + normalizedPath);
-            if (!targetFile.exists() && !targetFile.mkdirs()) {
-              throw new IOException("Can't create folder " + targetFile);
-            }
-          } else {
-            final File parent = targetFile.getParentFile();
-
-            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
-              throw new IOException("Can't create folder : " + parent);
-            }
-
-            try (final FileOutputStream fos = new FileOutputStream(targetFile)) {
-              if (modeZipFile) {
-                logger.debug("Unpacking ZIP entry : " + normalizedPath);
-
-                final InputStream zipEntryInStream =
-                    theZipFile.getInputStream((ZipArchiveEntry) entry);
-                try {
-                  if (IOUtils.copy(zipEntryInStream, fos) != entry.getSize()) {
-                    throw new IOException(
-                        "Can't unpack file, illegal unpacked length : " + entry.getName());
-                  }
-                } finally {
-                  closeSilently(zipEntryInStream);
-                }
-              } else {
-                logger.debug("Unpacking archive entry : " + normalizedPath);
-
-                if (!archInputStream.canReadEntryData(entry)) {
-                  throw new IOException("Can't read archive entry data : " + normalizedPath);
-                }
-                if (IOUtils.copy(archInputStream, fos) != entry.getSize()) {
-                  throw new IOException(
-                      "Can't unpack file, illegal unpacked length : " + entry.getName());
-                }
-              }
-            }
-
-            if (tryMakeAllExecutable) {
-              try {
-                if (!targetFile.setExecutable(true, true)) {
-                  logger.debug("Can't make file executable : " + targetFile);
-                }
-              } catch (SecurityException ex) {
-                throw new IOException(
-                    "Can't make file executable for security reasons : " + targetFile, ex);
-              }
-            }
-            unpackedFilesCounter++;
-          }
-        } else {
-          logger.debug("Archive entry " + normalizedPath + " ignored");
+    try {
+      return extractor.extractSequentially(entrySource, entry -> {
+        if (!archInputStream.canReadEntryData(entry)) {
+          throw new IOException("Can't read archive entry data : " + entry.getName());
         }
-      }
-      return unpackedFilesCounter;
+        return CloseShieldInputStream.wrap(archInputStream);
+      });
     } finally {
-      closeSilently(theZipFile);
       closeSilently(archInputStream);
     }
   }
 
-  private interface ArchEntryGetter {
-
-    @Nullable
-    ArchiveEntry getNextEntry() throws IOException;
+  /**
+   * Unpack TAR.GZ archive directly from stream. The stream is not closed and
+   * rest of its data after the archive end is not read.
+   *
+   * @param logger               logger, must not be null
+   * @param folder               folder in archive to be extracted, null for all
+   * @param gzippedTarStream     stream of TAR.GZ archive, must not be null
+   * @param destinationFolder    destination folder, must not be null
+   * @param tryMakeAllExecutable make executable extracted files which don't
+   *                             have Unix mode in archive
+   * @param filter               filter gets file path relative to the
+   *                             extracted folder and returns true if the file
+   *                             must be extracted, null to extract all
+   * @param blobStore            blob store to keep content of files, null to
+   *                             write files directly
+   * @return number of unpacked files
+   * @throws IOException it will be thrown for any transport or format error
+   * @since 2.3.11
+   */
+  public static int unpackTarGzStreamToFolder(@Nonnull final Log logger,
+                                              @Nullable final String folder,
+                                              @Nonnull final InputStream gzippedTarStream,
+                                              @Nonnull final File destinationFolder,
+                                              final boolean tryMakeAllExecutable,
+                                              @Nullable final Predicate<String> filter,
+                                              @Nullable final BlobStore blobStore)
+      throws IOException {
+    final TarArchiveInputStream tarInputStream = new TarArchiveInputStream(
+        new GZIPInputStream(CloseShieldInputStream.wrap(gzippedTarStream), 64 * 1024));
+    return new ArchiveExtractor(logger, folder, destinationFolder, tryMakeAllExecutable, filter,
+        blobStore).extractSequentially(tarInputStream::getNextEntry,
+            entry -> CloseShieldInputStream.wrap(tarInputStream));
   }
 
   public static class CantReadArchiveEntryException extends RuntimeException {
@@ -28,15 +28,30 @@ import org.apache.maven.plugin.logging.Log;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
+import java.util.zip.Checksum;
 
 public class XGoogHashHeader {
 
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final long CRC32C_POLY = 0x82F63B78L;
+  private static final Class<?> INTRINSIC_CRC32C = findIntrinsicCrc32c();
+
   private final boolean valid;
   private final String crc32c;
   private final String md5;
   private final String unknownType;
   private final String unknownValue;
 
+  @Nullable
+  private static Class<?> findIntrinsicCrc32c() {
+    try {
+      final Class<?> result = Class.forName("java.util.zip.CRC32C");
+      return Checksum.class.isAssignableFrom(result) ? result : null;
+    } catch (ClassNotFoundException | LinkageError ex) {
+      return null;
+    }
+  }
+
   public XGoogHashHeader(@Nonnull @MustNotContainNull final Header[] headers) {
     String md5value = null;
     String crc32value = null;
@@ -101,17 +116,180 @@ public class XGoogHashHeader {
           return this.md5.equalsIgnoreCase(calculated);
         }
       } else if (this.hasCrc32c()) {
-        try (final InputStream in = new BufferedInputStream(new FileInputStream(file), 16384)) {
-          final Crc32c crc = new Crc32c();
-          crc.update(in);
-          log.debug("Check CRC32C hash (reference " + this.crc32c + "): " + crc);
-          return this.crc32c.equalsIgnoreCase(crc.toString());
+        try (final InputStream in = new FileInputStream(file)) {
+          final Checksum crc = makeCrc32c();
+          final byte[] buffer = new byte[BUFFER_SIZE];
+          int read;
+          while ((read = in.read(buffer)) >= 0) {
+            crc.update(buffer, 0, read);
+          }
+          final String calculated = toCrc32cHex(crc.getValue());
+          log.debug("Check CRC32C hash (reference " + this.crc32c + "): " + calculated);
+          return this.crc32c.equalsIgnoreCase(calculated);
         }
       }
     }
     throw new IOException("Not valid or doesn't have data");
   }
 
+  /**
+   * Check that hash values calculated during data read are enough to check
+   * the header.
+   *
+   * @param md5    calculated MD5 value as hex string, can be null
+   * @param crc32c calculated CRC32C value as hex string, can be null
+   * @return true if at least one calculated value can be compared with header
+   * @since 2.3.11
+   */
+  public boolean canCheckDigest(@Nullable final String md5, @Nullable final String crc32c) {
+    return this.isValid()
+        && ((this.hasMd5() && md5 != null) || (this.hasCrc32c() && crc32c != null));
+  }
+
+  /**
+   * Check hash values calculated during data read.
+   *
+   * @param log    logger, must not be null
+   * @param md5    calculated MD5 value as hex string, can be null
+   * @param crc32c calculated CRC32C value as hex string, can be null
+   * @return true if calculated value is equal to the header one
+   * @throws IOException if header is not valid or doesn't contain any data
+   * @since 2.3.11
+   */
+  public boolean isDigestOk(@Nonnull final Log log, @Nullable final String md5,
+                            @Nullable final String crc32c) throws IOException {
+    if (this.isValid()) {
+      if (this.hasMd5() && md5 != null) {
+        log.debug("Check MD5 hash (reference " + this.md5 + "): " + md5);
+        return this.md5.equalsIgnoreCase(md5);
+      } else if (this.hasCrc32c() && crc32c != null) {
+        log.debug("Check CRC32C hash (reference " + this.crc32c + "): " + crc32c);
+        return this.crc32c.equalsIgnoreCase(crc32c);
+      }
+    }
+    throw new IOException("Not valid or doesn't have data");
+  }
+
+  /**
+   * Make new instance of CRC32C checksum.
+   *
+   * @return new checksum instance, must not be null
+   * @since 2.3.11
+   */
+  @Nonnull
+  public static Checksum makeCrc32c() {
+    if (INTRINSIC_CRC32C != null) {
+      try {
+        return (Checksum) INTRINSIC_CRC32C.getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException ex) {
+        // use table implementation
+      }
+    }
+    return new Crc32c();
+  }
+
+  /**
+   * Check that JVM provides java.util.zip.CRC32C which uses CPU intrinsics.
+   *
+   * @return true if JVM implementation is used, false if table one
+   * @since 2.3.11
+   */
+  public static boolean isIntrinsicCrc32c() {
+    return INTRINSIC_CRC32C != null;
+  }
+
+  /**
+   * Make table based CRC32C which is used as fallback for JVMs without
+   * java.util.zip.CRC32C.
+   *
+   * @return new checksum instance, must not be null
+   * @since 2.3.11
+   */
+  @Nonnull
+  public static Checksum makeTableCrc32c() {
+    return new Crc32c();
+  }
+
+  /**
+   * Combine two CRC32C values, the result is CRC32C of concatenated blocks.
+   *
+   * @param crc1   CRC32C of the first block
+   * @param crc2   CRC32C of the second block
+   * @param length length of the second block in bytes
+   * @return CRC32C of both blocks
+   * @since 2.3.11
+   */
+  public static long combineCrc32c(final long crc1, final long crc2, final long length) {
+    if (length <= 0L) {
+      return crc1;
+    }
+    final long[] even = new long[32];
+    final long[] odd = new long[32];
+
+    odd[0] = CRC32C_POLY;
+    long row = 1L;
+    for (int n = 1; n < 32; n++) {
+      odd[n] = row;
+      row <<= 1;
+    }
+    gf2MatrixSquare(even, odd);
+    gf2MatrixSquare(odd, even);
+
+    long result = crc1 & 0xFFFFFFFFL;
+    long len = length;
+    do {
+      gf2MatrixSquare(even, odd);
+      if ((len & 1L) != 0L) {
+        result = gf2MatrixTimes(even, result);
+      }
+      len >>= 1;
+      if (len == 0L) {
+        break;
+      }
+      gf2MatrixSquare(odd, even);
+      if ((len & 1L) != 0L) {
+        result = gf2MatrixTimes(odd, result);
+      }
+      len >>= 1;
+    } while (len != 0L);
+
+    return (result ^ crc2) & 0xFFFFFFFFL;
+  }
+
+  private static long gf2MatrixTimes(@Nonnull final long[] matrix, final long vector) {
+    long sum = 0L;
+    long vec = vector;
+    for (int i = 0; vec != 0L; i++, vec >>>= 1) {
+      if ((vec & 1L) != 0L) {
+        sum ^= matrix[i];
+      }
+    }
+    return sum;
+  }
+
+  private static void gf2MatrixSquare(@Nonnull final long[] square, @Nonnull final long[] matrix) {
+    for (int n = 0; n < 32; n++) {
+      square[n] = gf2MatrixTimes(matrix, matrix[n]);
+    }
+  }
+
+  /**
+   * Convert CRC32C value into hex string in the header format.
+   *
+   * @param value checksum value
+   * @return hex string, must not be null
+   * @since 2.3.11
+   */
+  @Nonnull
+  public static String toCrc32cHex(final long value) {
+    final byte[] data = new byte[4];
+    data[0] = (byte) (value >>> 24);
+    data[1] = (byte) (value >>> 16);
+    data[2] = (byte) (value >>> 8);
+    data[3] = (byte) value;
+    return Hex.encodeHexString(data);
+  }
+
   @Nonnull
   @Override
   public String toString() {
@@ -130,7 +308,7 @@ public class XGoogHashHeader {
     return this.valid;
   }
 
-  private static class Crc32c {
+  static final class Crc32c implements Checksum {
 
     private static final long[] CRC_TABLE = {
         0x00000000, 0xf26b8303, 0xe13b70f7, 0x1350f3f4,
@@ -204,34 +382,45 @@ public class XGoogHashHeader {
 
     private long crc;
 
-    public Crc32c() {
+    Crc32c() {
       this.crc = 0;
     }
 
+    @Override
     public void reset() {
       this.crc = 0;
     }
 
-    public long getCrc() {
+    @Override
+    public long getValue() {
       return this.crc;
     }
 
-    public long update(@Nonnull final InputStream in) throws IOException {
+    public void update(@Nonnull final InputStream in) throws IOException {
+      final byte[] buffer = new byte[BUFFER_SIZE];
       while (!Thread.currentThread().isInterrupted()) {
-        final int next = in.read();
-        if (next < 0) {
+        final int read = in.read(buffer);
+        if (read < 0) {
           break;
         }
-        update(next);
+        update(buffer, 0, read);
       }
-      return this.crc;
     }
 
-    public long update(int b) {
+    @Override
+    public void update(final int b) {
       long newCrc = this.crc ^ LONG_MASK;
       newCrc = updateByte((byte) b, newCrc);
       this.crc = newCrc ^ LONG_MASK;
-      return this.crc;
+    }
+
+    @Override
+    public void update(@Nonnull final byte[] data, final int offset, final int length) {
+      long newCrc = this.crc ^ LONG_MASK;
+      for (int i = offset; i < offset + length; i++) {
+        newCrc = updateByte(data[i], newCrc);
+      }
+      this.crc = newCrc ^ LONG_MASK;
     }
 
     private long updateByte(byte newByte, long crc) {
@@ -243,12 +432,7 @@ public class XGoogHashHeader {
     @Nonnull
     @Override
     public String toString() {
-      final byte[] data = new byte[4];
-      data[0] = (byte) (this.crc >>> 24);
-      data[1] = (byte) (this.crc >>> 16);
-      data[2] = (byte) (this.crc >>> 8);
-      data[3] = (byte) this.crc;
-      return Hex.encodeHexString(data);
+      return toCrc32cHex(this.crc);
     }
   }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BlobStoreTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private File makeZip(final String name, final String... pathAndContent) throws IOException {
+    final File result = new File(this.tempFolder.getRoot(), name);
+    try (final ZipArchiveOutputStream zip = new ZipArchiveOutputStream(result)) {
+      for (int i = 0; i < pathAndContent.length; i += 2) {
+        final ZipArchiveEntry entry = new ZipArchiveEntry(pathAndContent[i]);
+        entry.setUnixMode(pathAndContent[i].contains("/bin/") ? 0100755 : 0100644);
+        zip.putArchiveEntry(entry);
+        zip.write(pathAndContent[i + 1].getBytes(StandardCharsets.UTF_8));
+        zip.closeArchiveEntry();
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void testDeduplicationAndCompaction() throws Exception {
+    assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("unix"));
+
+    final File store = this.tempFolder.newFolder("store");
+    final BlobStore blobStore = new BlobStore(store);
+
+    final char[] big = new char[3 * 1024 * 1024];
+    Arrays.fill(big, 'a');
+    final String bigText = new String(big);
+
+    final File archive1 = makeZip("go1.zip", "go/bin/go", "go1", "go/src/fmt/print.go",
+        "package fmt", "go/src/big.txt", bigText);
+    final File archive2 = makeZip("go2.zip", "go/bin/go", "go2", "go/src/fmt/print.go",
+        "package fmt", "go/src/big.txt", bigText, "go/bin/same", "package fmt");
+
+    final File sdk1 = new File(store, "go1");
+    final File sdk2 = new File(store, "go2");
+    assertEquals(3, UnpackUtils.unpackFileToFolder(new SystemStreamLog(), "go", archive1, sdk1,
+        false, null, blobStore));
+    assertEquals(4, UnpackUtils.unpackFileToFolder(new SystemStreamLog(), "go", archive2, sdk2,
+        false, null, blobStore));
+
+    assertEquals("go1",
+        FileUtils.readFileToString(new File(sdk1, "bin/go"), StandardCharsets.UTF_8));
+    assertEquals("go2",
+        FileUtils.readFileToString(new File(sdk2, "bin/go"), StandardCharsets.UTF_8));
+    assertEquals(bigText,
+        FileUtils.readFileToString(new File(sdk2, "src/big.txt"), StandardCharsets.UTF_8));
+    assertTrue(new File(sdk2, "bin/same").canExecute());
+    assertFalse(new File(sdk2, "src/fmt/print.go").canExecute());
+
+    assertTrue(Files.isSameFile(new File(sdk1, "src/fmt/print.go").toPath(),
+        new File(sdk2, "src/fmt/print.go").toPath()));
+    assertTrue(Files.isSameFile(new File(sdk1, "src/big.txt").toPath(),
+        new File(sdk2, "src/big.txt").toPath()));
+    assertFalse(Files.isSameFile(new File(sdk2, "bin/same").toPath(),
+        new File(sdk2, "src/fmt/print.go").toPath()));
+
+    BlobStore.CompactionResult result = blobStore.compact(new SystemStreamLog());
+    assertEquals(0, result.getRemovedFiles());
+    assertEquals(5, result.getKeptFiles());
+
+    FileUtils.deleteDirectory(sdk1);
+    result = blobStore.compact(new SystemStreamLog());
+    assertEquals(1, result.getRemovedFiles());
+    assertEquals(3L, result.getRemovedBytes());
+    assertEquals(4, result.getKeptFiles());
+
+    FileUtils.deleteDirectory(sdk2);
+    result = blobStore.compact(new SystemStreamLog());
+    assertEquals(4, result.getRemovedFiles());
+    assertEquals(0, result.getKeptFiles());
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class BucketListParserTest {
+
+  private static final String LIST =
+      "<?xml version='1.0' encoding='UTF-8'?>"
+          + "<ListBucketResult xmlns='http://doc.s3.amazonaws.com/2006-03-01'>"
+          + "<Name>golang</Name><Prefix>go1.19.linux-amd64</Prefix>"
+          + "<Contents><Key>go1.19.linux-amd64.tar.gz.asc</Key><Size>833</Size></Contents>"
+          + "<Contents><Key>go1.19.linux-amd64.tar.gz</Key><Size>148883574</Size></Contents>"
+          + "<Contents><Key>go1.19.linux-amd64.tar.gz.sha256</Key></Contents>"
+          + "</ListBucketResult>";
+
+  private static InputStream stream(final String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Set<String> variants(final String... names) {
+    return new HashSet<>(Arrays.asList(names));
+  }
+
+  @Test
+  public void testFindFirstKey() throws Exception {
+    final List<String> listed = new ArrayList<>();
+    assertEquals("go1.19.linux-amd64.tar.gz", BucketListParser.findFirstKey(stream(LIST),
+        variants("go1.19.linux-amd64.tar.gz", "go1.19.linux-amd64.zip"), listed));
+    assertEquals(Arrays.asList("go1.19.linux-amd64.tar.gz.asc"), listed);
+  }
+
+  @Test
+  public void testNotFound() throws Exception {
+    final List<String> listed = new ArrayList<>();
+    assertNull(BucketListParser.findFirstKey(stream(LIST), variants("go1.20.linux-amd64.zip"),
+        listed));
+    assertEquals(3, listed.size());
+  }
+
+  @Test
+  public void testEmptyList() throws Exception {
+    assertNull(BucketListParser.findFirstKey(stream("<ListBucketResult></ListBucketResult>"),
+        variants("go1.19.linux-amd64.tar.gz"), null));
+  }
+
+  @Test
+  public void testWrongRoot() {
+    try {
+      BucketListParser.findFirstKey(stream("<Error><Code>NoSuchBucket</Code></Error>"),
+          variants("a"), null);
+    } catch (IOException ex) {
+      assertTrue(ex.getMessage().contains("ListBucket"));
+      return;
+    }
+    throw new AssertionError("Must throw IOException");
+  }
+}
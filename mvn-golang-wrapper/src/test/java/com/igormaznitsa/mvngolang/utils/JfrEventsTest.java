@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JfrEventsTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testNoEventWithoutRecording() {
+    assertNull(JfrEvents.begin(JfrEvents.Type.GO_PROCESS));
+  }
+
+  @Test
+  public void testEventIsRecorded() throws Exception {
+    assumeTrue(JfrEvents.isSupported());
+
+    // reflection is used to keep tests compilable under JDK 8
+    final Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+    final Object recording = recordingClass.getConstructor().newInstance();
+    recordingClass.getMethod("enable", String.class)
+        .invoke(recording, JfrEvents.Type.GO_PROCESS.getName());
+    recordingClass.getMethod("start").invoke(recording);
+
+    final JfrEvents.Handle handle;
+    try {
+      handle = JfrEvents.begin(JfrEvents.Type.GO_PROCESS);
+      assertNotNull(handle);
+      handle.commit("go build", new File("/tmp"), 3);
+    } finally {
+      recordingClass.getMethod("stop").invoke(recording);
+    }
+    final Path dump = new File(this.tempFolder.getRoot(), "test.jfr").toPath();
+    recordingClass.getMethod("dump", Path.class).invoke(recording, dump);
+    recordingClass.getMethod("close").invoke(recording);
+
+    final Class<?> recordingFileClass = Class.forName("jdk.jfr.consumer.RecordingFile");
+    final Class<?> recordedEventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+    final List<?> events =
+        (List<?>) recordingFileClass.getMethod("readAllEvents", Path.class).invoke(null, dump);
+    int found = 0;
+    for (final Object event : events) {
+      final Object type = recordedEventClass.getMethod("getEventType").invoke(event);
+      if (JfrEvents.Type.GO_PROCESS.getName()
+          .equals(type.getClass().getMethod("getName").invoke(type))) {
+        found++;
+        final java.lang.reflect.Method getValue =
+            recordedEventClass.getMethod("getValue", String.class);
+        assertEquals("go build", getValue.invoke(event, "command"));
+        assertEquals(new File("/tmp").toString(), getValue.invoke(event, "folder"));
+        assertEquals(3, getValue.invoke(event, "exitCode"));
+      }
+    }
+    assertEquals(1, found);
+    assertNull(JfrEvents.begin(JfrEvents.Type.GO_PROCESS));
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SuppressWarnings("try")
+public class PhaseTimingsTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testNestedPhases() {
+    final PhaseTimings timings =
+        PhaseTimings.begin(true, "session-nested", "com.test:module1", "build@default");
+    try (final PhaseTimings.Span execute = timings.phase("execute")) {
+      try (final PhaseTimings.Span init = timings.phase("doInit")) {
+        try (final PhaseTimings.Span scan = timings.phase("scanDependencies")) {
+          assertTrue(timings.isEnabled());
+        }
+      }
+      try (final PhaseTimings.Span main = timings.phase("doMainBusiness")) {
+        assertTrue(timings.isEnabled());
+      }
+    }
+
+    final List<PhaseTimings.Record> records = timings.getRecords();
+    assertEquals(4, records.size());
+    assertEquals("scanDependencies", records.get(0).getPhase());
+    assertEquals(2, records.get(0).getDepth());
+    assertEquals("doInit", records.get(1).getPhase());
+    assertEquals(1, records.get(1).getDepth());
+    assertEquals("doMainBusiness", records.get(2).getPhase());
+    assertEquals(1, records.get(2).getDepth());
+    assertEquals("execute", records.get(3).getPhase());
+    assertEquals(0, records.get(3).getDepth());
+    assertTrue(records.get(3).getDurationNanos() >= records.get(1).getDurationNanos());
+    assertTrue(records.get(3).getStartNanos() <= records.get(1).getStartNanos());
+  }
+
+  @Test
+  public void testDisabledTimingsRecordNothing() {
+    final PhaseTimings timings = PhaseTimings.begin(false, "", "m", "e");
+    try (final PhaseTimings.Span span = timings.phase("execute")) {
+      assertFalse(timings.isEnabled());
+    }
+    assertTrue(timings.getRecords().isEmpty());
+  }
+
+  @Test
+  public void testReportsOfSession() throws Exception {
+    final PhaseTimings module1 =
+        PhaseTimings.begin(true, "session-reports", "com.test:module1", "build@default");
+    final PhaseTimings module2 =
+        PhaseTimings.begin(true, "session-reports", "com.test:mod\"ule2", "test@default");
+    try (final PhaseTimings.Span span = module1.phase("execute")) {
+      try (final PhaseTimings.Span span2 = module2.phase("execute")) {
+        assertTrue(module2.isEnabled());
+      }
+    }
+
+    final String report = PhaseTimings.makeModuleReport("com.test:module1");
+    assertTrue(report.contains("\"module\": \"com.test:module1\""));
+    assertTrue(report.contains("\"execution\": \"build@default\""));
+    assertFalse(report.contains("test@default"));
+
+    final String trace = PhaseTimings.makeTrace();
+    assertTrue(trace.contains("\"traceEvents\""));
+    assertTrue(trace.contains("\"tid\": 1, \"args\": {\"name\": \"com.test:mod\\\"ule2\"}"));
+    assertTrue(trace.contains("\"tid\": 2, \"args\": {\"name\": \"com.test:module1\"}"));
+    assertTrue(trace.contains("\"ph\": \"X\""));
+
+    final File file = new File(this.tempFolder.getRoot(), "target/trace.json");
+    PhaseTimings.writeTrace(file);
+    assertEquals(trace, FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+
+    PhaseTimings.begin(true, "session-next", "com.test:module1", "build@default");
+    assertFalse(PhaseTimings.makeTrace().contains("com.test:module1"));
+  }
+
+  @Test
+  public void testTraceOfParallelExecutionsIsComplete() throws Exception {
+    final File file = new File(this.tempFolder.getRoot(), "target/trace.json");
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      final String module = "com.test:parallel" + i;
+      threads.add(new Thread(() -> {
+        final PhaseTimings timings =
+            PhaseTimings.begin(true, "session-parallel", module, "build@default");
+        try (final PhaseTimings.Span span = timings.phase("execute")) {
+          assertTrue(timings.isEnabled());
+        }
+        try {
+          PhaseTimings.writeTrace(file);
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    final String trace = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+    for (int i = 0; i < 8; i++) {
+      assertTrue(trace.contains("\"com.test:parallel" + i + "\""));
+    }
+  }
+}
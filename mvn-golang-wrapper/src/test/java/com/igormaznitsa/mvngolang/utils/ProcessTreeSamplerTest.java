@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+
+import java.util.Map;
+import org.junit.Test;
+
+public class ProcessTreeSamplerTest {
+
+  @Test
+  public void testParseStat() {
+    final ProcessTreeSampler.Stat stat = ProcessTreeSampler.parseStat(
+        "4242 (go (build) x) S 4200 4242 4200 0 -1 4194304 1519 0 0 0 "
+            + "37 12 5 3 20 0 9 0 987654 123456789 4000 18446744073709551615");
+    assertNotNull(stat);
+    assertEquals(4200L, stat.parentPid);
+    assertEquals(37L, stat.utimeTicks);
+    assertEquals(12L, stat.stimeTicks);
+    assertEquals(5L, stat.cutimeTicks);
+    assertEquals(3L, stat.cstimeTicks);
+    assertEquals(9, stat.threads);
+    assertEquals(987654L, stat.startTime);
+
+    assertNull(ProcessTreeSampler.parseStat("4242 (go) S 1 2 3"));
+    assertNull(ProcessTreeSampler.parseStat("wrong"));
+  }
+
+  @Test
+  public void testParseKeyValues() {
+    final Map<String, Long> status = ProcessTreeSampler.parseKeyValues(
+        "Name:\tgo\nVmHWM:\t   20480 kB\nVmRSS:\t   10240 kB\nThreads:\t7\n", true);
+    assertEquals(Long.valueOf(20480L), status.get("VmHWM"));
+    assertEquals(Long.valueOf(10240L), status.get("VmRSS"));
+    assertEquals(Long.valueOf(7L), status.get("Threads"));
+    assertNull(status.get("Name"));
+
+    final Map<String, Long> io = ProcessTreeSampler.parseKeyValues(
+        "rchar: 100\nread_bytes: 4096\nwrite_bytes: 8192\n", false);
+    assertEquals(Long.valueOf(4096L), io.get("read_bytes"));
+    assertEquals(Long.valueOf(8192L), io.get("write_bytes"));
+    assertTrue(ProcessTreeSampler.parseKeyValues(null, false).isEmpty());
+  }
+
+  @Test
+  public void testCpuOfShortLivingChildrenIsCounted() throws Exception {
+    assumeTrue(ProcessTreeSampler.isSupported());
+
+    // busy children live much shorter than sampling interval, the final sleep
+    // guarantees a sample of the parent after all children are reaped
+    final Process process = new ProcessBuilder("sh", "-c",
+        "for n in 1 2 3 4 5 6 7 8 9 10; do "
+            + "sh -c 'i=0; while [ $i -lt 30000 ]; do i=$((i+1)); done'; done; sleep 0.6")
+        .start();
+    final long pid = SysUtils.findPid(process);
+    assertTrue(pid > 0L);
+    final long start = System.nanoTime();
+    final ProcessTreeSampler sampler = ProcessTreeSampler.start(pid, 250L);
+    final ProcessTreeSampler.Usage usage;
+    try {
+      process.waitFor();
+    } finally {
+      sampler.close();
+      usage = sampler.getUsage();
+    }
+    final long busyMs = (System.nanoTime() - start) / 1000000L - 600L;
+
+    final long cpuMs = usage.getCpuUserMs() + usage.getCpuSystemMs();
+    assertTrue("Expected CPU of busy children, busy " + busyMs + " ms, usage " + usage,
+        busyMs > 0L && cpuMs >= busyMs / 2);
+    // every child is counted once, through its own sample or through parent
+    assertTrue("CPU counted twice, busy " + busyMs + " ms, usage " + usage,
+        cpuMs <= busyMs + 300L);
+  }
+
+  @Test
+  public void testSampleChildProcessTree() throws Exception {
+    assumeTrue(ProcessTreeSampler.isSupported());
+
+    final Process process =
+        new ProcessBuilder("sh", "-c", "sleep 0.5 & sleep 0.5; wait").start();
+    final long pid = SysUtils.findPid(process);
+    assertTrue(pid > 0L);
+    final ProcessTreeSampler sampler = ProcessTreeSampler.start(pid, 20L);
+    Thread.sleep(200L);
+    final ProcessTreeSampler.Usage usage;
+    try {
+      process.waitFor();
+    } finally {
+      sampler.close();
+      usage = sampler.getUsage();
+    }
+
+    assertTrue(usage.getSamples() > 1);
+    assertTrue(usage.getProcesses() >= 2);
+    assertTrue(usage.getPeakRssBytes() > 0L);
+    assertTrue(usage.getPeakThreads() >= 2);
+    assertTrue(usage.getWallMs() >= 200L);
+
+    final ProcessTreeSampler.Usage twice = usage.add(usage);
+    assertEquals(usage.getProcesses() * 2, twice.getProcesses());
+    assertEquals(usage.getPeakRssBytes(), twice.getPeakRssBytes());
+
+    final String json = usage.toJson("com.test:module", "build@default", "sh");
+    assertTrue(json.contains("\"module\": \"com.test:module\""));
+    assertTrue(json.contains("\"peak.rss.bytes\": " + usage.getPeakRssBytes()));
+  }
+}
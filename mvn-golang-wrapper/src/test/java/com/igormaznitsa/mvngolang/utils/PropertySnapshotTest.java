@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+import java.util.Properties;
+import org.junit.Test;
+
+public class PropertySnapshotTest {
+
+  @Test
+  public void testPriorityOfProperties() {
+    final Properties system = new Properties();
+    system.setProperty("a", "system");
+    system.setProperty("b", "system");
+    final Properties user = new Properties();
+    user.setProperty("b", "user");
+    final Properties project = new Properties();
+    project.setProperty("a", "project");
+    project.setProperty("c", "project");
+
+    final PropertySnapshot snapshot = PropertySnapshot.of(system);
+    assertEquals("system", snapshot.find("a", user, project, "default"));
+    assertEquals("user", snapshot.find("b", user, project, "default"));
+    assertEquals("project", snapshot.find("c", user, project, "default"));
+    assertEquals("default", snapshot.find("d", user, project, "default"));
+    assertNull(snapshot.find("d", null, null, null));
+
+    project.setProperty("d", "changed");
+    assertEquals("changed", snapshot.find("d", user, project, "default"));
+  }
+
+  @Test
+  public void testActuality() {
+    final Properties system = new Properties();
+    final PropertySnapshot snapshot = PropertySnapshot.of(system);
+
+    assertTrue(snapshot.isActualFor(system));
+    assertFalse(snapshot.isActualFor(new Properties()));
+
+    system.setProperty("mvn.golang.skip", "true");
+    assertFalse(snapshot.isActualFor(system));
+    assertEquals("true",
+        PropertySnapshot.of(system).find("mvn.golang.skip", null, null, "false"));
+  }
+
+  @Test
+  public void testOverwrittenUserPropertyIsVisible() {
+    final Properties system = new Properties();
+    system.setProperty("mvn.golang.skip", "false");
+    final Properties user = new Properties();
+    user.setProperty("mvn.golang.go.version", "1.20");
+    final PropertySnapshot snapshot = PropertySnapshot.of(system);
+    assertEquals("1.20", snapshot.find("mvn.golang.go.version", user, null, null));
+
+    user.setProperty("mvn.golang.go.version", "1.21");
+    user.setProperty("mvn.golang.skip", "true");
+    assertTrue(snapshot.isActualFor(system));
+    assertEquals("1.21", snapshot.find("mvn.golang.go.version", user, null, null));
+    assertEquals("true", snapshot.find("mvn.golang.skip", user, null, null));
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Checksum;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RangedDownloaderTest {
+
+  private static final byte[] CONTENT = new byte[12 * 1024 * 1024 + 17];
+
+  private static final String CONTENT_CRC32C;
+
+  static {
+    new Random(1234L).nextBytes(CONTENT);
+    final Checksum crc = XGoogHashHeader.makeTableCrc32c();
+    crc.update(CONTENT, 0, CONTENT.length);
+    CONTENT_CRC32C = XGoogHashHeader.toCrc32cHex(crc.getValue());
+  }
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private HttpServer server;
+  private CloseableHttpClient client;
+  private final AtomicInteger brokenRangeRequests = new AtomicInteger();
+  private volatile boolean supportRanges = true;
+
+  @Before
+  public void startServer() throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.createContext("/sdk.tar.gz", exchange -> {
+      exchange.getResponseHeaders().add("Content-Type", "application/x-gzip");
+      if (this.supportRanges) {
+        exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+      }
+      exchange.getResponseHeaders().add("ETag", "\"etag1\"");
+      final String range = exchange.getRequestHeaders().getFirst("Range");
+      if ("HEAD".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().add("Content-Length", Integer.toString(CONTENT.length));
+        exchange.sendResponseHeaders(200, -1);
+      } else if (range != null && this.supportRanges) {
+        final String[] bounds = range.substring("bytes=".length()).split("-");
+        final int start = Integer.parseInt(bounds[0]);
+        final int end = Integer.parseInt(bounds[1]);
+        exchange.getResponseHeaders()
+            .add("Content-Range", "bytes " + start + '-' + end + '/' + CONTENT.length);
+        exchange.sendResponseHeaders(206, end - start + 1);
+        try (final OutputStream out = exchange.getResponseBody()) {
+          if (this.brokenRangeRequests.getAndDecrement() > 0) {
+            out.write(CONTENT, start, (end - start + 1) / 2);
+            out.flush();
+            // client must read the half before drop of connection, reset can discard it
+            try {
+              Thread.sleep(100L);
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+            exchange.close();
+            return;
+          }
+          out.write(CONTENT, start, end - start + 1);
+        }
+      } else {
+        exchange.sendResponseHeaders(200, CONTENT.length);
+        try (final OutputStream out = exchange.getResponseBody()) {
+          out.write(CONTENT);
+        }
+      }
+      exchange.close();
+    });
+    this.server.createContext("/broken.tar.gz", exchange -> {
+      exchange.getResponseHeaders().add("Content-Type", "application/x-gzip");
+      exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+      if ("HEAD".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().add("Content-Length", Integer.toString(CONTENT.length));
+        exchange.sendResponseHeaders(200, -1);
+      } else {
+        exchange.sendResponseHeaders(503, -1);
+      }
+      exchange.close();
+    });
+    this.server.start();
+    this.client = HttpClients.custom().setMaxConnPerRoute(8).build();
+  }
+
+  @After
+  public void stopServer() throws IOException {
+    this.client.close();
+    this.server.stop(0);
+  }
+
+  private String makeUrl() {
+    return makeUrl("sdk.tar.gz");
+  }
+
+  private String makeUrl(final String name) {
+    return "http://127.0.0.1:" + this.server.getAddress().getPort() + '/' + name;
+  }
+
+  private RangedDownloader makeDownloader(final int connections) {
+    return new RangedDownloader(new SystemStreamLog(), this.client,
+        RequestConfig.custom().setSocketTimeout(10000).build(), connections);
+  }
+
+  @Test
+  public void testRangedDownload() throws Exception {
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    final RangedDownloader.Result result = makeDownloader(3)
+        .download(makeUrl(), target, Collections.singletonList("application/x-gzip"), null);
+    assertEquals(3, result.getStreams());
+    assertEquals(CONTENT.length, result.getTransferredBytes());
+    assertNull(result.getMd5());
+    assertEquals(CONTENT_CRC32C, result.getCrc32c());
+    assertArrayEquals(CONTENT, Files.readAllBytes(target.toPath()));
+    assertFalse(RangedDownloader.makeRangeMapFile(target).exists());
+  }
+
+  @Test
+  public void testSingleStreamIfRangesNotSupported() throws Exception {
+    this.supportRanges = false;
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    final RangedDownloader.Result result = makeDownloader(4).download(makeUrl(), target, null, null);
+    assertEquals(1, result.getStreams());
+    assertEquals(DigestUtils.md5Hex(CONTENT), result.getMd5());
+    assertEquals(CONTENT_CRC32C, result.getCrc32c());
+    assertArrayEquals(CONTENT, Files.readAllBytes(target.toPath()));
+  }
+
+  @Test
+  public void testResumeAfterBrokenRanges() throws Exception {
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    this.brokenRangeRequests.set(100);
+    try {
+      makeDownloader(2).download(makeUrl(), target, null, null);
+      fail("Must throw IOException");
+    } catch (IOException ex) {
+      // expected
+    }
+    assertTrue(RangedDownloader.isResumable(target));
+
+    this.brokenRangeRequests.set(0);
+    final RangedDownloader.Result result = makeDownloader(2).download(makeUrl(), target, null, null);
+    assertTrue(result.getTransferredBytes() < CONTENT.length);
+    assertEquals(CONTENT_CRC32C, result.getCrc32c());
+    assertArrayEquals(CONTENT, Files.readAllBytes(target.toPath()));
+    assertFalse(RangedDownloader.isResumable(target));
+  }
+
+  @Test(expected = IOException.class)
+  public void testWrongContentType() throws Exception {
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    makeDownloader(2).download(makeUrl(), target, Collections.singletonList("text/html"), null);
+  }
+
+  @Test
+  public void testFailoverToMirror() throws Exception {
+    final File target = new File(this.tempFolder.getRoot(), "sdk.tar.gz");
+    final RangedDownloader.Result result = makeDownloader(3)
+        .download(Arrays.asList(makeUrl("broken.tar.gz"), makeUrl()), target,
+            Collections.singletonList("application/x-gzip"), null);
+    assertEquals(3, result.getStreams());
+    assertEquals(CONTENT_CRC32C, result.getCrc32c());
+    assertArrayEquals(CONTENT, Files.readAllBytes(target.toPath()));
+
+    this.supportRanges = false;
+    final File target2 = new File(this.tempFolder.getRoot(), "sdk2.tar.gz");
+    final RangedDownloader.Result result2 = makeDownloader(1)
+        .download(Arrays.asList(makeUrl("broken.tar.gz"), makeUrl()), target2,
+            Collections.singletonList("application/x-gzip"), null);
+    assertEquals(1, result2.getStreams());
+    assertArrayEquals(CONTENT, Files.readAllBytes(target2.toPath()));
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+
+
+import org.apache.maven.shared.transfer.artifact.ArtifactCoordinate;
+import org.junit.Test;
+
+public class SdkArtifactTest {
+
+  private static void assertCoordinate(final String expected, final String baseName,
+                                       final String extension) {
+    final ArtifactCoordinate coordinate =
+        SdkArtifact.makeCoordinate("org.golang", "go-sdk", baseName, extension);
+    assertEquals(expected, SdkArtifact.asString(coordinate));
+  }
+
+  @Test
+  public void testMakeCoordinate() {
+    assertCoordinate("org.golang:go-sdk:tar.gz:linux-amd64:1.20.1", "go1.20.1.linux-amd64",
+        null);
+    assertCoordinate("org.golang:go-sdk:zip:windows-386:1.21rc2", "go1.21rc2.windows-386",
+        null);
+    assertCoordinate("org.golang:go-sdk:tar.gz:darwin-amd64-osx10.8:1.9",
+        "go1.9.darwin-amd64-osx10.8", null);
+    assertCoordinate("org.golang:go-sdk:zip:linux-arm64:1.20", "go1.20.linux-arm64", "zip");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMakeCoordinate_WrongName() {
+    SdkArtifact.makeCoordinate("org.golang", "go-sdk", "go1.20", null);
+  }
+}
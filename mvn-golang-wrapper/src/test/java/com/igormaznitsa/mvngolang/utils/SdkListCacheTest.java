@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.File;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SdkListCacheTest {
+
+  private static final String SITE = "https://storage.googleapis.com/golang/";
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testPutAndFind() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final SdkListCache cache = new SdkListCache(store, 60_000L);
+    assertNull(cache.find(SITE, "go1.19.linux-amd64"));
+
+    cache.put(SITE, "go1.19.linux-amd64", "go1.19.linux-amd64.tar.gz", "\"abc\"");
+    cache.put(SITE, "go1.19.windows-amd64", "go1.19.windows-amd64.zip", null);
+
+    final SdkListCache.Entry entry =
+        new SdkListCache(store, 60_000L).find(SITE, "go1.19.linux-amd64");
+    assertNotNull(entry);
+    assertEquals("go1.19.linux-amd64.tar.gz", entry.getArchiveKey());
+    assertEquals("\"abc\"", entry.getETag());
+    assertTrue(cache.isFresh(entry));
+
+    final SdkListCache.Entry noEtag = cache.find(SITE, "go1.19.windows-amd64");
+    assertNotNull(noEtag);
+    assertNull(noEtag.getETag());
+    assertNull(cache.find("http://localhost/", "go1.19.linux-amd64"));
+  }
+
+  @Test
+  public void testExpired() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final SdkListCache cache = new SdkListCache(store, 0L);
+    cache.put(SITE, "go1.19.linux-amd64", "go1.19.linux-amd64.tar.gz", "\"abc\"");
+    final SdkListCache.Entry entry = cache.find(SITE, "go1.19.linux-amd64");
+    assertNotNull(entry);
+    assertFalse(cache.isFresh(entry));
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SdkManifestTest {
+
+  private static final String[] FILES = {
+      "go/bin/go", "binary",
+      "go/src/fmt/print.go", "package fmt",
+      "go/src/fmt/scan.go", "package fmt // scan",
+      "go/VERSION", "go1.20"
+  };
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private File makeArchive() throws IOException {
+    final File archive = new File(this.tempFolder.getRoot(), "go1.20.linux-amd64.tar.gz");
+    try (final TarArchiveOutputStream tar = new TarArchiveOutputStream(
+        new GZIPOutputStream(new FileOutputStream(archive)))) {
+      for (int i = 0; i < FILES.length; i += 2) {
+        final byte[] data = FILES[i + 1].getBytes(StandardCharsets.UTF_8);
+        final TarArchiveEntry entry = new TarArchiveEntry(FILES[i]);
+        entry.setSize(data.length);
+        entry.setMode(FILES[i].contains("/bin/") ? 0755 : 0644);
+        tar.putArchiveEntry(entry);
+        tar.write(data);
+        tar.closeArchiveEntry();
+      }
+    }
+    return archive;
+  }
+
+  private File makeSdk(final File archive) throws IOException {
+    final File sdk = new File(this.tempFolder.getRoot(), "go1.20.linux-amd64");
+    UnpackUtils.unpackFileToFolder(new SystemStreamLog(), "go", archive, sdk, true);
+    SdkManifest.make(sdk, 2).save(sdk);
+    return sdk;
+  }
+
+  @Test
+  public void testSaveLoadAndVerify() throws Exception {
+    final File sdk = makeSdk(makeArchive());
+    final SdkManifest manifest = SdkManifest.load(sdk);
+    assertNotNull(manifest);
+    assertEquals(4, manifest.getFileCount());
+    assertEquals(6 + 11 + 19 + 6, manifest.getTotalBytes());
+    assertTrue(manifest.verifyFast(sdk).isEmpty());
+    assertTrue(manifest.verifyFull(sdk, 3).isEmpty());
+
+    FileUtils.write(new File(sdk, "extra.txt"), "extra", StandardCharsets.UTF_8);
+    assertTrue(manifest.verifyFast(sdk).isEmpty());
+
+    FileUtils.write(new File(sdk, "src/fmt/print.go"), "package fnt", StandardCharsets.UTF_8);
+    assertTrue(manifest.verifyFast(sdk).isEmpty());
+    assertEquals(Collections.singletonList("src/fmt/print.go"), manifest.verifyFull(sdk, 3));
+
+    Files.delete(new File(sdk, "VERSION").toPath());
+    FileUtils.write(new File(sdk, "bin/go"), "bin", StandardCharsets.UTF_8);
+    assertEquals(Arrays.asList("VERSION", "bin/go"), manifest.verifyFast(sdk));
+  }
+
+  @Test
+  public void testLoadBroken() throws Exception {
+    final File sdk = makeSdk(makeArchive());
+    final File file = new File(sdk, SdkManifest.FILE_NAME);
+    final String text = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+    FileUtils.write(file, text.replace("files=4", "files=5"), StandardCharsets.UTF_8);
+    assertNull(SdkManifest.load(sdk));
+    assertNull(SdkManifest.load(this.tempFolder.newFolder("empty")));
+  }
+
+  @Test
+  public void testRepair() throws Exception {
+    final File archive = makeArchive();
+    final File sdk = makeSdk(archive);
+    final SdkManifest manifest = SdkManifest.load(sdk);
+    assertNotNull(manifest);
+
+    FileUtils.write(new File(sdk, "src/fmt/scan.go"), "broken", StandardCharsets.UTF_8);
+    Files.delete(new File(sdk, "bin/go").toPath());
+    final long untouched = new File(sdk, "VERSION").lastModified();
+
+    assertEquals(Arrays.asList("bin/go", "src/fmt/scan.go"), manifest.verifyFull(sdk, 2));
+    assertEquals(2, SdkManifest.repair(new SystemStreamLog(), sdk,
+        manifest.verifyFull(sdk, 2), archive));
+    assertTrue(manifest.verifyFull(sdk, 2).isEmpty());
+    assertTrue(new File(sdk, "bin/go").canExecute());
+    assertEquals(untouched, new File(sdk, "VERSION").lastModified());
+    assertFalse(new File(sdk.getParentFile(), ".#repair-" + sdk.getName()).exists());
+  }
+
+  @Test
+  public void testVerificationMarker() throws Exception {
+    final File sdk = makeSdk(makeArchive());
+    assertEquals(0L, SdkManifest.findLastFullVerification(sdk));
+    SdkManifest.markFullVerification(sdk);
+    assertTrue(SdkManifest.findLastFullVerification(sdk) > 0L);
+    assertTrue(SdkManifest.load(sdk).verifyFast(sdk).isEmpty());
+  }
+}
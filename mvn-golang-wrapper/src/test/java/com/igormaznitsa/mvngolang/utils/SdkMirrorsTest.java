@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SdkMirrorsTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testParse() {
+    assertEquals(Arrays.asList("http://a/", "http://b/"),
+        SdkMirrors.parse(" http://a/,\n  http://b/ ; http://a/ "));
+    assertEquals(Collections.singletonList("http://a/"), SdkMirrors.parse("http://a/"));
+    assertTrue(SdkMirrors.parse(null).isEmpty());
+  }
+
+  @Test
+  public void testOrderByScore() throws Exception {
+    final SdkMirrors mirrors = new SdkMirrors(new SystemStreamLog(), this.tempFolder.getRoot());
+    final List<String> all = Arrays.asList("http://a/", "http://b/", "http://c/");
+    assertEquals(all, mirrors.order(all));
+
+    mirrors.register(Collections.singletonMap("http://a/", 300L),
+        Collections.singletonList("http://b/"));
+    mirrors.register(Collections.singletonMap("http://c/", 100L), Collections.emptyList());
+    assertEquals(Arrays.asList("http://c/", "http://a/", "http://b/"), mirrors.order(all));
+    assertTrue(mirrors.getFile().isFile());
+
+    final SdkMirrors reloaded = new SdkMirrors(new SystemStreamLog(), this.tempFolder.getRoot());
+    assertEquals(300L, reloaded.getScore("http://a/"));
+    mirrors.register(Collections.singletonMap("http://a/", 0L), Collections.emptyList());
+    assertEquals(210L, reloaded.getScore("http://a/"));
+  }
+
+  @Test
+  public void testRace() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    try (final StoreServer server = StoreServer.start(new SystemStreamLog(), store, "127.0.0.1",
+        0, 2);
+         final CloseableHttpClient client = HttpClients.createDefault()) {
+      final String dead = "http://127.0.0.1:1/";
+      final String alive = "http://127.0.0.1:" + server.getPort() + '/';
+      final SdkMirrors mirrors = new SdkMirrors(new SystemStreamLog(), store);
+      final List<String> result = mirrors.race(client,
+          RequestConfig.custom().setConnectTimeout(2000).setSocketTimeout(2000).build(),
+          Arrays.asList(dead, alive), "?prefix=go1.20", 5000L);
+      assertEquals(Arrays.asList(alive, dead), result);
+      assertTrue(mirrors.getScore(dead) > mirrors.getScore(alive));
+    }
+  }
+}
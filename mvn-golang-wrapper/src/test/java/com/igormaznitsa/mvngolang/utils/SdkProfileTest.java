@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+import org.junit.Test;
+
+public class SdkProfileTest {
+
+  @Test
+  public void testFindForId() {
+    assertSame(SdkProfile.FULL, SdkProfile.findForId("full"));
+    assertSame(SdkProfile.BUILD, SdkProfile.findForId(" Build "));
+    assertSame(SdkProfile.MINIMAL, SdkProfile.findForId("MINIMAL"));
+    assertNull(SdkProfile.findForId("slim"));
+    assertNull(SdkProfile.findForId(null));
+  }
+
+  @Test
+  public void testFolderName() {
+    assertEquals("go1.19.linux-amd64", SdkProfile.FULL.makeFolderName("go1.19.linux-amd64"));
+    assertEquals("go1.19.linux-amd64_build",
+        SdkProfile.BUILD.makeFolderName("go1.19.linux-amd64"));
+  }
+
+  @Test
+  public void testFilters() {
+    assertTrue(SdkProfile.FULL.test("test/fixedbugs/bug1.go"));
+
+    assertTrue(SdkProfile.BUILD.test("bin/go"));
+    assertTrue(SdkProfile.BUILD.test("src/fmt/print.go"));
+    assertTrue(SdkProfile.BUILD.test("pkg/tool/linux_amd64/pprof"));
+    assertTrue(SdkProfile.BUILD.test("lib/time/zoneinfo.zip"));
+    assertFalse(SdkProfile.BUILD.test("src/fmt/print_test.go"));
+    assertFalse(SdkProfile.BUILD.test("src/image/testdata/video-001.png"));
+    assertFalse(SdkProfile.BUILD.test("src/cmd/go/main.go"));
+    assertFalse(SdkProfile.BUILD.test("test/fixedbugs/bug1.go"));
+    assertFalse(SdkProfile.BUILD.test("doc/go_spec.html"));
+    assertFalse(SdkProfile.BUILD.test("api/go1.txt"));
+    assertFalse(SdkProfile.BUILD.test("misc/wasm/wasm_exec.js"));
+
+    assertTrue(SdkProfile.MINIMAL.test("pkg/tool/linux_amd64/compile"));
+    assertTrue(SdkProfile.MINIMAL.test("pkg/tool/linux_amd64/covdata"));
+    assertTrue(SdkProfile.MINIMAL.test("pkg/tool/windows_amd64/link.exe"));
+    assertTrue(SdkProfile.MINIMAL.test("pkg/include/textflag.h"));
+    assertFalse(SdkProfile.MINIMAL.test("pkg/tool/linux_amd64/pprof"));
+    assertFalse(SdkProfile.MINIMAL.test("pkg/linux_amd64_race/fmt.a"));
+    assertFalse(SdkProfile.MINIMAL.test("src/fmt/print_test.go"));
+  }
+}
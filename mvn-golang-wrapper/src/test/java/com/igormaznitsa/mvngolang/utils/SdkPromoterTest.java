@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SdkPromoterTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testPromote() throws Exception {
+    final File local = this.tempFolder.newFolder("local");
+    final File shared = new File(this.tempFolder.getRoot(), "shared");
+    final File sdk = new File(local, "go1.20.linux-amd64");
+    FileUtils.write(new File(sdk, "bin/go"), "binary", StandardCharsets.UTF_8);
+    FileUtils.write(new File(sdk, "src/fmt/print.go"), "package fmt", StandardCharsets.UTF_8);
+    assertTrue(new File(sdk, "bin/go").setExecutable(true));
+    SdkManifest.make(sdk, 2).save(sdk);
+    SdkManifest.markFullVerification(sdk);
+
+    assertTrue(SdkPromoter.promote(new SystemStreamLog(), sdk, shared));
+    final File promoted = new File(shared, sdk.getName());
+    assertEquals("package fmt",
+        FileUtils.readFileToString(new File(promoted, "src/fmt/print.go"), StandardCharsets.UTF_8));
+    assertTrue(new File(promoted, "bin/go").canExecute());
+    assertFalse(new File(promoted, SdkManifest.VERIFIED_MARKER).exists());
+    final SdkManifest manifest = SdkManifest.load(promoted);
+    assertNotNull(manifest);
+    assertTrue(manifest.verifyFull(promoted, 2).isEmpty());
+    assertArrayEquals(new String[] {sdk.getName()}, shared.list());
+
+    FileUtils.write(new File(sdk, "VERSION"), "go1.20", StandardCharsets.UTF_8);
+    assertFalse(SdkPromoter.promote(new SystemStreamLog(), sdk, shared));
+    assertFalse(new File(promoted, "VERSION").exists());
+  }
+}
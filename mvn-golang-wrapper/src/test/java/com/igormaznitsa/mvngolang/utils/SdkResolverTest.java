@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SdkResolverTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testExistingSdkDoesntCallLoader() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    assertTrue(new File(store, "go1.19.linux-amd64").mkdirs());
+    final File result = SdkResolver.resolve(store, "go1.19.linux-amd64", folder -> {
+      fail("Must not be called");
+      return folder;
+    });
+    assertEquals(new File(store, "go1.19.linux-amd64"), result);
+  }
+
+  @Test
+  public void testMissingSdkIsLoadedOnceAndReloadedAfterDelete() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final AtomicInteger counter = new AtomicInteger();
+    final SdkResolver.Loader loader = folder -> {
+      counter.incrementAndGet();
+      assertTrue(folder.mkdirs());
+      return folder;
+    };
+    final File first = SdkResolver.resolve(store, "go1.20.linux-amd64", loader);
+    SdkResolver.resolve(store, "go1.20.linux-amd64", loader);
+    assertEquals(1, counter.get());
+
+    assertTrue(first.delete());
+    SdkResolver.resolve(store, "go1.20.linux-amd64", loader);
+    assertEquals(2, counter.get());
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedHttpClientsTest {
+
+  @Before
+  @After
+  public void reset() {
+    SharedHttpClients.closeAll();
+  }
+
+  @Test
+  public void testClientsAreSharedBySettings() throws Exception {
+    final CloseableHttpClient client1 =
+        SharedHttpClients.find(new SystemStreamLog(), null, false, 1);
+    final CloseableHttpClient client2 =
+        SharedHttpClients.find(new SystemStreamLog(), null, false, 4);
+    final CloseableHttpClient client3 =
+        SharedHttpClients.find(new SystemStreamLog(), null, true, 1);
+
+    final ProxySettings proxy = new ProxySettings();
+    proxy.host = "localhost";
+    proxy.port = 3128;
+    proxy.protocol = "http";
+    final CloseableHttpClient client4 =
+        SharedHttpClients.find(new SystemStreamLog(), proxy, false, 1);
+
+    assertSame(client1, client2);
+    assertNotSame(client1, client3);
+    assertNotSame(client1, client4);
+    assertEquals(3, SharedHttpClients.size());
+
+    final PoolStats stats = SharedHttpClients.getTotalStats();
+    assertEquals(0, stats.getLeased());
+    assertEquals((4 * 2 + 2) + (1 * 2 + 2) * 2, stats.getMax());
+  }
+
+  @Test
+  public void testConnectionIsReused() throws Exception {
+    final Set<Object> connections = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", exchange -> {
+      connections.add(exchange.getRemoteAddress());
+      final byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+      exchange.close();
+    });
+    server.start();
+    try {
+      final String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/test";
+      for (int i = 0; i < 3; i++) {
+        final CloseableHttpClient client =
+            SharedHttpClients.find(new SystemStreamLog(), null, false, 2);
+        final HttpResponse response = client.execute(new HttpGet(url));
+        assertEquals(200, response.getStatusLine().getStatusCode());
+        EntityUtils.consume(response.getEntity());
+      }
+      assertEquals(1, connections.size());
+      final PoolStats stats = SharedHttpClients.getTotalStats();
+      assertEquals(0, stats.getLeased());
+      assertTrue(stats.getAvailable() >= 1);
+    } finally {
+      server.stop(0);
+    }
+  }
+}
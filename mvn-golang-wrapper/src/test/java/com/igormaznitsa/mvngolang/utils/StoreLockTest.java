@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SuppressWarnings("try")
+public class StoreLockTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testLockAndRelease() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final File ownerFile;
+    try (final StoreLock lock = StoreLock.lock(new SystemStreamLog(), store, "go1.19", 0L)) {
+      assertTrue(lock.getLockFile().isFile());
+      ownerFile = new File(lock.getLockFile().getParentFile(),
+          lock.getLockFile().getName() + ".owner");
+      assertTrue(ownerFile.isFile());
+    }
+    assertFalse(ownerFile.exists());
+  }
+
+  @Test
+  public void testWaiterIsWokenAfterRelease() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final CountDownLatch started = new CountDownLatch(1);
+      final Future<Long> waiter;
+      try (final StoreLock lock = StoreLock.lock(new SystemStreamLog(), store, "go1.19", 0L)) {
+        waiter = executor.submit(() -> {
+          started.countDown();
+          final long start = System.currentTimeMillis();
+          try (final StoreLock other =
+                   StoreLock.lock(new SystemStreamLog(), store, "go1.19", 10000L)) {
+            return System.currentTimeMillis() - start;
+          }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(300L);
+        assertFalse(waiter.isDone());
+      }
+      assertTrue(waiter.get(5, TimeUnit.SECONDS) >= 250L);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testDifferentNamesDontBlock() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    try (final StoreLock lock1 = StoreLock.lock(new SystemStreamLog(), store, "go1.19", 0L);
+         final StoreLock lock2 = StoreLock.lock(new SystemStreamLog(), store, "go1.20", 100L)) {
+      assertEquals(lock1.getLockFile().getParentFile(), lock2.getLockFile().getParentFile());
+    }
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (final StoreLock lock = StoreLock.lock(new SystemStreamLog(), store, "go1.19", 0L)) {
+      final Future<?> result = executor.submit(() -> {
+        try (final StoreLock other =
+                 StoreLock.lock(new SystemStreamLog(), store, "go1.19", 200L)) {
+          fail("Must not be acquired");
+        }
+        return null;
+      });
+      try {
+        result.get(5, TimeUnit.SECONDS);
+        fail("Must throw timeout");
+      } catch (java.util.concurrent.ExecutionException ex) {
+        assertTrue(ex.getCause() instanceof IOException);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void writeOwner(final File ownerFile, final String host, final long heartbeat)
+      throws IOException {
+    assertTrue(ownerFile.getParentFile().isDirectory() || ownerFile.getParentFile().mkdirs());
+    Files.write(ownerFile.toPath(), ("pid=12345\nhost=" + host + "\nheartbeat=" + heartbeat
+        + '\n').getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  public void testStaleOwnerIsTakenOverOnce() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final File lockFile = StoreLock.makeLockFile(store, "go1.20");
+    final File ownerFile = new File(lockFile.getParentFile(), lockFile.getName() + ".owner");
+    writeOwner(ownerFile, "other-host.invalid", 0L);
+
+    final int waiters = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(waiters);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < waiters; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return StoreLock.takeOverOwner(ownerFile);
+        }));
+      }
+      start.countDown();
+      int taken = 0;
+      for (final Future<Boolean> result : results) {
+        if (result.get(5, TimeUnit.SECONDS)) {
+          taken++;
+        }
+      }
+      assertEquals(1, taken);
+      assertFalse(ownerFile.exists());
+      final File[] files = lockFile.getParentFile().listFiles();
+      assertEquals(0, files == null ? 0 : files.length);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testAliveOwnerIsNotTakenOver() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final File lockFile = StoreLock.makeLockFile(store, "go1.21");
+    final File ownerFile = new File(lockFile.getParentFile(), lockFile.getName() + ".owner");
+    writeOwner(ownerFile, "other-host.invalid", System.currentTimeMillis());
+
+    assertFalse(StoreLock.takeOverOwner(ownerFile));
+    assertTrue(ownerFile.isFile());
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StoreServerTest {
+
+  private static final byte[] CONTENT = new byte[12 * 1024 * 1024 + 5];
+
+  static {
+    new Random(777L).nextBytes(CONTENT);
+  }
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private StoreServer server;
+  private CloseableHttpClient client;
+  private File store;
+
+  @Before
+  public void startServer() throws Exception {
+    this.store = this.tempFolder.newFolder("store");
+    Files.write(new File(this.store, "go1.20.linux-amd64.tar.gz").toPath(), CONTENT);
+    Files.write(new File(this.store, "go1.20.windows-amd64.zip").toPath(), new byte[] {1, 2});
+    final File partial = new File(this.store, "go1.21.linux-amd64.tar.gz");
+    Files.write(partial.toPath(), new byte[] {1});
+    Files.write(RangedDownloader.makeRangeMapFile(partial).toPath(), new byte[0]);
+    Files.write(new File(this.store, "other.txt").toPath(), new byte[] {1});
+
+    this.server = StoreServer.start(new SystemStreamLog(), this.store, "127.0.0.1", 0, 4);
+    this.client = HttpClients.custom().setMaxConnPerRoute(8).build();
+  }
+
+  @After
+  public void stopServer() throws Exception {
+    this.client.close();
+    this.server.close();
+  }
+
+  private String makeUrl(final String path) {
+    return "http://127.0.0.1:" + this.server.getPort() + '/' + path;
+  }
+
+  @Test
+  public void testList() throws Exception {
+    final HttpGet get = new HttpGet(makeUrl("?prefix=go1.2"));
+    final HttpResponse response = this.client.execute(get);
+    assertEquals(200, response.getStatusLine().getStatusCode());
+    final String etag = response.getFirstHeader("ETag").getValue();
+    final List<String> listed = new ArrayList<>();
+    try (final InputStream in = response.getEntity().getContent()) {
+      assertNull(BucketListParser.findFirstKey(in, Collections.singleton("unknown"), listed));
+    }
+    assertEquals(Arrays.asList("go1.20.linux-amd64.tar.gz", "go1.20.windows-amd64.zip"), listed);
+
+    final HttpGet notModified = new HttpGet(makeUrl("?prefix=go1.2"));
+    notModified.addHeader("If-None-Match", etag);
+    final HttpResponse notModifiedResponse = this.client.execute(notModified);
+    assertEquals(304, notModifiedResponse.getStatusLine().getStatusCode());
+    EntityUtils.consumeQuietly(notModifiedResponse.getEntity());
+
+    final HttpResponse filtered = this.client.execute(new HttpGet(makeUrl("?prefix=go1.20.w")));
+    try (final InputStream in = filtered.getEntity().getContent()) {
+      assertEquals("go1.20.windows-amd64.zip", BucketListParser.findFirstKey(in,
+          Collections.singleton("go1.20.windows-amd64.zip"), null));
+    }
+  }
+
+  @Test
+  public void testNotFound() throws Exception {
+    for (final String path : new String[] {"go1.21.linux-amd64.tar.gz", "other.txt",
+        "..%2Fgo1.20.linux-amd64.tar.gz", "go1.22.linux-amd64.tar.gz"}) {
+      final HttpResponse response = this.client.execute(new HttpGet(makeUrl(path)));
+      assertEquals(path, 404, response.getStatusLine().getStatusCode());
+      EntityUtils.consumeQuietly(response.getEntity());
+    }
+  }
+
+  @Test
+  public void testRangedDownloadWithHash() throws Exception {
+    final File target = new File(this.tempFolder.getRoot(), "loaded.tar.gz");
+    final RangedDownloader.Result result = new RangedDownloader(new SystemStreamLog(),
+        this.client, RequestConfig.custom().setSocketTimeout(10000).build(), 3)
+        .download(makeUrl("go1.20.linux-amd64.tar.gz"), target,
+            Collections.singletonList("application/x-gzip"), null);
+    assertEquals(3, result.getStreams());
+    assertArrayEquals(CONTENT, Files.readAllBytes(target.toPath()));
+
+    final XGoogHashHeader hash = new XGoogHashHeader(result.getHashHeaders());
+    assertTrue(hash.hasMd5());
+    assertTrue(hash.hasCrc32c());
+    assertTrue(hash.isDigestOk(new SystemStreamLog(), null, result.getCrc32c()));
+    assertTrue(hash.isFileOk(new SystemStreamLog(), target));
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.Closeable;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StoreUsageTest {
+
+  private static final long HOUR = 3600_000L;
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private File makeSdk(final File store, final String name, final int size, final long lastUse)
+      throws Exception {
+    final File sdk = new File(store, name);
+    assertTrue(new File(sdk, "bin").mkdirs());
+    Files.write(new File(sdk, "bin/go").toPath(), new byte[size]);
+    StoreUsage.touch(store, name);
+    Files.setLastModifiedTime(new File(new File(store, StoreUsage.USAGE_FOLDER), name).toPath(),
+        FileTime.fromMillis(lastUse));
+    return sdk;
+  }
+
+  @Test
+  public void testTouch() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final File sdk = new File(store, "go1.20.linux-amd64");
+    assertTrue(sdk.mkdirs());
+    assertTrue(sdk.setLastModified(1000L));
+    assertEquals(1000L, StoreUsage.findLastUse(store, sdk));
+
+    final long before = System.currentTimeMillis() - 1000L;
+    StoreUsage.touch(store, sdk.getName());
+    assertTrue(StoreUsage.findLastUse(store, sdk) >= before);
+  }
+
+  @Test
+  public void testEvictBySize() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final long now = System.currentTimeMillis();
+    final File oldest = makeSdk(store, "go1.18.linux-amd64", 1000, now - 5 * HOUR);
+    final File old = makeSdk(store, "go1.19.linux-amd64_build", 1000, now - 4 * HOUR);
+    final File inUse = makeSdk(store, "go1.20.linux-amd64", 1000, now - 10_000L);
+    final File current = makeSdk(store, "go1.21.linux-amd64", 1000, now - 3 * HOUR);
+    final File archive = new File(store, "go1.18.linux-amd64.tar.gz");
+    Files.write(archive.toPath(), new byte[10]);
+    assertTrue(archive.setLastModified(now - 6 * HOUR));
+    final File other = new File(store, ".go_path");
+    assertTrue(other.mkdirs());
+
+    assertEquals(3, StoreUsage.evict(new SystemStreamLog(), store, 1500L, 0L,
+        Collections.singleton(current.getName())));
+
+    assertFalse(archive.exists());
+    assertFalse(oldest.exists());
+    assertFalse(old.exists());
+    assertTrue(inUse.isDirectory());
+    assertTrue(current.isDirectory());
+    assertTrue(other.isDirectory());
+    assertFalse(new File(new File(store, StoreUsage.USAGE_FOLDER), oldest.getName()).exists());
+  }
+
+  @Test
+  public void testEvictByAge() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final long now = System.currentTimeMillis();
+    final File expired = makeSdk(store, "go1.18.linux-amd64", 10, now - 50 * HOUR);
+    final File fresh = makeSdk(store, "go1.19.linux-amd64", 10, now - 2 * HOUR);
+
+    assertEquals(1, StoreUsage.evict(new SystemStreamLog(), store, 0L, 24 * HOUR,
+        Collections.emptySet()));
+    assertFalse(expired.exists());
+    assertTrue(fresh.isDirectory());
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  public void testLockedSdkIsNotEvicted() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final File sdk = makeSdk(store, "go1.18.linux-amd64_minimal", 10,
+        System.currentTimeMillis() - 50 * HOUR);
+    final AtomicInteger evicted = new AtomicInteger(-1);
+    try (final StoreLock lock = StoreLock.lock(new SystemStreamLog(), store,
+        "go1.18.linux-amd64", 0L)) {
+      final Thread thread = new Thread(() -> {
+        try {
+          evicted.set(StoreUsage.evict(new SystemStreamLog(), store, 0L, HOUR,
+              Collections.emptySet()));
+        } catch (Exception ex) {
+          throw new RuntimeException(ex);
+        }
+      });
+      thread.start();
+      thread.join();
+    }
+    assertEquals(0, evicted.get());
+    assertTrue(sdk.isDirectory());
+  }
+
+  @Test
+  public void testUsedSdkIsNotEvicted() throws Exception {
+    final File store = this.tempFolder.newFolder("store");
+    final File sdk = makeSdk(store, "go1.18.linux-amd64", 10,
+        System.currentTimeMillis() - 50 * HOUR);
+    final Closeable use = StoreUsage.use(store, sdk.getName());
+    final Closeable second = StoreUsage.use(store, sdk.getName());
+    assertNull(StoreUsage.lockUnused(store, sdk.getName()));
+    assertEquals(0, StoreUsage.evict(new SystemStreamLog(), store, 0L, HOUR,
+        Collections.emptySet()));
+    assertTrue(sdk.isDirectory());
+
+    use.close();
+    use.close();
+    assertNull(StoreUsage.lockUnused(store, sdk.getName()));
+    second.close();
+
+    final Closeable unused = StoreUsage.lockUnused(store, sdk.getName());
+    assertNotNull(unused);
+    unused.close();
+    assertEquals(1, StoreUsage.evict(new SystemStreamLog(), store, 0L, HOUR,
+        Collections.emptySet()));
+    assertFalse(sdk.exists());
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StreamingLineCaptureTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testLinesAreSplitAcrossWrites() throws Exception {
+    final List<String> lines = new ArrayList<>();
+    final StreamingLineCapture capture =
+        new StreamingLineCapture(StandardCharsets.UTF_8, 4096, this.tempFolder.getRoot());
+    capture.addListener(lines::add);
+
+    assertTrue(capture.isEmpty());
+    capture.write("first\nsec".getBytes(StandardCharsets.UTF_8));
+    capture.write("ond\n\nthi".getBytes(StandardCharsets.UTF_8));
+    capture.write('r');
+    capture.write('d');
+    assertEquals(Arrays.asList("first", "second", ""), lines);
+
+    capture.close();
+    assertEquals(Arrays.asList("first", "second", "", "third"), lines);
+    assertEquals("first\nsecond\n\nthird\n", capture.getText());
+    assertEquals(4, capture.getLineCount());
+    assertFalse(capture.isSpilled());
+
+    final List<String> read = new ArrayList<>();
+    capture.forEachLine(read::add);
+    assertEquals(lines, read);
+  }
+
+  @Test
+  public void testBigOutputIsSpilledAndReportIsWritten() throws Exception {
+    final File report = new File(this.tempFolder.getRoot(), "out.log");
+    final StreamingLineCapture capture =
+        new StreamingLineCapture(StandardCharsets.UTF_8, 1024, this.tempFolder.getRoot());
+    capture.setReportFile(report);
+
+    final StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      final String line = "line number " + i;
+      expected.append(line).append('\n');
+      capture.write((line + '\n').getBytes(StandardCharsets.UTF_8));
+    }
+    capture.close();
+
+    assertTrue(capture.isSpilled());
+    assertEquals(2000, capture.getLineCount());
+    assertEquals(expected.toString(), FileUtils.readFileToString(report, StandardCharsets.UTF_8));
+
+    final String text = capture.getText();
+    assertTrue(text.length() < 2048);
+    assertTrue(text.startsWith("... "));
+    assertTrue(text.endsWith("line number 1999\n"));
+
+    final List<String> read = new ArrayList<>();
+    capture.forEachLine(read::add);
+    assertEquals(2000, read.size());
+    assertEquals("line number 0", read.get(0));
+    assertEquals("line number 1999", read.get(1999));
+
+    capture.dispose();
+    final File[] spillFiles =
+        this.tempFolder.getRoot().listFiles((dir, name) -> name.startsWith(".mvn-golang-out"));
+    assertEquals(0, spillFiles == null ? 0 : spillFiles.length);
+  }
+
+  @Test
+  public void testEmptyReportIsCreated() throws Exception {
+    final File report = new File(this.tempFolder.getRoot(), "err.log");
+    final StreamingLineCapture capture =
+        new StreamingLineCapture(StandardCharsets.UTF_8, 4096, this.tempFolder.getRoot());
+    capture.setReportFile(report);
+    capture.close();
+    assertTrue(report.isFile());
+    assertEquals(0L, report.length());
+  }
+
+  @Test
+  public void testAsyncSinkForwardsAllLines() throws Exception {
+    final List<String> forwarded = Collections.synchronizedList(new ArrayList<>());
+    final AsyncLineSink sink = new AsyncLineSink("test-sink", forwarded::add);
+    final StreamingLineCapture capture =
+        new StreamingLineCapture(StandardCharsets.UTF_8, 4096, this.tempFolder.getRoot());
+    capture.addListener(sink);
+    for (int i = 0; i < 10000; i++) {
+      capture.write(("l" + i + '\n').getBytes(StandardCharsets.UTF_8));
+    }
+    capture.close();
+    sink.close();
+    assertEquals(10000, forwarded.size());
+    assertEquals("l9999", forwarded.get(9999));
+  }
+}
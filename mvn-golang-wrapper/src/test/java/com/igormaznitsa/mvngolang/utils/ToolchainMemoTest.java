@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ToolchainMemoTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Before
+  @After
+  public void reset() {
+    ToolchainMemo.reset();
+  }
+
+  @Test
+  public void testValueIsResolvedOncePerSession() throws Exception {
+    final AtomicInteger calls = new AtomicInteger();
+    final File folder = this.tempFolder.newFolder("go");
+
+    final File first = ToolchainMemo.resolve("s1", "goroot|a", File::isDirectory, () -> {
+      calls.incrementAndGet();
+      return folder;
+    });
+    final File second = ToolchainMemo.resolve("s1", "goroot|a", File::isDirectory, () -> {
+      calls.incrementAndGet();
+      return new File("other");
+    });
+    assertSame(first, second);
+    assertEquals(1, calls.get());
+
+    ToolchainMemo.resolve("s1", "goroot|b", File::isDirectory, () -> {
+      calls.incrementAndGet();
+      return folder;
+    });
+    assertEquals(2, calls.get());
+
+    ToolchainMemo.resolve("s2", "goroot|a", File::isDirectory, () -> {
+      calls.incrementAndGet();
+      return folder;
+    });
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void testInvalidValueIsResolvedAgain() throws Exception {
+    final AtomicInteger calls = new AtomicInteger();
+    final File folder = this.tempFolder.newFolder("go");
+    final ToolchainMemo.Resolver<File> resolver = () -> {
+      calls.incrementAndGet();
+      return folder;
+    };
+
+    ToolchainMemo.resolve("s1", "goroot", File::isDirectory, resolver);
+    ToolchainMemo.resolve("s1", "goroot", File::isDirectory, resolver);
+    assertEquals(1, calls.get());
+
+    if (!folder.delete()) {
+      fail("Can't delete folder");
+    }
+    ToolchainMemo.resolve("s1", "goroot", File::isDirectory, resolver);
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void testErrorIsNotMemorized() throws Exception {
+    try {
+      ToolchainMemo.resolve("s1", "exe", x -> true, () -> {
+        throw new IOException("not found");
+      });
+      fail("Must throw exception");
+    } catch (IOException ex) {
+      assertEquals("not found", ex.getMessage());
+    }
+    assertEquals("found", ToolchainMemo.resolve("s1", "exe", x -> true, () -> "found"));
+  }
+}
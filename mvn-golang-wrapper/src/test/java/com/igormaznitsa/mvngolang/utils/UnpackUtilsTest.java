@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class UnpackUtilsTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static byte[] makeTarGz(final String... pathAndContent) throws IOException {
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (final TarArchiveOutputStream tar = new TarArchiveOutputStream(
+        new GZIPOutputStream(buffer))) {
+      for (int i = 0; i < pathAndContent.length; i += 2) {
+        final byte[] data = pathAndContent[i + 1].getBytes(StandardCharsets.UTF_8);
+        final TarArchiveEntry entry = new TarArchiveEntry(pathAndContent[i]);
+        entry.setSize(data.length);
+        entry.setMode(pathAndContent[i].contains("/bin/") ? 0755 : 0644);
+        tar.putArchiveEntry(entry);
+        tar.write(data);
+        tar.closeArchiveEntry();
+      }
+    }
+    return buffer.toByteArray();
+  }
+
+  @Test
+  public void testUnpackTarGzStream() throws Exception {
+    final byte[] archive =
+        makeTarGz("go/bin/go", "binary", "go/src/fmt/print.go", "package fmt", "other/file.txt",
+            "ignored");
+    final File target = this.tempFolder.newFolder("sdk");
+
+    try (final HashingInputStream in = new HashingInputStream(new ByteArrayInputStream(archive))) {
+      assertEquals(2,
+          UnpackUtils.unpackTarGzStreamToFolder(new SystemStreamLog(), "go", in, target, true,
+              null, null));
+      in.drain();
+      assertEquals(archive.length, in.getCounter());
+      assertEquals(DigestUtils.md5Hex(archive), in.getMd5Hex());
+    }
+
+    assertEquals("binary",
+        FileUtils.readFileToString(new File(target, "bin/go"), StandardCharsets.UTF_8));
+    assertEquals("package fmt",
+        FileUtils.readFileToString(new File(target, "src/fmt/print.go"), StandardCharsets.UTF_8));
+    assertTrue(new File(target, "bin/go").canExecute());
+    assertFalse(new File(target, "src/fmt/print.go").canExecute());
+    assertFalse(new File(target, "other").exists());
+  }
+
+  @Test
+  public void testUnpackZipInParallel() throws Exception {
+    final File archive = new File(this.tempFolder.getRoot(), "sdk.zip");
+    try (final ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+      for (int i = 0; i < 500; i++) {
+        final ZipArchiveEntry entry =
+            new ZipArchiveEntry("go/src/pkg" + (i % 17) + "/file" + i + ".go");
+        entry.setUnixMode(0100644);
+        zip.putArchiveEntry(entry);
+        zip.write(("package pkg" + i).getBytes(StandardCharsets.UTF_8));
+        zip.closeArchiveEntry();
+      }
+      final ZipArchiveEntry tool = new ZipArchiveEntry("go/bin/gofmt");
+      tool.setUnixMode(0100755);
+      zip.putArchiveEntry(tool);
+      zip.write(new byte[] {1, 2, 3});
+      zip.closeArchiveEntry();
+      zip.putArchiveEntry(new ZipArchiveEntry("readme.txt"));
+      zip.write(new byte[] {1});
+      zip.closeArchiveEntry();
+    }
+
+    final File target = this.tempFolder.newFolder("sdk");
+    assertEquals(501,
+        UnpackUtils.unpackFileToFolder(new SystemStreamLog(), "go", archive, target, false));
+    for (int i = 0; i < 500; i++) {
+      assertEquals("package pkg" + i, FileUtils.readFileToString(
+          new File(target, "src/pkg" + (i % 17) + "/file" + i + ".go"), StandardCharsets.UTF_8));
+    }
+    assertTrue(new File(target, "bin/gofmt").canExecute());
+    assertFalse(new File(target, "src/pkg0/file0.go").canExecute());
+    assertFalse(new File(target, "readme.txt").exists());
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Igor Maznitsa.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.igormaznitsa.mvngolang.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.zip.Checksum;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class XGoogHashHeaderTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static long crc(final Checksum checksum, final byte[] data, final int offset,
+                          final int length) {
+    checksum.update(data, offset, length);
+    return checksum.getValue();
+  }
+
+  @Test
+  public void testCrc32cKnownValue() {
+    final byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+    assertEquals(0xE3069283L, crc(XGoogHashHeader.makeTableCrc32c(), data, 0, data.length));
+    assertEquals(0xE3069283L, crc(XGoogHashHeader.makeCrc32c(), data, 0, data.length));
+  }
+
+  @Test
+  public void testCombineCrc32c() {
+    final byte[] data = new byte[100_000];
+    new Random(777L).nextBytes(data);
+    final long whole = crc(XGoogHashHeader.makeCrc32c(), data, 0, data.length);
+    final int split = 33_333;
+    final long first = crc(XGoogHashHeader.makeCrc32c(), data, 0, split);
+    final long second = crc(XGoogHashHeader.makeCrc32c(), data, split, data.length - split);
+    assertEquals(whole, XGoogHashHeader.combineCrc32c(first, second, data.length - split));
+    assertEquals(whole, XGoogHashHeader.combineCrc32c(0L, whole, data.length));
+    assertEquals(first, XGoogHashHeader.combineCrc32c(first, 0L, 0L));
+  }
+
+  @Test
+  public void testFileAndDigestCheck() throws Exception {
+    final byte[] data = new byte[200_000];
+    new Random(1L).nextBytes(data);
+    final File file = this.tempFolder.newFile("sdk.tar.gz");
+    Files.write(file.toPath(), data);
+
+    final String crcHex = XGoogHashHeader.toCrc32cHex(
+        crc(XGoogHashHeader.makeCrc32c(), data, 0, data.length));
+    final Header header = new BasicHeader("x-goog-hash",
+        "crc32c=" + Base64.encodeBase64String(Hex.decodeHex(crcHex.toCharArray())));
+    final XGoogHashHeader hashHeader = new XGoogHashHeader(new Header[] {header});
+
+    assertTrue(hashHeader.isFileOk(new SystemStreamLog(), file));
+    assertTrue(hashHeader.canCheckDigest(null, crcHex));
+    assertFalse(hashHeader.canCheckDigest("00", null));
+    assertTrue(hashHeader.isDigestOk(new SystemStreamLog(), null, crcHex));
+    assertFalse(hashHeader.isDigestOk(new SystemStreamLog(), null, "00000000"));
+  }
+}